@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.util.UuidUtil;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link IMap#get}, {@link IMap#put} and {@link IMap#set}
+ * issued from a member of an embedded cluster. With a single member all
+ * operations are local, with more members most of them travel through the
+ * member-to-member networking stack of the same JVM.
+ * <p>
+ * The number of caller threads is controlled by the JMH {@code -t} option.
+ * Run with {@code -prof gc} to see the allocation rate per operation, e.g.
+ * of the local {@code get} of {@code BINARY} maps which doesn't create an
+ * invocation when {@code localGetEnabled} is set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapBenchmark {
+
+    private static final String MAP_NAME = "benchmark";
+
+    @Param({"1", "3"})
+    public int memberCount;
+
+    @Param({"BINARY", "OBJECT"})
+    public InMemoryFormat inMemoryFormat;
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    @Param({"10000"})
+    public int keyCount;
+
+    @Param({"false", "true"})
+    public boolean localGetEnabled;
+
+    private HazelcastInstance[] members;
+    private IMap<Integer, byte[]> map;
+    private byte[] value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config config = newConfig();
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(inMemoryFormat);
+        config.setProperty("hazelcast.map.local.get.enabled", Boolean.toString(localGetEnabled));
+
+        members = new HazelcastInstance[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            members[i] = Hazelcast.newHazelcastInstance(config);
+        }
+
+        value = new byte[valueSize];
+        ThreadLocalRandom.current().nextBytes(value);
+        map = members[0].getMap(MAP_NAME);
+        for (int key = 0; key < keyCount; key++) {
+            map.set(key, value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (HazelcastInstance member : members) {
+            member.getLifecycleService().terminate();
+        }
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return map.get(randomKey());
+    }
+
+    @Benchmark
+    public byte[] put() {
+        return map.put(randomKey(), value);
+    }
+
+    @Benchmark
+    public void set() {
+        map.set(randomKey(), value);
+    }
+
+    private int randomKey() {
+        return ThreadLocalRandom.current().nextInt(keyCount);
+    }
+
+    /**
+     * Creates the configuration of a member which only joins the members
+     * of the same benchmark trial running in this JVM.
+     */
+    static Config newConfig() {
+        Config config = new Config();
+        config.setClusterName("benchmark-" + UuidUtil.newUnsecureUUID());
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.setProperty("hazelcast.logging.type", "none");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return config;
+    }
+}
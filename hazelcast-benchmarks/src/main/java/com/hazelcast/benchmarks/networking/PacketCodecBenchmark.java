@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.networking;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.tcp.PacketDecoder;
+import com.hazelcast.internal.server.tcp.PacketEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * Benchmarks the member-to-member {@link PacketEncoder} and
+ * {@link PacketDecoder} handlers without a channel, on batches of packets
+ * of the given payload size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    @Param({"16", "1024", "16384"})
+    public int payloadSize;
+
+    @Param({"16"})
+    public int packetsPerBatch;
+
+    private PacketEncoder encoder;
+    private PacketDecoder decoder;
+    private ByteBuffer encoded;
+    private ByteBuffer decoderSrc;
+    private PacketSource packetSource;
+    private BlackholeConsumer packetSink;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) throws Exception {
+        byte[] payload = new byte[payloadSize];
+        ThreadLocalRandom.current().nextBytes(payload);
+        Packet packet = new Packet(payload);
+        packetSource = new PacketSource(packet, packetsPerBatch);
+
+        int bufferSize = packetsPerBatch * packet.getFrameLength();
+        encoder = new PacketEncoder();
+        encoder.src(packetSource);
+        encoder.dst(emptyReadModeBuffer(bufferSize));
+
+        packetSink = new BlackholeConsumer(blackhole);
+        decoder = new PacketDecoder(null, packetSink);
+        decoder.setNormalPacketsRead(newSwCounter());
+        decoder.setPriorityPacketsRead(newSwCounter());
+        decoderSrc = ByteBuffer.allocate(bufferSize);
+
+        // capture one encoded batch to feed the decoder with
+        encode();
+        encoded = ByteBuffer.allocate(bufferSize);
+        encoded.put(encoder.dst()).flip();
+    }
+
+    @Benchmark
+    public HandlerStatus encode() {
+        ByteBuffer dst = encoder.dst();
+        // mark the previous batch as written to the socket
+        dst.position(dst.limit());
+        packetSource.reset();
+        return encoder.onWrite();
+    }
+
+    @Benchmark
+    public HandlerStatus decode() throws Exception {
+        decoderSrc.put(encoded.duplicate());
+        decoder.src(decoderSrc);
+        return decoder.onRead();
+    }
+
+    private static ByteBuffer emptyReadModeBuffer(int size) {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static final class PacketSource implements Supplier<Packet> {
+
+        private final Packet packet;
+        private final int batchSize;
+        private int remaining;
+
+        PacketSource(Packet packet, int batchSize) {
+            this.packet = packet;
+            this.batchSize = batchSize;
+        }
+
+        void reset() {
+            remaining = batchSize;
+        }
+
+        @Override
+        public Packet get() {
+            return remaining-- > 0 ? packet : null;
+        }
+    }
+
+    private static final class BlackholeConsumer implements Consumer<Packet> {
+
+        private final Blackhole blackhole;
+
+        BlackholeConsumer(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void accept(Packet packet) {
+            blackhole.consume(packet);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.operation;
+
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueue;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationQueueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link OperationQueueImpl} used by the partition threads,
+ * with producer threads adding tasks and a single partition thread
+ * consuming them, like it happens in a member.
+ * <p>
+ * The consumer polls instead of blocking in {@code take()}, so the
+ * benchmark iterations can end even when the producers are slower.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationQueueBenchmark {
+
+    private static final Object TASK = new Object();
+
+    /**
+     * Every how many tasks an urgent one is offered.
+     */
+    @Param({"0", "100"})
+    public int priorityInterval;
+
+    private OperationQueue queue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        queue = new OperationQueueImpl();
+    }
+
+    @Benchmark
+    @Group("addPoll")
+    @GroupThreads(3)
+    public void add(ProducerState producer) {
+        queue.add(TASK, priorityInterval > 0 && ++producer.counter % priorityInterval == 0);
+    }
+
+    @Benchmark
+    @Group("addPoll")
+    @GroupThreads(1)
+    public Object poll() {
+        return queue.poll();
+    }
+
+    /**
+     * State of a producer thread.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState {
+        int counter;
+    }
+}
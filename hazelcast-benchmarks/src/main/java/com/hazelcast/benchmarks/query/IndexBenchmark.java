@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.query;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.monitor.impl.PerIndexStats;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * Benchmarks point and range lookups of a global {@link IndexImpl} on the
+ * value of the entries, populated with {@link #entryCount} entries having
+ * {@link #distinctValues} distinct values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBenchmark {
+
+    private static final int PARTITION_COUNT = 271;
+
+    @Param({"HASH", "SORTED"})
+    public IndexType indexType;
+
+    @Param({"100000"})
+    public int entryCount;
+
+    @Param({"1000"})
+    public int distinctValues;
+
+    /**
+     * Number of distinct values matched by the range lookups.
+     */
+    @Param({"10"})
+    public int rangeWidth;
+
+    private InternalSerializationService serializationService;
+    private IndexImpl index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        Extractors extractors = Extractors.newBuilder(serializationService).build();
+        index = new IndexImpl(
+                null,
+                IndexUtils.createTestIndexConfig(indexType, THIS_ATTRIBUTE_NAME.value()),
+                serializationService,
+                extractors,
+                IndexCopyBehavior.COPY_ON_READ,
+                PerIndexStats.EMPTY,
+                PARTITION_COUNT,
+                "benchmark"
+        );
+
+        for (int i = 0; i < entryCount; i++) {
+            CachedQueryEntry<Object, Object> entry = new CachedQueryEntry<>(serializationService,
+                    serializationService.toData(i), i % distinctValues, extractors);
+            index.putEntry(entry, null, entry, Index.OperationSource.USER);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        index.destroy();
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> equal() {
+        return index.getRecords(randomValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> between() {
+        int from = randomValue();
+        return index.getRecords(from, true, from + rangeWidth, false);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> lessThan() {
+        return index.getRecords(Comparison.LESS, rangeWidth);
+    }
+
+    private int randomValue() {
+        return ThreadLocalRandom.current().nextInt(distinctValues);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@code CompactStreamSerializer} with an explicit
+ * {@link CompactSerializer} and with the reflective serializer used for
+ * classes without one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactSerializationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean explicitSerializer;
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    private InternalSerializationService serializationService;
+    private Employee value;
+    private Data data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CompactSerializationConfig compactConfig = new CompactSerializationConfig();
+        if (explicitSerializer) {
+            compactConfig.addSerializer(new EmployeeSerializer());
+        } else {
+            compactConfig.addClass(Employee.class);
+        }
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(new InMemorySchemaService())
+                .setConfig(new SerializationConfig().setCompactSerializationConfig(compactConfig))
+                .build();
+
+        char[] name = new char[valueSize];
+        Arrays.fill(name, 'x');
+        value = new Employee(42, 3_000_000L, true, new String(name));
+        data = serializationService.toData(value);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(value);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    /**
+     * Value class of the benchmark.
+     */
+    public static class Employee {
+
+        private int age;
+        private long salary;
+        private boolean active;
+        private String name;
+
+        public Employee() {
+        }
+
+        public Employee(int age, long salary, boolean active, String name) {
+            this.age = age;
+            this.salary = salary;
+            this.active = active;
+            this.name = name;
+        }
+    }
+
+    static class EmployeeSerializer implements CompactSerializer<Employee> {
+
+        @Nonnull
+        @Override
+        public Employee read(@Nonnull CompactReader reader) {
+            return new Employee(reader.readInt32("age"), reader.readInt64("salary"),
+                    reader.readBoolean("active"), reader.readString("name"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull Employee object) {
+            writer.writeInt32("age", object.age);
+            writer.writeInt64("salary", object.salary);
+            writer.writeBoolean("active", object.active);
+            writer.writeString("name", object.name);
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName() {
+            return "employee";
+        }
+
+        @Nonnull
+        @Override
+        public Class<Employee> getCompactClass() {
+            return Employee.class;
+        }
+    }
+
+    /**
+     * Keeps the schemas locally, there is no cluster to replicate them to.
+     */
+    static class InMemorySchemaService implements SchemaService {
+
+        private final Map<Long, Schema> schemas = new ConcurrentHashMap<>();
+
+        @Override
+        public Schema get(long schemaId) {
+            return schemas.get(schemaId);
+        }
+
+        @Override
+        public void put(Schema schema) {
+            putLocal(schema);
+        }
+
+        @Override
+        public void putLocal(Schema schema) {
+            schemas.putIfAbsent(schema.getSchemaId(), schema);
+        }
+    }
+}
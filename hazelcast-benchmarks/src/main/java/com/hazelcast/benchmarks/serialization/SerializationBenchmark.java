@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks.serialization;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@code SerializationServiceV1#toData} and
+ * {@code SerializationServiceV1#toObject} for values handled by the
+ * built-in constant serializers and by Java serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /**
+     * Kinds of values to serialize, {@link #valueSize} is the length of
+     * the array, of the string and the number of map entries respectively.
+     */
+    public enum ValueType {
+        BYTE_ARRAY,
+        STRING,
+        HASH_MAP
+    }
+
+    @Param({"BYTE_ARRAY", "STRING", "HASH_MAP"})
+    public ValueType valueType;
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    private InternalSerializationService serializationService;
+    private Object value;
+    private Data data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        value = createValue();
+        data = serializationService.toData(value);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(value);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    private Object createValue() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (valueType) {
+            case BYTE_ARRAY:
+                byte[] bytes = new byte[valueSize];
+                random.nextBytes(bytes);
+                return bytes;
+            case STRING:
+                StringBuilder sb = new StringBuilder(valueSize);
+                for (int i = 0; i < valueSize; i++) {
+                    sb.append((char) ('a' + random.nextInt(26)));
+                }
+                return sb.toString();
+            case HASH_MAP:
+                Map<Integer, Long> map = new HashMap<>();
+                for (int i = 0; i < valueSize; i++) {
+                    map.put(i, random.nextLong());
+                }
+                return map;
+            default:
+                throw new IllegalArgumentException("Unknown value type: " + valueType);
+        }
+    }
+}
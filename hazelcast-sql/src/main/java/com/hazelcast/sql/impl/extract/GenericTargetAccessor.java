@@ -26,7 +26,9 @@ public interface GenericTargetAccessor {
     /**
      * Gets the target in the form suitable for field access.
      * <p>
-     * For normal objects, the target is deserialized. For Portable and Compact objects, it is returned as {@code Data}.
+     * For normal objects, the target is deserialized. For Portable objects, it is returned as {@code Data}. For Compact
+     * objects, it is returned as a record reading the fields directly from the {@code Data}, so that the header of the
+     * serialized form is read only once for all fields of the target.
      *
      * @return target in the form suitable for field access
      */
@@ -19,10 +19,13 @@ package com.hazelcast.sql.impl.extract;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.CoreSqlTestSupport;
 import com.hazelcast.sql.impl.LazyTarget;
@@ -38,8 +41,10 @@ import org.junit.runner.RunWith;
 
 import java.io.IOException;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -56,6 +61,26 @@ public class GenericQueryTargetTest extends CoreSqlTestSupport {
         checkTarget(createTarget(false));
     }
 
+    @Test
+    public void testCompactTarget() {
+        InternalSerializationService ss = createSerializationService();
+        GenericQueryTarget target = new GenericQueryTarget(ss, Extractors.newBuilder(ss).build(), false);
+        GenericRecord record = GenericRecordBuilder.compact("type")
+                .setInt32("field", 1)
+                .setString("field2", "2")
+                .build();
+        target.setTarget(null, ss.toData(record));
+
+        // Compact fields are read from the serialized form through one record.
+        Object fieldAccessTarget = target.getTargetForFieldAccess();
+        assertTrue(fieldAccessTarget instanceof InternalGenericRecord);
+        assertSame(fieldAccessTarget, target.getTargetForFieldAccess());
+
+        assertEquals(1, target.createExtractor("field", QueryDataType.INT).get());
+        assertEquals("2", target.createExtractor("field2", QueryDataType.VARCHAR).get());
+        assertNull(target.createExtractor("badField", QueryDataType.INT).get());
+    }
+
     private void checkTarget(GenericQueryTarget target) {
         TestObject object = new TestObject(1, 2);
 
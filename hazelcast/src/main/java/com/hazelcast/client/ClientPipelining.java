@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.clientside.HazelcastClientProxy;
+import com.hazelcast.client.impl.spi.impl.ClientInvocationServiceImpl;
+import com.hazelcast.client.impl.spi.impl.ClientInvocationServiceImpl.WriteBatch;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Pipelining;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * The ClientPipelining speeds up sending many asynchronous requests from a
+ * client, e.g. when bulk loading data. Like the {@link Pipelining}, it
+ * bounds the number of requests in flight by its depth. In addition, it
+ * doesn't write the requests to the connections one by one: the requests
+ * issued by {@link #add(Supplier)} are collected per connection and written
+ * with a single batched write once the flush size is reached, the depth is
+ * exhausted, {@link #flush()} or {@link #results()} is called.
+ *
+ * <pre>{@code
+ * ClientPipelining<Void> pipelining = new ClientPipelining<>(client, 1000, 100);
+ * for (int i = 0; i < 1_000_000; i++) {
+ *     int key = i;
+ *     pipelining.add(() -> map.setAsync(key, value));
+ * }
+ * pipelining.results();
+ * }</pre>
+ *
+ * A request can be any asynchronous call on any data structure, e.g.
+ * {@link IMap#getAsync(Object)}. The supplier passed to
+ * {@link #add(Supplier)} must not block on the requests it issues, e.g. by
+ * calling a synchronous method of a data structure, since they are only
+ * written once the batch is flushed.
+ *
+ * The ClientPipelining can only be created for a client. It isn't threadsafe,
+ * so only a single thread should add requests to it and wait for results.
+ * All {@link CompletionStage}s and their responses are stored in the
+ * ClientPipelining, so it should be replaced periodically when executing a
+ * huge number of requests, as described in {@link Pipelining}.
+ *
+ * @param <E> the result type of the ClientPipelining
+ */
+@Beta
+public class ClientPipelining<E> {
+
+    private final ClientInvocationServiceImpl invocationService;
+    private final WriteBatch batch;
+    private final Semaphore permits;
+    private final int flushSize;
+    private final List<CompletionStage<? extends E>> futures = new ArrayList<>();
+
+    /**
+     * Creates a ClientPipelining with the given depth and flush size.
+     *
+     * @param client    the client to send the requests with.
+     * @param depth     the maximum number of concurrent requests allowed in this ClientPipelining.
+     * @param flushSize the number of requests written as a batch. With flush size 1, each request
+     *                  is written immediately.
+     * @throws IllegalArgumentException if depth or flush size is smaller than 1 or if the instance
+     *                                  isn't a client.
+     */
+    public ClientPipelining(HazelcastInstance client, int depth, int flushSize) {
+        checkNotNull(client, "client can't be null");
+        checkPositive(depth, "depth must be positive");
+        checkPositive(flushSize, "flushSize must be positive");
+        this.invocationService = (ClientInvocationServiceImpl) getClientInstanceImpl(client).getInvocationService();
+        this.batch = invocationService.newWriteBatch();
+        this.permits = new Semaphore(depth);
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * Issues a request and adds its future to this ClientPipelining or blocks
+     * until there is capacity to issue the request. The pending requests are
+     * written before blocking.
+     *
+     * @param request the supplier issuing the asynchronous request, e.g. {@code () -> map.setAsync(key, value)}.
+     * @return the future returned by the request.
+     * @throws InterruptedException if the Thread got interrupted while waiting for capacity.
+     * @throws NullPointerException if request or the future it returns is null.
+     */
+    public CompletionStage<? extends E> add(Supplier<? extends CompletionStage<? extends E>> request)
+            throws InterruptedException {
+        checkNotNull(request, "request can't be null");
+        if (!permits.tryAcquire()) {
+            // the requests in flight can't complete before they are written
+            flush();
+            permits.acquire();
+        }
+
+        CompletionStage<? extends E> future;
+        try {
+            future = checkNotNull(invocationService.batchWrites(batch, request), "future can't be null");
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        futures.add(future);
+        future.whenCompleteAsync((response, t) -> permits.release(), CALLER_RUNS);
+
+        if (batch.size() >= flushSize) {
+            flush();
+        }
+        return future;
+    }
+
+    /**
+     * Writes the requests which are waiting for the batch to fill up.
+     */
+    public void flush() {
+        batch.flush();
+    }
+
+    /**
+     * Writes the pending requests and returns the results in the order the
+     * requests were added. This call waits till all requests have completed.
+     *
+     * @return the List of results.
+     * @throws Exception if something fails getting the results.
+     */
+    public List<E> results() throws Exception {
+        flush();
+        List<E> result = new ArrayList<>(futures.size());
+        for (CompletionStage<? extends E> f : futures) {
+            result.add(f.toCompletableFuture().get());
+        }
+        return result;
+    }
+
+    private static HazelcastClientInstanceImpl getClientInstanceImpl(HazelcastInstance client) {
+        if (client instanceof HazelcastClientProxy) {
+            return ((HazelcastClientProxy) client).client;
+        } else if (client instanceof HazelcastClientInstanceImpl) {
+            return (HazelcastClientInstanceImpl) client;
+        }
+        throw new IllegalArgumentException("ClientPipelining can only be created for a client, not " + client);
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.nio.Connection;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 
@@ -41,6 +42,25 @@ public interface ClientConnection extends Connection {
      */
     void handleClientMessage(ClientMessage message);
 
+    /**
+     * Writes the messages as a batch, so they can be sent to the other side
+     * of the connection with a single write instead of one write per message.
+     * No guarantees are made that the messages are going to be received on the
+     * other side.
+     *
+     * @param messages the messages to write.
+     * @return false if the messages were not accepted to be written, e.g. because the
+     * connection was not alive. Some of the messages may have been written already.
+     */
+    default boolean writeAll(Collection<ClientMessage> messages) {
+        for (ClientMessage message : messages) {
+            if (!write(message)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     EventHandler getEventHandler(long correlationId);
 
     void removeEventHandler(long correlationId);
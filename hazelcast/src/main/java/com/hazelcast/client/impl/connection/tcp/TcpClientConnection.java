@@ -35,6 +35,7 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.channels.CancelledKeyException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
@@ -126,6 +127,15 @@ public class TcpClientConnection implements ClientConnection {
         return tpcChannels[channelIndex].write(frame);
     }
 
+    @Override
+    public boolean writeAll(Collection<ClientMessage> messages) {
+        if (tpcChannels != null) {
+            // the messages may go to different TPC channels
+            return ClientConnection.super.writeAll(messages);
+        }
+        return channel.writeAll(messages);
+    }
+
     @Override
     public void setRemoteAddress(Address remoteAddress) {
         this.remoteAddress = remoteAddress;
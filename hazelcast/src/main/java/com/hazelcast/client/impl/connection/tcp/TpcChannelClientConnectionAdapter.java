@@ -26,6 +26,7 @@ import com.hazelcast.internal.networking.OutboundFrame;
 import javax.annotation.Nullable;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
@@ -43,6 +44,11 @@ public class TpcChannelClientConnectionAdapter implements ClientConnection {
         return channel.write(frame);
     }
 
+    @Override
+    public boolean writeAll(Collection<ClientMessage> messages) {
+        return channel.writeAll(messages);
+    }
+
     @Override
     public Address getRemoteAddress() {
         return (Address) channel.attributeMap().get(Address.class);
@@ -192,7 +192,9 @@ public final class CustomTypeFactory {
     public static IndexConfig createIndexConfig(String name, int type, List<String> attributes,
                                                 BitmapIndexOptions bitmapIndexOptions,
                                                 boolean bTreeConfigExists,
-                                                BTreeIndexConfig bTreeIndexConfig) {
+                                                BTreeIndexConfig bTreeIndexConfig,
+                                                boolean coveringEnabledExists,
+                                                boolean coveringEnabled) {
         IndexType type0 = IndexType.getById(type);
 
         return new IndexConfig()
@@ -200,7 +202,8 @@ public final class CustomTypeFactory {
                 .setType(type0)
                 .setAttributes(attributes)
                 .setBitmapIndexOptions(bitmapIndexOptions)
-                .setBTreeIndexConfig(bTreeConfigExists ? bTreeIndexConfig : new BTreeIndexConfig());
+                .setBTreeIndexConfig(bTreeConfigExists ? bTreeIndexConfig : new BTreeIndexConfig())
+                .setCoveringEnabled(coveringEnabledExists && coveringEnabled);
     }
 
     public static BitmapIndexOptions createBitmapIndexOptions(String uniqueKey, int uniqueKeyTransformation) {
@@ -23,6 +23,24 @@ import com.hazelcast.internal.serialization.Data;
 import static com.hazelcast.client.impl.protocol.ClientMessage.NULL_FRAME;
 import static com.hazelcast.client.impl.protocol.codec.builtin.CodecUtil.nextFrameIsNullEndFrame;
 
+/**
+ * Encodes and decodes {@link Data} as a single frame.
+ * <p>
+ * The frames share the payload of the {@link Data}: encoding doesn't copy
+ * the bytes of a {@link HeapData}, e.g. of a value read from a record store,
+ * so the {@link com.hazelcast.client.impl.protocol.ClientMessageWriter
+ * ClientMessageWriter} writes them to the socket buffer directly from the
+ * stored array. Likewise, the decoded {@link HeapData} wraps the content of
+ * the received frame. Neither of them may be modified after encoding or
+ * decoding.
+ * <p>
+ * The values of a map with the off-heap storage are copied on-heap once, by
+ * {@link com.hazelcast.map.impl.record.OffHeapRecordLayout#readValue
+ * OffHeapRecordLayout.readValue()} in the partition thread, and the frame
+ * shares that copy. The frames can't reference the native memory of the
+ * value: its block may be released or relocated as soon as the partition
+ * operation ends, before the response is written to the socket.
+ */
 public final class DataCodec {
 
     private DataCodec() {
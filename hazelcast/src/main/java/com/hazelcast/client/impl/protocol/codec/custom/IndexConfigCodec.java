@@ -28,7 +28,8 @@ import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCod
 @Generated("26af6399733e48bd1eacd61908bc21f7")
 public final class IndexConfigCodec {
     private static final int TYPE_FIELD_OFFSET = 0;
-    private static final int INITIAL_FRAME_SIZE = TYPE_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int COVERING_ENABLED_FIELD_OFFSET = TYPE_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int INITIAL_FRAME_SIZE = COVERING_ENABLED_FIELD_OFFSET + BOOLEAN_SIZE_IN_BYTES;
 
     private IndexConfigCodec() {
     }
@@ -38,6 +39,7 @@ public final class IndexConfigCodec {
 
         ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[INITIAL_FRAME_SIZE]);
         encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, indexConfig.getType());
+        encodeBoolean(initialFrame.content, COVERING_ENABLED_FIELD_OFFSET, indexConfig.isCoveringEnabled());
         clientMessage.add(initialFrame);
 
         CodecUtil.encodeNullable(clientMessage, indexConfig.getName(), StringCodec::encode);
@@ -54,6 +56,12 @@ public final class IndexConfigCodec {
 
         ClientMessage.Frame initialFrame = iterator.next();
         int type = decodeInt(initialFrame.content, TYPE_FIELD_OFFSET);
+        boolean isCoveringEnabledExists = false;
+        boolean coveringEnabled = false;
+        if (initialFrame.content.length >= COVERING_ENABLED_FIELD_OFFSET + BOOLEAN_SIZE_IN_BYTES) {
+            coveringEnabled = decodeBoolean(initialFrame.content, COVERING_ENABLED_FIELD_OFFSET);
+            isCoveringEnabledExists = true;
+        }
 
         java.lang.String name = CodecUtil.decodeNullable(iterator, StringCodec::decode);
         java.util.List<java.lang.String> attributes = ListMultiFrameCodec.decode(iterator, StringCodec::decode);
@@ -67,6 +75,6 @@ public final class IndexConfigCodec {
 
         fastForwardToEndFrame(iterator);
 
-        return CustomTypeFactory.createIndexConfig(name, type, attributes, bitmapIndexOptions, isBTreeIndexConfigExists, bTreeIndexConfig);
+        return CustomTypeFactory.createIndexConfig(name, type, attributes, bitmapIndexOptions, isBTreeIndexConfigExists, bTreeIndexConfig, isCoveringEnabledExists, coveringEnabled);
     }
 }
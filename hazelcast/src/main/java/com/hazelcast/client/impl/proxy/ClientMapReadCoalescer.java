@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
+import com.hazelcast.client.impl.spi.ClientPartitionService;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Coalesces the concurrent synchronous gets of a client map proxy.
+ * <p>
+ * The first get for a partition opens a batch which is sent as a single
+ * {@link MapGetAllCodec get-all} request to the partition owner once the
+ * {@link ClientProperty#MAP_READ_COALESCING_WINDOW_MICROS window} elapses
+ * or the batch reaches the {@link ClientProperty#MAP_READ_COALESCING_MAX_BATCH_SIZE
+ * maximum size}. The gets for the same partition in the meantime join the
+ * batch; the gets for a key already in the batch share its result.
+ * <p>
+ * This class is thread-safe.
+ */
+final class ClientMapReadCoalescer {
+
+    private final String name;
+    private final HazelcastClientInstanceImpl client;
+    private final ClientPartitionService partitionService;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Integer, Batch> batches = new ConcurrentHashMap<>();
+
+    ClientMapReadCoalescer(String name, HazelcastClientInstanceImpl client, long windowNanos, int maxBatchSize) {
+        this.name = name;
+        this.client = client;
+        this.partitionService = client.getClientPartitionService();
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns the value of the key, or {@code null} if the map doesn't
+     * contain it. Blocks until the batch containing the key is answered.
+     */
+    Data get(Data keyData) {
+        int partitionId = partitionService.getPartitionId(keyData);
+        return add(partitionId, keyData).joinInternal();
+    }
+
+    private InternalCompletableFuture<Data> add(int partitionId, Data keyData) {
+        for (; ; ) {
+            Batch batch = batches.get(partitionId);
+            if (batch == null) {
+                Batch newBatch = new Batch(partitionId);
+                batch = batches.putIfAbsent(partitionId, newBatch);
+                if (batch == null) {
+                    batch = newBatch;
+                    client.getTaskScheduler().schedule(newBatch::send, windowNanos, NANOSECONDS);
+                }
+            }
+
+            InternalCompletableFuture<Data> future = batch.add(keyData);
+            if (future != null) {
+                return future;
+            }
+            // the batch has been sent in the meantime, so we open or join the next one
+        }
+    }
+
+    private final class Batch {
+
+        private final int partitionId;
+        // guarded by this
+        private final Map<Data, InternalCompletableFuture<Data>> futures = new LinkedHashMap<>();
+        // guarded by this
+        private boolean sent;
+
+        private Batch(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        /**
+         * Adds the key to this batch and sends the batch once it is full.
+         *
+         * @return the future of the value or {@code null} if this batch has been sent already
+         */
+        private InternalCompletableFuture<Data> add(Data keyData) {
+            InternalCompletableFuture<Data> future;
+            boolean full;
+            synchronized (this) {
+                if (sent) {
+                    return null;
+                }
+                future = futures.get(keyData);
+                if (future != null) {
+                    return future;
+                }
+                future = new InternalCompletableFuture<>();
+                futures.put(keyData, future);
+                full = futures.size() >= maxBatchSize;
+            }
+
+            if (full) {
+                send();
+            }
+            return future;
+        }
+
+        private void send() {
+            synchronized (this) {
+                if (sent) {
+                    return;
+                }
+                sent = true;
+            }
+            batches.remove(partitionId, this);
+
+            try {
+                List<Data> keys = new ArrayList<>(futures.keySet());
+                ClientMessage request = MapGetAllCodec.encodeRequest(name, keys);
+                new ClientInvocation(client, request, name, partitionId).invoke()
+                        .whenComplete((response, throwable) -> {
+                            if (throwable == null) {
+                                complete(response);
+                            } else {
+                                completeExceptionally(throwable);
+                            }
+                        });
+            } catch (Throwable t) {
+                completeExceptionally(t);
+            }
+        }
+
+        private void complete(ClientMessage response) {
+            try {
+                for (Map.Entry<Data, Data> entry : MapGetAllCodec.decodeResponse(response)) {
+                    InternalCompletableFuture<Data> future = futures.get(entry.getKey());
+                    if (future != null) {
+                        future.complete(entry.getValue());
+                    }
+                }
+            } catch (Throwable t) {
+                completeExceptionally(t);
+                return;
+            }
+
+            // the map doesn't contain the remaining keys
+            for (InternalCompletableFuture<Data> future : futures.values()) {
+                future.complete(null);
+            }
+        }
+
+        private void completeExceptionally(Throwable throwable) {
+            for (InternalCompletableFuture<Data> future : futures.values()) {
+                future.completeExceptionally(throwable);
+            }
+        }
+    }
+}
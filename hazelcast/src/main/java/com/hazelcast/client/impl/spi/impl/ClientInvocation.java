@@ -392,6 +392,10 @@ public class ClientInvocation extends BaseInvocation implements Runnable {
         invoked = true;
     }
 
+    boolean isUrgent() {
+        return urgent;
+    }
+
     public void waitInvoked() throws InterruptedException {
         //it could be either invoked or cancelled before invoked
         while (!invoked && !clientInvocationFuture.isDone()) {
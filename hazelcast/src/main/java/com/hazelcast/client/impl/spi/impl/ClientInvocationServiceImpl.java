@@ -36,10 +36,16 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.hazelcast.client.properties.ClientProperty.BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS;
 import static com.hazelcast.client.properties.ClientProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
@@ -97,6 +103,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
     private final ClientConnectionManager connectionManager;
     private final ClientPartitionService partitionService;
     private final boolean isUnisocketClient;
+    private final ThreadLocal<WriteBatch> writeBatch = new ThreadLocal<>();
 
     public ClientInvocationServiceImpl(HazelcastClientInstanceImpl client) {
         this.client = client;
@@ -244,12 +251,15 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
         //Connection could be closed. From this point on, we need to reacquire the permission to notify if needed.
         invocation.setSentConnection(connection);
 
+        WriteBatch batch = writeBatch.get();
+        // urgent invocations may be awaited by the batching thread itself, e.g. a schema replication
+        if (batch != null && !invocation.isUrgent()) {
+            batch.add(connection, invocation);
+            return true;
+        }
+
         if (!connection.write(clientMessage)) {
-            if (invocation.getPermissionToNotifyForDeadConnection(connection)) {
-                IOException exception = new IOException("Packet not sent to " + connection.getRemoteAddress() + " "
-                        + clientMessage);
-                invocation.notifyExceptionWithOwnedPermission(exception);
-            }
+            notifyNotSent(invocation, connection);
         } else {
             invocation.invoked();
         }
@@ -257,6 +267,44 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
         return true;
     }
 
+    private void notifyNotSent(ClientInvocation invocation, ClientConnection connection) {
+        if (invocation.getPermissionToNotifyForDeadConnection(connection)) {
+            IOException exception = new IOException("Packet not sent to " + connection.getRemoteAddress() + " "
+                    + invocation.getClientMessage());
+            invocation.notifyExceptionWithOwnedPermission(exception);
+        }
+    }
+
+    /**
+     * Creates a batch for {@link #batchWrites(WriteBatch, Supplier) batching writes}.
+     */
+    public WriteBatch newWriteBatch() {
+        return new WriteBatch();
+    }
+
+    /**
+     * Runs the action while batching the writes of the invocations it sends
+     * on the calling thread into the given batch. The batched invocations are
+     * written once the batch is {@link WriteBatch#flush() flushed}.
+     * <p>
+     * Urgent invocations and the invocations sent by other threads, e.g.
+     * retries, are written immediately. The action must not wait for an
+     * invocation it sends since it isn't written before the batch is flushed.
+     *
+     * @throws IllegalStateException if the calling thread already batches its writes
+     */
+    public <T> T batchWrites(WriteBatch batch, Supplier<T> action) {
+        if (writeBatch.get() != null) {
+            throw new IllegalStateException("The writes of the current thread are already batched");
+        }
+        writeBatch.set(batch);
+        try {
+            return action.get();
+        } finally {
+            writeBatch.remove();
+        }
+    }
+
     // package-visible for tests
     void registerInvocation(ClientInvocation clientInvocation, ClientConnection connection) {
         ClientMessage clientMessage = clientInvocation.getClientMessage();
@@ -357,4 +405,59 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
             invocation.notifyBackupComplete();
         }
     }
+
+    /**
+     * The invocations sent while {@link #batchWrites(WriteBatch, Supplier)
+     * batching writes}, kept per connection. Flushing the batch writes each
+     * connection's requests with a single {@link ClientConnection#writeAll(Collection)
+     * batched write}.
+     * <p>
+     * This class isn't thread-safe.
+     */
+    public final class WriteBatch {
+
+        private final Map<ClientConnection, List<ClientInvocation>> invocations = new HashMap<>();
+        private int size;
+
+        private WriteBatch() {
+        }
+
+        /**
+         * Returns the number of invocations waiting for the flush.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Writes the batched invocations.
+         */
+        public void flush() {
+            for (Map.Entry<ClientConnection, List<ClientInvocation>> entry : invocations.entrySet()) {
+                ClientConnection connection = entry.getKey();
+                List<ClientInvocation> connectionInvocations = entry.getValue();
+                List<ClientMessage> messages = new ArrayList<>(connectionInvocations.size());
+                for (ClientInvocation invocation : connectionInvocations) {
+                    messages.add(invocation.getClientMessage());
+                }
+
+                if (connection.writeAll(messages)) {
+                    for (ClientInvocation invocation : connectionInvocations) {
+                        invocation.invoked();
+                    }
+                } else {
+                    for (ClientInvocation invocation : connectionInvocations) {
+                        notifyNotSent(invocation, connection);
+                    }
+                }
+            }
+            invocations.clear();
+            size = 0;
+        }
+
+        private void add(ClientConnection connection, ClientInvocation invocation) {
+            invocations.computeIfAbsent(connection, c -> new ArrayList<>()).add(invocation);
+            size++;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import com.hazelcast.config.MetricsJmxConfig;
 import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -339,6 +340,28 @@ public final class ClientProperty {
     public static final HazelcastProperty PARTITIONING_STRATEGY_CLASS
             = new HazelcastProperty("hazelcast.partitioning.strategy.class", "");
 
+    /**
+     * The time window in microseconds in which the synchronous
+     * {@link com.hazelcast.map.IMap#get(Object)} calls of a client for keys
+     * of the same partition are coalesced into a single request. Concurrent
+     * gets of the same key within the window share the request and the result.
+     * <p>
+     * Coalescing reduces the number of requests sent to the cluster when many
+     * threads read the same map concurrently, at the cost of up to the window
+     * of additional latency for every get. Near cache hits are served without
+     * coalescing. It is disabled by default (value 0).
+     */
+    public static final HazelcastProperty MAP_READ_COALESCING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.map.read.coalescing.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of distinct keys coalesced into a single request,
+     * see {@link #MAP_READ_COALESCING_WINDOW_MICROS}. Once reached, the request
+     * is sent without waiting for the end of the window.
+     */
+    public static final HazelcastProperty MAP_READ_COALESCING_MAX_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.client.map.read.coalescing.max.batch.size", 100);
+
     private ClientProperty() {
     }
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -63,6 +64,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
 
     private BTreeIndexConfig bTreeIndexConfig = new BTreeIndexConfig();
 
+    /** Whether the index keeps the values of its attributes on the indexed entries. */
+    private boolean coveringEnabled;
+
     public IndexConfig() {
         // No-op.
     }
@@ -97,6 +101,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         this.type = other.type;
         this.bitmapIndexOptions = other.bitmapIndexOptions == null ? null : new BitmapIndexOptions(other.bitmapIndexOptions);
         this.bTreeIndexConfig = other.bTreeIndexConfig == null ? null : new BTreeIndexConfig(other.bTreeIndexConfig);
+        this.coveringEnabled = other.coveringEnabled;
 
         for (String attribute : other.getAttributes()) {
             addAttributeInternal(attribute);
@@ -243,6 +248,39 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         return this;
     }
 
+    /**
+     * Returns whether the index keeps the values of its attributes on the
+     * entries it stores.
+     * <p>
+     * Defaults to {@code false}.
+     *
+     * @return {@code true} if the index covers its attributes, {@code false} otherwise.
+     * @see #setCoveringEnabled(boolean)
+     * @since 5.4
+     */
+    public boolean isCoveringEnabled() {
+        return coveringEnabled;
+    }
+
+    /**
+     * Sets whether the index keeps the values of its attributes on the
+     * entries it stores, so the projections and aggregations running on the
+     * entries selected by the index read these attributes without
+     * deserializing the entries. It applies to the indexes of maps with an
+     * on-heap in-memory format.
+     * <p>
+     * Each covered attribute costs two references per indexed entry, which
+     * is reported in the memory cost of the index stats.
+     *
+     * @param coveringEnabled {@code true} to cover the attributes of the index.
+     * @return This instance for chaining.
+     * @since 5.4
+     */
+    public IndexConfig setCoveringEnabled(boolean coveringEnabled) {
+        this.coveringEnabled = coveringEnabled;
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -260,6 +298,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         writeNullableList(attributes, out);
         out.writeObject(bitmapIndexOptions);
         out.writeObject(bTreeIndexConfig);
+        if (out.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            out.writeBoolean(coveringEnabled);
+        }
     }
 
     @Override
@@ -269,6 +310,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         attributes = readNullableList(in);
         bitmapIndexOptions = in.readObject();
         bTreeIndexConfig = in.readObject();
+        if (in.getVersion().isGreaterOrEqual(Versions.V5_4)) {
+            coveringEnabled = in.readBoolean();
+        }
     }
 
     @Override
@@ -299,6 +343,10 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
             return false;
         }
 
+        if (coveringEnabled != that.coveringEnabled) {
+            return false;
+        }
+
         return getAttributes().equals(that.getAttributes());
     }
 
@@ -310,6 +358,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         result = 31 * result + getAttributes().hashCode();
         result = 31 * result + getBitmapIndexOptions().hashCode();
         result = 31 * result + getBTreeIndexConfig().hashCode();
+        result = 31 * result + (coveringEnabled ? 1 : 0);
 
         return result;
     }
@@ -323,6 +372,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         if (bTreeIndexConfig != null) {
             string += ", bTreeIndexConfig=" + bTreeIndexConfig;
         }
+        if (coveringEnabled) {
+            string += ", coveringEnabled=true";
+        }
         return string + '}';
     }
 }
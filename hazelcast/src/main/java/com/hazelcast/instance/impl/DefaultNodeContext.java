@@ -44,8 +44,11 @@ import java.util.Properties;
 import static com.hazelcast.config.ConfigAccessor.getActiveMemberNetworkConfig;
 import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_BALANCER_INTERVAL_SECONDS;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_BUFFER_POOL_SIZE;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_COALESCING_BYTES;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_COALESCING_DELAY_MICROS;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_THROUGH_ENABLED;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
@@ -177,6 +180,9 @@ public class DefaultNodeContext implements NodeContext {
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.io.output.thread.affinity"))
                         .balancerIntervalSeconds(props.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(props.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .writeCoalescing(props.getNanos(IO_WRITE_COALESCING_DELAY_MICROS),
+                                props.getInteger(IO_WRITE_COALESCING_BYTES))
+                        .bufferPoolSize(props.getInteger(IO_BUFFER_POOL_SIZE))
                         .concurrencyDetection(node.nodeEngine.getConcurrencyDetection())
         );
     }
@@ -91,6 +91,7 @@ import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.tcp.ChannelInitializerFunction;
 import com.hazelcast.internal.server.tcp.PacketDecoder;
 import com.hazelcast.internal.server.tcp.PacketEncoder;
+import com.hazelcast.internal.server.tcp.TcpServerConnection;
 import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.internal.util.JVMUtil;
 import com.hazelcast.internal.util.MapUtil;
@@ -476,6 +477,10 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
+        int compressionThreshold = node.getProperties().getInteger(ClusterProperty.NETWORK_COMPRESSION_THRESHOLD);
+        if (compressionThreshold >= 0 && connection instanceof TcpServerConnection) {
+            return new OutboundHandler[]{new PacketEncoder((TcpServerConnection) connection, compressionThreshold)};
+        }
         return new OutboundHandler[]{new PacketEncoder()};
     }
 
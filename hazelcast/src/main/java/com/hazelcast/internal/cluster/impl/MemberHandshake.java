@@ -60,6 +60,13 @@ public class MemberHandshake
 
     public static final String OPTION_PLANE_COUNT = "planeCount";
     public static final String OPTION_PLANE_INDEX = "planeIndex";
+    /**
+     * The packet compression codec the sender of the handshake is able to
+     * decompress, packets are compressed only if the remote member announced
+     * it.
+     */
+    public static final String OPTION_COMPRESSION = "compression";
+    public static final String COMPRESSION_DEFLATE = "deflate";
 
     private byte schemaVersion;
     private Map<ProtocolType, Collection<Address>> localAddresses;
@@ -101,6 +108,10 @@ public class MemberHandshake
         return getIntOption(OPTION_PLANE_INDEX, 0);
     }
 
+    public boolean isDeflateCompressionSupported() {
+        return COMPRESSION_DEFLATE.equals(options.get(OPTION_COMPRESSION));
+    }
+
     byte getSchemaVersion() {
         return schemaVersion;
     }
@@ -113,6 +113,7 @@ public class NetworkingImbalancePlugin extends DiagnosticsPlugin {
         long totalEvents = 0;
         long totalTaskCount = 0;
         long totalHandleCount = 0;
+        long totalProcessTimeNanos = 0;
 
         for (NioThread thread : threads) {
             totalBytesReceived += thread.bytesTransceived();
@@ -121,6 +122,7 @@ public class NetworkingImbalancePlugin extends DiagnosticsPlugin {
             totalEvents += thread.eventCount();
             totalTaskCount += thread.completedTaskCount();
             totalHandleCount += thread.handleCount();
+            totalProcessTimeNanos += thread.processTimeNanos();
         }
 
         for (NioThread thread : threads) {
@@ -136,6 +138,9 @@ public class NetworkingImbalancePlugin extends DiagnosticsPlugin {
             writer.writeKeyValueEntry("events", thread.eventCount());
             writer.writeKeyValueEntry("handle-count-percentage", toPercentage(thread.handleCount(), totalHandleCount));
             writer.writeKeyValueEntry("handle-count", thread.handleCount());
+            writer.writeKeyValueEntry("process-time-percentage",
+                    toPercentage(thread.processTimeNanos(), totalProcessTimeNanos));
+            writer.writeKeyValueEntry("process-time-nanos", thread.processTimeNanos());
             writer.writeKeyValueEntry("tasks-percentage", toPercentage(thread.completedTaskCount(), totalTaskCount));
             writer.writeKeyValueEntry("tasks", thread.completedTaskCount());
             writer.endSection();
@@ -1364,6 +1364,7 @@ public class DynamicConfigYamlGenerator {
 
             addNonNullToMap(indexConfigAsMap, "name", indexConfig.getName());
             addNonNullToMap(indexConfigAsMap, "type", indexConfig.getType().name());
+            addNonNullToMap(indexConfigAsMap, "covering-enabled", indexConfig.isCoveringEnabled());
             addNonNullToMap(indexConfigAsMap, "attributes", indexConfig.getAttributes());
 
             if (indexConfig.getType() == IndexType.BITMAP) {
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.util.collection.Long2LongHashMap;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.QuickMath.log2;
+
+/**
+ * Native {@link MemoryManager} which serves small blocks from fixed-size
+ * slabs and falls back to plain {@code malloc} for the large ones.
+ * <p>
+ * Block sizes are rounded up to a multiple of {@value #MIN_BLOCK_SIZE} bytes
+ * up to {@value #LINEAR_SIZE_CLASS_LIMIT} bytes and above that to one of
+ * {@value #SIZE_CLASSES_PER_DOUBLING} evenly spaced sizes between two
+ * consecutive powers of two, which bounds the rounding overhead of a block
+ * to 25% of its size. Each size class carves its blocks out of slabs and
+ * keeps the freed blocks in an intrusive free-list, so the steady state of a workload with a stable entry-size
+ * distribution allocates no native memory at all. The first slab of a size
+ * class fits {@value #INITIAL_SLAB_BLOCK_COUNT} blocks and every next one is
+ * twice as large, up to {@value #SLAB_SIZE} bytes, so that the many managers
+ * of sparsely populated partitions don't reserve full slabs for a few
+ * entries. Slabs are returned to the operating system only when the manager
+ * is {@link #dispose() disposed}.
+ * <p>
+ * Not thread-safe: an instance is expected to be owned by a single thread,
+ * e.g. the partition thread of the record store using it.
+ */
+public final class SlabMemoryManager implements MemoryManager {
+
+    /**
+     * Size of the smallest block served by this manager.
+     */
+    public static final int MIN_BLOCK_SIZE = 16;
+
+    /**
+     * Size of the largest block served from a slab, larger ones are
+     * allocated directly.
+     */
+    public static final int MAX_SLAB_BLOCK_SIZE = 8 * 1024;
+
+    /**
+     * Size of the largest slab.
+     */
+    public static final int SLAB_SIZE = 64 * 1024;
+
+    /**
+     * Number of blocks which fit the first slab of a size class.
+     */
+    public static final int INITIAL_SLAB_BLOCK_COUNT = 4;
+
+    static final int SIZE_CLASSES_PER_DOUBLING = 4;
+    static final int LINEAR_SIZE_CLASS_LIMIT = MIN_BLOCK_SIZE * SIZE_CLASSES_PER_DOUBLING;
+
+    private static final int MIN_BLOCK_SIZE_SHIFT = log2(MIN_BLOCK_SIZE);
+    private static final int LINEAR_SIZE_CLASS_LIMIT_SHIFT = log2(LINEAR_SIZE_CLASS_LIMIT);
+    private static final int SIZE_CLASSES_PER_DOUBLING_SHIFT = log2(SIZE_CLASSES_PER_DOUBLING);
+    private static final int SIZE_CLASS_COUNT = sizeClassOf(MAX_SLAB_BLOCK_SIZE) + 1;
+    private static final int INITIAL_SLAB_TABLE_CAPACITY = 8;
+
+    private final long[] freeListHeads = new long[SIZE_CLASS_COUNT];
+    private final long[] bumpPointers = new long[SIZE_CLASS_COUNT];
+    private final long[] bumpLimits = new long[SIZE_CLASS_COUNT];
+    private final int[] nextSlabSizes = new int[SIZE_CLASS_COUNT];
+    private final Long2LongHashMap largeBlocks = new Long2LongHashMap(MemoryAllocator.NULL_ADDRESS);
+    private final Allocator allocator = new Allocator();
+
+    private long[] slabs = new long[INITIAL_SLAB_TABLE_CAPACITY];
+    private int slabCount;
+    private long usedMemory;
+    private long committedMemory;
+    private boolean disposed;
+
+    public SlabMemoryManager() {
+        if (!MEM_AVAILABLE) {
+            throw new IllegalStateException("Native memory access is not available on this JVM");
+        }
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    /**
+     * @return number of bytes currently handed out by this manager,
+     * including the rounding to the block size classes
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * @return number of bytes reserved from the operating system by this
+     * manager, including unused parts of the slabs
+     */
+    public long getCommittedMemory() {
+        return committedMemory;
+    }
+
+    /**
+     * Returns the number of bytes which would be reserved for a block of the
+     * given requested size.
+     *
+     * @param size requested size of the block
+     * @return actual size of the block
+     */
+    public static long blockSizeOf(long size) {
+        if (size > MAX_SLAB_BLOCK_SIZE) {
+            return size;
+        }
+        long granularity = size <= LINEAR_SIZE_CLASS_LIMIT
+                ? MIN_BLOCK_SIZE
+                : 1L << (log2(size - 1) - SIZE_CLASSES_PER_DOUBLING_SHIFT);
+        return Math.max(MIN_BLOCK_SIZE, (size + granularity - 1) & -granularity);
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        for (int i = 0; i < slabCount; i++) {
+            UNSAFE.freeMemory(slabs[i]);
+        }
+        largeBlocks.longForEach((address, size) -> UNSAFE.freeMemory(address));
+        largeBlocks.clear();
+        slabs = new long[0];
+        slabCount = 0;
+        Arrays.fill(freeListHeads, MemoryAllocator.NULL_ADDRESS);
+        Arrays.fill(bumpPointers, MemoryAllocator.NULL_ADDRESS);
+        Arrays.fill(bumpLimits, MemoryAllocator.NULL_ADDRESS);
+        Arrays.fill(nextSlabSizes, 0);
+        usedMemory = 0;
+        committedMemory = 0;
+    }
+
+    private static int sizeClassOf(long blockSize) {
+        if (blockSize <= LINEAR_SIZE_CLASS_LIMIT) {
+            return (int) (blockSize >> MIN_BLOCK_SIZE_SHIFT) - 1;
+        }
+        int shift = log2(blockSize - 1);
+        int granularityShift = shift - SIZE_CLASSES_PER_DOUBLING_SHIFT;
+        int doublings = shift - LINEAR_SIZE_CLASS_LIMIT_SHIFT;
+        return SIZE_CLASSES_PER_DOUBLING * (doublings + 1)
+                + (int) ((blockSize - (1L << shift)) >> granularityShift) - 1;
+    }
+
+    private long allocateFromSlab(long blockSize) {
+        int sizeClass = sizeClassOf(blockSize);
+        long address = freeListHeads[sizeClass];
+        if (address != MemoryAllocator.NULL_ADDRESS) {
+            freeListHeads[sizeClass] = MEM.getLong(address);
+        } else {
+            if (bumpPointers[sizeClass] + blockSize > bumpLimits[sizeClass]
+                    || bumpPointers[sizeClass] == MemoryAllocator.NULL_ADDRESS) {
+                int slabSize = nextSlabSize(sizeClass, blockSize);
+                long slab = newSlab(slabSize);
+                bumpPointers[sizeClass] = slab;
+                bumpLimits[sizeClass] = slab + slabSize;
+            }
+            address = bumpPointers[sizeClass];
+            bumpPointers[sizeClass] += blockSize;
+        }
+        MEM.setMemory(address, blockSize, (byte) 0);
+        return address;
+    }
+
+    private int nextSlabSize(int sizeClass, long blockSize) {
+        int slabSize = nextSlabSizes[sizeClass];
+        if (slabSize == 0) {
+            slabSize = (int) blockSize * INITIAL_SLAB_BLOCK_COUNT;
+        }
+        nextSlabSizes[sizeClass] = Math.min(SLAB_SIZE, 2 * slabSize);
+        return slabSize;
+    }
+
+    private long newSlab(int slabSize) {
+        long slab = malloc(slabSize);
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, slabs.length * 2);
+        }
+        slabs[slabCount++] = slab;
+        committedMemory += slabSize;
+        return slab;
+    }
+
+    private static long malloc(long size) {
+        try {
+            return UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+        }
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            checkPositive("size", size);
+            assert !disposed : "SlabMemoryManager is already disposed";
+
+            long blockSize = blockSizeOf(size);
+            long address;
+            if (blockSize > MAX_SLAB_BLOCK_SIZE) {
+                address = malloc(blockSize);
+                MEM.setMemory(address, blockSize, (byte) 0);
+                largeBlocks.put(address, blockSize);
+                committedMemory += blockSize;
+            } else {
+                address = allocateFromSlab(blockSize);
+            }
+            usedMemory += blockSize;
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            long currentBlockSize = blockSizeOf(currentSize);
+            if (currentBlockSize == blockSizeOf(newSize)) {
+                if (newSize > currentSize) {
+                    MEM.setMemory(address + currentSize, newSize - currentSize, (byte) 0);
+                }
+                return address;
+            }
+            long newAddress = allocate(newSize);
+            MEM.copyMemory(address, newAddress, Math.min(currentSize, newSize));
+            free(address, currentSize);
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            if (address == NULL_ADDRESS || disposed) {
+                return;
+            }
+
+            long blockSize = blockSizeOf(size);
+            if (blockSize > MAX_SLAB_BLOCK_SIZE) {
+                long removed = largeBlocks.remove(address);
+                assert removed == blockSize : "Freeing unknown block " + address + " of size " + size;
+                UNSAFE.freeMemory(address);
+                committedMemory -= blockSize;
+            } else {
+                int sizeClass = sizeClassOf(blockSize);
+                MEM.putLong(address, freeListHeads[sizeClass]);
+                freeListHeads[sizeClass] = address;
+            }
+            usedMemory -= blockSize;
+        }
+
+        @Override
+        public void dispose() {
+            SlabMemoryManager.this.dispose();
+        }
+    }
+}
@@ -224,6 +224,10 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_BACKUP_COUNT = "backupCount";
     public static final String MAP_METRIC_QUERY_COUNT = "queryCount";
     public static final String MAP_METRIC_INDEXED_QUERY_COUNT = "indexedQueryCount";
+    public static final String MAP_METRIC_LOCAL_GET_COUNT = "localGetCount";
+    public static final String MAP_METRIC_LOCAL_GET_FALLBACK_COUNT = "localGetFallbackCount";
+    public static final String MAP_METRIC_LOCAL_GET_ALLOCATION_SAMPLE_COUNT = "localGetAllocationSampleCount";
+    public static final String MAP_METRIC_LOCAL_GET_ALLOCATED_BYTES = "localGetAllocatedBytes";
     public static final String MAP_METRIC_TOTAL_PUT_LATENCY = "totalPutLatency";
     public static final String MAP_METRIC_TOTAL_SET_LATENCY = "totalSetLatency";
     public static final String MAP_METRIC_TOTAL_GET_LATENCY = "totalGetLatency";
@@ -290,6 +294,8 @@ public final class MetricDescriptorConstants {
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_OPERATION_TIME = "totalElapsedMigrationOperationTime";
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_DESTINATION_COMMIT_TIME = "totalElapsedDestinationCommitTime";
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME = "totalElapsedMigrationTime";
+    public static final String MIGRATION_METRIC_TOTAL_UNCOMPRESSED_CHUNK_BYTES = "totalUncompressedChunkBytes";
+    public static final String MIGRATION_METRIC_TOTAL_COMPRESSED_CHUNK_BYTES = "totalCompressedChunkBytes";
     // ===[/MIGRATION]==================================================
 
     // ===[MULTIMAP]====================================================
@@ -334,7 +340,10 @@ public final class MetricDescriptorConstants {
             "priorityWriteQueuePendingBytes";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS = "idleTimeMillis";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED = "scheduled";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_FRAMES_PER_WRITE = "framesPerWrite";
+    public static final String NETWORKING_TAG_NIO_OUTBOUND_PIPELINE_FRAMES = "frames";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT = "processCount";
+    public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS = "processTimeNanos";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID = "ownerId";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS = "startedMigrations";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_COMPLETED_MIGRATIONS = "completedMigrations";
@@ -345,6 +354,7 @@ public final class MetricDescriptorConstants {
     public static final String NETWORKING_METRIC_NIO_THREAD_FRAMES_TRANSCEIVED = "framesTransceived";
     public static final String NETWORKING_METRIC_NIO_THREAD_PRIORITY_FRAMES_TRANSCEIVED = "priorityFramesTransceived";
     public static final String NETWORKING_METRIC_NIO_THREAD_PROCESS_COUNT = "processCount";
+    public static final String NETWORKING_METRIC_NIO_THREAD_PROCESS_TIME_NANOS = "processTimeNanos";
     public static final String NETWORKING_METRIC_NIO_THREAD_TASK_QUEUE_SIZE = "taskQueueSize";
     public static final String NETWORKING_METRIC_NIO_THREAD_EVENT_COUNT = "eventCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_SELECTOR_IO_EXCEPTION_COUNT = "selectorIOExceptionCount";
@@ -360,12 +370,16 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_PREFIX_ADHOC = "operation.adhoc";
     public static final String OPERATION_PREFIX_GENERIC = "operation.generic";
     public static final String OPERATION_PREFIX_INVOCATIONS = "operation.invocations";
+    public static final String OPERATION_PREFIX_LATENCY = "operation.latency";
     public static final String OPERATION_PREFIX_PARKER = "operation.parker";
     public static final String OPERATION_PREFIX_PARTITION = "operation.partition";
     public static final String OPERATION_PREFIX_THREAD = "operation.thread";
     public static final String OPERATION_DISCRIMINATOR_THREAD = "thread";
     public static final String OPERATION_DISCRIMINATOR_PARTITIONID = "partitionId";
     public static final String OPERATION_DISCRIMINATOR_GENERICID = "genericId";
+    public static final String OPERATION_DISCRIMINATOR_OPERATION = "operation";
+    public static final String OPERATION_TAG_LATENCY_PHASE = "phase";
+    public static final String OPERATION_TAG_LATENCY_BUCKET = "latency";
     public static final String OPERATION_METRIC_EXECUTOR_RUNNING_COUNT = "runningCount";
     public static final String OPERATION_METRIC_EXECUTOR_RUNNING_PARTITION_COUNT = "runningPartitionCount";
     public static final String OPERATION_METRIC_EXECUTOR_RUNNING_GENERIC_COUNT = "runningGenericCount";
@@ -413,6 +427,10 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_OPERATION_SERVICE_CALL_TIMEOUT_COUNT = "callTimeoutCount";
     public static final String OPERATION_METRIC_OPERATION_SERVICE_RETRY_COUNT = "retryCount";
     public static final String OPERATION_METRIC_OPERATION_SERVICE_FAILED_BACKUPS = "failedBackups";
+    public static final String OPERATION_METRIC_LATENCY_COUNT = "count";
+    public static final String OPERATION_METRIC_LATENCY_TOTAL_MICROS = "totalMicros";
+    public static final String OPERATION_METRIC_LATENCY_MAX_MICROS = "maxMicros";
+    public static final String OPERATION_METRIC_LATENCY_BUCKET = "bucket";
     // ===[/OPERATION]==================================================
 
     // ===[OS]==========================================================
@@ -556,6 +574,9 @@ public final class MetricDescriptorConstants {
     public static final String TCP_METRIC_ENDPOINT_MANAGER_OPENED_COUNT = "openedCount";
     public static final String TCP_METRIC_ENDPOINT_MANAGER_CLOSED_COUNT = "closedCount";
     public static final String TCP_METRIC_ENDPOINT_MANAGER_ACCEPTED_SOCKET_COUNT = "acceptedSocketCount";
+    public static final String TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_SAVED = "compressionBytesSaved";
+    public static final String TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_TIME_NANOS = "compressionTimeNanos";
+    public static final String TCP_METRIC_ENDPOINT_MANAGER_DECOMPRESSION_TIME_NANOS = "decompressionTimeNanos";
     public static final String TCP_METRIC_CLIENT_COUNT = "clientCount";
     public static final String TCP_METRIC_TEXT_COUNT = "textCount";
     // ===[/TCP]========================================================
@@ -48,6 +48,11 @@ public interface IndexOperationStats {
         public void onEntryRemoved(Object removedValue) {
             // do nothing
         }
+
+        @Override
+        public void onMemoryCostChanged(long delta) {
+            // do nothing
+        }
     };
 
     /**
@@ -75,4 +80,13 @@ public interface IndexOperationStats {
      */
     void onEntryRemoved(Object removedValue);
 
+    /**
+     * Invoked by the associated index when it changes the memory it holds
+     * besides the one of its store, e.g. the attribute values it covers on
+     * the indexed entries.
+     *
+     * @param delta the memory cost delta.
+     */
+    void onMemoryCostChanged(long delta);
+
 }
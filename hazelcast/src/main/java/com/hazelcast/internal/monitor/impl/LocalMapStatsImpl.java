@@ -41,6 +41,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEXED_QUERY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_ACCESS_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_UPDATE_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCAL_GET_ALLOCATED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCAL_GET_ALLOCATION_SAMPLE_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCAL_GET_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCAL_GET_FALLBACK_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCKED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MERKLE_TREES_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_EVENTS;
@@ -87,6 +91,14 @@ public class LocalMapStatsImpl implements LocalMapStats {
             newUpdater(LocalMapStatsImpl.class, "setCount");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> REMOVE_COUNT =
             newUpdater(LocalMapStatsImpl.class, "removeCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOCAL_GET_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "localGetCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOCAL_GET_FALLBACK_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "localGetFallbackCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOCAL_GET_ALLOCATION_SAMPLE_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "localGetAllocationSampleCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOCAL_GET_ALLOCATED_BYTES =
+            newUpdater(LocalMapStatsImpl.class, "localGetAllocatedBytes");
 
     // The resolution is in nanoseconds for the following latencies
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> TOTAL_GET_LATENCIES =
@@ -134,6 +146,14 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long evictionCount;
     @Probe(name = MAP_METRIC_EXPIRATION_COUNT)
     private volatile long expirationCount;
+    @Probe(name = MAP_METRIC_LOCAL_GET_COUNT)
+    private volatile long localGetCount;
+    @Probe(name = MAP_METRIC_LOCAL_GET_FALLBACK_COUNT)
+    private volatile long localGetFallbackCount;
+    @Probe(name = MAP_METRIC_LOCAL_GET_ALLOCATION_SAMPLE_COUNT)
+    private volatile long localGetAllocationSampleCount;
+    @Probe(name = MAP_METRIC_LOCAL_GET_ALLOCATED_BYTES, unit = BYTES)
+    private volatile long localGetAllocatedBytes;
 
     private volatile long totalGetLatenciesNanos;
     private volatile long totalPutLatenciesNanos;
@@ -500,6 +520,49 @@ public class LocalMapStatsImpl implements LocalMapStats {
         setMax(this, MAX_REMOVE_LATENCY, latencyNanos);
     }
 
+    /**
+     * Counts a get served by reading the local partition directly, without
+     * an operation and an invocation.
+     */
+    public void incrementLocalGets() {
+        LOCAL_GET_COUNT.incrementAndGet(this);
+    }
+
+    /**
+     * Counts a local get which had to be retried via the regular invocation.
+     */
+    public void incrementLocalGetFallbacks() {
+        LOCAL_GET_FALLBACK_COUNT.incrementAndGet(this);
+    }
+
+    /**
+     * Records the bytes allocated by the calling thread during a sampled
+     * local get, a negative value means the measurement failed.
+     */
+    public void recordLocalGetAllocation(long allocatedBytes) {
+        if (allocatedBytes < 0) {
+            return;
+        }
+        LOCAL_GET_ALLOCATION_SAMPLE_COUNT.incrementAndGet(this);
+        LOCAL_GET_ALLOCATED_BYTES.addAndGet(this, allocatedBytes);
+    }
+
+    public long getLocalGetCount() {
+        return localGetCount;
+    }
+
+    public long getLocalGetAllocationSampleCount() {
+        return localGetAllocationSampleCount;
+    }
+
+    public long getLocalGetAllocatedBytes() {
+        return localGetAllocatedBytes;
+    }
+
+    public long getLocalGetFallbackCount() {
+        return localGetFallbackCount;
+    }
+
     public void incrementOtherOperations() {
         NUMBER_OF_OTHER_OPERATIONS.incrementAndGet(this);
     }
@@ -24,8 +24,13 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
+
 /**
  * A Channel is a construct that can send/receive like Packets/ClientMessages etc.
  * Connections use a channel to do the real work; but there is no dependency of the
@@ -258,6 +263,42 @@ public interface Channel extends Closeable {
      */
     boolean write(OutboundFrame frame);
 
+    /**
+     * Queues the {@link OutboundFrame}s to be written at some point in the future.
+     * Unlike a sequence of {@link #write(OutboundFrame)} calls, the frames are
+     * queued as a batch so an implementation can send them with a single write
+     * to the socket. No guarantee is made that the frames actually are going to
+     * be written or received.
+     *
+     * This method is thread-safe.
+     *
+     * @param frames the frames to write.
+     * @return true if the frames were queued; false if rejected.
+     */
+    default boolean writeAll(Collection<? extends OutboundFrame> frames) {
+        for (OutboundFrame frame : frames) {
+            if (!write(frame)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Allocates a buffer for a {@link ChannelHandler} of this Channel. The
+     * buffer is direct if {@link ChannelOption#DIRECT_BUF} is enabled.
+     *
+     * The buffer may be taken from a pool the buffers of the handlers are
+     * returned to once this Channel is closed, so it must not be used after
+     * the Channel has been closed.
+     *
+     * @param sizeBytes the capacity of the buffer in bytes.
+     * @return the buffer with position 0 and limit equal to its capacity.
+     */
+    default ByteBuffer allocateBuffer(int sizeBytes) {
+        return newByteBuffer(sizeBytes, options().getOption(DIRECT_BUF));
+    }
+
     /**
      * Returns current count of bytes read from the Channel.
      * The read values might not reflect the most recent value.
@@ -20,9 +20,7 @@ import com.hazelcast.internal.nio.IOUtil;
 
 import java.nio.ByteBuffer;
 
-import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
-import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
 
 /**
  * The {@link OutboundHandler} is a {@link ChannelHandler} for outbound
@@ -114,8 +112,7 @@ public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandl
                     + ". bytes.length " + bytes.length);
         }
 
-        ChannelOptions config = channel.options();
-        ByteBuffer buffer = newByteBuffer(sizeBytes, config.getOption(DIRECT_BUF));
+        ByteBuffer buffer = channel.allocateBuffer(sizeBytes);
         if (bytes != null) {
             buffer.put(bytes);
         }
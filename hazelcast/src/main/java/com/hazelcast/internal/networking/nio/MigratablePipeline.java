@@ -53,4 +53,13 @@ public interface MigratablePipeline {
      * @return total load recorded by this pipeline
      */
     long load();
+
+    /**
+     * Get the total time the owning {@link NioThread NioThreads} spent processing
+     * this pipeline. Together with the {@link #load()} it tells how busy this
+     * pipeline keeps its owner.
+     *
+     * @return total processing time in nanoseconds
+     */
+    long processTimeNanos();
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * A pool of the buffers of the {@link com.hazelcast.internal.networking.ChannelHandler
+ * ChannelHandlers} shared by all {@link NioChannel}s of a {@link NioNetworking}.
+ *
+ * The buffers are pooled per size and kind (heap or direct), up to a maximum
+ * number of buffers for each of them. The pipelines of a channel return
+ * the buffers of their handlers once the channel has been closed and no
+ * thread processes the pipeline anymore, see {@link NioPipeline#releaseBuffers()}.
+ * So connections which come and go don't allocate new buffers, which is
+ * especially costly for direct buffers.
+ *
+ * This class is thread-safe.
+ */
+final class NioBufferPool {
+
+    private final int maxPooledBuffers;
+    private final ConcurrentMap<Integer, Queue<ByteBuffer>> heapBuffers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Queue<ByteBuffer>> directBuffers = new ConcurrentHashMap<>();
+    private final MwCounter allocatedBuffers = newMwCounter();
+    private final MwCounter reusedBuffers = newMwCounter();
+
+    /**
+     * @param maxPooledBuffers the maximum number of pooled buffers per size and kind.
+     */
+    NioBufferPool(int maxPooledBuffers) {
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * Returns a pooled buffer of the given size and kind or allocates a new
+     * one. The buffer has position 0, limit equal to its capacity and big
+     * endian byte order, like a newly allocated buffer.
+     */
+    ByteBuffer allocate(int sizeBytes, boolean direct) {
+        ByteBuffer buffer = buffers(sizeBytes, direct).poll();
+        if (buffer == null) {
+            allocatedBuffers.inc();
+            return newByteBuffer(sizeBytes, direct);
+        }
+        reusedBuffers.inc();
+        buffer.clear();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool, or drops it if the pool is full. The
+     * buffer must not be used after it has been returned.
+     */
+    void free(ByteBuffer buffer) {
+        buffers(buffer.capacity(), buffer.isDirect()).offer(buffer);
+    }
+
+    // used in tests
+    long allocatedBuffers() {
+        return allocatedBuffers.get();
+    }
+
+    // used in tests
+    long reusedBuffers() {
+        return reusedBuffers.get();
+    }
+
+    private Queue<ByteBuffer> buffers(int sizeBytes, boolean direct) {
+        ConcurrentMap<Integer, Queue<ByteBuffer>> buffers = direct ? directBuffers : heapBuffers;
+        return buffers.computeIfAbsent(sizeBytes, size -> new ArrayBlockingQueue<>(maxPooledBuffers));
+    }
+}
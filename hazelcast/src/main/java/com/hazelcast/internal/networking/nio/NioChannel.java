@@ -24,11 +24,19 @@ import com.hazelcast.internal.networking.OutboundFrame;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedMap;
+
 /**
  * A {@link Channel} implementation tailored for non-blocking IO using
  * {@link Selector} in combination with a non-blocking {@link SocketChannel}.
@@ -42,15 +50,27 @@ public final class NioChannel extends AbstractChannel {
     private final Executor closeListenerExecutor;
     private final ChannelInitializer channelInitializer;
     private final NioChannelOptions config;
+    private final NioBufferPool bufferPool;
+    // the buffers taken from the pool, only these are returned to it
+    private final Set<ByteBuffer> pooledBuffers = newSetFromMap(synchronizedMap(new IdentityHashMap<>()));
 
     public NioChannel(SocketChannel socketChannel,
                       boolean clientMode,
                       ChannelInitializer channelInitializer,
                       Executor closeListenerExecutor) {
+        this(socketChannel, clientMode, channelInitializer, closeListenerExecutor, null);
+    }
+
+    NioChannel(SocketChannel socketChannel,
+               boolean clientMode,
+               ChannelInitializer channelInitializer,
+               Executor closeListenerExecutor,
+               NioBufferPool bufferPool) {
         super(socketChannel, clientMode);
         this.channelInitializer = channelInitializer;
         this.closeListenerExecutor = closeListenerExecutor;
         this.config = new NioChannelOptions(socketChannel, logger);
+        this.bufferPool = bufferPool;
     }
 
     @Override
@@ -80,6 +100,44 @@ public final class NioChannel extends AbstractChannel {
         return true;
     }
 
+    @Override
+    public boolean writeAll(Collection<? extends OutboundFrame> frames) {
+        if (isClosed()) {
+            return false;
+        }
+        outboundPipeline.writeAll(frames);
+        return true;
+    }
+
+    @Override
+    public ByteBuffer allocateBuffer(int sizeBytes) {
+        if (bufferPool == null) {
+            return super.allocateBuffer(sizeBytes);
+        }
+        ByteBuffer buffer = bufferPool.allocate(sizeBytes, config.getOption(DIRECT_BUF));
+        pooledBuffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Returns the pool the buffers of the handlers are returned to, or
+     * {@code null} if the buffers aren't pooled.
+     */
+    NioBufferPool bufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Returns the buffer to the pool if it was taken from the pool by {@link
+     * #allocateBuffer(int)} and hasn't been returned yet. Other buffers, e.g.
+     * those the handlers allocated on their own, are left to the GC.
+     */
+    void freeBuffer(ByteBuffer buffer) {
+        if (pooledBuffers.remove(buffer)) {
+            bufferPool.free(buffer);
+        }
+    }
+
     @Override
     public long lastReadTimeMillis() {
         return inboundPipeline.lastReadTimeMillis();
@@ -117,6 +175,10 @@ public final class NioChannel extends AbstractChannel {
             }
         }
 
+        // the buffers are returned to the pool as soon as the pipelines aren't processed anymore
+        inboundPipeline.releaseBuffers();
+        outboundPipeline.releaseBuffers();
+
         if (Thread.currentThread() instanceof NioThread) {
             // we don't want to do any tasks on an io thread; we offload it instead
             try {
@@ -112,6 +112,18 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
 
     @Override
     void process() throws Exception {
+        if (!acquireBuffers()) {
+            // the channel has been closed
+            return;
+        }
+        try {
+            process0();
+        } finally {
+            releaseBuffers();
+        }
+    }
+
+    private void process0() throws Exception {
         int readBytes = socketChannel.read(receiveBuffer);
 
         if (readBytes == -1) {
@@ -261,6 +273,16 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
         }
     }
 
+    @Override
+    void returnBuffers() {
+        // the dst buffer of a handler is the src buffer of the next one
+        for (InboundHandler handler : handlers) {
+            if (handler.src() instanceof ByteBuffer) {
+                channel.freeBuffer((ByteBuffer) handler.src());
+            }
+        }
+    }
+
     // useful for debugging
     private String pipelineToString() {
         StringBuilder sb = new StringBuilder("in-pipeline[");
@@ -121,6 +121,9 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final long writeCoalescingDelayNanos;
+    private final int writeCoalescingBytes;
+    private final NioBufferPool bufferPool;
     private final ThreadAffinity inputThreadAffinity;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
@@ -138,6 +141,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     @Probe(name = NETWORKING_METRIC_NIO_NETWORKING_PACKETS_RECEIVED, level = DEBUG)
     private volatile long packetsReceived;
 
+    @SuppressWarnings("checkstyle:executablestatementcount")
     public NioNetworking(Context ctx) {
         this.threadNamePrefix = ctx.threadNamePrefix;
         this.metricsRegistry = ctx.metricsRegistry;
@@ -159,6 +163,9 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // disabled with SELECT_WITH_FIX.
         this.writeThroughEnabled = ctx.writeThroughEnabled && selectorMode != SELECT_WITH_FIX;
         this.selectionKeyWakeupEnabled = ctx.selectionKeyWakeupEnabled && selectorMode != SELECT_WITH_FIX;
+        this.writeCoalescingDelayNanos = ctx.writeCoalescingDelayNanos;
+        this.writeCoalescingBytes = ctx.writeCoalescingBytes;
+        this.bufferPool = ctx.bufferPoolSize > 0 ? new NioBufferPool(ctx.bufferPoolSize) : null;
         if (selectorMode == SELECT_WITH_FIX
                 && (ctx.writeThroughEnabled || ctx.selectionKeyWakeupEnabled)) {
             logger.warning("Selector mode SELECT_WITH_FIX is incompatible with write-through and selection key wakeup "
@@ -184,6 +191,11 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         return channels;
     }
 
+    // used in tests
+    NioBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
     public IOBalancer getIOBalancer() {
         return ioBalancer;
     }
@@ -199,6 +211,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     + inputThreadCount + " input threads and "
                     + outputThreadCount + " output threads");
             logger.fine("write through enabled:" + writeThroughEnabled);
+            logger.fine("write coalescing delay nanos:" + writeCoalescingDelayNanos);
         }
 
         logger.log(selectorMode != SELECT ? Level.INFO : FINE, "IO threads selector mode is " + selectorMode);
@@ -306,7 +319,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             throw new IllegalArgumentException("Can't register a channel when networking isn't started");
         }
 
-        NioChannel channel = new NioChannel(socketChannel, clientMode, channelInitializer, closeListenerExecutor);
+        NioChannel channel = new NioChannel(socketChannel, clientMode, channelInitializer, closeListenerExecutor, bufferPool);
 
         socketChannel.configureBlocking(false);
 
@@ -334,7 +347,9 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 ioBalancer,
                 concurrencyDetection,
                 writeThroughEnabled,
-                selectionKeyWakeupEnabled);
+                selectionKeyWakeupEnabled,
+                writeCoalescingDelayNanos,
+                writeCoalescingBytes);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -355,7 +370,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     @Override
     public void provideDynamicMetrics(MetricDescriptor descriptor,
                                       MetricsCollectionContext context) {
-        for (Channel channel : channels) {
+        for (NioChannel channel : channels) {
             String pipelineId = channel.localSocketAddress() + "->" + channel.remoteSocketAddress();
 
             MetricDescriptor descriptorIn = descriptor
@@ -369,6 +384,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     .withPrefix(TCP_PREFIX_CONNECTION_OUT)
                     .withDiscriminator(TCP_DISCRIMINATOR_PIPELINEID, pipelineId);
             context.collect(descriptorOut, channel.outboundPipeline());
+            channel.outboundPipeline().provideFramesPerWriteMetrics(descriptorOut, context);
         }
 
         NioThread[] inputThreads = this.inputThreads;
@@ -504,6 +520,14 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // this is an optimization that can speed up low threaded setups
         private boolean writeThroughEnabled;
 
+        // if positive, the output threads delay writing a partially filled send buffer by up to this
+        // many nanoseconds, so that more frames are written by the same system call
+        private long writeCoalescingDelayNanos;
+        private int writeCoalescingBytes;
+
+        // if positive, the buffers of the closed channels are pooled for reuse by new channels
+        private int bufferPoolSize;
+
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
             if (selectorModeString.startsWith(SELECT_NOW_STRING + ",")) {
@@ -521,6 +545,17 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context writeCoalescing(long delayNanos, int bytes) {
+            this.writeCoalescingDelayNanos = delayNanos;
+            this.writeCoalescingBytes = bytes;
+            return this;
+        }
+
+        public Context bufferPoolSize(int bufferPoolSize) {
+            this.bufferPoolSize = bufferPoolSize;
+            return this;
+        }
+
         public Context concurrencyDetection(ConcurrencyDetection concurrencyDetection) {
             this.concurrencyDetection = concurrencyDetection;
             return this;
@@ -16,6 +16,8 @@
 
 package com.hazelcast.internal.networking.nio;
 
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsCollectionContext;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
@@ -33,12 +35,14 @@ import java.nio.ByteBuffer;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_FRAMES_PER_WRITE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_NORMAL_FRAMES_WRITTEN;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_FRAMES_WRITTEN;
@@ -47,9 +51,11 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_TAG_NIO_OUTBOUND_PIPELINE_FRAMES;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
 import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.COUNT;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
@@ -60,6 +66,7 @@ import static com.hazelcast.internal.util.collection.ArrayUtils.replaceFirst;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.nio.channels.SelectionKey.OP_WRITE;
 
@@ -107,6 +114,14 @@ public final class NioOutboundPipeline
         RESCHEDULE
     }
 
+    /**
+     * The labels of the frames-per-write histogram buckets. Bucket 0 counts
+     * the writes of the remainder of frames which didn't fit into a single
+     * write, every other bucket up to the last one counts the writes of a
+     * power of two range of frames.
+     */
+    static final String[] FRAMES_PER_WRITE_KEYS = {"0", "1", "2..3", "4..7", "8..15", "16..31", "32..63", "64..127", "128+"};
+
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE, level = INFO)
     public final Queue<OutboundFrame> writeQueue = new ConcurrentLinkedQueue<>();
@@ -124,6 +139,7 @@ public final class NioOutboundPipeline
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_FRAMES_WRITTEN, level = DEBUG)
     private final SwCounter priorityFramesWritten = newSwCounter();
+    private final SwCounter[] framesPerWrite = new SwCounter[FRAMES_PER_WRITE_KEYS.length];
 
     private volatile long lastWriteTime;
 
@@ -131,9 +147,15 @@ public final class NioOutboundPipeline
     private long normalFramesWrittenLastPublish;
     private long priorityFramesWrittenLastPublish;
     private long processCountLastPublish;
+    private long framesWrittenLastFlush;
+    private boolean coalescing;
+    private long coalescingStartNanos;
+    private final Runnable coalescingDeadlineTask = this::onCoalescingDeadline;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
     private final boolean selectionKeyWakeupEnabled;
+    private final long writeCoalescingDelayNanos;
+    private final int writeCoalescingBytes;
 
     NioOutboundPipeline(NioChannel channel,
                         NioThread owner,
@@ -142,11 +164,18 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        long writeCoalescingDelayNanos,
+                        int writeCoalescingBytes) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.writeCoalescingDelayNanos = writeCoalescingDelayNanos;
+        this.writeCoalescingBytes = writeCoalescingBytes;
+        for (int i = 0; i < framesPerWrite.length; i++) {
+            framesPerWrite[i] = newSwCounter();
+        }
     }
 
     @Override
@@ -199,14 +228,48 @@ public final class NioOutboundPipeline
         return scheduled.get().ordinal();
     }
 
+    /**
+     * Returns the number of socket writes which contained the given bucket
+     * of frames, see {@link #FRAMES_PER_WRITE_KEYS}.
+     */
+    long framesPerWrite(int bucket) {
+        return framesPerWrite[bucket].get();
+    }
+
+    void provideFramesPerWriteMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        for (int bucket = 0; bucket < framesPerWrite.length; bucket++) {
+            context.collect(descriptor.copy()
+                            .withTag(NETWORKING_TAG_NIO_OUTBOUND_PIPELINE_FRAMES, FRAMES_PER_WRITE_KEYS[bucket]),
+                    NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_FRAMES_PER_WRITE, DEBUG, COUNT, framesPerWrite[bucket].get());
+        }
+    }
+
     public void write(OutboundFrame frame) {
         if (frame.isUrgent()) {
             priorityWriteQueue.offer(frame);
         } else {
             writeQueue.offer(frame);
         }
+        schedule();
+    }
+
+    /**
+     * Queues the frames and schedules the pipeline once for all of them, so
+     * the frames are encoded into the same send buffer as far as it fits them.
+     */
+    public void writeAll(Collection<? extends OutboundFrame> frames) {
+        for (OutboundFrame frame : frames) {
+            if (frame.isUrgent()) {
+                priorityWriteQueue.offer(frame);
+            } else {
+                writeQueue.offer(frame);
+            }
+        }
+        schedule();
+    }
 
-        // take care of the scheduling.
+    // takes care of the scheduling.
+    private void schedule() {
         for (; ; ) {
             State state = scheduled.get();
             if (state == State.UNSCHEDULED) {
@@ -301,8 +364,20 @@ public final class NioOutboundPipeline
 
     // is never called concurrently!
     @Override
-    @SuppressWarnings("unchecked")
     public void process() throws Exception {
+        if (!acquireBuffers()) {
+            // the channel has been closed
+            return;
+        }
+        try {
+            process0();
+        } finally {
+            releaseBuffers();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void process0() throws Exception {
         processCount.inc();
 
         OutboundHandler[] localHandlers = handlers;
@@ -322,6 +397,12 @@ public final class NioOutboundPipeline
             }
         }
 
+        if (coalesce(pipelineStatus)) {
+            // we unschedule the pipeline, so that new frames or the coalescing deadline schedule it again
+            postProcessClean();
+            return;
+        }
+
         flushToSocket();
 
         if (migrationRequested()) {
@@ -435,13 +516,73 @@ public final class NioOutboundPipeline
         }
     }
 
+    /**
+     * Checks if writing the send buffer to the socket should be delayed, so
+     * that frames queued in the meantime are written by the same system call.
+     * Only the owning {@link NioThread} delays, and only while all queued
+     * frames have been encoded, the send buffer holds less than the
+     * configured number of bytes and the configured delay hasn't expired.
+     * A write-through on the calling thread is never delayed.
+     * <p>
+     * If the write is delayed, the pipeline is unscheduled without OP_WRITE
+     * registered, since the socket is writable and would wake the owner up
+     * on every select. A frame written in the meantime schedules the pipeline
+     * again, and a delayed task of the owner schedules it at the deadline.
+     */
+    private boolean coalesce(HandlerStatus pipelineStatus) throws IOException {
+        if (writeCoalescingDelayNanos <= 0) {
+            return false;
+        }
+
+        int pending = sendBuffer.remaining();
+        if (pipelineStatus != CLEAN
+                || pending == 0
+                || pending >= writeCoalescingBytes
+                || currentThread() != owner
+                || migrationRequested()) {
+            coalescing = false;
+            return false;
+        }
+
+        long now = nanoTime();
+        if (!coalescing) {
+            coalescing = true;
+            coalescingStartNanos = now;
+            owner.addDelayedTask(coalescingDeadlineTask, now + writeCoalescingDelayNanos);
+        } else if (now - coalescingStartNanos >= writeCoalescingDelayNanos) {
+            coalescing = false;
+            return false;
+        }
+        return true;
+    }
+
+    private void onCoalescingDeadline() {
+        // if a new frame already scheduled the pipeline, that processing flushes the send buffer
+        if (scheduled.compareAndSet(State.UNSCHEDULED, State.SCHEDULED)) {
+            run();
+        }
+    }
+
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
+        if (sendBuffer.hasRemaining()) {
+            long framesWritten = normalFramesWritten.get() + priorityFramesWritten.get();
+            framesPerWrite[framesPerWriteBucket(framesWritten - framesWrittenLastFlush)].inc();
+            framesWrittenLastFlush = framesWritten;
+        }
         int written = socketChannel.write(sendBuffer);
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
 
+    static int framesPerWriteBucket(long frames) {
+        if (frames <= 0) {
+            return 0;
+        }
+        int bucket = Long.SIZE - Long.numberOfLeadingZeros(frames);
+        return Math.min(bucket, FRAMES_PER_WRITE_KEYS.length - 1);
+    }
+
     void drainWriteQueues() {
         writeQueue.clear();
         priorityWriteQueue.clear();
@@ -511,6 +652,16 @@ public final class NioOutboundPipeline
         return this;
     }
 
+    @Override
+    void returnBuffers() {
+        // the src buffer of a handler is the dst buffer of the previous one
+        for (OutboundHandler handler : handlers) {
+            if (handler.dst() instanceof ByteBuffer) {
+                channel.freeBuffer((ByteBuffer) handler.dst());
+            }
+        }
+    }
+
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
@@ -28,6 +28,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_COMPLETED_MIGRATIONS;
@@ -35,8 +36,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_OPS_READY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Thread.currentThread;
 
@@ -73,6 +76,12 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
     private final SwCounter startedMigrations = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_PIPELINE_COMPLETED_MIGRATIONS, level = DEBUG)
     private final SwCounter completedMigrations = newSwCounter();
+    // the time the owning NioThreads spent in the NioPipeline.process() method.
+    @Probe(name = NETWORKING_METRIC_NIO_PIPELINE_PROCESS_TIME_NANOS, unit = NS, level = DEBUG)
+    private final SwCounter processTimeNanos = newSwCounter();
+    // the references to the buffers of the handlers when they are pooled: one is held by the open
+    // channel and one by each thread processing the pipeline. The last one returns them to the pool.
+    private final AtomicInteger bufferReferences = new AtomicInteger(1);
     private volatile NioThread newOwner;
 
     NioPipeline(NioChannel channel,
@@ -120,6 +129,16 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
         return owner;
     }
 
+    @Override
+    public long processTimeNanos() {
+        return processTimeNanos.get();
+    }
+
+    // is only called by the owner
+    void recordProcessTime(long durationNanos) {
+        processTimeNanos.inc(durationNanos);
+    }
+
     void start() {
         owner.addTaskAndWakeup(() -> {
             try {
@@ -152,6 +171,49 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
 
     abstract void publishMetrics();
 
+    /**
+     * Acquires a reference to the buffers of the handlers, so they aren't
+     * returned to the pool while this pipeline is processed. Every acquired
+     * reference must be released by {@link #releaseBuffers()}.
+     *
+     * @return {@code false} if the buffers have been returned to the pool
+     * since the channel has been closed, so the pipeline must not be processed
+     */
+    final boolean acquireBuffers() {
+        if (channel.bufferPool() == null) {
+            return true;
+        }
+
+        for (; ; ) {
+            int references = bufferReferences.get();
+            if (references == 0) {
+                return false;
+            }
+            if (bufferReferences.compareAndSet(references, references + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a reference to the buffers of the handlers, either one
+     * acquired by {@link #acquireBuffers()} or the one held by the channel
+     * until it is closed. The buffers are returned to the pool once the
+     * last reference has been released.
+     */
+    final void releaseBuffers() {
+        if (channel.bufferPool() != null && bufferReferences.decrementAndGet() == 0) {
+            returnBuffers();
+        }
+    }
+
+    /**
+     * Returns the buffers of the handlers which were taken from the pool to
+     * the pool, see {@link NioChannel#freeBuffer}. Only called once, when no
+     * thread can process the pipeline anymore.
+     */
+    abstract void returnBuffers();
+
     /**
      * Called when the pipeline needs to be processed.
      * <p>
@@ -225,9 +287,10 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
 
     @Override
     public final void run() {
-        if (owner == currentThread()) {
+        NioThread localOwner = owner;
+        if (localOwner == currentThread()) {
             try {
-                process();
+                localOwner.process(this);
             } catch (Throwable t) {
                 onError(t);
             }
@@ -31,6 +31,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.util.Iterator;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -43,18 +44,23 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_IO_THREAD_ID;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_PRIORITY_FRAMES_TRANSCEIVED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_PROCESS_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_PROCESS_TIME_NANOS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_SELECTOR_IO_EXCEPTION_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_THREAD_TASK_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.MetricTarget.MANAGEMENT_CENTER;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW;
 import static com.hazelcast.internal.tpcengine.nio.SelectorOptimizer.newSelector;
 import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 @ExcludedMetricTargets(MANAGEMENT_CENTER)
 public class NioThread extends HazelcastManagedThread implements OperationHostileThread {
@@ -63,6 +69,7 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     private static final int SELECT_WAIT_TIME_MILLIS
             = Integer.getInteger("hazelcast.io.select.wait.time.millis", 5000);
     private static final int SELECT_FAILURE_PAUSE_MILLIS = 1000;
+    private static final long MILLIS_IN_NANOS = MILLISECONDS.toNanos(1);
     // When we detect Selector.select returning prematurely
     // for more than SELECT_IDLE_COUNT_THRESHOLD then we rebuild the selector
     private static final int SELECT_IDLE_COUNT_THRESHOLD = 10;
@@ -89,6 +96,9 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
 
     @Probe(name = NETWORKING_METRIC_NIO_THREAD_TASK_QUEUE_SIZE)
     private final Queue<Runnable> taskQueue = new ConcurrentLinkedQueue<>();
+    // only accessed by this thread
+    private final PriorityQueue<DelayedTask> delayedTasks
+            = new PriorityQueue<>((t1, t2) -> Long.signum(t1.deadlineNanos - t2.deadlineNanos));
     @Probe(name = NETWORKING_METRIC_NIO_THREAD_EVENT_COUNT)
     private final SwCounter eventCount = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_THREAD_SELECTOR_IO_EXCEPTION_COUNT)
@@ -98,6 +108,9 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     // count number of times the selector was rebuilt (if selectWorkaround is enabled)
     @Probe(name = NETWORKING_METRIC_NIO_THREAD_SELECTOR_REBUILD_COUNT)
     private final SwCounter selectorRebuildCount = newSwCounter();
+    // the time spent in processing pipelines
+    @Probe(name = NETWORKING_METRIC_NIO_THREAD_PROCESS_TIME_NANOS, unit = NS)
+    private final SwCounter processTimeNanos = newSwCounter();
 
     private final ILogger logger;
 
@@ -174,6 +187,10 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         return completedTaskCount.get();
     }
 
+    public long processTimeNanos() {
+        return processTimeNanos.get();
+    }
+
     /**
      * Gets the Selector
      *
@@ -226,6 +243,21 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         }
     }
 
+    /**
+     * Adds a task to be executed by this NioThread once the given deadline
+     * has passed. The selector blocks at most until the deadline, the task
+     * may run up to a millisecond late.
+     * <p>
+     * Must be called by this thread.
+     *
+     * @param task          the task to add
+     * @param deadlineNanos the {@link System#nanoTime()} after which the task is executed
+     */
+    void addDelayedTask(Runnable task, long deadlineNanos) {
+        assert currentThread() == this;
+        delayedTasks.add(new DelayedTask(task, deadlineNanos));
+    }
+
     @Override
     public void executeRun() {
         // This outer loop is a bit complex but it takes care of a lot of stuff:
@@ -289,7 +321,7 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         while (!stop) {
             processTaskQueue();
 
-            int selectedKeys = selector.select(SELECT_WAIT_TIME_MILLIS);
+            int selectedKeys = selector.select(selectTimeoutMillis());
             if (selectedKeys > 0) {
                 processSelectionKeys();
             }
@@ -301,17 +333,18 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         while (!stop) {
             processTaskQueue();
 
+            long timeoutMillis = selectTimeoutMillis();
             long before = currentTimeMillis();
-            int selectedKeys = selector.select(SELECT_WAIT_TIME_MILLIS);
+            int selectedKeys = selector.select(timeoutMillis);
             if (selectedKeys > 0) {
                 idleCount = 0;
                 processSelectionKeys();
-            } else if (!taskQueue.isEmpty()) {
+            } else if (!taskQueue.isEmpty() || !delayedTasks.isEmpty()) {
                 idleCount = 0;
             } else {
                 // no keys were selected, not interrupted by wakeup therefore we hit an issue with JDK/network stack
                 long selectTimeTaken = currentTimeMillis() - before;
-                idleCount = selectTimeTaken < SELECT_WAIT_TIME_MILLIS ? idleCount + 1 : 0;
+                idleCount = selectTimeTaken < timeoutMillis ? idleCount + 1 : 0;
 
                 if (selectorBugDetected(idleCount)) {
                     rebuildSelector();
@@ -345,8 +378,33 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
         }
     }
 
+    /**
+     * Returns how long the selector may block: until the deadline of the
+     * first delayed task, but at least a millisecond since a zero timeout
+     * blocks indefinitely.
+     */
+    private long selectTimeoutMillis() {
+        DelayedTask next = delayedTasks.peek();
+        if (next == null) {
+            return SELECT_WAIT_TIME_MILLIS;
+        }
+        long remainingMillis = (next.deadlineNanos - nanoTime() + MILLIS_IN_NANOS - 1) / MILLIS_IN_NANOS;
+        return min(SELECT_WAIT_TIME_MILLIS, max(1, remainingMillis));
+    }
+
     private boolean processTaskQueue() {
         boolean tasksProcessed = false;
+        long now = nanoTime();
+        while (!stop) {
+            DelayedTask delayedTask = delayedTasks.peek();
+            if (delayedTask == null || delayedTask.deadlineNanos - now > 0) {
+                break;
+            }
+            delayedTasks.poll();
+            delayedTask.task.run();
+            completedTaskCount.inc();
+            tasksProcessed = true;
+        }
         while (!stop) {
             Runnable task = taskQueue.poll();
             if (task == null) {
@@ -380,12 +438,30 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
             // we don't need to check for sk.isReadable/sk.isWritable since the pipeline has only registered
             // for events it can handle.
             eventCount.inc();
-            pipeline.process();
+            process(pipeline);
         } catch (Throwable t) {
              pipeline.onError(t);
         }
     }
 
+    /**
+     * Processes the pipeline and records the time it took, both for this
+     * thread and for the pipeline. The time is used by the IOBalancer to
+     * find the pipelines which keep this thread busy.
+     * <p>
+     * Must be called by this thread.
+     */
+    void process(NioPipeline pipeline) throws Exception {
+        long startNanos = nanoTime();
+        try {
+            pipeline.process();
+        } finally {
+            long durationNanos = nanoTime() - startNanos;
+            processTimeNanos.inc(durationNanos);
+            pipeline.recordProcessTime(durationNanos);
+        }
+    }
+
     private void closeSelector() {
         if (logger.isFinestEnabled()) {
             logger.finest("Closing selector for:" + getName());
@@ -438,4 +514,14 @@ public class NioThread extends HazelcastManagedThread implements OperationHostil
     public String toString() {
         return getName();
     }
+
+    private static final class DelayedTask {
+        private final Runnable task;
+        private final long deadlineNanos;
+
+        DelayedTask(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
 }
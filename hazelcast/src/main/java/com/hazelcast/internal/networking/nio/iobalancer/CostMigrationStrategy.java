@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+import com.hazelcast.internal.networking.nio.NioThread;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link MigrationStrategy} balancing the measured cost of the
+ * {@link MigratablePipeline pipelines} instead of a single load counter.
+ *
+ * The cost of a pipeline in a balancing interval is its share of all bytes
+ * processed plus its share of all the time the {@link NioThread}s spent
+ * processing pipelines, so a few connections which keep a thread busy are
+ * spread over the threads even if they don't transfer the most bytes.
+ *
+ * To avoid moving pipelines back and forth on short bursts, the strategy
+ * uses hysteresis: an imbalance must be seen in
+ * {@link #IMBALANCE_ROUNDS_BEFORE_MIGRATION} consecutive intervals before
+ * a migration is attempted, and a migrated pipeline isn't migrated again for
+ * {@link #MIGRATION_COOLDOWN_ROUNDS} intervals.
+ *
+ * An instance must be used for a single {@link LoadTracker} since it keeps
+ * state between the intervals. It is only accessed by the IOBalancer thread.
+ */
+class CostMigrationStrategy implements MigrationStrategy {
+
+    /**
+     * Try to schedule a migration if the cost of the least busy NioThread is
+     * lower than this ratio of the cost of the busiest NioThread.
+     */
+    static final double MIN_MAX_RATIO_MIGRATION_THRESHOLD = 0.8;
+
+    /**
+     * The number of consecutive intervals an imbalance must be detected in
+     * before a migration is attempted.
+     */
+    static final int IMBALANCE_ROUNDS_BEFORE_MIGRATION = 3;
+
+    /**
+     * The number of intervals a migrated pipeline is excluded from migrations.
+     */
+    static final int MIGRATION_COOLDOWN_ROUNDS = 10;
+
+    /**
+     * A pipeline is only migrated if its cost is lower than this ratio of the
+     * difference between the busiest and least busy NioThread, so the
+     * migration doesn't turn the destination into the busiest NioThread.
+     */
+    private static final double MAXIMUM_COST_AFTER_MIGRATION_COEFFICIENT = 0.9;
+
+    private final Map<MigratablePipeline, Long> migrationRounds = new HashMap<>();
+    private long round;
+    private int imbalancedRounds;
+    // the totals and the costs of the last interval
+    private long totalLoad;
+    private long totalProcessTime;
+    private double maximumCost;
+    private double minimumCost;
+
+    @Override
+    public boolean imbalanceDetected(LoadImbalance imbalance) {
+        round++;
+        removeExpiredMigrations();
+        if (!updateOwners(imbalance)) {
+            imbalancedRounds = 0;
+            return false;
+        }
+
+        imbalancedRounds++;
+        if (imbalancedRounds < IMBALANCE_ROUNDS_BEFORE_MIGRATION) {
+            return false;
+        }
+        imbalancedRounds = 0;
+        return true;
+    }
+
+    /**
+     * Selects the busiest NioThread as {@link LoadImbalance#srcOwner} and the
+     * least busy one as {@link LoadImbalance#dstOwner} by the cost of their
+     * pipelines.
+     *
+     * @return <code>true</code> if the cost of the NioThreads is imbalanced
+     */
+    private boolean updateOwners(LoadImbalance imbalance) {
+        totalLoad = 0;
+        totalProcessTime = 0;
+        for (NioThread owner : imbalance.getOwners()) {
+            for (MigratablePipeline pipeline : imbalance.getPipelinesOwnedBy(owner)) {
+                totalLoad += imbalance.getLoad(pipeline);
+                totalProcessTime += imbalance.getProcessTimeNanos(pipeline);
+            }
+        }
+
+        NioThread srcOwner = null;
+        NioThread dstOwner = null;
+        maximumCost = Double.NEGATIVE_INFINITY;
+        minimumCost = Double.POSITIVE_INFINITY;
+        for (NioThread owner : imbalance.getOwners()) {
+            Set<MigratablePipeline> pipelines = imbalance.getPipelinesOwnedBy(owner);
+            double cost = 0;
+            for (MigratablePipeline pipeline : pipelines) {
+                cost += cost(imbalance, pipeline);
+            }
+
+            // a NioThread with a single pipeline can't be a source since there is nothing to balance
+            if (cost > maximumCost && pipelines.size() > 1) {
+                maximumCost = cost;
+                srcOwner = owner;
+            }
+            if (cost < minimumCost) {
+                minimumCost = cost;
+                dstOwner = owner;
+            }
+        }
+
+        if (srcOwner == null || dstOwner == null || srcOwner == dstOwner || maximumCost <= 0) {
+            return false;
+        }
+        imbalance.srcOwner = srcOwner;
+        imbalance.dstOwner = dstOwner;
+        return minimumCost < MIN_MAX_RATIO_MIGRATION_THRESHOLD * maximumCost;
+    }
+
+    /**
+     * Finds the costliest pipeline of the {@link LoadImbalance#srcOwner}
+     * which wouldn't make the {@link LoadImbalance#dstOwner} the busiest
+     * NioThread and which wasn't migrated recently. Must be called after
+     * {@link #imbalanceDetected(LoadImbalance)} returned <code>true</code>.
+     */
+    @Override
+    public MigratablePipeline findPipelineToMigrate(LoadImbalance imbalance) {
+        double migrationThreshold = (maximumCost - minimumCost) * MAXIMUM_COST_AFTER_MIGRATION_COEFFICIENT;
+        MigratablePipeline candidate = null;
+        double costOfCandidate = 0;
+        for (MigratablePipeline pipeline : imbalance.getPipelinesOwnedBy(imbalance.srcOwner)) {
+            if (migrationRounds.containsKey(pipeline)) {
+                continue;
+            }
+
+            double cost = cost(imbalance, pipeline);
+            if (cost > costOfCandidate && cost < migrationThreshold) {
+                costOfCandidate = cost;
+                candidate = pipeline;
+            }
+        }
+
+        if (candidate != null) {
+            migrationRounds.put(candidate, round);
+        }
+        return candidate;
+    }
+
+    private void removeExpiredMigrations() {
+        Iterator<Long> it = migrationRounds.values().iterator();
+        while (it.hasNext()) {
+            if (round - it.next() >= MIGRATION_COOLDOWN_ROUNDS) {
+                it.remove();
+            }
+        }
+    }
+
+    private double cost(LoadImbalance imbalance, MigratablePipeline pipeline) {
+        double cost = 0;
+        if (totalLoad > 0) {
+            cost += (double) imbalance.getLoad(pipeline) / totalLoad;
+        }
+        if (totalProcessTime > 0) {
+            cost += (double) imbalance.getProcessTimeNanos(pipeline) / totalProcessTime;
+        }
+        return cost;
+    }
+}
@@ -55,6 +55,9 @@ import static com.hazelcast.spi.properties.ClusterProperty.IO_THREAD_COUNT;
  * if imbalance is detected then it schedules pipeline migration to fix the situation.
  * The exact migration strategy can be customized via
  * {@link com.hazelcast.internal.networking.nio.iobalancer.MigrationStrategy}.
+ * With the <code>hazelcast.io.balancer.cost</code> system property set to
+ * <code>true</code>, the {@link CostMigrationStrategy} balances the bytes
+ * and the processing time of the pipelines instead of the load counter.
  *
  * Measuring interval can be customized via {@link ClusterProperty#IO_BALANCER_INTERVAL_SECONDS}
  *
@@ -66,10 +69,12 @@ import static com.hazelcast.spi.properties.ClusterProperty.IO_THREAD_COUNT;
  */
 public class IOBalancer {
     private static final String PROP_MONKEY_BALANCER = "hazelcast.io.balancer.monkey";
+    private static final String PROP_COST_BALANCER = "hazelcast.io.balancer.cost";
     private final ILogger logger;
 
     private final int balancerIntervalSeconds;
-    private final MigrationStrategy strategy;
+    private final MigrationStrategy inStrategy;
+    private final MigrationStrategy outStrategy;
 
     private final LoadTracker inLoadTracker;
     private final LoadTracker outLoadTracker;
@@ -93,7 +98,8 @@ public class IOBalancer {
         this.logger = loggingService.getLogger(IOBalancer.class);
         this.balancerIntervalSeconds = balancerIntervalSeconds;
 
-        this.strategy = createMigrationStrategy();
+        this.inStrategy = createMigrationStrategy();
+        this.outStrategy = createMigrationStrategy();
         this.hzName = hzName;
 
         this.inLoadTracker = new LoadTracker(inputThreads, logger);
@@ -147,15 +153,15 @@ public class IOBalancer {
     }
 
     void rebalance() {
-        scheduleMigrationIfNeeded(inLoadTracker);
-        scheduleMigrationIfNeeded(outLoadTracker);
+        scheduleMigrationIfNeeded(inLoadTracker, inStrategy);
+        scheduleMigrationIfNeeded(outLoadTracker, outStrategy);
     }
 
-    private void scheduleMigrationIfNeeded(LoadTracker loadTracker) {
+    private void scheduleMigrationIfNeeded(LoadTracker loadTracker, MigrationStrategy strategy) {
         LoadImbalance loadImbalance = loadTracker.updateImbalance();
         if (strategy.imbalanceDetected(loadImbalance)) {
             imbalanceDetectedCount.inc();
-            tryMigrate(loadImbalance);
+            tryMigrate(loadImbalance, strategy);
         } else {
             if (logger.isFinestEnabled()) {
                 long min = loadImbalance.minimumLoad;
@@ -175,6 +181,9 @@ public class IOBalancer {
             logger.warning("Using Monkey IO Balancer Strategy. This is for stress tests only. Do not user in production! "
                     + "Disable by not setting the property '" + PROP_MONKEY_BALANCER + "' to true.");
             return new MonkeyMigrationStrategy();
+        } else if (Boolean.getBoolean(PROP_COST_BALANCER)) {
+            logger.finest("Using cost IO Balancer Strategy.");
+            return new CostMigrationStrategy();
         } else {
             logger.finest("Using normal IO Balancer Strategy.");
             return new LoadMigrationStrategy();
@@ -201,7 +210,7 @@ public class IOBalancer {
         return true;
     }
 
-    private void tryMigrate(LoadImbalance loadImbalance) {
+    private void tryMigrate(LoadImbalance loadImbalance, MigrationStrategy strategy) {
         MigratablePipeline pipeline = strategy.findPipelineToMigrate(loadImbalance);
         if (pipeline == null) {
             logger.finest("I/O imbalance is detected, but no suitable migration candidate is found.");
@@ -42,11 +42,26 @@ class LoadImbalance {
 
     private final Map<NioThread, Set<MigratablePipeline>> ownerToPipelines;
     private final ItemCounter<MigratablePipeline> pipelineLoadCounter;
+    private final ItemCounter<MigratablePipeline> pipelineProcessTimeCounter;
 
     LoadImbalance(Map<NioThread, Set<MigratablePipeline>> ownerToPipelines,
                   ItemCounter<MigratablePipeline> pipelineLoadCounter) {
+        this(ownerToPipelines, pipelineLoadCounter, new ItemCounter<>());
+    }
+
+    LoadImbalance(Map<NioThread, Set<MigratablePipeline>> ownerToPipelines,
+                  ItemCounter<MigratablePipeline> pipelineLoadCounter,
+                  ItemCounter<MigratablePipeline> pipelineProcessTimeCounter) {
         this.ownerToPipelines = ownerToPipelines;
         this.pipelineLoadCounter = pipelineLoadCounter;
+        this.pipelineProcessTimeCounter = pipelineProcessTimeCounter;
+    }
+
+    /**
+     * @return all known owners
+     */
+    Set<NioThread> getOwners() {
+        return ownerToPipelines.keySet();
     }
 
     /**
@@ -64,4 +79,12 @@ class LoadImbalance {
     long getLoad(MigratablePipeline pipeline) {
         return pipelineLoadCounter.get(pipeline);
     }
+
+    /**
+     * @param pipeline
+     * @return processing time in nanoseconds recorded by the pipeline
+     */
+    long getProcessTimeNanos(MigratablePipeline pipeline) {
+        return pipelineProcessTimeCounter.get(pipeline);
+    }
 }
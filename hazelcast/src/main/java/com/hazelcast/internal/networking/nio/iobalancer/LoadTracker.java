@@ -50,6 +50,11 @@ class LoadTracker {
     //load per pipeline since last calculation
     private final ItemCounter<MigratablePipeline> pipelineLoadCount = new ItemCounter<MigratablePipeline>();
 
+    //processing time per pipeline since an instance started
+    private final ItemCounter<MigratablePipeline> lastProcessTimeCounter = new ItemCounter<MigratablePipeline>();
+    //processing time per pipeline since last calculation
+    private final ItemCounter<MigratablePipeline> pipelineProcessTimeCount = new ItemCounter<MigratablePipeline>();
+
     //contains all known pipelines
     private final Set<MigratablePipeline> pipelines = new HashSet<MigratablePipeline>();
 
@@ -65,7 +70,7 @@ class LoadTracker {
         for (NioThread selector : ioThreads) {
             ownerToPipelines.put(selector, new HashSet<MigratablePipeline>());
         }
-        this.imbalance = new LoadImbalance(ownerToPipelines, pipelineLoadCount);
+        this.imbalance = new LoadImbalance(ownerToPipelines, pipelineLoadCount, pipelineProcessTimeCount);
     }
 
     /**
@@ -97,6 +102,11 @@ class LoadTracker {
         return pipelineLoadCount;
     }
 
+    // just for testing
+    ItemCounter<MigratablePipeline> getPipelineProcessTimeCount() {
+        return pipelineProcessTimeCount;
+    }
+
     private void updateNewFinalImbalance() {
         imbalance.minimumLoad = Long.MAX_VALUE;
         imbalance.maximumLoad = Long.MIN_VALUE;
@@ -130,6 +140,7 @@ class LoadTracker {
     private void updatePipelineState(MigratablePipeline pipeline) {
         long pipelineLoad = getLoadSinceLastCheck(pipeline);
         pipelineLoadCount.set(pipeline, pipelineLoad);
+        pipelineProcessTimeCount.set(pipeline, getProcessTimeSinceLastCheck(pipeline));
         NioThread owner = pipeline.owner();
         if (owner == null) {
             // the pipeline is currently being migrated - owner is null
@@ -145,8 +156,15 @@ class LoadTracker {
         return load - lastLoad;
     }
 
+    private long getProcessTimeSinceLastCheck(MigratablePipeline pipeline) {
+        long processTime = pipeline.processTimeNanos();
+        long lastProcessTime = lastProcessTimeCounter.getAndSet(pipeline, processTime);
+        return processTime - lastProcessTime;
+    }
+
     private void clearWorkingImbalance() {
         pipelineLoadCount.reset();
+        pipelineProcessTimeCount.reset();
         ownerLoad.reset();
         for (Set<MigratablePipeline> pipelines : ownerToPipelines.values()) {
             pipelines.clear();
@@ -161,6 +179,8 @@ class LoadTracker {
         pipelines.remove(pipeline);
         pipelineLoadCount.remove(pipeline);
         lastLoadCounter.remove(pipeline);
+        pipelineProcessTimeCount.remove(pipeline);
+        lastProcessTimeCounter.remove(pipeline);
     }
 
     private void printDebugTable() {
@@ -45,6 +45,7 @@ public final class Packet extends HeapData implements OutboundFrame {
     // 2. Packet type (bits 0, 2, 5)
     // 3. Flags specific to a given packet type (bits 1, 6)
     // 4. 4.x flag (bit 7)
+    // 5. COMPRESSED (bit 8)
 
     // 1. URGENT flag
 
@@ -101,6 +102,15 @@ public final class Packet extends HeapData implements OutboundFrame {
      */
     public static final int FLAG_4_0 = 1 << 7;
 
+    // 5. COMPRESSED flag
+
+    /**
+     * Marks the payload of the packet as compressed by the connection it is
+     * sent over. Such a packet is decompressed by the receiving connection
+     * before it is dispatched, so it's never seen outside the networking.
+     */
+    public static final int FLAG_COMPRESSED = 1 << 8;
+
     //            END OF HEADER FLAG SECTION
 
 
@@ -109,6 +119,8 @@ public final class Packet extends HeapData implements OutboundFrame {
 
     private int partitionId;
     private transient ServerConnection conn;
+    // the System.nanoTime() this packet has been added to an operation queue, 0 if it isn't queued
+    private transient long enqueueNanos;
 
     public Packet() {
         raiseFlags(FLAG_4_0);
@@ -147,6 +159,24 @@ public final class Packet extends HeapData implements OutboundFrame {
         return this;
     }
 
+    /**
+     * Returns the {@link System#nanoTime()} this packet has been added to an
+     * operation queue, or 0 if it isn't queued.
+     */
+    public long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+
+    /**
+     * Sets the {@link System#nanoTime()} this packet has been added to an
+     * operation queue, used to measure the time it waited in the queue.
+     *
+     * @param enqueueNanos the time the packet has been queued
+     */
+    public void setEnqueueNanos(long enqueueNanos) {
+        this.enqueueNanos = enqueueNanos;
+    }
+
     public Type getPacketType() {
         return Type.fromFlags(flags);
     }
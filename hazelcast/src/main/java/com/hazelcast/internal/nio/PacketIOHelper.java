@@ -53,20 +53,32 @@ public class PacketIOHelper {
      * @return {@code true} if all the packet's data is now written out; {@code false} otherwise.
      */
     public boolean writeTo(Packet packet, ByteBuffer dst) {
+        return writeTo(packet.getFlags(), packet.getPartitionId(), packet.toByteArray(), packet.totalSize(), dst);
+    }
+
+    /**
+     * Writes a packet made of the given header fields and the first {@code size} bytes of the given payload to the
+     * supplied {@code ByteBuffer}, up to the buffer's limit. If it returns {@code false}, it should be called again with
+     * the same arguments to write the remaining data.
+     *
+     * @param dst the destination byte buffer
+     * @return {@code true} if all the packet's data is now written out; {@code false} otherwise.
+     */
+    public boolean writeTo(char flags, int partitionId, byte[] payload, int size, ByteBuffer dst) {
         if (!headerComplete) {
             if (dst.remaining() < HEADER_SIZE) {
                 return false;
             }
 
             dst.put(VERSION);
-            dst.putChar(packet.getFlags());
-            dst.putInt(packet.getPartitionId());
-            size = packet.totalSize();
+            dst.putChar(flags);
+            dst.putInt(partitionId);
+            this.size = size;
             dst.putInt(size);
             headerComplete = true;
         }
 
-        if (writeValue(packet, dst)) {
+        if (writeValue(payload, dst)) {
             reset();
             return true;
         } else {
@@ -74,7 +86,7 @@ public class PacketIOHelper {
         }
     }
 
-    private boolean writeValue(Packet packet, ByteBuffer dst) {
+    private boolean writeValue(byte[] byteArray, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
             int bytesWritable = dst.remaining();
@@ -94,7 +106,6 @@ public class PacketIOHelper {
                 done = false;
             }
 
-            byte[] byteArray = packet.toByteArray();
             dst.put(byteArray, valueOffset, bytesWrite);
             valueOffset += bytesWrite;
 
@@ -131,7 +142,7 @@ public class PacketIOHelper {
         }
 
         if (readValue(src)) {
-            Packet packet = new Packet(payload, partitionId).resetFlagsTo(flags);
+            Packet packet = newPacket(flags, partitionId, payload, size);
             reset();
             return packet;
         } else {
@@ -147,7 +158,7 @@ public class PacketIOHelper {
 
     private boolean readValue(ByteBuffer src) {
         if (payload == null) {
-            payload = new byte[size];
+            payload = newPayload(flags, size);
         }
 
         if (size > 0) {
@@ -177,4 +188,20 @@ public class PacketIOHelper {
         return true;
     }
 
+    /**
+     * Returns the array the payload of a packet is read into, at least
+     * {@code size} bytes long.
+     */
+    protected byte[] newPayload(char flags, int size) {
+        return new byte[size];
+    }
+
+    /**
+     * Returns the packet read, {@code payload} is the array returned by
+     * {@link #newPayload(char, int)}, its first {@code size} bytes are the
+     * payload of the packet.
+     */
+    protected Packet newPacket(char flags, int partitionId, byte[] payload, int size) {
+        return new Packet(payload, partitionId).resetFlagsTo(flags);
+    }
 }
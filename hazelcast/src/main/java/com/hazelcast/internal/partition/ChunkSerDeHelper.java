@@ -16,37 +16,72 @@
 
 package com.hazelcast.internal.partition;
 
+import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.partition.impl.MigrationStats;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.ObjectDataInputStream;
+import com.hazelcast.internal.serialization.impl.ObjectDataOutputStream;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.memory.Capacity;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.function.IntSupplier;
 import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
+import static com.hazelcast.internal.cluster.Versions.V5_4;
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
 import static java.lang.String.format;
 
 /**
  * Helper class for serialization and deserialization of chunks.
+ * <p>
+ * Since 5.4 the chunks may be compressed: they are deflated while they are
+ * serialized, directly to the output, and inflated while they are read,
+ * directly from the input. The size of the chunks is still limited by
+ * their uncompressed size.
  *
  * @see ChunkedMigrationAwareService
+ * @see com.hazelcast.spi.properties.ClusterProperty#PARTITION_MIGRATION_COMPRESSION_ENABLED
  */
 public final class ChunkSerDeHelper {
 
+    private static final int COMPRESSION_BUFFER_SIZE = 1 << 13;
+
+    /**
+     * The deflaters and inflaters hold native memory, they are reused by the
+     * threads serializing and deserializing the chunks.
+     */
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
     private final ILogger logger;
     private final int partitionId;
     private final Collection<ChunkSupplier> chunkSuppliers;
     private final int maxTotalChunkedDataInBytes;
+    private final boolean compressionEnabled;
+    private final MigrationStats migrationStats;
 
     public ChunkSerDeHelper(ILogger logger, int partitionId,
                             Collection<ChunkSupplier> chunkSuppliers,
                             boolean chunkedMigrationEnabled,
-                            int maxTotalChunkedDataInBytes) {
+                            int maxTotalChunkedDataInBytes,
+                            boolean compressionEnabled,
+                            MigrationStats migrationStats) {
         assert chunkSuppliers != null;
         assert logger != null;
         assert !chunkedMigrationEnabled || (maxTotalChunkedDataInBytes > 0)
@@ -56,10 +91,21 @@ public final class ChunkSerDeHelper {
         this.partitionId = partitionId;
         this.chunkSuppliers = chunkSuppliers;
         this.maxTotalChunkedDataInBytes = maxTotalChunkedDataInBytes;
+        this.compressionEnabled = compressionEnabled;
+        this.migrationStats = migrationStats;
     }
 
     public static Collection<Operation> readChunkedOperations(ObjectDataInput in,
                                                               Collection<Operation> operations) throws IOException {
+        if (in.getVersion().isGreaterOrEqual(V5_4) && in.readBoolean()) {
+            assert in instanceof BufferObjectDataInput;
+            return readCompressedOperations((BufferObjectDataInput) in, operations);
+        }
+        return readOperations(in, operations);
+    }
+
+    private static Collection<Operation> readOperations(ObjectDataInput in,
+                                                        Collection<Operation> operations) throws IOException {
         do {
             Operation operation = in.readObject();
             if (operation == null) {
@@ -74,12 +120,64 @@ public final class ChunkSerDeHelper {
         return operations;
     }
 
+    private static Collection<Operation> readCompressedOperations(BufferObjectDataInput in,
+                                                                  Collection<Operation> operations) throws IOException {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        ChunkInflaterInputStream inflaterIn = new ChunkInflaterInputStream(in, inflater);
+        InternalSerializationService ss = (InternalSerializationService)
+                ((SerializationServiceSupport) in).getSerializationService();
+        ObjectDataInputStream chunksIn = new ObjectDataInputStream(
+                new BufferedInputStream(inflaterIn, COMPRESSION_BUFFER_SIZE), ss);
+        chunksIn.setVersion(in.getVersion());
+
+        operations = readOperations(chunksIn, operations);
+        inflaterIn.skipToEnd();
+        return operations;
+    }
 
     public void writeChunkedOperations(ObjectDataOutput out) throws IOException {
         assert out instanceof BufferObjectDataOutput;
 
         BufferObjectDataOutput bufferedOut = (BufferObjectDataOutput) out;
-        IsEndOfChunk isEndOfChunk = new IsEndOfChunk(maxTotalChunkedDataInBytes);
+        if (out.getVersion().isGreaterOrEqual(V5_4)) {
+            out.writeBoolean(compressionEnabled);
+            if (compressionEnabled) {
+                writeCompressedOperations(bufferedOut);
+                return;
+            }
+        }
+        writeOperations(bufferedOut, bufferedOut::position);
+    }
+
+    private void writeCompressedOperations(BufferObjectDataOutput out) throws IOException {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        int positionStart = out.position();
+        // out is not closed by finish()
+        DeflaterOutputStream deflaterOut = new DeflaterOutputStream((OutputStream) out, deflater,
+                COMPRESSION_BUFFER_SIZE);
+        BufferedOutputStream bufferedOut = new BufferedOutputStream(deflaterOut, COMPRESSION_BUFFER_SIZE);
+        InternalSerializationService ss = (InternalSerializationService) out.getSerializationService();
+        ObjectDataOutputStream chunksOut = new ObjectDataOutputStream(bufferedOut, ss);
+        chunksOut.setVersion(out.getVersion());
+
+        // the bytes still in bufferedOut aren't counted, so a chunk may
+        // exceed the limit by the size of the buffer
+        writeOperations(chunksOut, () -> (int) deflater.getBytesRead());
+        bufferedOut.flush();
+        deflaterOut.finish();
+
+        int uncompressedLength = (int) deflater.getBytesRead();
+        int compressedLength = out.position() - positionStart;
+        if (migrationStats != null) {
+            migrationStats.recordCompressedChunk(uncompressedLength, compressedLength);
+        }
+        logCompressedChunks(uncompressedLength, compressedLength);
+    }
+
+    private void writeOperations(ObjectDataOutput out, IntSupplier position) throws IOException {
+        IsEndOfChunk isEndOfChunk = new IsEndOfChunk(maxTotalChunkedDataInBytes, position);
 
         for (ChunkSupplier chunkSupplier : chunkSuppliers) {
 
@@ -99,13 +197,13 @@ public final class ChunkSerDeHelper {
 
                 out.writeObject(chunk);
 
-                if (isEndOfChunk.test(bufferedOut)) {
+                if (isEndOfChunk.test(out)) {
                     break;
                 }
             }
 
-            if (isEndOfChunk.test(bufferedOut)) {
-                logEndOfChunk(bufferedOut, isEndOfChunk);
+            if (isEndOfChunk.test(out)) {
+                logEndOfChunk(isEndOfChunk);
                 break;
             }
         }
@@ -113,7 +211,7 @@ public final class ChunkSerDeHelper {
         // indicates end of chunked state
         out.writeObject(null);
 
-        logEndOfAllChunks(bufferedOut, isEndOfChunk);
+        logEndOfAllChunks(isEndOfChunk);
     }
 
     private void logCurrentChunk(ChunkSupplier chunkSupplier) {
@@ -125,7 +223,18 @@ public final class ChunkSerDeHelper {
                 partitionId, chunkSupplier));
     }
 
-    private void logEndOfChunk(BufferObjectDataOutput out, IsEndOfChunk isEndOfChunk) {
+    private void logCompressedChunks(int uncompressedSize, int compressedSize) {
+        if (!logger.isFinestEnabled()) {
+            return;
+        }
+
+        logger.finest(format("Compressed chunks [partitionId:%d, uncompressedSize:%s, compressedSize:%s]",
+                partitionId,
+                Capacity.toPrettyString(uncompressedSize),
+                Capacity.toPrettyString(compressedSize)));
+    }
+
+    private void logEndOfChunk(IsEndOfChunk isEndOfChunk) {
         if (!logger.isFinestEnabled()) {
             return;
         }
@@ -133,10 +242,10 @@ public final class ChunkSerDeHelper {
         logger.finest(format("Chunk is full [partitionId:%d, maxChunkSize:%s, actualChunkSize:%s]",
                 partitionId,
                 Capacity.toPrettyString(maxTotalChunkedDataInBytes),
-                Capacity.toPrettyString(isEndOfChunk.bytesWrittenSoFar(out))));
+                Capacity.toPrettyString(isEndOfChunk.bytesWrittenSoFar())));
     }
 
-    private void logEndOfAllChunks(BufferObjectDataOutput out, IsEndOfChunk isEndOfChunk) {
+    private void logEndOfAllChunks(IsEndOfChunk isEndOfChunk) {
         if (!logger.isFinestEnabled()) {
             return;
         }
@@ -153,34 +262,63 @@ public final class ChunkSerDeHelper {
             logger.finest(format("Last chunk was sent [partitionId:%d, maxChunkSize:%s, actualChunkSize:%s]",
                     partitionId,
                     Capacity.toPrettyString(maxTotalChunkedDataInBytes),
-                    Capacity.toPrettyString(isEndOfChunk.bytesWrittenSoFar(out))));
+                    Capacity.toPrettyString(isEndOfChunk.bytesWrittenSoFar())));
         }
     }
 
-    private static final class IsEndOfChunk implements Predicate<BufferObjectDataOutput> {
+    private static final class IsEndOfChunk implements Predicate<ObjectDataOutput> {
 
         private int positionStart;
         private boolean initialized;
 
         private final int maxTotalChunkedDataInBytes;
+        private final IntSupplier position;
 
-        private IsEndOfChunk(int maxTotalChunkedDataInBytes) {
+        private IsEndOfChunk(int maxTotalChunkedDataInBytes, IntSupplier position) {
             assert maxTotalChunkedDataInBytes > 0
                     : "Found maxTotalChunkedDataInBytes: " + maxTotalChunkedDataInBytes;
             this.maxTotalChunkedDataInBytes = maxTotalChunkedDataInBytes;
+            this.position = position;
         }
 
         @Override
-        public boolean test(BufferObjectDataOutput out) {
-            return bytesWrittenSoFar(out) >= maxTotalChunkedDataInBytes;
+        public boolean test(ObjectDataOutput out) {
+            return bytesWrittenSoFar() >= maxTotalChunkedDataInBytes;
         }
 
-        public int bytesWrittenSoFar(BufferObjectDataOutput out) {
+        public int bytesWrittenSoFar() {
             if (!initialized) {
-                positionStart = out.position();
+                positionStart = position.getAsInt();
                 initialized = true;
             }
-            return out.position() - positionStart;
+            return position.getAsInt() - positionStart;
+        }
+    }
+
+    /**
+     * Inflater input stream which can skip to the end of the compressed
+     * chunks, so the next data in the input can be read.
+     */
+    private static final class ChunkInflaterInputStream extends InflaterInputStream {
+
+        private static final int SKIP_BUFFER_SIZE = 64;
+
+        private ChunkInflaterInputStream(BufferObjectDataInput in, Inflater inflater) {
+            super((InputStream) in, inflater, COMPRESSION_BUFFER_SIZE);
+        }
+
+        /**
+         * Reads the rest of the compressed chunks and moves the position of
+         * the input back over the bytes read beyond them.
+         */
+        private void skipToEnd() throws IOException {
+            byte[] skipBuffer = new byte[SKIP_BUFFER_SIZE];
+            int length;
+            do {
+                length = read(skipBuffer, 0, skipBuffer.length);
+            } while (length != -1);
+            BufferObjectDataInput bufferedIn = (BufferObjectDataInput) in;
+            bufferedIn.position(bufferedIn.position() - inf.getRemaining());
         }
     }
 }
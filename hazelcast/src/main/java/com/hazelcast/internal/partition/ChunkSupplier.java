@@ -16,7 +16,7 @@
 
 package com.hazelcast.internal.partition;
 
-import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
 import java.util.Iterator;
@@ -35,7 +35,7 @@ public interface ChunkSupplier extends Iterator<Operation> {
     /**
      * @param isEndOfChunk {@link Predicate} to test end of chunk.
      */
-    default void signalEndOfChunkWith(Predicate<BufferObjectDataOutput> isEndOfChunk) {
+    default void signalEndOfChunkWith(Predicate<ObjectDataOutput> isEndOfChunk) {
 
     }
 }
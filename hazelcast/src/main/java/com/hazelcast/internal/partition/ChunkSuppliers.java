@@ -16,8 +16,8 @@
 
 package com.hazelcast.internal.partition;
 
-import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.util.CollectionUtil;
+import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
 import javax.annotation.Nullable;
@@ -112,7 +112,7 @@ public final class ChunkSuppliers {
         }
 
         @Override
-        public void signalEndOfChunkWith(Predicate<BufferObjectDataOutput> isEndOfChunk) {
+        public void signalEndOfChunkWith(Predicate<ObjectDataOutput> isEndOfChunk) {
             for (int i = 0; i < chain.size(); i++) {
                 chain.get(i).signalEndOfChunkWith(isEndOfChunk);
             }
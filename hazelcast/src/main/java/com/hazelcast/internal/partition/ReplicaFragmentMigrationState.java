@@ -17,6 +17,7 @@
 package com.hazelcast.internal.partition;
 
 import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.partition.impl.MigrationStats;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.logging.ILogger;
@@ -57,11 +58,12 @@ public class ReplicaFragmentMigrationState
                                          Collection<ChunkSupplier> chunkSuppliers,
                                          boolean chunkedMigrationEnabled,
                                          int maxTotalChunkedDataInBytes, ILogger logger,
-                                         int partitionId) {
+                                         int partitionId, boolean compressionEnabled,
+                                         MigrationStats migrationStats) {
         this.namespaces = namespaces;
         this.migrationOperations = migrationOperations;
         this.chunkSerDeHelper = new ChunkSerDeHelper(logger, partitionId,
-                chunkSuppliers, chunkedMigrationEnabled, maxTotalChunkedDataInBytes);
+                chunkSuppliers, chunkedMigrationEnabled, maxTotalChunkedDataInBytes, compressionEnabled, migrationStats);
     }
 
     public Map<ServiceNamespace, long[]> getNamespaceVersionMap() {
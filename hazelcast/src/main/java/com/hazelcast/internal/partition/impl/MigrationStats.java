@@ -33,9 +33,12 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_LAST_REPARTITION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_PLANNED_MIGRATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_COMPLETED_MIGRATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_COMPRESSED_CHUNK_BYTES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_DESTINATION_COMMIT_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_OPERATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_UNCOMPRESSED_CHUNK_BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 
@@ -66,6 +69,20 @@ public class MigrationStats {
     @Probe(name = MIGRATION_METRIC_TOTAL_COMPLETED_MIGRATIONS)
     private final LongAdder totalCompletedMigrations = new LongAdder();
 
+    /**
+     * size of the migration &amp; replication chunks sent compressed, before
+     * compression
+     */
+    @Probe(name = MIGRATION_METRIC_TOTAL_UNCOMPRESSED_CHUNK_BYTES, unit = BYTES)
+    private final LongAdder totalUncompressedChunkBytes = new LongAdder();
+
+    /**
+     * size of the migration &amp; replication chunks sent compressed, after
+     * compression
+     */
+    @Probe(name = MIGRATION_METRIC_TOTAL_COMPRESSED_CHUNK_BYTES, unit = BYTES)
+    private final LongAdder totalCompressedChunkBytes = new LongAdder();
+
     /**
      * elapsed time of migration &amp; replication operations' executions
      */
@@ -105,6 +122,17 @@ public class MigrationStats {
         totalCompletedMigrations.increment();
     }
 
+    /**
+     * Records a compressed chunk sent by this member.
+     *
+     * @param uncompressedBytes size of the chunk before compression
+     * @param compressedBytes   size of the chunk after compression
+     */
+    public void recordCompressedChunk(long uncompressedBytes, long compressedBytes) {
+        totalUncompressedChunkBytes.add(uncompressedBytes);
+        totalCompressedChunkBytes.add(compressedBytes);
+    }
+
     /**
      * @return the last repartition time.
      */
@@ -140,6 +168,20 @@ public class MigrationStats {
         return totalCompletedMigrations.intValue();
     }
 
+    /**
+     * @see #totalUncompressedChunkBytes
+     */
+    public long getTotalUncompressedChunkBytes() {
+        return totalUncompressedChunkBytes.sum();
+    }
+
+    /**
+     * @see #totalCompressedChunkBytes
+     */
+    public long getTotalCompressedChunkBytes() {
+        return totalCompressedChunkBytes.sum();
+    }
+
     /**
      * @see #migrationOperationTime
      */
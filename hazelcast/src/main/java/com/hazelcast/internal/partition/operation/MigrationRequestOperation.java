@@ -349,7 +349,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
                                                                               Collection<Operation> operations,
                                                                               Collection<ChunkSupplier> suppliers,
                                                                               int maxTotalChunkedDataInBytes) {
-        InternalPartitionService partitionService = getService();
+        InternalPartitionServiceImpl partitionService = getService();
         PartitionReplicaVersionManager versionManager = partitionService.getPartitionReplicaVersionManager();
         Map<ServiceNamespace, long[]> versions = new HashMap<>(namespaces.size());
         for (ServiceNamespace namespace : namespaces) {
@@ -359,7 +359,9 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
 
         return new ReplicaFragmentMigrationState(versions, operations,
                 suppliers, chunkedMigrationEnabled, maxTotalChunkedDataInBytes,
-                getLogger(), getPartitionId());
+                getLogger(), getPartitionId(),
+                partitionService.getMigrationManager().isMigrationCompressionEnabled(),
+                partitionService.getMigrationManager().getStats());
     }
 
     @Override
@@ -29,6 +29,7 @@ import com.hazelcast.internal.partition.ReplicaErrorLogger;
 import com.hazelcast.internal.partition.impl.InternalPartitionImpl;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.partition.impl.MigrationManager;
+import com.hazelcast.internal.partition.impl.MigrationStats;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.partition.impl.PartitionStateManager;
 import com.hazelcast.internal.services.ServiceNamespace;
@@ -281,7 +282,7 @@ public class PartitionReplicaSyncRequest extends AbstractPartitionOperation
                 chunkSuppliers, ns, versions,
                 isChunkedMigrationEnabled(),
                 getMaxTotalChunkedDataInBytes(),
-                getLogger(), partitionId);
+                getLogger(), partitionId, isMigrationCompressionEnabled(), getMigrationStats());
         syncResponse.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
         return syncResponse;
     }
@@ -297,6 +298,16 @@ public class PartitionReplicaSyncRequest extends AbstractPartitionOperation
         return migrationManager.getMaxTotalChunkedDataInBytes();
     }
 
+    protected final boolean isMigrationCompressionEnabled() {
+        InternalPartitionServiceImpl partitionService = getService();
+        return partitionService.getMigrationManager().isMigrationCompressionEnabled();
+    }
+
+    protected final MigrationStats getMigrationStats() {
+        InternalPartitionServiceImpl partitionService = getService();
+        return partitionService.getMigrationManager().getStats();
+    }
+
     private void logNoReplicaDataFound(int partitionId, ServiceNamespace namespace, int replicaIndex) {
         ILogger logger = getLogger();
         if (logger.isFinestEnabled()) {
@@ -201,7 +201,7 @@ public final class PartitionReplicaSyncRequestOffloadable
         PartitionReplicaSyncResponse syncResponse
                 = new PartitionReplicaSyncResponse(operations, chunkSuppliers, ns,
                 versions, isChunkedMigrationEnabled(), getMaxTotalChunkedDataInBytes(),
-                getLogger(), partitionId);
+                getLogger(), partitionId, isMigrationCompressionEnabled(), getMigrationStats());
 
         syncResponse.setPartitionId(partitionId)
                 .setReplicaIndex(replicaIndex);
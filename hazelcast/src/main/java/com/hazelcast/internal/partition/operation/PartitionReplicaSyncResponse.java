@@ -26,6 +26,7 @@ import com.hazelcast.internal.partition.PartitionReplica;
 import com.hazelcast.internal.partition.ReplicaErrorLogger;
 import com.hazelcast.internal.partition.impl.InternalPartitionImpl;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
+import com.hazelcast.internal.partition.impl.MigrationStats;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.partition.impl.PartitionReplicaManager;
 import com.hazelcast.internal.partition.impl.PartitionStateManager;
@@ -89,12 +90,14 @@ public class PartitionReplicaSyncResponse extends AbstractPartitionOperation
                                         boolean chunkedMigrationEnabled,
                                         int maxTotalChunkedDataInBytes,
                                         ILogger logger,
-                                        int partitionId) {
+                                        int partitionId,
+                                        boolean compressionEnabled,
+                                        MigrationStats migrationStats) {
         this.operations = operations;
         this.namespace = namespace;
         this.versions = versions;
         this.chunkSerDeHelper = new ChunkSerDeHelper(logger, partitionId,
-                chunkSuppliers, chunkedMigrationEnabled, maxTotalChunkedDataInBytes);
+                chunkSuppliers, chunkedMigrationEnabled, maxTotalChunkedDataInBytes, compressionEnabled, migrationStats);
     }
 
     @Override
@@ -21,6 +21,7 @@ import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.Disposable;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator;
 import com.hazelcast.internal.serialization.impl.compact.Schema;
 import com.hazelcast.internal.serialization.impl.portable.PortableContext;
 import com.hazelcast.jet.impl.ExplodeSnapshotP;
@@ -137,6 +138,22 @@ public interface InternalSerializationService extends SerializationService, Disp
      */
     Schema extractSchemaFromData(@Nonnull Data data) throws IOException;
 
+    /**
+     * Compares the top-level field of the Compact serialized data with the
+     * given value directly on the serialized bytes, without deserializing
+     * the data.
+     *
+     * @param data      the serialized data
+     * @param fieldName the name of the top-level field
+     * @param value     the value to compare the field with
+     * @return a negative number, zero or a positive number as the field
+     * value is less than, equal to or greater than the given value, or
+     * {@link CompactFieldComparator#NOT_COMPARABLE} if the field can't be
+     * compared in place and has to be extracted
+     * @see CompactFieldComparator#compare(Data, String, Comparable)
+     */
+    int compareCompactField(@Nonnull Data data, @Nonnull String fieldName, @Nonnull Comparable<?> value);
+
     /**
      * @param object to extract the schema from
      * @return schema of the given Compact Data
@@ -48,6 +48,7 @@ import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.Serializer;
 import com.hazelcast.partition.PartitioningStrategy;
 
+import javax.annotation.Nonnull;
 import java.io.Externalizable;
 import java.io.Serializable;
 import java.nio.ByteOrder;
@@ -432,6 +433,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return inputOutputFactory.getByteOrder();
     }
 
+    @Override
+    public int compareCompactField(@Nonnull Data data, @Nonnull String fieldName, @Nonnull Comparable<?> value) {
+        return compactStreamSerializer.getFieldComparator().compare(data, fieldName, value);
+    }
+
     @Override
     public byte getVersion() {
         return version;
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteOrder;
+
+import static com.hazelcast.internal.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.SHORT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readInt;
+import static com.hazelcast.internal.nio.Bits.readLong;
+import static com.hazelcast.internal.nio.Bits.readShort;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.BYTE_OFFSET_READER_RANGE;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.SHORT_OFFSET_READER_RANGE;
+
+/**
+ * Compares top-level fields of Compact serialized {@link Data} with given
+ * values directly on the serialized bytes, without creating a
+ * {@link CompactInternalGenericRecord} or reading the field into an object.
+ * <p>
+ * The position of a field is resolved from the {@link FieldDescriptor} of
+ * the {@link Schema}, which holds the offset of the fixed-size fields and
+ * the index of the variable-size ones, so no per-entry metadata is built.
+ * <p>
+ * Only the fixed-size primitive fields and the string fields are
+ * supported, and only when the class of the given value is the class the
+ * field is read as on queries. Then the result has the same sign as
+ * {@code fieldValue.compareTo(value)}. In all other cases
+ * {@link #NOT_COMPARABLE} is returned and the field has to be extracted.
+ */
+public final class CompactFieldComparator {
+
+    /**
+     * Returned when the field can't be compared in place.
+     */
+    public static final int NOT_COMPARABLE = Integer.MIN_VALUE;
+
+    private static final int DATA_START = HeapData.DATA_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int UTF8_MAX_BYTES = 4;
+    private static final int UTF8_1_BYTE_MASK = 0x80;
+    private static final int UTF8_2_BYTES_MASK = 0xE0;
+    private static final int UTF8_2_BYTES_PREFIX = 0xC0;
+    private static final int UTF8_3_BYTES_MASK = 0xF0;
+    private static final int UTF8_3_BYTES_PREFIX = 0xE0;
+    private static final int UTF8_CONTINUATION_MASK = 0x3F;
+    private static final int UTF8_BITS_PER_BYTE = 6;
+    // the bits of the code point in the first byte, by the length of the sequence
+    private static final int[] UTF8_LEAD_MASKS = {0, 0x7F, 0x1F, 0x0F, 0x07};
+
+    private final SchemaService schemaService;
+    private final boolean bigEndian;
+
+    CompactFieldComparator(SchemaService schemaService, ByteOrder byteOrder) {
+        this.schemaService = schemaService;
+        this.bigEndian = byteOrder == ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * Compares the top-level field of the Compact serialized data with the
+     * given value.
+     *
+     * @param data      the serialized data
+     * @param fieldName the name of the field
+     * @param value     the value to compare the field with
+     * @return a negative number, zero or a positive number as the field
+     * value is less than, equal to or greater than the given value, or
+     * {@link #NOT_COMPARABLE} if the data isn't Compact, its schema isn't
+     * known locally, the field doesn't exist or has an unsupported kind, the
+     * field is a {@code null} string or the class of the value doesn't match
+     * the kind of the field.
+     */
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:NPathComplexity", "checkstyle:ReturnCount"})
+    public int compare(@Nonnull Data data, @Nonnull String fieldName, @Nonnull Comparable<?> value) {
+        if (data.getType() != SerializationConstants.TYPE_COMPACT) {
+            return NOT_COMPARABLE;
+        }
+        byte[] bytes = data.toByteArray();
+        Schema schema = schemaService.get(readLong(bytes, HeapData.DATA_OFFSET, bigEndian));
+        if (schema == null) {
+            return NOT_COMPARABLE;
+        }
+        FieldDescriptor fd = schema.getField(fieldName);
+        if (fd == null) {
+            return NOT_COMPARABLE;
+        }
+
+        int dataStart = schema.getNumberOfVariableSizeFields() == 0 ? DATA_START : DATA_START + INT_SIZE_IN_BYTES;
+        switch (fd.getKind()) {
+            case BOOLEAN:
+                if (!(value instanceof Boolean)) {
+                    return NOT_COMPARABLE;
+                }
+                boolean bool = ((bytes[dataStart + fd.getOffset()] >>> fd.getBitOffset()) & 1) != 0;
+                return Boolean.compare(bool, (Boolean) value);
+            case INT8:
+                return value instanceof Byte
+                        ? Byte.compare(bytes[dataStart + fd.getOffset()], (Byte) value) : NOT_COMPARABLE;
+            case INT16:
+                return value instanceof Short
+                        ? Short.compare(readShort(bytes, dataStart + fd.getOffset(), bigEndian), (Short) value)
+                        : NOT_COMPARABLE;
+            case INT32:
+                return value instanceof Integer
+                        ? Integer.compare(readInt(bytes, dataStart + fd.getOffset(), bigEndian), (Integer) value)
+                        : NOT_COMPARABLE;
+            case INT64:
+                return value instanceof Long
+                        ? Long.compare(readLong(bytes, dataStart + fd.getOffset(), bigEndian), (Long) value)
+                        : NOT_COMPARABLE;
+            case FLOAT32:
+                return value instanceof Float
+                        ? Float.compare(Float.intBitsToFloat(readInt(bytes, dataStart + fd.getOffset(), bigEndian)),
+                        (Float) value)
+                        : NOT_COMPARABLE;
+            case FLOAT64:
+                return value instanceof Double
+                        ? Double.compare(Double.longBitsToDouble(readLong(bytes, dataStart + fd.getOffset(), bigEndian)),
+                        (Double) value)
+                        : NOT_COMPARABLE;
+            case STRING:
+                return value instanceof String ? compareString(bytes, schema, fd, (String) value) : NOT_COMPARABLE;
+            default:
+                return NOT_COMPARABLE;
+        }
+    }
+
+    private int compareString(byte[] bytes, Schema schema, FieldDescriptor fd, String value) {
+        int dataLength = readInt(bytes, DATA_START, bigEndian);
+        int dataStart = DATA_START + INT_SIZE_IN_BYTES;
+        int offset = readVariableSizeFieldOffset(bytes, dataStart + dataLength, dataLength, fd.getIndex());
+        if (offset == NULL_OFFSET) {
+            return NOT_COMPARABLE;
+        }
+        int position = dataStart + offset;
+        int end = position + INT_SIZE_IN_BYTES + readInt(bytes, position, bigEndian);
+        return compareUtf8(bytes, position + INT_SIZE_IN_BYTES, end, value);
+    }
+
+    private int readVariableSizeFieldOffset(byte[] bytes, int offsetsPosition, int dataLength, int index) {
+        if (dataLength < BYTE_OFFSET_READER_RANGE) {
+            byte offset = bytes[offsetsPosition + index * BYTE_SIZE_IN_BYTES];
+            return offset == NULL_OFFSET ? NULL_OFFSET : Byte.toUnsignedInt(offset);
+        } else if (dataLength < SHORT_OFFSET_READER_RANGE) {
+            short offset = readShort(bytes, offsetsPosition + index * SHORT_SIZE_IN_BYTES, bigEndian);
+            return offset == NULL_OFFSET ? NULL_OFFSET : Short.toUnsignedInt(offset);
+        } else {
+            return readInt(bytes, offsetsPosition + index * INT_SIZE_IN_BYTES, bigEndian);
+        }
+    }
+
+    /**
+     * Compares the UTF-8 encoded string in {@code bytes[position..end)} with
+     * the given string by UTF-16 code units, like {@link String#compareTo}.
+     */
+    static int compareUtf8(byte[] bytes, int position, int end, String value) {
+        int index = 0;
+        while (position < end) {
+            int length = utf8SequenceLength(bytes[position]);
+            int codePoint = decodeUtf8(bytes, position, length);
+            position += length;
+
+            int diff;
+            if (Character.isBmpCodePoint(codePoint)) {
+                diff = compareChar((char) codePoint, value, index++);
+            } else {
+                diff = compareChar(Character.highSurrogate(codePoint), value, index++);
+                if (diff == 0) {
+                    diff = compareChar(Character.lowSurrogate(codePoint), value, index++);
+                }
+            }
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return index == value.length() ? 0 : -1;
+    }
+
+    private static int compareChar(char c, String value, int index) {
+        return index == value.length() ? 1 : c - value.charAt(index);
+    }
+
+    private static int utf8SequenceLength(byte lead) {
+        if ((lead & UTF8_1_BYTE_MASK) == 0) {
+            return 1;
+        } else if ((lead & UTF8_2_BYTES_MASK) == UTF8_2_BYTES_PREFIX) {
+            return 2;
+        } else if ((lead & UTF8_3_BYTES_MASK) == UTF8_3_BYTES_PREFIX) {
+            return 3;
+        } else {
+            return UTF8_MAX_BYTES;
+        }
+    }
+
+    private static int decodeUtf8(byte[] bytes, int position, int length) {
+        int codePoint = bytes[position] & UTF8_LEAD_MASKS[length];
+        for (int i = 1; i < length; i++) {
+            codePoint = (codePoint << UTF8_BITS_PER_BYTE) | (bytes[position + i] & UTF8_CONTINUATION_MASK);
+        }
+        return codePoint;
+    }
+}
@@ -65,6 +65,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
     private final ManagedContext managedContext;
     private final ClassLoader classLoader;
     private final AbstractSerializationService serializationService;
+    private final CompactFieldComparator fieldComparator;
 
     public CompactStreamSerializer(AbstractSerializationService serializationService,
                                    CompactSerializationConfig compactSerializationConfig,
@@ -74,6 +75,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
         this.managedContext = managedContext;
         this.schemaService = schemaService;
         this.classLoader = classLoader;
+        this.fieldComparator = new CompactFieldComparator(schemaService, serializationService.getByteOrder());
         registerSerializers(compactSerializationConfig);
         registerDeclarativeConfigSerializers(compactSerializationConfig);
         registerDeclarativeConfigClasses(compactSerializationConfig);
@@ -91,6 +93,14 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
         return classToRegistrationMap.keySet();
     }
 
+    /**
+     * Returns the comparator of the top-level fields of Compact serialized
+     * data, which works with the schemas known to this serializer.
+     */
+    public CompactFieldComparator getFieldComparator() {
+        return fieldComparator;
+    }
+
     public boolean canBeSerializedAsCompact(Class<?> clazz) {
         return serializationService.serializerForClass(clazz, false) instanceof CompactStreamSerializerAdapter;
     }
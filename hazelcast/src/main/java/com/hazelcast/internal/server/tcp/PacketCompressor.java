@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.server.tcp.PacketDecompressor.MAX_REUSED_BUFFER_SIZE;
+
+/**
+ * Compresses the payloads of the packets written by a {@link PacketEncoder}.
+ * <p>
+ * The {@link Deflater} is kept for the lifetime of the connection and every
+ * packet is flushed with {@link Deflater#SYNC_FLUSH}, so the packets sent
+ * before act as a dictionary for the next ones while each packet can still
+ * be decompressed as soon as it is received. The compressed payload starts
+ * with the length of the original payload.
+ * <p>
+ * Once the compression of a packet is started the compressed packet has to
+ * be sent, even if it is larger than the original: the remote decompression
+ * context has to see the same stream as the local one.
+ * <p>
+ * The compressed payload is written to a buffer reused for all the packets
+ * of the connection, it is valid until the next packet is compressed. A
+ * buffer grown beyond {@link PacketDecompressor#MAX_REUSED_BUFFER_SIZE} by
+ * a large packet is dropped when the next packet is compressed.
+ * <p>
+ * Not thread-safe, it is confined to the outbound pipeline of a connection.
+ * Only {@link #end()} may be called by the thread closing the connection.
+ *
+ * @see PacketDecompressor
+ */
+final class PacketCompressor {
+
+    private final TcpServerConnection connection;
+    private final int threshold;
+    private final Counter bytesSaved;
+    private final Counter timeNanos;
+
+    private Deflater deflater;
+    private byte[] buffer;
+    private int length;
+    private boolean ended;
+
+    PacketCompressor(TcpServerConnection connection, int threshold, Counter bytesSaved, Counter timeNanos) {
+        this.connection = connection;
+        this.threshold = threshold;
+        this.bytesSaved = bytesSaved;
+        this.timeNanos = timeNanos;
+    }
+
+    /**
+     * Compresses the payload of the given packet to the {@link #buffer()} if
+     * it has to be compressed. The given packet is never modified since it may
+     * be shared with other connections.
+     *
+     * @return {@code true} if the payload got compressed, then the first
+     * {@link #length()} bytes of the {@link #buffer()} have to be written
+     * instead of it, {@code false} if the packet has to be written as is.
+     */
+    boolean compress(Packet packet) {
+        int payloadSize = packet.totalSize();
+        if (payloadSize == 0 || payloadSize < threshold || !connection.isRemoteCompressionSupported()) {
+            return false;
+        }
+
+        if (deflater == null && !init()) {
+            return false;
+        }
+
+        long startNanos = System.nanoTime();
+        if (buffer == null || buffer.length > MAX_REUSED_BUFFER_SIZE) {
+            buffer = new byte[Math.min(INT_SIZE_IN_BYTES + payloadSize, MAX_REUSED_BUFFER_SIZE)];
+        }
+        deflater.setInput(packet.toByteArray());
+        length = INT_SIZE_IN_BYTES;
+        for (; ; ) {
+            length += deflater.deflate(buffer, length, buffer.length - length, Deflater.SYNC_FLUSH);
+            if (length < buffer.length) {
+                // the output didn't fill the buffer, so everything got flushed
+                break;
+            }
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        writeIntB(buffer, 0, payloadSize);
+
+        timeNanos.inc(System.nanoTime() - startNanos);
+        bytesSaved.inc(payloadSize - length);
+        return true;
+    }
+
+    /**
+     * Releases the native memory of the compression context. The packets
+     * compressed afterwards fail or, if none was compressed yet, are not
+     * compressed.
+     */
+    synchronized void end() {
+        ended = true;
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private synchronized boolean init() {
+        if (ended) {
+            return false;
+        }
+        deflater = new Deflater(Deflater.BEST_SPEED, true);
+        return true;
+    }
+
+    /**
+     * Returns the buffer holding the compressed payload of the last packet
+     * compressed, flagged with {@link com.hazelcast.internal.nio.Packet#FLAG_COMPRESSED}
+     * when written.
+     */
+    byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the length of the compressed payload of the last packet
+     * compressed.
+     */
+    int length() {
+        return length;
+    }
+}
@@ -22,19 +22,27 @@ import com.hazelcast.internal.networking.nio.InboundHandlerWithCounters;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
 import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.util.counters.Counter;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 
 /**
  * The {@link InboundHandler} for member to member communication.
  *
  * It reads as many packets from the src {@link ByteBuffer} as possible, and
- * each of the Packets is send to the destination.
+ * each of the Packets is send to the destination. The packets compressed by
+ * the remote side are decompressed before, see {@link PacketDecompressor}.
+ * Their compressed payloads are read into the buffer of the decompressor, so
+ * only the decompressed packets are allocated.
  *
  * @see Consumer
  * @see PacketEncoder
@@ -42,7 +50,9 @@ import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consumer<Packet>> {
 
     protected final ServerConnection connection;
-    private final PacketIOHelper packetReader = new PacketIOHelper();
+    private final PacketIOHelper packetReader = new PacketReader();
+    private PacketDecompressor decompressor;
+    private boolean closed;
 
     public PacketDecoder(ServerConnection connection, Consumer<Packet> dst) {
         this.connection = connection;
@@ -52,6 +62,7 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
     @Override
     public void handlerAdded() {
         initSrcBuffer();
+        channel.addCloseListener(closedChannel -> endDecompressor());
     }
 
     @Override
@@ -72,6 +83,34 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
         }
     }
 
+    private PacketDecompressor decompressor() {
+        if (decompressor == null) {
+            initDecompressor();
+        }
+        return decompressor;
+    }
+
+    private synchronized void initDecompressor() {
+        Counter timeNanos = connection instanceof TcpServerConnection
+                ? ((TcpServerConnection) connection).getConnectionManager().decompressionTimeNanos
+                : newSwCounter();
+        decompressor = new PacketDecompressor(timeNanos);
+        if (closed) {
+            decompressor.end();
+        }
+    }
+
+    /**
+     * Releases the native memory of the decompressor, called by the thread
+     * closing the channel.
+     */
+    private synchronized void endDecompressor() {
+        closed = true;
+        if (decompressor != null) {
+            decompressor.end();
+        }
+    }
+
     protected void onPacketComplete(Packet packet) {
         if (packet.isFlagRaised(FLAG_URGENT)) {
             priorityPacketsRead.inc();
@@ -83,4 +122,32 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
 
         dst.accept(packet);
     }
+
+    /**
+     * Reads the compressed payloads into the buffer of the decompressor and
+     * returns the decompressed packets.
+     */
+    private final class PacketReader extends PacketIOHelper {
+
+        @Override
+        protected byte[] newPayload(char flags, int size) {
+            return isCompressed(flags) ? decompressor().buffer(size) : super.newPayload(flags, size);
+        }
+
+        @Override
+        protected Packet newPacket(char flags, int partitionId, byte[] payload, int size) {
+            if (!isCompressed(flags)) {
+                return super.newPacket(flags, partitionId, payload, size);
+            }
+            try {
+                return decompressor().decompress(flags, partitionId, payload, size);
+            } catch (IOException e) {
+                throw sneakyThrow(e);
+            }
+        }
+
+        private boolean isCompressed(char flags) {
+            return (flags & FLAG_COMPRESSED) != 0;
+        }
+    }
 }
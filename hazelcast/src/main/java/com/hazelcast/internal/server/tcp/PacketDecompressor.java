@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+
+/**
+ * Decompresses the packets compressed by the {@link PacketCompressor} of
+ * the remote side of a connection, read by a {@link PacketDecoder}.
+ * <p>
+ * The {@link Inflater} is kept for the lifetime of the connection, mirroring
+ * the compression context of the remote side. The compressed payloads up
+ * to {@link #MAX_REUSED_BUFFER_SIZE} are read into a buffer reused for all
+ * the packets of the connection, only the decompressed payloads, which are
+ * handed over to other threads, are allocated for each packet.
+ * <p>
+ * The original payload size announced by a compressed packet is checked
+ * against the maximum ratio of the deflate format, so a malformed packet
+ * can't make the decompressor allocate arbitrarily large arrays.
+ * <p>
+ * Not thread-safe, it is confined to the inbound pipeline of a connection.
+ * Only {@link #end()} may be called by the thread closing the connection.
+ */
+final class PacketDecompressor {
+
+    static final int MAX_REUSED_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The maximum ratio between the original and the compressed size of
+     * the deflate format.
+     */
+    static final int MAX_COMPRESSION_RATIO = 1032;
+
+    private final Counter timeNanos;
+
+    private Inflater inflater;
+    private byte[] buffer;
+    private boolean ended;
+
+    PacketDecompressor(Counter timeNanos) {
+        this.timeNanos = timeNanos;
+    }
+
+    /**
+     * Returns the array a compressed payload of the given size is read into,
+     * the reused buffer if the payload isn't larger than {@link
+     * #MAX_REUSED_BUFFER_SIZE}, otherwise a new array.
+     */
+    byte[] buffer(int size) {
+        if (size > MAX_REUSED_BUFFER_SIZE) {
+            return new byte[size];
+        }
+        if (buffer == null || buffer.length < size) {
+            buffer = new byte[Math.min(MAX_REUSED_BUFFER_SIZE, Math.max(size, buffer == null ? 0 : buffer.length * 2))];
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the decompressed copy of the given compressed packet.
+     *
+     * @throws IOException if the payload of the packet is malformed.
+     */
+    Packet decompress(Packet packet) throws IOException {
+        return decompress(packet.getFlags(), packet.getPartitionId(), packet.toByteArray(), packet.totalSize());
+    }
+
+    /**
+     * Returns the decompressed packet of the given compressed packet, its
+     * payload is made of the first {@code length} bytes of the given array.
+     *
+     * @throws IOException if the payload of the packet is malformed.
+     */
+    Packet decompress(char flags, int partitionId, byte[] compressed, int length) throws IOException {
+        long startNanos = System.nanoTime();
+        if (length < INT_SIZE_IN_BYTES) {
+            throw new IOException("Malformed compressed packet, the payload is too short [partitionId=" + partitionId
+                    + ", length=" + length + "]");
+        }
+        int payloadSize = readIntB(compressed, 0);
+        if (payloadSize < 0 || payloadSize > (long) (length - INT_SIZE_IN_BYTES) * MAX_COMPRESSION_RATIO) {
+            throw new IOException("Malformed compressed packet, invalid payload size [partitionId=" + partitionId
+                    + ", length=" + length + ", payloadSize=" + payloadSize + "]");
+        }
+        if (inflater == null) {
+            init();
+        }
+        byte[] payload = new byte[payloadSize];
+        inflater.setInput(compressed, INT_SIZE_IN_BYTES, length - INT_SIZE_IN_BYTES);
+        int inflatedLength = 0;
+        try {
+            while (inflatedLength < payload.length) {
+                int inflated = inflater.inflate(payload, inflatedLength, payload.length - inflatedLength);
+                if (inflated == 0) {
+                    break;
+                }
+                inflatedLength += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Malformed compressed packet [partitionId=" + partitionId + "]", e);
+        }
+        if (inflatedLength != payload.length || inflater.getRemaining() > 0) {
+            throw new IOException("Malformed compressed packet, the payload size doesn't match [partitionId="
+                    + partitionId + ", expected=" + payload.length + ", actual=" + inflatedLength + "]");
+        }
+
+        Packet decompressedPacket = new Packet(payload, partitionId)
+                .resetFlagsTo(flags & ~FLAG_COMPRESSED);
+        timeNanos.inc(System.nanoTime() - startNanos);
+        return decompressedPacket;
+    }
+
+    /**
+     * Releases the native memory of the decompression context. The packets
+     * decompressed afterwards fail.
+     */
+    synchronized void end() {
+        ended = true;
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private synchronized void init() throws IOException {
+        if (ended) {
+            throw new IOException("The decompression context is already released");
+        }
+        inflater = new Inflater(true);
+    }
+}
@@ -27,6 +27,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
 
 /**
  * A {@link OutboundHandler} that for member to member communication.
@@ -37,17 +38,42 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * If created with a compression threshold, the payloads of the packets of at
+ * least that size are compressed, see {@link PacketCompressor}. The
+ * compressed payloads are written straight from the buffer of the
+ * compressor, no compressed copy of the packet is created.
+ *
  * @see PacketDecoder
  */
 public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final PacketCompressor compressor;
 
     private Packet packet;
+    private boolean compressed;
+
+    public PacketEncoder() {
+        this.compressor = null;
+    }
+
+    /**
+     * @param connection           the connection the packets are written to.
+     * @param compressionThreshold the payload size in bytes from which the
+     *                             packets are compressed.
+     */
+    public PacketEncoder(TcpServerConnection connection, int compressionThreshold) {
+        TcpServerConnectionManager connectionManager = connection.getConnectionManager();
+        this.compressor = new PacketCompressor(connection, compressionThreshold,
+                connectionManager.compressionBytesSaved, connectionManager.compressionTimeNanos);
+    }
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
+        if (compressor != null) {
+            channel.addCloseListener(closedChannel -> compressor.end());
+        }
     }
 
     @Override
@@ -62,9 +88,11 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                         // everything is processed, so we are done
                         return CLEAN;
                     }
+
+                    compressed = compressor != null && compressor.compress(packet);
                 }
 
-                if (packetWriter.writeTo(packet, dst)) {
+                if (write()) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
                 } else {
@@ -76,4 +104,12 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    private boolean write() {
+        if (compressed) {
+            return packetWriter.writeTo((char) (packet.getFlags() | FLAG_COMPRESSED), packet.getPartitionId(),
+                    compressor.buffer(), compressor.length(), dst);
+        }
+        return packetWriter.writeTo(packet, dst);
+    }
 }
@@ -96,6 +96,8 @@ public class TcpServerConnection implements ServerConnection {
     private volatile String closeReason;
     private volatile int planeIndex = -1;
 
+    private volatile boolean remoteCompressionSupported;
+
     public TcpServerConnection(TcpServerConnectionManager connectionManager,
                                ConnectionLifecycleListener<TcpServerConnection> lifecycleListener,
                                int connectionId,
@@ -138,6 +140,18 @@ public class TcpServerConnection implements ServerConnection {
         this.planeIndex = planeIndex;
     }
 
+    /**
+     * Returns {@code true} if the remote member announced in its handshake
+     * that it is able to decompress the packets sent over this connection.
+     */
+    public boolean isRemoteCompressionSupported() {
+        return remoteCompressionSupported;
+    }
+
+    public void setRemoteCompressionSupported(boolean remoteCompressionSupported) {
+        this.remoteCompressionSupported = remoteCompressionSupported;
+    }
+
     @Override
     public String getConnectionType() {
         return connectionType;
@@ -53,10 +53,15 @@ import java.util.function.Function;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_ACCEPTED_SOCKET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_ACTIVE_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_CLOSED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_SAVED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_TIME_NANOS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_CONNECTION_LISTENER_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_DECOMPRESSION_TIME_NANOS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_ENDPOINT_MANAGER_OPENED_COUNT;
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.spi.properties.ClusterProperty.CHANNEL_COUNT;
@@ -98,6 +103,15 @@ abstract class TcpServerConnectionManagerBase implements ServerConnectionManager
     @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_CONNECTION_LISTENER_COUNT, level = DEBUG)
     final Set<ConnectionListener> connectionListeners = new CopyOnWriteArraySet<>();
 
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_BYTES_SAVED, unit = BYTES, level = DEBUG)
+    final MwCounter compressionBytesSaved = newMwCounter();
+
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COMPRESSION_TIME_NANOS, unit = NS, level = DEBUG)
+    final MwCounter compressionTimeNanos = newMwCounter();
+
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_DECOMPRESSION_TIME_NANOS, unit = NS, level = DEBUG)
+    final MwCounter decompressionTimeNanos = newMwCounter();
+
     private final ConstructorFunction<Address, TcpServerConnectionErrorHandler> errorHandlerConstructor;
 
     TcpServerConnectionManagerBase(TcpServer tcpServer, EndpointConfig endpointConfig, LocalAddressRegistry addressRegistry) {
@@ -79,6 +79,7 @@ public final class TcpServerControl {
         // before we register the connection on the plane, we make sure the plane index is set on the connection
         // so that we can safely remove the connection from the plane.
         connection.setPlaneIndex(handshake.getPlaneIndex());
+        connection.setRemoteCompressionSupported(handshake.isDeflateCompressionSupported());
         process(connection, handshake);
     }
 
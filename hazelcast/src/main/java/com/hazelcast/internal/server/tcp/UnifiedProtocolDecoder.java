@@ -43,7 +43,6 @@ import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
-import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
 import static com.hazelcast.internal.nio.Protocols.CLIENT_BINARY;
 import static com.hazelcast.internal.nio.Protocols.CLUSTER;
 import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
@@ -188,7 +187,7 @@ public class UnifiedProtocolDecoder
         TextDecoder decoder = restApi
                 ? new RestApiTextDecoder(connection, encoder, false)
                 : new MemcacheTextDecoder(connection, encoder, false);
-        decoder.src(newByteBuffer(config.getOption(SO_RCVBUF), config.getOption(DIRECT_BUF)));
+        decoder.src(channel.allocateBuffer(config.getOption(SO_RCVBUF)));
         // we need to restore whatever is read
         decoder.src().put(stringToBytes(protocol));
 
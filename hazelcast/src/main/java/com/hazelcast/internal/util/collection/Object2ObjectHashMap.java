@@ -0,0 +1,517 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.collection;
+
+import com.hazelcast.internal.util.QuickMath;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.collection.Hashing.hash;
+
+/**
+ * {@link java.util.Map} implementation using open addressing and linear
+ * probing over flat key and value arrays. Unlike {@link java.util.HashMap},
+ * it allocates no node per entry, so large maps produce little garbage.
+ * <p>
+ * NOTE: This map supports a {@code null} key, but doesn't support {@code
+ * null} values. The iterators of its {@link #entrySet()} return themselves
+ * as the entry, so the entries must not be retained.
+ *
+ * @param <K> keys stored in the {@link java.util.Map}
+ * @param <V> values stored in the {@link java.util.Map}
+ */
+public class Object2ObjectHashMap<K, V> extends AbstractMap<K, V> {
+
+    /** The default load factor for constructors not explicitly supplying it */
+    public static final double DEFAULT_LOAD_FACTOR = 0.6;
+    /** The default initial capacity for constructors not explicitly supplying it */
+    public static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final Object NULL_KEY = new Object();
+
+    private final double loadFactor;
+    private int resizeThreshold;
+    private int capacity;
+    private int mask;
+    private int size;
+
+    private Object[] keys;
+    private Object[] values;
+
+    // cached to avoid allocation
+    private final ValueCollection valueCollection = new ValueCollection();
+    private final KeySet keySet = new KeySet();
+    private final EntrySet entrySet = new EntrySet();
+
+    public Object2ObjectHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public Object2ObjectHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct a new map allowing a configuration for initial capacity and load factor.
+     *
+     * @param initialCapacity for the backing array
+     * @param loadFactor      limit for resizing on puts
+     */
+    public Object2ObjectHashMap(final int initialCapacity, final double loadFactor) {
+        this.loadFactor = loadFactor;
+        capacity = QuickMath.nextPowerOfTwo(initialCapacity);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * loadFactor);
+
+        keys = new Object[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Get the total capacity for the map to which the load factor with be a fraction of.
+     *
+     * @return the total capacity for the map.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != get(key);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        checkNotNull(value, "Null values are not permitted");
+        for (final Object v : values) {
+            if (null != v && value.equals(v)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final Object maskedKey = mask(key);
+        int index = hash(maskedKey, mask);
+        Object value;
+        while (null != (value = values[index])) {
+            if (maskedKey.equals(keys[index])) {
+                return (V) value;
+            }
+            index = ++index & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        checkNotNull(mappingFunction, "mappingFunction cannot be null");
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final K key, final V value) {
+        checkNotNull(value, "Value cannot be null");
+        final Object maskedKey = mask(key);
+        V oldValue = null;
+        int index = hash(maskedKey, mask);
+        while (null != values[index]) {
+            if (maskedKey.equals(keys[index])) {
+                oldValue = (V) values[index];
+                break;
+            }
+            index = ++index & mask;
+        }
+        if (null == oldValue) {
+            ++size;
+            keys[index] = maskedKey;
+        }
+        values[index] = value;
+        if (size > resizeThreshold) {
+            increaseCapacity();
+        }
+        return oldValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object key) {
+        final Object maskedKey = mask(key);
+        int index = hash(maskedKey, mask);
+        Object value;
+        while (null != (value = values[index])) {
+            if (maskedKey.equals(keys[index])) {
+                keys[index] = null;
+                values[index] = null;
+                --size;
+                compactChain(index);
+                return (V) value;
+            }
+            index = ++index & mask;
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The capacity of the map is retained, so a map cleared for reuse
+     * doesn't have to grow again.
+     */
+    @Override
+    public void clear() {
+        if (size > 0) {
+            size = 0;
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+        }
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        for (final Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keySet;
+    }
+
+    @Override
+    public Collection<V> values() {
+        return valueCollection;
+    }
+
+    /**
+     * {@inheritDoc}
+     * This set's iterator also implements <code>Map.Entry</code>
+     * so the <code>next()</code> method can just return the iterator
+     * instance itself with no heap allocation. This characteristic
+     * makes the set unusable wherever the returned entries are
+     * retained (such as <code>coll.addAll(entrySet)</code>.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    private static Object mask(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmask(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private void increaseCapacity() {
+        final int newCapacity = capacity << 1;
+        if (newCapacity < 0) {
+            throw new IllegalStateException("Max capacity reached at size=" + size);
+        }
+        rehash(newCapacity);
+    }
+
+    private void rehash(final int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        resizeThreshold = (int) (newCapacity * loadFactor);
+        final Object[] tempKeys = new Object[capacity];
+        final Object[] tempValues = new Object[capacity];
+        for (int i = 0, size = values.length; i < size; i++) {
+            final Object value = values[i];
+            if (null != value) {
+                final Object key = keys[i];
+                int newHash = hash(key, mask);
+                while (null != tempValues[newHash]) {
+                    newHash = ++newHash & mask;
+                }
+                tempKeys[newHash] = key;
+                tempValues[newHash] = value;
+            }
+        }
+        keys = tempKeys;
+        values = tempValues;
+    }
+
+    private void compactChain(int deleteIndex) {
+        int index = deleteIndex;
+        while (true) {
+            index = ++index & mask;
+            if (null == values[index]) {
+                return;
+            }
+            final int hash = hash(keys[index], mask);
+            if ((index < hash && (hash <= deleteIndex || deleteIndex <= index))
+                    || (hash <= deleteIndex && deleteIndex <= index)) {
+                keys[deleteIndex] = keys[index];
+                values[deleteIndex] = values[index];
+                keys[index] = null;
+                values[index] = null;
+                deleteIndex = index;
+            }
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+    // Internal Sets and Collections
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private class KeySet extends AbstractSet<K> {
+
+        @Override
+        public int size() {
+            return Object2ObjectHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return Object2ObjectHashMap.this.containsKey(o);
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return null != Object2ObjectHashMap.this.remove(o);
+        }
+
+        @Override
+        public void clear() {
+            Object2ObjectHashMap.this.clear();
+        }
+    }
+
+    private class ValueCollection extends AbstractCollection<V> {
+
+        @Override
+        public int size() {
+            return Object2ObjectHashMap.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return Object2ObjectHashMap.this.containsValue(o);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public void clear() {
+            Object2ObjectHashMap.this.clear();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return Object2ObjectHashMap.this.size();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public void clear() {
+            Object2ObjectHashMap.this.clear();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+    // Iterators
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private abstract class AbstractIterator<T> implements Iterator<T> {
+
+        protected final Object[] keys = Object2ObjectHashMap.this.keys;
+        protected final Object[] values = Object2ObjectHashMap.this.values;
+        private int posCounter;
+        private int stopCounter;
+        private boolean isPositionValid;
+
+        protected AbstractIterator() {
+            // iterate backwards from the end of a chain, so that compacting
+            // the chain after a removal doesn't move an entry not visited yet
+            // to a position visited already
+            int i = capacity;
+            if (null != values[capacity - 1]) {
+                i = 0;
+                for (int size = capacity; i < size; i++) {
+                    if (null == values[i]) {
+                        break;
+                    }
+                }
+            }
+            stopCounter = i;
+            posCounter = i + capacity;
+        }
+
+        protected int getPosition() {
+            return posCounter & mask;
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (int i = posCounter - 1; i >= stopCounter; i--) {
+                final int index = i & mask;
+                if (null != values[index]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        protected void findNext() {
+            isPositionValid = false;
+            for (int i = posCounter - 1; i >= stopCounter; i--) {
+                final int index = i & mask;
+                if (null != values[index]) {
+                    posCounter = i;
+                    isPositionValid = true;
+                    return;
+                }
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public void remove() {
+            if (isPositionValid) {
+                final int position = getPosition();
+                keys[position] = null;
+                values[position] = null;
+                --size;
+                compactChain(position);
+                isPositionValid = false;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private class ValueIterator extends AbstractIterator<V> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            findNext();
+            return (V) values[getPosition()];
+        }
+    }
+
+    private class KeyIterator extends AbstractIterator<K> {
+        @Override
+        public K next() {
+            findNext();
+            return unmask(keys[getPosition()]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @SuppressFBWarnings(value = "PZ_DONT_REUSE_ENTRY_OBJECTS_IN_ITERATORS",
+            justification = "deliberate, documented choice")
+    private class EntryIterator extends AbstractIterator<Entry<K, V>> implements Entry<K, V> {
+
+        @Override
+        public Entry<K, V> next() {
+            findNext();
+            return this;
+        }
+
+        @Override
+        public K getKey() {
+            return unmask(keys[getPosition()]);
+        }
+
+        @Override
+        public V getValue() {
+            return (V) values[getPosition()];
+        }
+
+        @Override
+        public V setValue(final V value) {
+            checkNotNull(value);
+            final int pos = getPosition();
+            final Object oldValue = values[pos];
+            values[pos] = value;
+            return (V) oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> that = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ getValue().hashCode();
+        }
+    }
+}
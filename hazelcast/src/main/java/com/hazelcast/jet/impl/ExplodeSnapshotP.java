@@ -18,6 +18,8 @@ package com.hazelcast.jet.impl;
 
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.collection.Long2LongHashMap;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.BroadcastKey;
@@ -25,25 +27,82 @@ import com.hazelcast.jet.impl.execution.BroadcastEntry;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Stream;
 
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.Traversers.traverseStream;
 import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.keyHash;
 import static com.hazelcast.jet.impl.util.Util.uncheckCall;
 
+/**
+ * Reads the chunks of a snapshot and emits the entries in them to the
+ * ordinal of the vertex which saved them.
+ * <p>
+ * If the snapshot has incremental snapshots on top of the base snapshot, the
+ * chunks of the incremental snapshots are received first, on the {@link
+ * #DELTAS_ORDINAL}, and the latest version of each key wins. The keys are
+ * matched by their {@linkplain
+ * com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl#keyHash hash} within
+ * a partition. If several keys of a partition have the same hash, the writer
+ * writes all of them to each incremental snapshot, so the keys with the same
+ * hash found in one snapshot are all kept. The
+ * entries of the latest snapshot are emitted right away, the older ones are
+ * kept until all incremental chunks are read, unless a later version of the
+ * key is found. Then the chunks of the base snapshot are streamed, without
+ * the keys found in the incremental snapshots.
+ */
 public class ExplodeSnapshotP extends AbstractProcessor {
 
-    private final Map<String, FlatMapper<byte[], Object>> vertexToFlatMapper = new HashMap<>();
+    /**
+     * The ordinal of the chunks of the incremental snapshots, the chunks of the
+     * base snapshot are received on the ordinal 0.
+     */
+    public static final int DELTAS_ORDINAL = 1;
+
+    private static final long NO_SNAPSHOT_ID = Long.MIN_VALUE;
+
+    private final Map<String, FlatMapper<Entry<SnapshotDataKey, byte[]>, Object>> vertexToFlatMapper = new HashMap<>();
+    private final Map<String, FlatMapper<Entry<SnapshotDataKey, byte[]>, Object>> vertexToDeltaFlatMapper;
+    private final long baseSnapshotId;
     private final long expectedSnapshotId;
+    // null if the snapshot isn't incremental
+    private final Map<String, VertexEntries> vertexToEntries;
     private InternalSerializationService serializationService;
 
-    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long expectedSnapshotId) {
+    private Iterator<VertexEntries> olderEntriesIterator;
+    private VertexEntries olderEntriesVertex;
+    private Traverser<Object> olderEntriesTraverser;
+
+    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long baseSnapshotId, long expectedSnapshotId) {
+        this.baseSnapshotId = baseSnapshotId;
         this.expectedSnapshotId = expectedSnapshotId;
+        boolean isIncremental = baseSnapshotId != expectedSnapshotId;
+        this.vertexToEntries = isIncremental ? new HashMap<>() : null;
+        this.vertexToDeltaFlatMapper = isIncremental ? new HashMap<>() : null;
         for (Entry<String, Integer> en : vertexToOrdinal.entrySet()) {
-            Object oldValue = vertexToFlatMapper.put(en.getKey(), flatMapper(en.getValue(), this::traverser));
+            FlatMapper<Entry<SnapshotDataKey, byte[]>, Object> flatMapper;
+            if (!isIncremental) {
+                flatMapper = flatMapper(en.getValue(), chunk -> traverser(chunk.getValue()));
+            } else {
+                VertexEntries entries = new VertexEntries(en.getValue());
+                vertexToEntries.put(en.getKey(), entries);
+                flatMapper = flatMapper(en.getValue(),
+                        chunk -> baseTraverser(chunk.getValue(), entries.partition(chunk.getKey().partitionKey())));
+                vertexToDeltaFlatMapper.put(en.getKey(), flatMapper(en.getValue(),
+                        chunk -> deltaTraverser(chunk.getKey().snapshotId(), chunk.getValue(),
+                                entries.partition(chunk.getKey().partitionKey()))));
+            }
+            Object oldValue = vertexToFlatMapper.put(en.getKey(), flatMapper);
             assert oldValue == null : "Duplicate ordinal: " + en.getValue();
         }
     }
@@ -73,34 +132,194 @@ public class ExplodeSnapshotP extends AbstractProcessor {
         });
     }
 
+    /**
+     * Returns a traverser over the entries of a chunk of the base snapshot
+     * whose keys weren't found in the incremental snapshots. The broadcast
+     * entries are taken from the latest snapshot.
+     */
+    @SuppressWarnings("squid:S2095")
+    private Traverser<Object> baseTraverser(byte[] data, PartitionEntries entries) {
+        BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+
+        return () -> uncheckCall(() -> {
+            for (;;) {
+                int keyStart = in.position();
+                Object key = serializationService.readObject(in, true);
+                if (key == SnapshotDataValueTerminator.INSTANCE) {
+                    return null;
+                }
+                long keyHash = keyHash(data, keyStart, in.position() - keyStart);
+                Object value = serializationService.readObject(in, true);
+                if (!(key instanceof BroadcastKey) && !entries.deltaSnapshotIds.containsKey(keyHash)) {
+                    return entry(key, value);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns a traverser over the entries of a chunk of an incremental
+     * snapshot which are the latest versions of their keys. The older entries
+     * are added to the {@code entries}.
+     */
+    @SuppressWarnings("squid:S2095")
+    private Traverser<Object> deltaTraverser(long snapshotId, byte[] data, PartitionEntries entries) {
+        BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+        boolean isLatest = snapshotId == expectedSnapshotId;
+
+        return () -> uncheckCall(() -> {
+            for (;;) {
+                int keyStart = in.position();
+                Object key = serializationService.readObject(in, true);
+                if (key == SnapshotDataValueTerminator.INSTANCE) {
+                    return null;
+                }
+                int keyLength = in.position() - keyStart;
+                Object value = serializationService.readObject(in, true);
+                if (key instanceof BroadcastKey) {
+                    // broadcast keys are written in full to every snapshot, take the latest ones
+                    if (isLatest) {
+                        return new BroadcastEntry(key, value);
+                    }
+                    continue;
+                }
+                boolean isTombstone = value == SnapshotDataValueTombstone.INSTANCE;
+                // the key of a tombstone is the hash of the removed key
+                long keyHash = isTombstone ? (Long) key : keyHash(data, keyStart, keyLength);
+                long previousSnapshotId = entries.deltaSnapshotIds.get(keyHash);
+                if (previousSnapshotId > snapshotId || previousSnapshotId == snapshotId && isTombstone) {
+                    continue;
+                }
+                if (previousSnapshotId == snapshotId) {
+                    // another key with the same hash, written in the same snapshot
+                    if (isLatest) {
+                        return entry(key, value);
+                    }
+                    entries.collidingOlderEntries.computeIfAbsent(keyHash, h -> new ArrayList<>()).add(entry(key, value));
+                    continue;
+                }
+                entries.deltaSnapshotIds.put(keyHash, snapshotId);
+                entries.collidingOlderEntries.remove(keyHash);
+                if (isLatest || isTombstone) {
+                    entries.olderEntries.remove(keyHash);
+                    if (!isTombstone) {
+                        return entry(key, value);
+                    }
+                } else {
+                    entries.olderEntries.put(keyHash, entry(key, value));
+                }
+            }
+        });
+    }
+
     @Override
     protected boolean tryProcess0(@Nonnull Object item) {
+        return tryProcess(vertexToFlatMapper, item);
+    }
+
+    @Override
+    protected boolean tryProcess1(@Nonnull Object item) {
+        assert vertexToDeltaFlatMapper != null : "incremental snapshot chunks received for a full snapshot";
+        return tryProcess(vertexToDeltaFlatMapper, item);
+    }
+
+    private boolean tryProcess(Map<String, FlatMapper<Entry<SnapshotDataKey, byte[]>, Object>> flatMappers, Object item) {
         if (((Entry) item).getKey() instanceof SnapshotValidationRecord.SnapshotValidationKey) {
             // ignore the validation record
             return true;
         }
         Entry<SnapshotDataKey, byte[]> castItem = (Entry<SnapshotDataKey, byte[]>) item;
         String vertexName = castItem.getKey().vertexName();
-        FlatMapper<byte[], Object> flatMapper = vertexToFlatMapper.get(vertexName);
+        FlatMapper<Entry<SnapshotDataKey, byte[]>, Object> flatMapper = flatMappers.get(vertexName);
         if (flatMapper == null) {
-            if (!vertexToFlatMapper.containsKey(vertexName)) {
+            if (!flatMappers.containsKey(vertexName)) {
                 // log only once
-                vertexToFlatMapper.put(vertexName, null);
+                flatMappers.put(vertexName, null);
                 getLogger().warning("Data for unknown vertex found in the snapshot, ignoring. Vertex=" + vertexName);
             }
             return true;
         }
         long snapshotId = castItem.getKey().snapshotId();
-        if (snapshotId != expectedSnapshotId) {
+        if (snapshotId > expectedSnapshotId) {
+            // data of a later incremental snapshot, which didn't complete
+            return true;
+        }
+        if (snapshotId < baseSnapshotId) {
             getLogger().warning("Data for unexpected snapshot ID encountered, ignoring. Expected="
-                    + expectedSnapshotId + ", found=" + snapshotId);
+                    + (baseSnapshotId == expectedSnapshotId ? expectedSnapshotId
+                            : baseSnapshotId + ".." + expectedSnapshotId)
+                    + ", found=" + snapshotId);
+            return true;
+        }
+        return flatMapper.tryProcess(castItem);
+    }
+
+    @Override
+    public boolean completeEdge(int ordinal) {
+        if (ordinal != DELTAS_ORDINAL) {
             return true;
         }
-        return flatMapper.tryProcess(castItem.getValue());
+        if (olderEntriesIterator == null) {
+            olderEntriesIterator = vertexToEntries.values().iterator();
+        }
+        for (;;) {
+            if (olderEntriesTraverser != null) {
+                if (!emitFromTraverser(olderEntriesVertex.ordinal, olderEntriesTraverser)) {
+                    return false;
+                }
+                olderEntriesVertex.partitions.values().forEach(PartitionEntries::clearOlderEntries);
+                olderEntriesTraverser = null;
+            }
+            if (!olderEntriesIterator.hasNext()) {
+                return true;
+            }
+            olderEntriesVertex = olderEntriesIterator.next();
+            olderEntriesTraverser = traverseIterable(olderEntriesVertex.partitions.values())
+                    .flatMap(PartitionEntries::olderEntries);
+        }
     }
 
     @Override
     public boolean closeIsCooperative() {
         return true;
     }
+
+    /**
+     * The entries of a vertex found in the incremental snapshots, by the
+     * partition key of the chunks.
+     */
+    private static final class VertexEntries {
+        final int ordinal;
+        final Map<Integer, PartitionEntries> partitions = new HashMap<>();
+
+        VertexEntries(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        PartitionEntries partition(int partitionKey) {
+            return partitions.computeIfAbsent(partitionKey, k -> new PartitionEntries());
+        }
+    }
+
+    /**
+     * The snapshot IDs of the keys of a partition found in the incremental
+     * snapshots and the latest versions of the keys found only in the older
+     * ones, by the hash of the key. The entries whose hash is the same as the
+     * hash of another key of the same snapshot are kept separately.
+     */
+    private static final class PartitionEntries {
+        final Long2LongHashMap deltaSnapshotIds = new Long2LongHashMap(NO_SNAPSHOT_ID);
+        final Long2ObjectHashMap<Entry<Object, Object>> olderEntries = new Long2ObjectHashMap<>();
+        final Long2ObjectHashMap<List<Entry<Object, Object>>> collidingOlderEntries = new Long2ObjectHashMap<>();
+
+        Traverser<Object> olderEntries() {
+            return traverseStream(Stream.<Object>concat(olderEntries.values().stream(),
+                    collidingOlderEntries.values().stream().flatMap(List::stream)));
+        }
+
+        void clearOlderEntries() {
+            olderEntries.clear();
+            collidingOlderEntries.clear();
+        }
+    }
 }
@@ -45,6 +45,9 @@ import com.hazelcast.jet.impl.metrics.JobMetricsPublisher;
 import com.hazelcast.jet.impl.operation.NotifyMemberShutdownOperation;
 import com.hazelcast.jet.impl.operation.PrepareForPassiveClusterOperation;
 import com.hazelcast.jet.impl.serialization.DelegatingSerializationService;
+import com.hazelcast.jet.impl.snapshot.IMapSnapshotStore;
+import com.hazelcast.jet.impl.snapshot.LocalDiskSnapshotStore;
+import com.hazelcast.jet.impl.snapshot.SnapshotStore;
 import com.hazelcast.jet.impl.submitjob.memberside.JobMetaDataParameterObject;
 import com.hazelcast.jet.impl.submitjob.memberside.JobMultiPartParameterObject;
 import com.hazelcast.jet.impl.submitjob.memberside.JobUploadStatus;
@@ -62,6 +65,7 @@ import com.hazelcast.spi.merge.DiscardMergePolicy;
 import com.hazelcast.spi.merge.LatestUpdateMergePolicy;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Properties;
@@ -81,6 +85,8 @@ import static com.hazelcast.jet.impl.JobRepository.JOB_METRICS_MAP_NAME;
 import static com.hazelcast.jet.impl.JobRepository.JOB_RESULTS_MAP_NAME;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
 import static com.hazelcast.jet.impl.util.Util.memoizeConcurrent;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SNAPSHOT_STORE_BACKUP_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SNAPSHOT_STORE_DIRECTORY;
 import static com.hazelcast.spi.properties.ClusterProperty.JOB_RESULTS_TTL_SECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -107,6 +113,8 @@ public class JetServiceBackend implements ManagedService, MembershipAwareService
     private Networking networking;
     private TaskletExecutionService taskletExecutionService;
     private JobRepository jobRepository;
+    private SnapshotStore snapshotStore;
+    private SnapshotStore exportedSnapshotStore;
     private JobCoordinationService jobCoordinationService;
     private JobClassLoaderService jobClassLoaderService;
     private JobExecutionService jobExecutionService;
@@ -126,7 +134,9 @@ public class JetServiceBackend implements ManagedService, MembershipAwareService
     public void init(NodeEngine engine, Properties hzProperties) {
         this.nodeEngine = (NodeEngineImpl) engine;
         this.jet = new JetInstanceImpl(nodeEngine.getNode().hazelcastInstance, jetConfig);
-        jobRepository = new JobRepository(engine.getHazelcastInstance());
+        exportedSnapshotStore = new IMapSnapshotStore(engine.getHazelcastInstance());
+        snapshotStore = createSnapshotStore();
+        jobRepository = new JobRepository(engine.getHazelcastInstance(), snapshotStore);
         taskletExecutionService = new TaskletExecutionService(
                 nodeEngine, jetConfig.getCooperativeThreadCount(), nodeEngine.getProperties()
         );
@@ -157,6 +167,15 @@ public class JetServiceBackend implements ManagedService, MembershipAwareService
                 jobUploadStore::cleanExpiredUploads, 0, JOB_UPLOAD_STORE_PERIOD, SECONDS);
     }
 
+    private SnapshotStore createSnapshotStore() {
+        String directory = nodeEngine.getProperties().getString(JET_SNAPSHOT_STORE_DIRECTORY);
+        if (directory == null || directory.isEmpty()) {
+            return exportedSnapshotStore;
+        }
+        return new LocalDiskSnapshotStore(nodeEngine, new File(directory),
+                nodeEngine.getProperties().getInteger(JET_SNAPSHOT_STORE_BACKUP_COUNT));
+    }
+
     public void configureJetInternalObjects(Config config, HazelcastProperties properties) {
         JetConfig jetConfig = config.getJetConfig();
         MapConfig internalMapConfig = new MapConfig(INTERNAL_JET_OBJECTS_PREFIX + '*')
@@ -246,6 +265,7 @@ public class JetServiceBackend implements ManagedService, MembershipAwareService
         taskletExecutionService.shutdown();
         taskletExecutionService.awaitWorkerTermination();
         networking.shutdown();
+        snapshotStore.shutdown();
     }
 
     @Override
@@ -281,6 +301,21 @@ public class JetServiceBackend implements ManagedService, MembershipAwareService
         return jobRepository;
     }
 
+    /**
+     * Returns the store of the chunks of the automatic snapshots.
+     */
+    public SnapshotStore getSnapshotStore() {
+        return snapshotStore;
+    }
+
+    /**
+     * Returns the store of the chunks of the exported snapshots, they are
+     * always stored in IMaps.
+     */
+    public SnapshotStore getExportedSnapshotStore() {
+        return exportedSnapshotStore;
+    }
+
     public NodeEngineImpl getNodeEngine() {
         return nodeEngine;
     }
@@ -396,6 +431,10 @@ public class JetServiceBackend implements ManagedService, MembershipAwareService
     }
 
     public void startScanningForJobs() {
+        if (snapshotStore instanceof LocalDiskSnapshotStore) {
+            // the member has joined, the cluster members are known
+            ((LocalDiskSnapshotStore) snapshotStore).deleteStaleMemberDirectories();
+        }
         jobCoordinationService.startScanningForJobs();
     }
 
@@ -81,6 +81,14 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
      */
     private transient volatile String ongoingExportedSnapshotName;
 
+    /**
+     * True if the ongoing snapshot is incremental: it's written to the map of
+     * the last successful snapshot, on top of it. Transient for the same
+     * reason as {@link #ongoingExportedSnapshotName}, the first snapshot of an
+     * execution is never incremental.
+     */
+    private transient volatile boolean ongoingSnapshotIncremental;
+
     private volatile String exportedSnapshotName;
     @Nullable
     private volatile String lastSnapshotFailure;
@@ -154,10 +162,13 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
     @SuppressWarnings("NonAtomicOperationOnVolatileField")
     @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
             justification = "all updates to ongoingSnapshotId are synchronized")
-    public void startNewSnapshot(String exportedSnapshotName) {
+    public void startNewSnapshot(String exportedSnapshotName, boolean incremental) {
+        assert !incremental || exportedSnapshotName == null && dataMapIndex >= 0
+                : "incremental snapshot must be written on top of a successful automatic snapshot";
         ongoingSnapshotId++;
         ongoingSnapshotStartTime = Clock.currentTimeMillis();
         this.ongoingExportedSnapshotName = exportedSnapshotName;
+        this.ongoingSnapshotIncremental = incremental;
     }
 
     public SnapshotStats ongoingSnapshotDone(
@@ -186,6 +197,7 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
             }
         }
         ongoingExportedSnapshotName = null;
+        ongoingSnapshotIncremental = false;
         ongoingSnapshotStartTime = Long.MIN_VALUE;
         return res;
     }
@@ -208,9 +220,13 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
 
     /**
      * Returns the index of the data map into which the new snapshot will be
-     * written.
+     * written. It's the map of the current snapshot for an incremental
+     * snapshot and the other map otherwise.
      */
     int ongoingDataMapIndex() {
+        if (ongoingSnapshotIncremental) {
+            return dataMapIndex;
+        }
         assert dataMapIndex == 0 // we'll return 1
                 || dataMapIndex == 1 // we'll return 0
                 || dataMapIndex == -1 // we'll return 0
@@ -31,6 +31,8 @@ import com.hazelcast.jet.core.metrics.JobMetrics;
 import com.hazelcast.jet.impl.deployment.IMapOutputStream;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
 import com.hazelcast.jet.impl.metrics.RawJobMetrics;
+import com.hazelcast.jet.impl.snapshot.IMapSnapshotStore;
+import com.hazelcast.jet.impl.snapshot.SnapshotStore;
 import com.hazelcast.jet.impl.util.ConcurrentMemoizingSupplier;
 import com.hazelcast.jet.impl.util.ExceptionUtil;
 import com.hazelcast.jet.impl.util.ImdgUtil;
@@ -174,6 +176,7 @@ public class JobRepository {
 
 
     private final HazelcastInstance instance;
+    private final SnapshotStore snapshotStore;
     private final ILogger logger;
 
     private final ConcurrentMemoizingSupplier<IMap<Long, JobRecord>> jobRecords;
@@ -186,7 +189,12 @@ public class JobRepository {
     private long resourcesExpirationMillis = DEFAULT_RESOURCES_EXPIRATION_MILLIS;
 
     public JobRepository(HazelcastInstance instance) {
+        this(instance, new IMapSnapshotStore(instance));
+    }
+
+    public JobRepository(HazelcastInstance instance, SnapshotStore snapshotStore) {
         this.instance = instance;
+        this.snapshotStore = snapshotStore;
         this.logger = instance.getLoggingService().getLogger(getClass());
 
         jobRecords = new ConcurrentMemoizingSupplier<>(() -> instance.getMap(JOB_RECORDS_MAP_NAME));
@@ -485,7 +493,7 @@ public class JobRepository {
                 long id = jobIdFromPrefixedName(map.getName(), SNAPSHOT_DATA_MAP_PREFIX);
                 if (!activeJobs.contains(id)) {
                     logFine(logger, "Deleting snapshot data map '%s' because job already finished", map.getName());
-                    map.destroy();
+                    snapshotStore.destroy(map.getName());
                 }
             } else if (map.getName().startsWith(RESOURCES_MAP_NAME_PREFIX)) {
                 deleteMap(activeJobs, map);
@@ -712,7 +720,7 @@ public class JobRepository {
     void clearSnapshotData(long jobId, int dataMapIndex) {
         String mapName = snapshotDataMapName(jobId, dataMapIndex);
         try {
-            instance.getMap(mapName).clear();
+            snapshotStore.clear(mapName);
             logFine(logger, "Cleared snapshot data map %s", mapName);
         } catch (Exception logged) {
             logger.warning("Cannot delete old snapshot data  " + idToString(jobId), logged);
@@ -53,6 +53,7 @@ import com.hazelcast.jet.impl.operation.GetLocalExecutionMetricsOperation;
 import com.hazelcast.jet.impl.operation.InitExecutionOperation;
 import com.hazelcast.jet.impl.operation.StartExecutionOperation;
 import com.hazelcast.jet.impl.operation.TerminateExecutionOperation;
+import com.hazelcast.jet.impl.snapshot.SnapshotStore;
 import com.hazelcast.jet.impl.util.ExceptionUtil;
 import com.hazelcast.jet.impl.util.LoggingUtil;
 import com.hazelcast.jet.impl.util.NonCompletableFuture;
@@ -93,6 +94,7 @@ import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.Util.idToString;
 import static com.hazelcast.jet.config.ProcessingGuarantee.NONE;
 import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.core.Edge.from;
 import static com.hazelcast.jet.core.JobStatus.COMPLETED;
 import static com.hazelcast.jet.core.JobStatus.FAILED;
 import static com.hazelcast.jet.core.JobStatus.NOT_RUNNING;
@@ -100,9 +102,9 @@ import static com.hazelcast.jet.core.JobStatus.RUNNING;
 import static com.hazelcast.jet.core.JobStatus.STARTING;
 import static com.hazelcast.jet.core.JobStatus.SUSPENDED;
 import static com.hazelcast.jet.core.JobStatus.SUSPENDED_EXPORTING_SNAPSHOT;
-import static com.hazelcast.jet.core.processor.SourceProcessors.readMapP;
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
 import static com.hazelcast.jet.impl.JobClassLoaderService.JobPhase.COORDINATOR;
+import static com.hazelcast.jet.impl.JobExecutionRecord.NO_SNAPSHOT;
 import static com.hazelcast.jet.impl.JobRepository.exportedSnapshotMapName;
 import static com.hazelcast.jet.impl.SnapshotValidator.validateSnapshot;
 import static com.hazelcast.jet.impl.TerminationMode.ActionAfterTerminate.RESTART;
@@ -520,19 +522,46 @@ public class MasterJobContext {
         // snapshot map is not updated here, so it does not need to be
         // configured with failOnIndeterminateOperationState
         IMap<Object, Object> snapshotMap = mc.nodeEngine().getHazelcastInstance().getMap(mapName);
-        long resolvedSnapshotId = validateSnapshot(
-                snapshotId, snapshotMap, mc.jobIdString(), snapshotName);
-        logger.info(String.format(
-                "About to restore the state of %s from snapshot %d, mapName = %s",
-                mc.jobIdString(), resolvedSnapshotId, mapName));
+        // the exported snapshots are always in IMaps
+        SnapshotStore snapshotStore = snapshotName != null
+                ? mc.getJetServiceBackend().getExportedSnapshotStore()
+                : mc.getJetServiceBackend().getSnapshotStore();
+        SnapshotValidationRecord validationRecord = validateSnapshot(
+                snapshotId, snapshotMap, snapshotStore, mc.jobIdString(), snapshotName);
+        long resolvedSnapshotId = snapshotId != NO_SNAPSHOT ? snapshotId : validationRecord.snapshotId();
+        long baseSnapshotId = validationRecord.baseSnapshotId();
+        if (baseSnapshotId == resolvedSnapshotId) {
+            logger.info(String.format(
+                    "About to restore the state of %s from snapshot %d, mapName = %s",
+                    mc.jobIdString(), resolvedSnapshotId, mapName));
+        } else {
+            logger.info(String.format(
+                    "About to restore the state of %s from snapshot %d and incremental snapshots up to %d, mapName = %s",
+                    mc.jobIdString(), baseSnapshotId, resolvedSnapshotId, mapName));
+        }
         List<Vertex> originalVertices = new ArrayList<>();
         dag.iterator().forEachRemaining(originalVertices::add);
 
         Map<String, Integer> vertexToOrdinal = new HashMap<>();
-        Vertex readSnapshotVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "read", readMapP(mapName));
         Vertex explodeVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "explode",
-                () -> new ExplodeSnapshotP(vertexToOrdinal, resolvedSnapshotId));
-        dag.edge(between(readSnapshotVertex, explodeVertex).isolated());
+                () -> new ExplodeSnapshotP(vertexToOrdinal, baseSnapshotId, resolvedSnapshotId));
+        if (baseSnapshotId == resolvedSnapshotId) {
+            Vertex readSnapshotVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "read", snapshotStore.readP(mapName));
+            dag.edge(between(readSnapshotVertex, explodeVertex).isolated());
+        } else {
+            // The incremental snapshots are read first, on the edge with the higher priority,
+            // so that the base snapshot can be streamed. The versions of a key in the chunks
+            // of the chain must meet in the same processor, they are in the chunks of the
+            // same partition.
+            Vertex readBaseVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "read",
+                    snapshotStore.readP(mapName, baseSnapshotId, baseSnapshotId));
+            Vertex readDeltasVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "readDeltas",
+                    snapshotStore.readP(mapName, baseSnapshotId + 1, resolvedSnapshotId));
+            dag.edge(between(readBaseVertex, explodeVertex).partitioned(entryKey()));
+            dag.edge(from(readDeltasVertex).to(explodeVertex, ExplodeSnapshotP.DELTAS_ORDINAL)
+                                           .partitioned(entryKey())
+                                           .priority(-1));
+        }
 
         int index = 0;
         // add the edges
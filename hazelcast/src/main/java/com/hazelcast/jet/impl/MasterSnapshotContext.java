@@ -26,10 +26,12 @@ import com.hazelcast.jet.impl.execution.init.ExecutionPlan;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation.SnapshotPhase1Result;
 import com.hazelcast.jet.impl.operation.SnapshotPhase2Operation;
+import com.hazelcast.jet.impl.snapshot.SnapshotStore;
 import com.hazelcast.jet.impl.util.LoggingUtil;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.IMap;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -47,6 +49,7 @@ import java.util.logging.Level;
 
 import static com.hazelcast.jet.Util.idToString;
 import static com.hazelcast.jet.core.JobStatus.RUNNING;
+import static com.hazelcast.jet.impl.JobExecutionRecord.NO_SNAPSHOT;
 import static com.hazelcast.jet.impl.JobRepository.exportedSnapshotMapName;
 import static com.hazelcast.jet.impl.JobRepository.safeImap;
 import static com.hazelcast.jet.impl.JobRepository.snapshotDataMapName;
@@ -77,6 +80,23 @@ class MasterSnapshotContext {
     @Nonnull
     private volatile CompletableFuture<Void> terminalSnapshotFuture = completedFuture(null);
 
+    /**
+     * The ID of the full snapshot on top of which the next incremental
+     * snapshot can be written, or {@link JobExecutionRecord#NO_SNAPSHOT}, if
+     * the next snapshot must be full: no snapshot succeeded in this execution
+     * yet or the last one failed. The members compute the changes since their
+     * last snapshot, so a delta must follow a successful snapshot of the same
+     * execution.
+     */
+    private long chainBaseSnapshotId = NO_SNAPSHOT;
+    /**
+     * The number of the incremental snapshots on top of {@link
+     * #chainBaseSnapshotId} and the total chunks and bytes of the chain.
+     */
+    private int chainLength;
+    private long chainNumChunks;
+    private long chainNumBytes;
+
     private class SnapshotRequest {
         /**
          * User-specified name of the snapshot or null, if no name is specified
@@ -93,6 +113,11 @@ class MasterSnapshotContext {
          * be null.
          */
         final CompletableFuture<Void> future;
+        /**
+         * If true, the snapshot contains only the changes since the previous
+         * one. Decided when the snapshot begins.
+         */
+        boolean incremental;
 
         SnapshotRequest(@Nullable String snapshotName, boolean isTerminal, @Nullable CompletableFuture<Void> future) {
             this.snapshotName = snapshotName;
@@ -112,7 +137,7 @@ class MasterSnapshotContext {
         }
 
         public int snapshotFlags() {
-            return SnapshotFlags.create(isTerminal, isExport());
+            return SnapshotFlags.create(isTerminal, isExport(), incremental);
         }
 
         public String mapName() {
@@ -120,6 +145,14 @@ class MasterSnapshotContext {
                     : snapshotDataMapName(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
         }
 
+        /**
+         * Returns the store of the chunks of the snapshot.
+         */
+        public SnapshotStore store() {
+            JetServiceBackend jetServiceBackend = mc.getJetServiceBackend();
+            return isExport() ? jetServiceBackend.getExportedSnapshotStore() : jetServiceBackend.getSnapshotStore();
+        }
+
         /**
          * Complete snapshot future, if any.
          * @param error Error, or null for successful completion.
@@ -202,7 +235,11 @@ class MasterSnapshotContext {
                     return;
                 }
                 snapshotInProgress = true;
-                mc.jobExecutionRecord().startNewSnapshot(requestedSnapshot.snapshotName);
+                requestedSnapshot.incremental = !requestedSnapshot.isExport()
+                        && chainBaseSnapshotId != NO_SNAPSHOT
+                        && chainLength < mc.nodeEngine().getProperties().getInteger(
+                                ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_DELTAS);
+                mc.jobExecutionRecord().startNewSnapshot(requestedSnapshot.snapshotName, requestedSnapshot.incremental);
                 localExecutionId = mc.executionId();
             } finally {
                 mc.unlock();
@@ -214,7 +251,9 @@ class MasterSnapshotContext {
 
             try {
                 mc.writeJobExecutionRecordSafe(false);
-                mc.nodeEngine().getHazelcastInstance().getMap(mapName).clear();
+                if (!requestedSnapshot.incremental) {
+                    mc.nodeEngine().getHazelcastInstance().getMap(mapName).clear();
+                }
             } catch (Exception e) {
                 logger.warning(String.format("Failed to start snapshot %d for %s",
                         newSnapshotId, jobNameAndExecutionId(mc.jobName(), localExecutionId)),
@@ -330,40 +369,56 @@ class MasterSnapshotContext {
                 // to have failOnIndeterminateOperationState enabled.
                 IMap<Object, Object> snapshotMap = safeImap(mc.nodeEngine().getHazelcastInstance().getMap(mapName));
                 try {
-                    SnapshotValidationRecord validationRecord = new SnapshotValidationRecord(snapshotId,
-                            mergedResult.getNumChunks(), mergedResult.getNumBytes(),
-                            mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
-                            mc.jobRecord().getDagJson());
-
-                    // The decision moment for _exported_ snapshots: after this the snapshot is valid to be restored
-                    // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
-                    // record is inserted into the cache below.
-                    //
-                    // Error during update for JobExecutionRecord does not invalidate the _exported_ snapshot.
-                    // JobExecutionRecord data in IMap becomes stale (indicates that the exported snapshot is in progress)
-                    // but it should not cause problems. They may be overwritten later (in-memory values will be correct)
-                    // or ignored when JobExecutionRecord is loaded from IMap.
-                    //
-                    // Terminal exported snapshot is formally valid from this point on, but it is safe to use it
-                    // to restore from only after and only if the job was cleanly terminated due to _this_ snapshot request.
-                    // On API level, using this snapshot is not safe if cancelAndExportSnapshot throws exception
-                    // and the job will not be cancelled but restarted.
-                    Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
-
-                    if (requestedSnapshot.isExport()) {
-                        assert requestedSnapshot.snapshotName != null;
-                        // update also for failed snapshots because the map may have contained different snapshot before
-                        mc.jobRepository().cacheValidationRecord(requestedSnapshot.snapshotName, validationRecord);
-                    }
-                    if (oldValue != null) {
-                        logger.severe("SnapshotValidationRecord overwritten after writing to '" + mapName
-                                + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                    SnapshotValidationRecord validationRecord = requestedSnapshot.incremental
+                            ? new SnapshotValidationRecord(snapshotId, chainBaseSnapshotId,
+                                    chainNumChunks + mergedResult.getNumChunks(),
+                                    chainNumBytes + mergedResult.getNumBytes(),
+                                    mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
+                                    mc.jobRecord().getDagJson())
+                            : new SnapshotValidationRecord(snapshotId,
+                                    mergedResult.getNumChunks(), mergedResult.getNumBytes(),
+                                    mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
+                                    mc.jobRecord().getDagJson());
+                    if (requestedSnapshot.incremental) {
+                        // The map contains the previous snapshots of the chain and their validation record. Replace
+                        // it only if the delta succeeded, a failed delta is ignored when restoring.
+                        if (mergedResult.getError() == null) {
+                            snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
+                        }
+                    } else {
+                        // The decision moment for _exported_ snapshots: after this the snapshot is valid to be restored
+                        // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
+                        // record is inserted into the cache below.
+                        //
+                        // Error during update for JobExecutionRecord does not invalidate the _exported_ snapshot.
+                        // JobExecutionRecord data in IMap becomes stale (indicates that the exported snapshot is in progress)
+                        // but it should not cause problems. They may be overwritten later (in-memory values will be correct)
+                        // or ignored when JobExecutionRecord is loaded from IMap.
+                        //
+                        // Terminal exported snapshot is formally valid from this point on, but it is safe to use it
+                        // to restore from only after and only if the job was cleanly terminated due to _this_ snapshot request.
+                        // On API level, using this snapshot is not safe if cancelAndExportSnapshot throws exception
+                        // and the job will not be cancelled but restarted.
+                        Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
+
+                        if (requestedSnapshot.isExport()) {
+                            assert requestedSnapshot.snapshotName != null;
+                            // update also for failed snapshots because the map may have contained different snapshot before
+                            mc.jobRepository().cacheValidationRecord(requestedSnapshot.snapshotName, validationRecord);
+                        }
+                        if (oldValue != null) {
+                            logger.severe("SnapshotValidationRecord overwritten after writing to '" + mapName
+                                    + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                        }
                     }
                 } catch (Exception e) {
                     mergedResult.merge(new SnapshotPhase1Result(0, 0, 0, e));
                 }
 
                 isSuccess = mergedResult.getError() == null;
+                if (!requestedSnapshot.isExport()) {
+                    updateChain(snapshotId, requestedSnapshot.incremental, isSuccess, mergedResult);
+                }
                 // update snapshot state in memory after success or failure
                 stats = mc.jobExecutionRecord().ongoingSnapshotDone(
                         mergedResult.getNumBytes(), mergedResult.getNumKeys(), mergedResult.getNumChunks(),
@@ -410,14 +465,19 @@ class MasterSnapshotContext {
                             (skipPhase2 ? ", skipping " : ", proceeding to ") + "phase 2"));
                 }
 
-                if (!isSuccess) {
+                if (!isSuccess && requestedSnapshot.incremental) {
+                    logger.warning(mc.jobIdString() + " incremental snapshot " + snapshotId + " phase 1 failed on " +
+                            "some member(s), one of the failures: " + mergedResult.getError());
+                    // The map contains the previous snapshots of the chain, the data of the failed delta is
+                    // ignored when restoring and removed with the chain when the next full snapshot succeeds.
+                } else if (!isSuccess) {
                     logger.warning(mc.jobIdString() + " snapshot " + snapshotId + " phase 1 failed on some " +
                             "member(s), one of the failures: " + mergedResult.getError());
                     try {
                         // Clear data of failed snapshot (automatic or exported) to decrease memory usage.
                         // This can be done regardless of skipPhase2 because failed snapshot
                         // can never be used for restore.
-                        snapshotMap.clear();
+                        requestedSnapshot.store().clear(mapName);
                     } catch (Exception e) {
                         logger.warning(mc.jobIdString() + ": failed to clear snapshot map '" + mapName
                                 + "' after a failure", e);
@@ -535,12 +595,34 @@ class MasterSnapshotContext {
         });
     }
 
+    /**
+     * Updates the chain of incremental snapshots after a snapshot other than
+     * exported completed phase 1.
+     */
+    private void updateChain(long snapshotId, boolean incremental, boolean isSuccess, SnapshotPhase1Result result) {
+        if (!isSuccess) {
+            // the members already moved on to the failed snapshot, the next one must be full
+            chainBaseSnapshotId = NO_SNAPSHOT;
+        } else if (incremental) {
+            chainLength++;
+            chainNumChunks += result.getNumChunks();
+            chainNumBytes += result.getNumBytes();
+        } else {
+            chainBaseSnapshotId = snapshotId;
+            chainLength = 0;
+            chainNumChunks = result.getNumChunks();
+            chainNumBytes = result.getNumBytes();
+        }
+    }
+
     CompletableFuture<Void> terminalSnapshotFuture() {
         return terminalSnapshotFuture;
     }
 
     void onExecutionStarted() {
         snapshotInProgress = false;
+        // the members of the new execution don't know the state saved before
+        chainBaseSnapshotId = NO_SNAPSHOT;
         assert snapshotQueue.isEmpty() : "snapshotQueue not empty";
         terminalSnapshotFuture = new CompletableFuture<>();
     }
@@ -28,6 +28,7 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
     public static final SnapshotValidationKey KEY = SnapshotValidationKey.KEY;
 
     private long snapshotId;
+    private long baseSnapshotId;
     private long numChunks;
     private long numBytes;
 
@@ -41,7 +42,13 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
 
     SnapshotValidationRecord(long snapshotId, long numChunks, long numBytes, long creationTime, long jobId,
                                     @Nonnull String jobName, @Nonnull String dagJsonString) {
+        this(snapshotId, snapshotId, numChunks, numBytes, creationTime, jobId, jobName, dagJsonString);
+    }
+
+    SnapshotValidationRecord(long snapshotId, long baseSnapshotId, long numChunks, long numBytes, long creationTime,
+                             long jobId, @Nonnull String jobName, @Nonnull String dagJsonString) {
         this.snapshotId = snapshotId;
+        this.baseSnapshotId = baseSnapshotId;
         this.numChunks = numChunks;
         this.numBytes = numBytes;
         this.creationTime = creationTime;
@@ -54,6 +61,19 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
         return snapshotId;
     }
 
+    /**
+     * Returns the ID of the full snapshot on top of which the incremental
+     * snapshots up to {@link #snapshotId()} were written to the same map. For
+     * a full snapshot it's equal to the {@link #snapshotId()}.
+     */
+    public long baseSnapshotId() {
+        return baseSnapshotId;
+    }
+
+    /**
+     * Returns the number of chunks in the map: of the full snapshot and of the
+     * incremental snapshots on top of it.
+     */
     public long numChunks() {
         return numChunks;
     }
@@ -97,6 +117,7 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
         out.writeLong(jobId);
         out.writeString(jobName);
         out.writeString(dagJsonString);
+        out.writeLong(baseSnapshotId);
     }
 
     @Override
@@ -108,12 +129,14 @@ public class SnapshotValidationRecord implements IdentifiedDataSerializable {
         jobId = in.readLong();
         jobName = in.readString();
         dagJsonString = in.readString();
+        baseSnapshotId = in.readLong();
     }
 
     @Override
     public String toString() {
         return "SnapshotValidationRecord{" +
                 "snapshotId=" + snapshotId +
+                ", baseSnapshotId=" + baseSnapshotId +
                 ", numChunks=" + numChunks +
                 ", numBytes=" + numBytes +
                 ", creationTime=" + creationTime +
@@ -16,9 +16,8 @@
 
 package com.hazelcast.jet.impl;
 
-import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.jet.JetException;
-import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
+import com.hazelcast.jet.impl.snapshot.SnapshotStore;
 import com.hazelcast.map.IMap;
 
 import static com.hazelcast.jet.impl.JobExecutionRecord.NO_SNAPSHOT;
@@ -30,17 +29,25 @@ final class SnapshotValidator {
 
     /**
      * Validates a snapshot with the given id.
+     * <p>
+     * The map can contain a chain of snapshots: a full snapshot and the
+     * incremental snapshots written on top of it. If the given snapshot ID is
+     * older than the last snapshot of the chain, but not older than its base,
+     * the snapshot is valid: the later incremental snapshot was written, but
+     * its completion wasn't recorded. Its data is ignored when restoring.
      *
      * @param snapshotId snapshot ID or {@link JobExecutionRecord#NO_SNAPSHOT}
      *                   if snapshot ID is not known
      * @param snapshotMap snapshot map to validate
+     * @param snapshotStore the store of the chunks of the snapshot
      * @param jobIdString name and ID of the job, for debug output
      * @param snapshotName user-supplied snapshot name for debug output,
      *                     null if it's not an exported snapshot
-     * @return the snapshot ID of the snapshot being validated
+     * @return the validation record of the snapshot being validated
      */
-    static long validateSnapshot(
-            long snapshotId, IMap<Object, Object> snapshotMap, String jobIdString, String snapshotName
+    static SnapshotValidationRecord validateSnapshot(
+            long snapshotId, IMap<Object, Object> snapshotMap, SnapshotStore snapshotStore, String jobIdString,
+            String snapshotName
     ) {
         SnapshotValidationRecord validationRecord =
                 (SnapshotValidationRecord) snapshotMap.get(SnapshotValidationRecord.KEY);
@@ -50,23 +57,25 @@ final class SnapshotValidator {
                     "snapshot %s in IMap %s (%d entries) is damaged. Unable to restore the state for %s.",
                     nameOrId, snapshotMap.getName(), snapshotMap.size(), jobIdString));
         }
+        if (snapshotId != NO_SNAPSHOT && snapshotId != validationRecord.snapshotId()) {
+            if (snapshotId < validationRecord.baseSnapshotId() || snapshotId > validationRecord.snapshotId()) {
+                throw new JetException(String.format(
+                        "%s: IMap '%s' was supposed to contain snapshotId %d, but it contains snapshotId %d",
+                        jobIdString, snapshotMap.getName(), snapshotId, validationRecord.snapshotId()));
+            }
+            // the number of chunks of the snapshots up to snapshotId isn't known
+            return validationRecord;
+        }
         if (validationRecord.numChunks() != snapshotMap.size() - 1) {
-            // fallback validation that counts using aggregate(), ignoring different snapshot IDs
-            long filteredCount = snapshotMap.aggregate(
-                    Aggregators.count(),
-                    e -> e.getKey() instanceof SnapshotDataKey
-                            && ((SnapshotDataKey) e.getKey()).snapshotId() == snapshotId);
+            // fallback validation that counts the chunks in the store, ignoring different snapshot IDs
+            long filteredCount = snapshotStore.countChunks(
+                    snapshotMap.getName(), validationRecord.baseSnapshotId(), validationRecord.snapshotId());
             if (validationRecord.numChunks() != filteredCount) {
                 throw new JetException(String.format(
                         "State for %s in IMap '%s' is corrupted: it should have %,d entries, but has %,d",
-                        jobIdString, snapshotMap.getName(), validationRecord.numChunks(), snapshotMap.size() - 1));
+                        jobIdString, snapshotMap.getName(), validationRecord.numChunks(), filteredCount));
             }
         }
-        if (snapshotId != NO_SNAPSHOT && snapshotId != validationRecord.snapshotId()) {
-            throw new JetException(String.format(
-                    "%s: IMap '%s' was supposed to contain snapshotId %d, but it contains snapshotId %d",
-                    jobIdString, snapshotMap.getName(), snapshotId, validationRecord.snapshotId()));
-        }
-        return validationRecord.snapshotId();
+        return validationRecord;
     }
 }
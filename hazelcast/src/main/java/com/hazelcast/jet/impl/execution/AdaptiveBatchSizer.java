@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * Tunes the outbox batch size of a {@link ProcessorTasklet} after each call.
+ * The batch starts at the initial size and can grow up to the maximum size,
+ * which is the capacity of the output queues. The batch is doubled when the processor had more items to emit than the
+ * batch allowed or when its input queues are more than half full, it is
+ * halved at once when an output queue is full, and it is halved gradually
+ * when the processor keeps emitting less than a quarter of the batch.
+ */
+final class AdaptiveBatchSizer {
+
+    static final int MIN_BATCH_SIZE = 16;
+
+    /**
+     * The number of consecutive under-filled calls after which the batch is
+     * shrunk. Prevents shrinking on a single call that happened to have few
+     * items.
+     */
+    static final int SHRINK_AFTER_CALLS = 8;
+
+    private final int maxBatchSize;
+    private int batchSize;
+    private int numUnderfilledCalls;
+
+    AdaptiveBatchSizer(int initialBatchSize, int maxBatchSize) {
+        checkPositive(initialBatchSize, "initialBatchSize must be positive");
+        checkPositive(maxBatchSize, "maxBatchSize must be positive");
+        this.maxBatchSize = Math.max(MIN_BATCH_SIZE, maxBatchSize);
+        this.batchSize = Math.min(this.maxBatchSize, Math.max(MIN_BATCH_SIZE, initialBatchSize));
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Updates the batch size from the result of the last call.
+     *
+     * @param numAccepted the number of items the outbox accepted
+     * @param batchLimitReached true, if the processor had more items than the batch allowed
+     * @param outboxBlocked true, if an item was rejected because an output queue was full
+     * @param queuesSize the number of items in the input queues
+     * @param queuesCapacity the capacity of the input queues
+     * @return the batch size for the next call
+     */
+    int update(int numAccepted, boolean batchLimitReached, boolean outboxBlocked, long queuesSize, long queuesCapacity) {
+        if (outboxBlocked && !batchLimitReached) {
+            // the downstream can't keep up, larger batches only fill its queues
+            batchSize = Math.max(MIN_BATCH_SIZE, batchSize >> 1);
+            numUnderfilledCalls = 0;
+        } else if (batchLimitReached || (queuesCapacity > 0 && queuesSize << 1 > queuesCapacity)) {
+            batchSize = Math.min(maxBatchSize, batchSize << 1);
+            numUnderfilledCalls = 0;
+        } else if (numAccepted < batchSize >> 2) {
+            if (++numUnderfilledCalls >= SHRINK_AFTER_CALLS) {
+                batchSize = Math.max(MIN_BATCH_SIZE, batchSize >> 1);
+                numUnderfilledCalls = 0;
+            }
+        } else {
+            numUnderfilledCalls = 0;
+        }
+        return batchSize;
+    }
+}
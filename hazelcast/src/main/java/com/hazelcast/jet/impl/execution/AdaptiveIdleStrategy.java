@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * An idle strategy for a single worker thread, that parks on an exponential
+ * backoff like {@link com.hazelcast.internal.util.concurrent.BackoffIdleStrategy},
+ * but caps the park time to a fraction of the average length of the recent
+ * idle periods. When the items arrive in short gaps, the thread doesn't park
+ * for much longer than the gap. When the worker stays idle, the average grows
+ * and the cap reaches the maximum park period.
+ * <p>
+ * The worker must call {@link #progressAfterIdle()} when it makes progress
+ * after it idled. The instance isn't thread-safe.
+ */
+final class AdaptiveIdleStrategy implements IdleStrategy {
+
+    /**
+     * The park time is capped to {@code 1/2^CAP_SHIFT} of the average idle period.
+     */
+    static final int CAP_SHIFT = 2;
+
+    /**
+     * The weight of the last idle period in the average is {@code 1/2^AVERAGE_SHIFT}.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final long minParkPeriodNs;
+    private final long maxParkPeriodNs;
+    private long avgIdlePeriodNs;
+    private long idleStartNs;
+
+    AdaptiveIdleStrategy(long minParkPeriodNs, long maxParkPeriodNs) {
+        this.minParkPeriodNs = max(1, minParkPeriodNs);
+        this.maxParkPeriodNs = max(this.minParkPeriodNs, maxParkPeriodNs);
+        this.avgIdlePeriodNs = this.maxParkPeriodNs << CAP_SHIFT;
+    }
+
+    @Override
+    public boolean idle(long n) {
+        if (n == 1) {
+            idleStartNs = System.nanoTime();
+        }
+        long parkTime = parkTime(n);
+        LockSupport.parkNanos(parkTime);
+        return parkTime == maxParkPeriodNs;
+    }
+
+    /**
+     * Records the end of an idle period.
+     */
+    void progressAfterIdle() {
+        long idlePeriodNs = System.nanoTime() - idleStartNs;
+        avgIdlePeriodNs += (idlePeriodNs - avgIdlePeriodNs) >> AVERAGE_SHIFT;
+    }
+
+    long parkTime(long n) {
+        long cap = min(maxParkPeriodNs, max(minParkPeriodNs, avgIdlePeriodNs >> CAP_SHIFT));
+        // the shift is limited so that the result doesn't overflow
+        long shift = min(n - 1, Long.numberOfLeadingZeros(minParkPeriodNs) - 1);
+        return min(cap, minParkPeriodNs << shift);
+    }
+}
@@ -46,7 +46,7 @@ public class OutboxImpl implements OutboxInternal {
     private final OutboundCollector[] outstreams;
     private final ProgressTracker progTracker;
     private final SerializationService serializationService;
-    private final int batchSize;
+    private int batchSize;
     private final AtomicLongArray counters;
 
     private final int[] singleEdge = {0};
@@ -56,6 +56,8 @@ public class OutboxImpl implements OutboxInternal {
     private final BitSet broadcastTracker;
     private Entry<Data, Data> pendingSnapshotEntry;
     private int numRemainingInBatch;
+    private int numAcceptedInBatch;
+    private boolean batchLimitReached;
 
     private Object unfinishedItem;
     private int[] unfinishedItemOrdinals;
@@ -129,6 +131,7 @@ public class OutboxImpl implements OutboxInternal {
         numRemainingInBatch--;
         boolean done = true;
         if (numRemainingInBatch == -1) {
+            batchLimitReached = true;
             done = false;
         } else {
             if (ordinals.length == 0) {
@@ -155,6 +158,7 @@ public class OutboxImpl implements OutboxInternal {
             }
         }
         if (done) {
+            numAcceptedInBatch++;
             broadcastTracker.clear();
             unfinishedItem = null;
             unfinishedItemOrdinals = null;
@@ -246,6 +250,32 @@ public class OutboxImpl implements OutboxInternal {
     @Override
     public void reset() {
         numRemainingInBatch = batchSize;
+        numAcceptedInBatch = 0;
+        batchLimitReached = false;
+    }
+
+    /**
+     * Sets the maximum number of items that will be allowed to offer until
+     * {@link #reset()} is called. Takes effect at the next {@code reset()}.
+     */
+    void batchSize(int batchSize) {
+        checkPositive(batchSize, "batchSize must be positive");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the number of items accepted since the last {@link #reset()}.
+     */
+    int numAcceptedInBatch() {
+        return numAcceptedInBatch;
+    }
+
+    /**
+     * Returns true, if an item was rejected since the last {@link #reset()}
+     * because the batch size was exhausted, as opposed to a full queue.
+     */
+    boolean batchLimitReached() {
+        return batchLimitReached;
     }
 
     private ProgressState doOffer(OutboundCollector collector, Object item) {
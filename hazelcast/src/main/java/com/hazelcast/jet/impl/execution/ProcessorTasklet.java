@@ -119,6 +119,7 @@ public class ProcessorTasklet implements Tasklet {
     private final List<? extends InboundEdgeStream> instreams;
     private final ExecutorService executionService;
     private final boolean isSource;
+    private final AdaptiveBatchSizer batchSizer;
 
     private Processor processor;
     private int numActiveOrdinals; // counter for remaining active ordinals
@@ -164,7 +165,6 @@ public class ProcessorTasklet implements Tasklet {
     private final Consumer<Object> addToInboxFunction = inbox.queue()::add;
     private Future<?> closeFuture;
 
-    @SuppressWarnings("checkstyle:ExecutableStatementCount")
     public ProcessorTasklet(
             @Nonnull Context context,
             @Nonnull ExecutorService executionService,
@@ -175,6 +175,30 @@ public class ProcessorTasklet implements Tasklet {
             @Nonnull SnapshotContext ssContext,
             @Nullable OutboundCollector ssCollector,
             boolean isSource
+    ) {
+        this(context, executionService, serializationService, processor, instreams, outstreams, ssContext,
+                ssCollector, isSource, 0);
+    }
+
+    /**
+     * @param maxAdaptiveBatchSize if positive, the outbox batch size is tuned
+     *                             after each call up to this size, but at least
+     *                             up to the fixed batch size, see {@link
+     *                             AdaptiveBatchSizer}. If 0, the batch size is
+     *                             fixed
+     */
+    @SuppressWarnings({"checkstyle:ExecutableStatementCount", "checkstyle:ParameterNumber"})
+    public ProcessorTasklet(
+            @Nonnull Context context,
+            @Nonnull ExecutorService executionService,
+            @Nonnull SerializationService serializationService,
+            @Nonnull Processor processor,
+            @Nonnull List<? extends InboundEdgeStream> instreams,
+            @Nonnull List<? extends OutboundEdgeStream> outstreams,
+            @Nonnull SnapshotContext ssContext,
+            @Nullable OutboundCollector ssCollector,
+            boolean isSource,
+            int maxAdaptiveBatchSize
     ) {
         Preconditions.checkNotNull(processor, "processor");
         this.context = context;
@@ -198,6 +222,9 @@ public class ProcessorTasklet implements Tasklet {
         receivedBatches = new AtomicLongArray(instreams.size());
         emittedCounts = new AtomicLongArray(outstreams.size() + 1);
         outbox = createOutbox(ssCollector);
+        batchSizer = maxAdaptiveBatchSize > 0
+                ? new AdaptiveBatchSizer(OUTBOX_BATCH_SIZE, Math.max(OUTBOX_BATCH_SIZE, maxAdaptiveBatchSize))
+                : null;
         receivedBarriers = new BitSet(instreams.size());
         state = processingState();
         pendingSnapshotId1 = pendingSnapshotId2 = ssContext.activeSnapshotIdPhase1() + 1;
@@ -289,6 +316,10 @@ public class ProcessorTasklet implements Tasklet {
         progTracker.notDone();
         outbox.reset();
         stateMachineStep();
+        if (batchSizer != null) {
+            outbox.batchSize(batchSizer.update(outbox.numAcceptedInBatch(), outbox.batchLimitReached(),
+                    outbox.hasUnfinishedItem(), queuesSize.get(), queuesCapacity.get()));
+        }
         return progTracker.toProgressState();
     }
 
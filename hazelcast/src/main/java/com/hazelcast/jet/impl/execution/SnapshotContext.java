@@ -173,6 +173,14 @@ public class SnapshotContext {
         return SnapshotFlags.isExportOnly(snapshotFlags);
     }
 
+    public boolean isExportSnapshot() {
+        return SnapshotFlags.isExport(snapshotFlags);
+    }
+
+    public boolean isIncrementalSnapshot() {
+        return SnapshotFlags.isIncremental(snapshotFlags);
+    }
+
     boolean isLastPhase1Successful() {
         return lastPhase1Successful;
     }
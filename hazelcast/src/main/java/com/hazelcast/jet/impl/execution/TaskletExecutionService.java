@@ -58,6 +58,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.hazelcast.internal.util.executor.ExecutorType.CACHED;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.peel;
@@ -66,6 +67,7 @@ import static com.hazelcast.internal.util.ExceptionUtil.withTryCatch;
 import static com.hazelcast.jet.impl.util.LoggingUtil.logFinest;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_ADAPTIVE_BATCHING_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MAX_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MIN_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS;
@@ -92,8 +94,8 @@ public class TaskletExecutionService {
     private final Counter blockingWorkerCount = MwCounter.newMwCounter();
     private volatile boolean isShutdown;
     private final Object lock = new Object();
-    private final IdleStrategy idlerCooperative;
-    private final IdleStrategy idlerNonCooperative;
+    private final Supplier<IdleStrategy> idlerCooperative;
+    private final Supplier<IdleStrategy> idlerNonCooperative;
 
     public TaskletExecutionService(NodeEngineImpl nodeEngine, int threadCount, HazelcastProperties properties) {
         hzExecutionService = nodeEngine.getExecutionService();
@@ -104,11 +106,12 @@ public class TaskletExecutionService {
         this.cooperativeThreadPool = new Thread[threadCount];
         this.logger = nodeEngine.getLoggingService().getLogger(TaskletExecutionService.class);
 
+        boolean adaptive = properties.getBoolean(JET_ADAPTIVE_BATCHING_ENABLED);
         idlerCooperative = createIdler(
-            properties, JET_IDLE_COOPERATIVE_MIN_MICROSECONDS, JET_IDLE_COOPERATIVE_MAX_MICROSECONDS
+            properties, JET_IDLE_COOPERATIVE_MIN_MICROSECONDS, JET_IDLE_COOPERATIVE_MAX_MICROSECONDS, adaptive
         );
         idlerNonCooperative = createIdler(
-            properties, JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS, JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS
+            properties, JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS, JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS, adaptive
         );
 
         Arrays.setAll(cooperativeWorkers, i -> new CooperativeWorker());
@@ -254,8 +257,13 @@ public class TaskletExecutionService {
         }
     }
 
-    private BackoffIdleStrategy createIdler(
-        HazelcastProperties props, HazelcastProperty minProp, HazelcastProperty maxProp
+    /**
+     * Returns a supplier of the idler for one worker. The adaptive idlers keep
+     * the state of the worker, so a new one is created for each worker,
+     * otherwise all workers share the same stateless idler.
+     */
+    private Supplier<IdleStrategy> createIdler(
+        HazelcastProperties props, HazelcastProperty minProp, HazelcastProperty maxProp, boolean adaptive
     ) {
         int min = props.getInteger(minProp);
         int max = props.getInteger(maxProp);
@@ -271,9 +279,13 @@ public class TaskletExecutionService {
         }
 
         logFinest(logger, "Creating idler with %s=%dµs,%s=%dµs", minName, min, maxName, max);
-        return new BackoffIdleStrategy(0, 0,
-            minProp.getTimeUnit().toNanos(min), maxProp.getTimeUnit().toNanos(max)
-        );
+        long minNanos = minProp.getTimeUnit().toNanos(min);
+        long maxNanos = maxProp.getTimeUnit().toNanos(max);
+        if (adaptive) {
+            return () -> new AdaptiveIdleStrategy(minNanos, maxNanos);
+        }
+        IdleStrategy idler = new BackoffIdleStrategy(0, 0, minNanos, maxNanos);
+        return () -> idler;
     }
 
     private void handleTaskletExecutionError(TaskletTracker t, Throwable e) {
@@ -305,7 +317,7 @@ public class TaskletExecutionService {
             final ClassLoader clBackup = currentThread().getContextClassLoader();
             final Tasklet t = tracker.tasklet;
             currentThread().setContextClassLoader(tracker.jobClassLoader);
-            IdleStrategy idlerLocal = idlerNonCooperative;
+            IdleStrategy idlerLocal = idlerNonCooperative.get();
             Contexts.Container contextContainer = Contexts.container();
 
             try {
@@ -318,6 +330,9 @@ public class TaskletExecutionService {
                 do {
                     result = t.call();
                     if (result.isMadeProgress()) {
+                        if (idleCount > 0 && idlerLocal instanceof AdaptiveIdleStrategy) {
+                            ((AdaptiveIdleStrategy) idlerLocal).progressAfterIdle();
+                        }
                         idleCount = 0;
                     } else {
                         idlerLocal.idle(++idleCount);
@@ -363,7 +378,7 @@ public class TaskletExecutionService {
             myThread = currentThread();
             contextContainer = Contexts.container();
 
-            IdleStrategy idlerLocal = idlerCooperative;
+            IdleStrategy idlerLocal = idlerCooperative.get();
             long idleCount = 0;
 
             while (!isShutdown) {
@@ -376,6 +391,9 @@ public class TaskletExecutionService {
                     progressTracker.madeProgress();
                 }
                 if (progressTracker.isMadeProgress()) {
+                    if (idleCount > 0 && idlerLocal instanceof AdaptiveIdleStrategy) {
+                        ((AdaptiveIdleStrategy) idlerLocal).progressAfterIdle();
+                    }
                     idleCount = 0;
                 } else {
                     if (trackers.isEmpty()) {
@@ -27,6 +27,7 @@ import com.hazelcast.internal.util.concurrent.OneToOneConcurrentArrayQueue;
 import com.hazelcast.internal.util.concurrent.QueuedPipe;
 import com.hazelcast.internal.util.executor.ManagedExecutorService;
 import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.config.EdgeConfig;
 import com.hazelcast.jet.config.JetConfig;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.config.ProcessingGuarantee;
@@ -97,6 +98,7 @@ import static com.hazelcast.jet.impl.util.PrefixedLogger.prefixedLogger;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
 import static com.hazelcast.jet.impl.util.Util.memoize;
 import static com.hazelcast.spi.impl.executionservice.ExecutionService.JOB_OFFLOADABLE_EXECUTOR;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_ADAPTIVE_BATCHING_ENABLED;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
 import static java.util.Collections.unmodifiableList;
@@ -206,6 +208,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
             }
             dagNodeUtil = new DagNodeUtil(asList(vertices), partitionAssignment.keySet(), nodeEngine.getThisAddress());
             createLocalConveyorsAndSenderReceiverTasklets(jobId, jobSerializationService);
+            boolean adaptiveBatching = nodeEngine.getProperties().getBoolean(JET_ADAPTIVE_BATCHING_ENABLED);
 
             for (VertexDef vertex : vertices) {
                 if (!dagNodeUtil.vertexExists(vertex)) {
@@ -280,7 +283,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                     ProcessorTasklet processorTasklet = new ProcessorTasklet(context,
                             nodeEngine.getExecutionService().getExecutor(TASKLET_INIT_CLOSE_EXECUTOR_NAME),
                             jobSerializationService, processor, inboundStreams, outboundStreams, snapshotContext,
-                            snapshotCollector, isSource);
+                            snapshotCollector, isSource, adaptiveBatching ? outboundQueueCapacity(vertex) : 0);
                     tasklets.add(processorTasklet);
                     this.processors.add(processor);
                     localProcessorIdx++;
@@ -709,6 +712,18 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
     }
 
     @SuppressWarnings("unchecked")
+    /**
+     * Returns the capacity of the smallest queue of the outbound edges of the
+     * vertex, the adaptive batches don't grow beyond it.
+     */
+    private static int outboundQueueCapacity(VertexDef vertex) {
+        int capacity = Integer.MAX_VALUE;
+        for (EdgeDef edge : vertex.outboundEdges()) {
+            capacity = Math.min(capacity, edge.getConfig().getQueueSize());
+        }
+        return capacity == Integer.MAX_VALUE ? EdgeConfig.DEFAULT_QUEUE_SIZE : capacity;
+    }
+
     private static ConcurrentConveyor<Object>[] createConveyorArray(int count, int queueCount, int queueSize) {
         ConcurrentConveyor<Object>[] concurrentConveyors = new ConcurrentConveyor[count];
         Arrays.setAll(concurrentConveyors, i -> {
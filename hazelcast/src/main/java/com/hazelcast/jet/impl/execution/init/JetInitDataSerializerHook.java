@@ -31,6 +31,8 @@ import com.hazelcast.jet.impl.SnapshotValidationRecord;
 import com.hazelcast.jet.impl.connector.WriteFileP;
 import com.hazelcast.jet.impl.operation.AddJobStatusListenerOperation;
 import com.hazelcast.jet.impl.operation.CheckLightJobsOperation;
+import com.hazelcast.jet.impl.operation.ClearSnapshotChunksOperation;
+import com.hazelcast.jet.impl.operation.CountSnapshotChunksOperation;
 import com.hazelcast.jet.impl.operation.GetJobAndSqlSummaryListOperation;
 import com.hazelcast.jet.impl.operation.GetJobConfigOperation;
 import com.hazelcast.jet.impl.operation.GetJobIdsOperation;
@@ -46,6 +48,7 @@ import com.hazelcast.jet.impl.operation.IsJobUserCancelledOperation;
 import com.hazelcast.jet.impl.operation.JoinSubmittedJobOperation;
 import com.hazelcast.jet.impl.operation.NotifyMemberShutdownOperation;
 import com.hazelcast.jet.impl.operation.PrepareForPassiveClusterOperation;
+import com.hazelcast.jet.impl.operation.PutSnapshotChunkOperation;
 import com.hazelcast.jet.impl.operation.ResumeJobOperation;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation.SnapshotPhase1Result;
@@ -122,6 +125,10 @@ public final class JetInitDataSerializerHook implements DataSerializerHook {
     public static final int UPLOAD_JOB_METADATA_OP = 52;
     public static final int UPLOAD_JOB_MULTIPART_OP = 53;
     public static final int UPDATE_JOB_CONFIG_OP = 54;
+    public static final int ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TOMBSTONE = 55;
+    public static final int PUT_SNAPSHOT_CHUNK_OP = 56;
+    public static final int CLEAR_SNAPSHOT_CHUNKS_OP = 57;
+    public static final int COUNT_SNAPSHOT_CHUNKS_OP = 58;
 
     public static final int FACTORY_ID = FactoryIdHelper.getFactoryId(JET_IMPL_DS_FACTORY, JET_IMPL_DS_FACTORY_ID);
 
@@ -190,6 +197,8 @@ public final class JetInitDataSerializerHook implements DataSerializerHook {
                     return new AsyncSnapshotWriterImpl.SnapshotDataKey();
                 case ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TERMINATOR:
                     return AsyncSnapshotWriterImpl.SnapshotDataValueTerminator.INSTANCE;
+                case ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TOMBSTONE:
+                    return AsyncSnapshotWriterImpl.SnapshotDataValueTombstone.INSTANCE;
                 case SNAPSHOT_PHASE1_RESULT:
                     return new SnapshotPhase1Result();
                 case RESUME_JOB_OP:
@@ -240,6 +249,12 @@ public final class JetInitDataSerializerHook implements DataSerializerHook {
                     return new UploadJobMultiPartOperation();
                 case GET_JOB_USER_CANCELLED_OP:
                     return new IsJobUserCancelledOperation();
+                case PUT_SNAPSHOT_CHUNK_OP:
+                    return new PutSnapshotChunkOperation();
+                case CLEAR_SNAPSHOT_CHUNKS_OP:
+                    return new ClearSnapshotChunksOperation();
+                case COUNT_SNAPSHOT_CHUNKS_OP:
+                    return new CountSnapshotChunksOperation();
                 default:
                     throw new IllegalArgumentException("Unknown type id " + typeId);
             }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.jet.Util.idToString;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_DIRECTORY;
+
+/**
+ * The directory where a processor spills the records it can't keep in
+ * memory, see {@link com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_DIRECTORY}.
+ * Processors which spill by key split the records into {@value
+ * #SPILL_PARTITION_COUNT} partitions, see {@link #spillPartition}.
+ */
+public final class SpillDirectory {
+
+    /**
+     * The number of partitions of the records spilled by key.
+     */
+    public static final int SPILL_PARTITION_COUNT = 16;
+
+    /**
+     * The number of times the records of a spilled partition can be spilled
+     * again, each time using other bits of the hash of the key.
+     */
+    public static final int MAX_SPILL_LEVEL = Integer.SIZE / Integer.numberOfTrailingZeros(SPILL_PARTITION_COUNT);
+
+    /**
+     * The maximum number of records a cooperative processor writes to or
+     * reads from the spill files in one call, so that it doesn't block its
+     * thread for long.
+     */
+    public static final int SPILL_BATCH_SIZE = 1024;
+
+    private final File directory;
+    private final String prefix;
+    private final InternalSerializationService serializationService;
+
+    SpillDirectory(File directory, String prefix, InternalSerializationService serializationService) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Returns the spill directory of the processor or {@code null}, if
+     * spilling is disabled.
+     */
+    @Nullable
+    public static SpillDirectory from(@Nonnull Processor.Context context) {
+        HazelcastInstance instance = context.hazelcastInstance();
+        // the instance isn't always set in the TestProcessorContext
+        if (instance == null || !(context instanceof InternalProcSupplierCtx)) {
+            return null;
+        }
+        String directory = getNodeEngine(instance).getProperties().getString(JET_SPILL_DIRECTORY);
+        if (directory == null || directory.isEmpty()) {
+            return null;
+        }
+        return new SpillDirectory(new File(directory), "jet-" + idToString(context.jobId()) + '-',
+                ((InternalProcSupplierCtx) context).serializationService());
+    }
+
+    /**
+     * Creates a new, empty file in the directory. The caller must {@link
+     * SpillFile#delete() delete} it when it's no longer needed.
+     */
+    @Nonnull
+    public SpillFile newFile() {
+        try {
+            Files.createDirectories(directory.toPath());
+            File file = Files.createTempFile(directory.toPath(), prefix, ".spill").toFile();
+            return new SpillFile(file, serializationService);
+        } catch (IOException e) {
+            throw new JetException("Failed to create a spill file in " + directory.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Returns the partition of the key, in the range {@code [0,
+     * SPILL_PARTITION_COUNT)}. Keys of the same partition on a level are
+     * split to all partitions on the next level.
+     *
+     * @param level the spill level, in the range {@code [0, MAX_SPILL_LEVEL)}
+     */
+    public static int spillPartition(@Nullable Object key, int level) {
+        int bits = Integer.numberOfTrailingZeros(SPILL_PARTITION_COUNT);
+        return (MurmurHash3_fmix(Objects.hashCode(key)) >>> (level * bits)) & (SPILL_PARTITION_COUNT - 1);
+    }
+}
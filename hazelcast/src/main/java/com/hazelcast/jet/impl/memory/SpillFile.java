@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.ObjectDataInputStream;
+import com.hazelcast.internal.serialization.impl.ObjectDataOutputStream;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+
+/**
+ * A file of serialized records spilled by a processor. Each record is an
+ * item with the ordinal of the edge it was received from. The records are
+ * first written, then read back once, in the order they were written.
+ * After the last record is read, the file is deleted.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class SpillFile {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final File file;
+    private final InternalSerializationService serializationService;
+
+    private ObjectDataOutputStream out;
+    private ObjectDataInputStream in;
+    private long size;
+    private long remaining;
+    private int ordinal;
+    private Object item;
+    private boolean deleted;
+
+    SpillFile(File file, InternalSerializationService serializationService) throws IOException {
+        this.file = file;
+        this.serializationService = serializationService;
+        this.out = new ObjectDataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), serializationService);
+    }
+
+    /**
+     * Writes the item received from the edge with ordinal 0.
+     */
+    public void write(@Nonnull Object item) {
+        write(0, item);
+    }
+
+    /**
+     * Writes the item received from the edge with the given ordinal.
+     */
+    public void write(int ordinal, @Nonnull Object item) {
+        checkState(out != null, "The spill file is already being read");
+        try {
+            out.writeInt(ordinal);
+            out.writeObject(item);
+        } catch (IOException e) {
+            throw new JetException("Failed to write to the spill file " + file.getAbsolutePath(), e);
+        }
+        size++;
+    }
+
+    /**
+     * Returns the number of the records written.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Reads the next record, which is then available through {@link
+     * #ordinal()} and {@link #item()}. The first call ends writing.
+     *
+     * @return {@code true} if a record was read, {@code false} if all
+     *      records have been read and the file has been deleted
+     */
+    public boolean readNext() {
+        if (deleted) {
+            return false;
+        }
+        if (out != null) {
+            endWriting();
+        }
+        if (remaining == 0) {
+            delete();
+            return false;
+        }
+        try {
+            if (in == null) {
+                in = new ObjectDataInputStream(
+                        new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE), serializationService);
+            }
+            ordinal = in.readInt();
+            item = in.readObject();
+        } catch (IOException e) {
+            throw new JetException("Failed to read from the spill file " + file.getAbsolutePath(), e);
+        }
+        remaining--;
+        return true;
+    }
+
+    /**
+     * Returns the edge ordinal of the record read last.
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+
+    /**
+     * Returns the item of the record read last.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T item() {
+        return (T) item;
+    }
+
+    /**
+     * Returns a traverser over the items of the records not read yet.
+     */
+    @Nonnull
+    public <T> Traverser<T> traverser() {
+        return () -> readNext() ? item() : null;
+    }
+
+    /**
+     * Closes and deletes the file. Does nothing, if it's already deleted.
+     */
+    public void delete() {
+        if (deleted) {
+            return;
+        }
+        deleted = true;
+        closeResource(out);
+        closeResource(in);
+        out = null;
+        in = null;
+        deleteQuietly(file);
+        item = null;
+    }
+
+    /**
+     * Ends writing, the records written are then read by {@link #readNext()}.
+     */
+    private void endWriting() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new JetException("Failed to write to the spill file " + file.getAbsolutePath(), e);
+        }
+        out = null;
+        remaining = size;
+    }
+}
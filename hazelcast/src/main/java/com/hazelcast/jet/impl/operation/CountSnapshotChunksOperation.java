@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.operation;
+
+import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.internal.util.UUIDSerializationUtil.readUUID;
+import static com.hazelcast.internal.util.UUIDSerializationUtil.writeUUID;
+import static com.hazelcast.jet.impl.snapshot.LocalDiskSnapshotStore.localDiskStore;
+
+/**
+ * Sent from the master to all members to count the snapshot chunks they
+ * store on the local disk and would emit when the snapshot is restored by
+ * the given members. Used to validate the snapshot.
+ */
+public class CountSnapshotChunksOperation extends AsyncOperation {
+
+    private String mapName;
+    private long fromSnapshotId;
+    private long toSnapshotId;
+    private Set<UUID> members;
+
+    public CountSnapshotChunksOperation() {
+    }
+
+    public CountSnapshotChunksOperation(String mapName, long fromSnapshotId, long toSnapshotId, Set<UUID> members) {
+        this.mapName = mapName;
+        this.fromSnapshotId = fromSnapshotId;
+        this.toSnapshotId = toSnapshotId;
+        this.members = members;
+    }
+
+    @Override
+    protected CompletableFuture<Long> doRun() {
+        return localDiskStore(getJetServiceBackend()).countLocal(mapName, fromSnapshotId, toSnapshotId, members);
+    }
+
+    @Override
+    public int getClassId() {
+        return JetInitDataSerializerHook.COUNT_SNAPSHOT_CHUNKS_OP;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeString(mapName);
+        out.writeLong(fromSnapshotId);
+        out.writeLong(toSnapshotId);
+        out.writeInt(members.size());
+        for (UUID member : members) {
+            writeUUID(out, member);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        mapName = in.readString();
+        fromSnapshotId = in.readLong();
+        toSnapshotId = in.readLong();
+        int size = in.readInt();
+        members = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            members.add(readUUID(in));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.operation;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.internal.util.UUIDSerializationUtil.readUUID;
+import static com.hazelcast.internal.util.UUIDSerializationUtil.writeUUID;
+import static com.hazelcast.jet.impl.snapshot.LocalDiskSnapshotStore.localDiskStore;
+
+/**
+ * Sent from a member writing a snapshot chunk to the local disk to the
+ * members which keep a copy of it.
+ */
+public class PutSnapshotChunkOperation extends AsyncOperation {
+
+    private String mapName;
+    private long snapshotId;
+    private UUID[] replicas;
+    private Data key;
+    private Data chunk;
+
+    public PutSnapshotChunkOperation() {
+    }
+
+    public PutSnapshotChunkOperation(String mapName, long snapshotId, UUID[] replicas, Data key, Data chunk) {
+        this.mapName = mapName;
+        this.snapshotId = snapshotId;
+        this.replicas = replicas;
+        this.key = key;
+        this.chunk = chunk;
+    }
+
+    @Override
+    protected CompletableFuture<Void> doRun() {
+        return localDiskStore(getJetServiceBackend()).append(mapName, snapshotId, replicas, key, chunk);
+    }
+
+    @Override
+    public int getClassId() {
+        return JetInitDataSerializerHook.PUT_SNAPSHOT_CHUNK_OP;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeString(mapName);
+        out.writeLong(snapshotId);
+        out.writeInt(replicas.length);
+        for (UUID replica : replicas) {
+            writeUUID(out, replica);
+        }
+        IOUtil.writeData(out, key);
+        IOUtil.writeData(out, chunk);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        mapName = in.readString();
+        snapshotId = in.readLong();
+        replicas = new UUID[in.readInt()];
+        for (int i = 0; i < replicas.length; i++) {
+            replicas[i] = readUUID(in);
+        }
+        key = IOUtil.readData(in);
+        chunk = IOUtil.readData(in);
+    }
+}
@@ -22,9 +22,14 @@ import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillDirectory;
+import com.hazelcast.jet.impl.memory.SpillFile;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -34,6 +39,11 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.jet.impl.memory.SpillDirectory.MAX_SPILL_LEVEL;
+import static com.hazelcast.jet.impl.memory.SpillDirectory.SPILL_BATCH_SIZE;
+import static com.hazelcast.jet.impl.memory.SpillDirectory.SPILL_PARTITION_COUNT;
+import static com.hazelcast.jet.impl.memory.SpillDirectory.spillPartition;
 import static java.util.Collections.singletonList;
 
 /**
@@ -41,6 +51,14 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * When the processor accumulates more groups than the {@linkplain
+ * Processor.Context#maxProcessorAccumulatedRecords() limit} and a {@link
+ * SpillDirectory} is configured, the items of the groups not in memory are
+ * spilled to files partitioned by the key. The groups in memory keep
+ * accumulating. In {@link #complete()}, after emitting the groups in memory,
+ * the spilled partitions are aggregated one at a time. A partition with too
+ * many groups is spilled again, partitioned by other bits of the key hash.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
@@ -49,10 +67,18 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     private final List<FunctionEx<?, ? extends K>> groupKeyFns;
     private final AggregateOperation<A, R> aggrOp;
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
+    // the spilled partitions to aggregate in complete() with their spill level
+    private final Deque<Tuple2<SpillFile, Integer>> spilled = new ArrayDeque<>();
 
     private long maxEntries;
     private Traverser<OUT> resultTraverser;
 
+    private SpillDirectory spillDirectory;
+    private int spillLevel;
+    private SpillFile[] spillPartitions;
+    // the spilled partition being aggregated in complete()
+    private SpillFile aggregatedPartition;
+
     public GroupP(
             @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
             @Nonnull AggregateOperation<A, R> aggrOp,
@@ -76,37 +102,124 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        spillDirectory = SpillDirectory.from(context);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+        accumulate(ordinal, item);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void accumulate(int ordinal, Object item) {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
+        A acc = keyToAcc.get(key);
+        if (acc == null) {
             if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
+                spill(key, ordinal, item);
+                return;
             }
-
-            return aggrOp.createFn().get();
-        });
+            acc = aggrOp.createFn().get();
+            keyToAcc.put(key, acc);
+        }
         aggrOp.accumulateFn(ordinal).accept(acc, item);
-        return true;
+    }
+
+    private void spill(K key, int ordinal, Object item) {
+        if (spillDirectory == null || spillLevel == MAX_SPILL_LEVEL) {
+            throw new AccumulationLimitExceededException();
+        }
+        if (spillPartitions == null) {
+            spillPartitions = new SpillFile[SPILL_PARTITION_COUNT];
+        }
+        int partition = spillPartition(key, spillLevel);
+        if (spillPartitions[partition] == null) {
+            spillPartitions[partition] = spillDirectory.newFile();
+        }
+        spillPartitions[partition].write(ordinal, item);
+    }
+
+    /**
+     * Moves the partitions spilled on the current level to the partitions
+     * to aggregate.
+     */
+    private void endSpillLevel() {
+        if (spillPartitions == null) {
+            return;
+        }
+        for (SpillFile partition : spillPartitions) {
+            if (partition != null) {
+                spilled.add(tuple2(partition, spillLevel));
+            }
+        }
+        spillPartitions = null;
+    }
+
+    /**
+     * Aggregates the next batch of items of the spilled partition, spilling
+     * the ones of the groups which don't fit to the next level. Returns true,
+     * if all items of the partition were aggregated.
+     */
+    private boolean aggregateSpilled() {
+        for (int i = 0; i < SPILL_BATCH_SIZE; i++) {
+            if (!aggregatedPartition.readNext()) {
+                aggregatedPartition.delete();
+                aggregatedPartition = null;
+                endSpillLevel();
+                return true;
+            }
+            accumulate(aggregatedPartition.ordinal(), aggregatedPartition.item());
+        }
+        return false;
     }
 
     @Override
     public boolean complete() {
-        if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
-                    // reuse null filtering done by map()
-                    .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+        for (;;) {
+            if (aggregatedPartition != null && !aggregateSpilled()) {
+                return false;
+            }
+            if (resultTraverser == null) {
+                resultTraverser = new ResultTraverser()
+                        // reuse null filtering done by map()
+                        .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+            }
+            if (!emitFromTraverser(resultTraverser)) {
+                return false;
+            }
+            // the groups in memory are emitted, continue with the next spilled partition
+            resultTraverser = null;
+            endSpillLevel();
+            Tuple2<SpillFile, Integer> partition = spilled.poll();
+            if (partition == null) {
+                return true;
+            }
+            spillLevel = partition.f1() + 1;
+            aggregatedPartition = partition.f0();
         }
-        return emitFromTraverser(resultTraverser);
     }
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        // deleting the spill files is blocking
+        return spillDirectory == null;
+    }
+
+    @Override
+    public void close() {
+        if (spillPartitions != null) {
+            for (SpillFile partition : spillPartitions) {
+                if (partition != null) {
+                    partition.delete();
+                }
+            }
+        }
+        spilled.forEach(partition -> partition.f0().delete());
+        if (aggregatedPartition != null) {
+            aggregatedPartition.delete();
+        }
     }
 
     private class ResultTraverser implements Traverser<Entry<K, A>> {
@@ -18,6 +18,7 @@ package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+import com.hazelcast.internal.util.collection.Object2ObjectHashMap;
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.JetException;
@@ -41,7 +42,8 @@ import com.hazelcast.partition.PartitionAware;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -79,6 +81,9 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  */
 public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
 
+    // the max number of cleared frame maps kept for reuse
+    private static final int MAX_RECYCLED_FRAMES = 4;
+
     // package-visible for testing
     final Long2ObjectHashMap<Map<K, A>> tsToKeyToAcc = new Long2ObjectHashMap<>();
     Map<K, A> slidingWindow;
@@ -111,6 +116,15 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     private final LongFunction<Map<K, A>> createMapPerTsFunction;
     private final Function<K, A> createAccFunction;
 
+    // Frame maps of evicted frames, cleared and kept for reuse, so that a new
+    // frame doesn't have to grow its map from scratch.
+    private final Deque<Map<K, A>> recycledFrames = new ArrayDeque<>(MAX_RECYCLED_FRAMES);
+    // Reused by recomputeWindow() if the window isn't patched incrementally.
+    // The early results have their own map because their traverser can be
+    // abandoned while the regular windows are emitted.
+    private final Map<K, A> recomputedWindow = new Object2ObjectHashMap<>();
+    private final Map<K, A> recomputedEarlyWindow = new Object2ObjectHashMap<>();
+
     @Probe(name = "lateEventsDropped")
     private final Counter lateEventsDropped = SwCounter.newSwCounter();
     @Probe(name = "totalFrames")
@@ -169,7 +183,8 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         this.emptyAcc = aggrOp.createFn().get();
         this.createMapPerTsFunction = x -> {
             totalFrames.inc();
-            return new HashMap<>();
+            Map<K, A> frame = recycledFrames.poll();
+            return frame != null ? frame : new Object2ObjectHashMap<>();
         };
         this.createAccFunction = k -> {
             long newCount = totalKeysInFrames.inc();
@@ -214,7 +229,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
                 winPolicy.frameSize())
             .boxed();
         earlyWinTraverser = traverseStream(earlyWinRange)
-                .flatMap(winEnd -> traverseIterable(computeWindow(winEnd).entrySet())
+                .flatMap(winEnd -> traverseIterable(computeWindow(winEnd, true).entrySet())
                         .map(e -> mapToOutputFn.apply(
                                 winEnd - winPolicy.windowSize(),
                                 winEnd,
@@ -375,7 +390,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return Traversers.empty();
         }
         return traverseStream(range(rangeStart, wm, winPolicy.frameSize()).boxed())
-                .flatMap(winEnd -> traverseIterable(computeWindow(winEnd).entrySet())
+                .flatMap(winEnd -> traverseIterable(computeWindow(winEnd, false).entrySet())
                         .<Object>map(e -> mapToOutputFn.apply(
                                 winEnd - winPolicy.windowSize(), winEnd,
                                 e.getKey(), aggrOp.finishFn().apply(e.getValue()),
@@ -404,15 +419,18 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         return min(bottomTs, winPolicy.floorFrameTs(wm));
     }
 
-    private Map<K, A> computeWindow(long frameTs) {
+    private Map<K, A> computeWindow(long frameTs, boolean early) {
         if (winPolicy.isTumbling()) {
             return tsToKeyToAcc.getOrDefault(frameTs, emptyMap());
         }
         if (aggrOp.deductFn() == null) {
-            return recomputeWindow(frameTs);
+            // the previous window was fully emitted, its map can be reused
+            Map<K, A> window = early ? recomputedEarlyWindow : recomputedWindow;
+            window.clear();
+            return recomputeWindow(frameTs, window);
         }
         if (slidingWindow == null) {
-            slidingWindow = recomputeWindow(frameTs);
+            slidingWindow = recomputeWindow(frameTs, new Object2ObjectHashMap<>());
         } else {
             // add leading-edge frame
             patchSlidingWindow(aggrOp.combineFn(), tsToKeyToAcc.get(frameTs));
@@ -420,8 +438,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         return slidingWindow;
     }
 
-    private Map<K, A> recomputeWindow(long frameTs) {
-        Map<K, A> window = new HashMap<>();
+    private Map<K, A> recomputeWindow(long frameTs, Map<K, A> window) {
         for (long ts = frameTs - winPolicy.windowSize() + winPolicy.frameSize();
              ts <= frameTs;
              ts += winPolicy.frameSize()
@@ -441,11 +458,16 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return;
         }
         for (Entry<K, A> e : patchingFrame.entrySet()) {
-            slidingWindow.compute(e.getKey(), (k, acc) -> {
-                A result = acc != null ? acc : aggrOp.createFn().get();
-                patchOp.accept(result, e.getValue());
-                return result.equals(emptyAcc) ? null : result;
-            });
+            K key = e.getKey();
+            A acc = slidingWindow.get(key);
+            if (acc == null) {
+                acc = aggrOp.createFn().get();
+                slidingWindow.put(key, acc);
+            }
+            patchOp.accept(acc, e.getValue());
+            if (acc.equals(emptyAcc)) {
+                slidingWindow.remove(key);
+            }
         }
     }
 
@@ -459,12 +481,20 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
                 // deduct trailing-edge frame
                 patchSlidingWindow(aggrOp.deductFn(), evictedFrame);
             }
+            recycleFrame(evictedFrame);
         }
         assert tsToKeyToAcc.values().stream().mapToInt(Map::size).sum() == totalKeysInFrames.get()
                 : "totalKeysInFrames mismatch, expected=" + tsToKeyToAcc.values().stream().mapToInt(Map::size).sum()
                 + ", actual=" + totalKeysInFrames.get();
     }
 
+    private void recycleFrame(Map<K, A> frame) {
+        if (recycledFrames.size() < MAX_RECYCLED_FRAMES) {
+            frame.clear();
+            recycledFrames.add(frame);
+        }
+    }
+
     private void completeEarlyWindow(long frameTs) {
         if (winPolicy.isTumbling() || aggrOp.deductFn() == null) {
             return;
@@ -20,34 +20,61 @@ import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillDirectory;
+import com.hazelcast.jet.impl.memory.SpillFile;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.PriorityQueue;
 
+import static com.hazelcast.jet.impl.memory.SpillDirectory.SPILL_BATCH_SIZE;
+
+/**
+ * Batch processor that sorts the items using the given comparator.
+ * <p>
+ * When the processor accumulates more items than the {@linkplain
+ * Processor.Context#maxProcessorAccumulatedRecords() limit} and a {@link
+ * SpillDirectory} is configured, the sorted items are written to a spill
+ * file as a run, at most {@value SpillDirectory#SPILL_BATCH_SIZE} items per
+ * call. In {@link #complete()}, the runs and the items still in memory are
+ * merged.
+ */
 public class SortP<T> extends AbstractProcessor {
 
+    private final Comparator<T> comparator;
     private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    private final List<SpillFile> runs = new ArrayList<>();
 
     private long maxItems;
+    private SpillDirectory spillDirectory;
+    private Traverser<T> resultTraverser;
+    // the run being written, null if not spilling
+    private SpillFile currentRun;
 
     public SortP(@Nullable Comparator<T> comparator) {
+        this.comparator = comparator;
         this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        spillDirectory = SpillDirectory.from(context);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess0(@Nonnull Object item) {
-        if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+        if (currentRun != null || priorityQueue.size() == maxItems) {
+            if (spillDirectory == null) {
+                throw new AccumulationLimitExceededException();
+            }
+            if (!spillRun()) {
+                return false;
+            }
         }
 
         priorityQueue.add((T) item);
@@ -56,11 +83,89 @@ public class SortP<T> extends AbstractProcessor {
 
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            resultTraverser = runs.isEmpty() ? priorityQueue::poll : new MergingTraverser();
+        }
         return emitFromTraverser(resultTraverser);
     }
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        // deleting the spill files is blocking
+        return spillDirectory == null;
+    }
+
+    @Override
+    public void close() {
+        runs.forEach(SpillFile::delete);
+        if (currentRun != null) {
+            currentRun.delete();
+        }
+    }
+
+    /**
+     * Writes the next batch of the sorted items to the current run. Returns
+     * true, if all items were written.
+     */
+    private boolean spillRun() {
+        if (currentRun == null) {
+            currentRun = spillDirectory.newFile();
+        }
+        for (int i = 0; i < SPILL_BATCH_SIZE; i++) {
+            T item = priorityQueue.poll();
+            if (item == null) {
+                runs.add(currentRun);
+                currentRun = null;
+                return true;
+            }
+            currentRun.write(item);
+        }
+        return false;
+    }
+
+    /**
+     * Merges the sorted runs and the items in the priority queue by always
+     * returning the smallest of their heads.
+     */
+    private final class MergingTraverser implements Traverser<T> {
+
+        private final PriorityQueue<Head<T>> heads;
+
+        @SuppressWarnings("unchecked")
+        MergingTraverser() {
+            Comparator<T> itemComparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
+            heads = new PriorityQueue<>(runs.size() + 1, (h1, h2) -> itemComparator.compare(h1.item, h2.item));
+            addHead(priorityQueue::poll);
+            for (SpillFile run : runs) {
+                addHead(run.traverser());
+            }
+        }
+
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                return null;
+            }
+            addHead(head.source);
+            return head.item;
+        }
+
+        private void addHead(Traverser<T> source) {
+            T item = source.next();
+            if (item != null) {
+                heads.add(new Head<>(item, source));
+            }
+        }
+    }
+
+    private static final class Head<T> {
+        final T item;
+        final Traverser<T> source;
+
+        Head(T item, Traverser<T> source) {
+            this.item = item;
+            this.source = source;
+        }
     }
 }
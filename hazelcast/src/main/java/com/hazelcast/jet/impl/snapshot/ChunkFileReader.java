@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.snapshot;
+
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+
+/**
+ * Reads the records of the chunk files written by the {@link
+ * LocalDiskSnapshotStore} and returns those which the local member is
+ * responsible for: the local member is the first of the members holding
+ * the chunk which is one of the reading members.
+ */
+final class ChunkFileReader implements Traverser<ChunkFileReader.Chunk>, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final List<File> files;
+    private final UUID localMember;
+    private final Set<UUID> members;
+    private final boolean readChunks;
+
+    private int fileIndex;
+    private File file;
+    private DataInputStream in;
+
+    /**
+     * @param readChunks if {@code false}, the key and the chunk of the
+     *     returned records are {@code null}
+     */
+    ChunkFileReader(@Nonnull List<File> files, @Nonnull UUID localMember, @Nonnull Set<UUID> members,
+                    boolean readChunks) {
+        this.files = files;
+        this.localMember = localMember;
+        this.members = members;
+        this.readChunks = readChunks;
+    }
+
+    @Override
+    public Chunk next() {
+        try {
+            for (;;) {
+                if (in == null) {
+                    if (fileIndex == files.size()) {
+                        return null;
+                    }
+                    file = files.get(fileIndex++);
+                    in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+                }
+                Chunk chunk = readChunk();
+                if (chunk == null) {
+                    close();
+                } else if (chunk.isLocal) {
+                    return chunk;
+                }
+            }
+        } catch (IOException e) {
+            throw new JetException("Failed to read the snapshot chunks from " + file.getAbsolutePath(), e);
+        }
+    }
+
+    private Chunk readChunk() throws IOException {
+        int replicaCount;
+        try {
+            replicaCount = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        UUID responsibleMember = null;
+        for (int i = 0; i < replicaCount; i++) {
+            UUID replica = new UUID(in.readLong(), in.readLong());
+            if (responsibleMember == null && members.contains(replica)) {
+                responsibleMember = replica;
+            }
+        }
+        boolean isLocal = localMember.equals(responsibleMember);
+        boolean read = readChunks && isLocal;
+        byte[] key = readBytes(read);
+        byte[] chunk = readBytes(read);
+        return new Chunk(isLocal, key, chunk);
+    }
+
+    private byte[] readBytes(boolean read) throws IOException {
+        int length = in.readInt();
+        if (!read) {
+            while (length > 0) {
+                int skipped = in.skipBytes(length);
+                if (skipped == 0) {
+                    throw new EOFException();
+                }
+                length -= skipped;
+            }
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        closeResource(in);
+        in = null;
+    }
+
+    /**
+     * A record of the chunk file.
+     */
+    static final class Chunk {
+        final boolean isLocal;
+        /** The serialized {@code SnapshotDataKey} */
+        final byte[] key;
+        /** The serialized {@code byte[]} with the entries */
+        final byte[] chunk;
+
+        private Chunk(boolean isLocal, byte[] key, byte[] chunk) {
+            this.isLocal = isLocal;
+            this.key = key;
+            this.chunk = chunk;
+        }
+    }
+}
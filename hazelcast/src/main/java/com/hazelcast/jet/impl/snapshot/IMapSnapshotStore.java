@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.snapshot;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
+import com.hazelcast.projection.Projections;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.jet.core.processor.SourceProcessors.readMapP;
+import static com.hazelcast.jet.impl.JobRepository.safeImap;
+
+/**
+ * Stores the chunks of a snapshot in its IMap, along with the validation
+ * record.
+ */
+public class IMapSnapshotStore implements SnapshotStore {
+
+    private final HazelcastInstance instance;
+
+    public IMapSnapshotStore(@Nonnull HazelcastInstance instance) {
+        this.instance = instance;
+    }
+
+    @Nonnull @Override
+    public CompletableFuture<?> put(@Nonnull String mapName, @Nonnull SnapshotDataKey key, @Nonnull Data chunk) {
+        // Snapshot IMap proxy instance may be shared, but we always want it
+        // to have failOnIndeterminateOperationState enabled.
+        // We put a Data instance to the map directly to avoid the serialization of the byte array.
+        return safeImap(instance.<SnapshotDataKey, Object>getMap(mapName)).putAsync(key, chunk).toCompletableFuture();
+    }
+
+    @Nonnull @Override
+    public ProcessorMetaSupplier readP(@Nonnull String mapName) {
+        return readMapP(mapName);
+    }
+
+    @Nonnull @Override
+    public ProcessorMetaSupplier readP(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId) {
+        return readMapP(mapName,
+                e -> e.getKey() instanceof SnapshotDataKey
+                        && ((SnapshotDataKey) e.getKey()).snapshotId() >= fromSnapshotId
+                        && ((SnapshotDataKey) e.getKey()).snapshotId() <= toSnapshotId,
+                Projections.identity());
+    }
+
+    @Override
+    public long countChunks(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId) {
+        return instance.getMap(mapName).aggregate(
+                Aggregators.count(),
+                e -> e.getKey() instanceof SnapshotDataKey
+                        && ((SnapshotDataKey) e.getKey()).snapshotId() >= fromSnapshotId
+                        && ((SnapshotDataKey) e.getKey()).snapshotId() <= toSnapshotId);
+    }
+
+    @Override
+    public void clear(@Nonnull String mapName) {
+        instance.getMap(mapName).clear();
+    }
+
+    @Override
+    public void destroy(@Nonnull String mapName) {
+        instance.getMap(mapName).destroy();
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.snapshot;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.executor.ExecutorType;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.impl.JetServiceBackend;
+import com.hazelcast.jet.impl.operation.ClearSnapshotChunksOperation;
+import com.hazelcast.jet.impl.operation.CountSnapshotChunksOperation;
+import com.hazelcast.jet.impl.operation.PutSnapshotChunkOperation;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.jet.impl.util.Util.exceptionallyCompletedFuture;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Stores the chunks of the snapshots in the {@linkplain
+ * com.hazelcast.spi.properties.ClusterProperty#JET_SNAPSHOT_STORE_DIRECTORY
+ * snapshot store directory} of the members. The validation record is still
+ * stored in the IMap of the snapshot.
+ * <p>
+ * A member appends the chunks written by its processors to the file {@code
+ * <dir>/<memberUuid>/<mapName>/<snapshotId>.chunks} and sends them to the
+ * {@linkplain com.hazelcast.spi.properties.ClusterProperty#JET_SNAPSHOT_STORE_BACKUP_COUNT
+ * backup count} next data members in the member list, which append them to
+ * their own files. Each record has the UUIDs of all members holding the
+ * chunk, the writer first. When the snapshot is read, the chunk is emitted
+ * by the first of them which is a member of the execution, so that it's
+ * emitted exactly once.
+ * <p>
+ * A member gets a new UUID when it restarts, so the files of the previous
+ * run of the member are never read. The files aren't synced to the disk for
+ * the same reason: they are only read by the process which wrote them. Once
+ * the member has joined the cluster, it deletes the directories of the UUIDs
+ * which aren't members of the cluster, so the directory must not be shared
+ * with the members of other clusters.
+ * <p>
+ * All file operations of the member run on a single thread, the records of
+ * a file are never interleaved. The file of the snapshot being written is
+ * kept open per snapshot map until the next snapshot is written to the map
+ * or the map is cleared.
+ */
+public class LocalDiskSnapshotStore implements SnapshotStore {
+
+    static final String CHUNK_FILE_SUFFIX = ".chunks";
+
+    private static final String EXECUTOR_NAME = "hz:jet:snapshotStore";
+    private static final int UUID_SIZE_IN_BYTES = 2 * Long.BYTES;
+
+    private final NodeEngine nodeEngine;
+    private final ClusterService clusterService;
+    private final ILogger logger;
+    private final File directory;
+    private final int backupCount;
+    private final ExecutorService executor;
+    // only accessed by the executor
+    private final Map<String, ChunkFileChannel> channels = new HashMap<>();
+
+    public LocalDiskSnapshotStore(@Nonnull NodeEngine nodeEngine, @Nonnull File directory, int backupCount) {
+        if (backupCount < 0) {
+            throw new IllegalArgumentException("backupCount must not be negative, but is " + backupCount);
+        }
+        this.nodeEngine = nodeEngine;
+        this.clusterService = nodeEngine.getClusterService();
+        this.logger = nodeEngine.getLogger(getClass());
+        this.directory = directory;
+        this.backupCount = backupCount;
+        this.executor = nodeEngine.getExecutionService().register(EXECUTOR_NAME, 1, Integer.MAX_VALUE,
+                ExecutorType.CONCRETE);
+        logger.info("Storing the snapshots of Jet jobs in " + directory.getAbsolutePath()
+                + ", backup count " + backupCount);
+    }
+
+    /**
+     * Returns the store of the member, fails if the member doesn't store the
+     * snapshots on the disk.
+     */
+    @Nonnull
+    public static LocalDiskSnapshotStore localDiskStore(@Nonnull JetServiceBackend jetServiceBackend) {
+        SnapshotStore store = jetServiceBackend.getSnapshotStore();
+        if (!(store instanceof LocalDiskSnapshotStore)) {
+            throw new JetException("The snapshot store directory isn't set on member "
+                    + jetServiceBackend.getNodeEngine().getThisAddress() + ", all members must set it");
+        }
+        return (LocalDiskSnapshotStore) store;
+    }
+
+    @Nonnull @Override
+    public CompletableFuture<?> put(@Nonnull String mapName, @Nonnull SnapshotDataKey key, @Nonnull Data chunk) {
+        UUID[] replicas = replicas();
+        Data keyData = nodeEngine.getSerializationService().toData(key);
+        CompletableFuture<?>[] futures = new CompletableFuture[replicas.length];
+        futures[0] = append(mapName, key.snapshotId(), replicas, keyData, chunk);
+        for (int i = 1; i < replicas.length; i++) {
+            futures[i] = invokeOn(replicas[i], new PutSnapshotChunkOperation(mapName, key.snapshotId(), replicas,
+                    keyData, chunk));
+        }
+        return futures.length == 1 ? futures[0] : CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Returns the UUIDs of the members to store a chunk written by this
+     * member: this member and the next {@code backupCount} data members.
+     */
+    private UUID[] replicas() {
+        List<Member> members = new ArrayList<>(clusterService.getMembers(DATA_MEMBER_SELECTOR));
+        Member localMember = nodeEngine.getLocalMember();
+        int localIndex = members.indexOf(localMember);
+        if (localIndex < 0) {
+            return new UUID[]{localMember.getUuid()};
+        }
+        UUID[] replicas = new UUID[1 + Math.min(backupCount, members.size() - 1)];
+        for (int i = 0; i < replicas.length; i++) {
+            replicas[i] = members.get((localIndex + i) % members.size()).getUuid();
+        }
+        return replicas;
+    }
+
+    @Nonnull @Override
+    public ProcessorMetaSupplier readP(@Nonnull String mapName) {
+        return readP(mapName, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Nonnull @Override
+    public ProcessorMetaSupplier readP(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId) {
+        return new ReadSnapshotChunksP.MetaSupplier(mapName, fromSnapshotId, toSnapshotId);
+    }
+
+    @Override
+    public long countChunks(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId) {
+        Set<UUID> members = dataMemberUuids();
+        List<CompletableFuture<Long>> futures = invokeOnDataMembers(
+                uuid -> new CountSnapshotChunksOperation(mapName, fromSnapshotId, toSnapshotId, members));
+        return futures.stream().mapToLong(CompletableFuture::join).sum();
+    }
+
+    @Override
+    public void clear(@Nonnull String mapName) {
+        // the map has the validation record
+        nodeEngine.getHazelcastInstance().getMap(mapName).clear();
+        deleteChunks(mapName);
+    }
+
+    @Override
+    public void destroy(@Nonnull String mapName) {
+        deleteChunks(mapName);
+        nodeEngine.getHazelcastInstance().getMap(mapName).destroy();
+    }
+
+    private void deleteChunks(String mapName) {
+        CompletableFuture.allOf(invokeOnDataMembers(uuid -> new ClearSnapshotChunksOperation(mapName))
+                                        .toArray(new CompletableFuture[0]))
+                         .join();
+    }
+
+    @Override
+    public void shutdown() {
+        try {
+            CompletableFuture.runAsync(() -> {
+                channels.values().forEach(IOUtil::closeResource);
+                channels.clear();
+                IOUtil.deleteQuietly(memberDirectory());
+            }, executor).join();
+        } finally {
+            nodeEngine.getExecutionService().shutdownExecutor(EXECUTOR_NAME);
+        }
+    }
+
+    /**
+     * Deletes the directories of the members which aren't members of the
+     * cluster: they are left by the previous runs of the members sharing the
+     * directory, and are never read. Called once this member has joined the
+     * cluster.
+     */
+    @Nonnull
+    public CompletableFuture<Void> deleteStaleMemberDirectories() {
+        return CompletableFuture.runAsync(() -> {
+            File[] memberDirectories = directory.listFiles(File::isDirectory);
+            if (memberDirectories == null) {
+                return;
+            }
+            for (File memberDirectory : memberDirectories) {
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(memberDirectory.getName());
+                } catch (IllegalArgumentException e) {
+                    // not a member directory
+                    continue;
+                }
+                if (clusterService.getMember(uuid) == null) {
+                    logger.info("Deleting the snapshot chunks of member " + uuid + ", it isn't a member of the cluster");
+                    IOUtil.deleteQuietly(memberDirectory);
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * Appends a chunk to the file of the snapshot on this member.
+     *
+     * @param replicas the UUIDs of the members storing the chunk, the
+     *     writer first
+     */
+    @Nonnull
+    public CompletableFuture<Void> append(
+            @Nonnull String mapName, long snapshotId, @Nonnull UUID[] replicas, @Nonnull Data key, @Nonnull Data chunk
+    ) {
+        return CompletableFuture.runAsync(() -> appendSync(mapName, chunkFile(mapName, snapshotId), replicas, key, chunk),
+                executor);
+    }
+
+    private void appendSync(String mapName, File file, UUID[] replicas, Data key, Data chunk) {
+        byte[] keyBytes = key.toByteArray();
+        byte[] chunkBytes = chunk.toByteArray();
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + replicas.length * UUID_SIZE_IN_BYTES + Integer.BYTES);
+        header.putInt(replicas.length);
+        for (UUID replica : replicas) {
+            header.putLong(replica.getMostSignificantBits());
+            header.putLong(replica.getLeastSignificantBits());
+        }
+        header.putInt(keyBytes.length);
+        header.flip();
+        ByteBuffer chunkLength = ByteBuffer.allocate(Integer.BYTES).putInt(chunkBytes.length);
+        chunkLength.flip();
+        ByteBuffer[] record = {header, ByteBuffer.wrap(keyBytes), chunkLength, ByteBuffer.wrap(chunkBytes)};
+        try {
+            FileChannel channel = channel(mapName, file);
+            long size = channel.size();
+            try {
+                while (record[record.length - 1].hasRemaining()) {
+                    channel.write(record);
+                }
+            } catch (IOException e) {
+                // don't leave a partial record, the following records would be unreadable
+                try {
+                    channel.truncate(size);
+                } finally {
+                    IOUtil.closeResource(channels.remove(mapName));
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new JetException("Failed to write a snapshot chunk to " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Returns the channel to append to the given file of the snapshot map,
+     * closes the channel of the previous file of the map.
+     */
+    private FileChannel channel(String mapName, File file) throws IOException {
+        ChunkFileChannel chunkFileChannel = channels.get(mapName);
+        if (chunkFileChannel != null && chunkFileChannel.file.equals(file)) {
+            return chunkFileChannel.channel;
+        }
+        IOUtil.closeResource(chunkFileChannel);
+        channels.remove(mapName);
+        Files.createDirectories(file.getParentFile().toPath());
+        chunkFileChannel = new ChunkFileChannel(file, FileChannel.open(file.toPath(), CREATE, WRITE, APPEND));
+        channels.put(mapName, chunkFileChannel);
+        return chunkFileChannel.channel;
+    }
+
+    /**
+     * Deletes the files of the snapshot on this member.
+     */
+    @Nonnull
+    public CompletableFuture<Void> deleteLocal(@Nonnull String mapName) {
+        return CompletableFuture.runAsync(() -> {
+            IOUtil.closeResource(channels.remove(mapName));
+            IOUtil.delete(mapDirectory(mapName));
+        }, executor);
+    }
+
+    /**
+     * Counts the chunks of the snapshots in the range {@code
+     * [fromSnapshotId, toSnapshotId]} which this member would emit when the
+     * snapshot is read by the given members.
+     */
+    @Nonnull
+    public CompletableFuture<Long> countLocal(
+            @Nonnull String mapName, long fromSnapshotId, long toSnapshotId, @Nonnull Set<UUID> members
+    ) {
+        return CompletableFuture.supplyAsync(() -> {
+            long count = 0;
+            try (ChunkFileReader reader = reader(mapName, fromSnapshotId, toSnapshotId, members, false)) {
+                while (reader.next() != null) {
+                    count++;
+                }
+            }
+            return count;
+        }, executor);
+    }
+
+    /**
+     * Returns a reader of the chunks of the snapshots with an ID in the range
+     * {@code [fromSnapshotId, toSnapshotId]} which this member emits when
+     * the snapshot is read by the given members.
+     */
+    @Nonnull
+    ChunkFileReader reader(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId,
+                           @Nonnull Set<UUID> members) {
+        return reader(mapName, fromSnapshotId, toSnapshotId, members, true);
+    }
+
+    private ChunkFileReader reader(
+            String mapName, long fromSnapshotId, long toSnapshotId, Set<UUID> members, boolean readChunks
+    ) {
+        File[] files = mapDirectory(mapName).listFiles((dir, name) -> {
+            if (!name.endsWith(CHUNK_FILE_SUFFIX)) {
+                return false;
+            }
+            long snapshotId = Long.parseLong(name.substring(0, name.length() - CHUNK_FILE_SUFFIX.length()));
+            return snapshotId >= fromSnapshotId && snapshotId <= toSnapshotId;
+        });
+        List<File> fileList = files == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(files));
+        return new ChunkFileReader(fileList, nodeEngine.getLocalMember().getUuid(), members, readChunks);
+    }
+
+    private <T> List<CompletableFuture<T>> invokeOnDataMembers(Function<UUID, Operation> createOperation) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (Member member : clusterService.getMembers(DATA_MEMBER_SELECTOR)) {
+            futures.add(invokeOn(member.getUuid(), createOperation.apply(member.getUuid())));
+        }
+        return futures;
+    }
+
+    private <T> CompletableFuture<T> invokeOn(UUID memberUuid, Operation operation) {
+        Member member = clusterService.getMember(memberUuid);
+        if (member == null) {
+            return exceptionallyCompletedFuture(
+                    new JetException("Member " + memberUuid + " storing the snapshot chunks left the cluster"));
+        }
+        return nodeEngine.getOperationService()
+                         .invokeOnTarget(JetServiceBackend.SERVICE_NAME, operation, member.getAddress());
+    }
+
+    private Set<UUID> dataMemberUuids() {
+        Collection<Member> members = clusterService.getMembers(DATA_MEMBER_SELECTOR);
+        Set<UUID> uuids = new HashSet<>();
+        for (Member member : members) {
+            uuids.add(member.getUuid());
+        }
+        return uuids;
+    }
+
+    private File memberDirectory() {
+        return new File(directory, nodeEngine.getLocalMember().getUuid().toString());
+    }
+
+    private File mapDirectory(String mapName) {
+        return new File(memberDirectory(), mapName);
+    }
+
+    private File chunkFile(String mapName, long snapshotId) {
+        return new File(mapDirectory(mapName), snapshotId + CHUNK_FILE_SUFFIX);
+    }
+
+    /**
+     * The open channel of a chunk file.
+     */
+    private static final class ChunkFileChannel implements AutoCloseable {
+
+        private final File file;
+        private final FileChannel channel;
+
+        private ChunkFileChannel(File file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.snapshot;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.JetServiceBackend;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.impl.snapshot.LocalDiskSnapshotStore.localDiskStore;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+
+/**
+ * Emits the chunks of a snapshot stored by the {@link
+ * LocalDiskSnapshotStore} of the member as {@code Entry<SnapshotDataKey,
+ * byte[]>}, the same as the IMap source of the snapshot map.
+ */
+final class ReadSnapshotChunksP extends AbstractProcessor {
+
+    private final String mapName;
+    private final long fromSnapshotId;
+    private final long toSnapshotId;
+    private final Set<UUID> members;
+
+    private LocalDiskSnapshotStore store;
+    private InternalSerializationService serializationService;
+    private ChunkFileReader reader;
+    private Traverser<Object> traverser;
+
+    /**
+     * @param members the UUIDs of the members of the execution
+     */
+    ReadSnapshotChunksP(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId, @Nonnull Set<UUID> members) {
+        this.mapName = mapName;
+        this.fromSnapshotId = fromSnapshotId;
+        this.toSnapshotId = toSnapshotId;
+        this.members = members;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        JetServiceBackend jetServiceBackend =
+                getNodeEngine(context.hazelcastInstance()).getService(JetServiceBackend.SERVICE_NAME);
+        store = localDiskStore(jetServiceBackend);
+        serializationService = ((ProcCtx) context).serializationService();
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return false;
+    }
+
+    @Override
+    public boolean complete() {
+        if (traverser == null) {
+            reader = store.reader(mapName, fromSnapshotId, toSnapshotId, members);
+            traverser = reader.map(chunk -> entry(
+                    serializationService.toObject(new HeapData(chunk.key)),
+                    serializationService.toObject(new HeapData(chunk.chunk))));
+        }
+        return emitFromTraverser(traverser);
+    }
+
+    @Override
+    public void close() {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    static final class MetaSupplier implements ProcessorMetaSupplier {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String mapName;
+        private final long fromSnapshotId;
+        private final long toSnapshotId;
+        private transient ClusterService clusterService;
+
+        MetaSupplier(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId) {
+            this.mapName = mapName;
+            this.fromSnapshotId = fromSnapshotId;
+            this.toSnapshotId = toSnapshotId;
+        }
+
+        @Override
+        public int preferredLocalParallelism() {
+            return 1;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            clusterService = getNodeEngine(context.hazelcastInstance()).getClusterService();
+        }
+
+        @Nonnull @Override
+        public Function<? super Address, ? extends ProcessorSupplier> get(@Nonnull List<Address> addresses) {
+            Set<UUID> members = new HashSet<>();
+            for (Address address : addresses) {
+                Member member = clusterService.getMember(address);
+                if (member != null) {
+                    members.add(member.getUuid());
+                }
+            }
+            String mapName = this.mapName;
+            long fromSnapshotId = this.fromSnapshotId;
+            long toSnapshotId = this.toSnapshotId;
+            return address -> ProcessorSupplier.of(
+                    () -> new ReadSnapshotChunksP(mapName, fromSnapshotId, toSnapshotId, members));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.snapshot;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.jet.core.ProcessorMetaSupplier;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores the chunks of the snapshots of the Jet jobs. The chunks are
+ * written by the {@link com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl}
+ * and read by the {@link #readP source} of the {@code
+ * com.hazelcast.jet.impl.ExplodeSnapshotP} when a job is restored.
+ * <p>
+ * A snapshot is identified by the name of its IMap, see {@link
+ * com.hazelcast.jet.impl.JobRepository#snapshotDataMapName}. The map always
+ * holds the {@link com.hazelcast.jet.impl.SnapshotValidationRecord}, the
+ * store decides where the chunks are.
+ */
+public interface SnapshotStore {
+
+    /**
+     * Stores a chunk of the snapshot. The returned future completes with
+     * {@code null} when the chunk is stored.
+     *
+     * @param chunk the chunk, a serialized {@code byte[]}
+     */
+    @Nonnull
+    CompletableFuture<?> put(@Nonnull String mapName, @Nonnull SnapshotDataKey key, @Nonnull Data chunk);
+
+    /**
+     * Returns the supplier of the processors which emit the chunks of the
+     * snapshot as {@code Entry<SnapshotDataKey, byte[]>}. Each chunk is
+     * emitted once in the cluster. The processors can also emit the {@link
+     * com.hazelcast.jet.impl.SnapshotValidationRecord}.
+     */
+    @Nonnull
+    ProcessorMetaSupplier readP(@Nonnull String mapName);
+
+    /**
+     * Returns the supplier of the processors which emit the chunks of the
+     * snapshots with an ID in the range {@code [fromSnapshotId,
+     * toSnapshotId]}, the same as {@link #readP(String)}. The validation
+     * record isn't emitted.
+     */
+    @Nonnull
+    ProcessorMetaSupplier readP(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId);
+
+    /**
+     * Returns the number of the chunks of the snapshots with an ID in the
+     * range {@code [fromSnapshotId, toSnapshotId]} which can be read.
+     */
+    long countChunks(@Nonnull String mapName, long fromSnapshotId, long toSnapshotId);
+
+    /**
+     * Removes the chunks and the validation record of the snapshot.
+     */
+    void clear(@Nonnull String mapName);
+
+    /**
+     * Removes the chunks of the snapshot and destroys its map, when the job
+     * is finished.
+     */
+    void destroy(@Nonnull String mapName);
+
+    /**
+     * Releases the resources of the store when the member shuts down.
+     */
+    default void shutdown() {
+    }
+}
@@ -17,22 +17,28 @@
 package com.hazelcast.jet.impl.util;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.jet.JetException;
 import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.internal.util.HashUtil;
+import com.hazelcast.internal.util.collection.Long2LongHashMap;
+import com.hazelcast.internal.util.collection.Long2LongHashMap.LongLongCursor;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.jet.impl.serialization.SerializerHookConstants;
+import com.hazelcast.jet.impl.snapshot.SnapshotStore;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.map.IMap;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.partition.PartitionAware;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
@@ -40,20 +46,24 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
-import static com.hazelcast.jet.impl.JobRepository.safeImap;
+import static com.hazelcast.jet.Util.entry;
 
 public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
 
     public static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
 
+    private static final long NO_HASH = Long.MIN_VALUE;
+
     final int usableChunkCapacity; // this includes the serialization header for byte[], but not the terminator
     final byte[] serializedByteArrayHeader = new byte[3 * Bits.INT_SIZE_IN_BYTES];
     final byte[] valueTerminator;
@@ -65,16 +75,36 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     private final int[] partitionKeys;
     private int partitionSequence;
     private final ILogger logger;
-    private final NodeEngine nodeEngine;
     private final boolean useBigEndian;
     private final SnapshotContext snapshotContext;
     private final String vertexName;
     private final int memberCount;
-    private IMap<SnapshotDataKey, Object> currentMap;
+    private final SnapshotStore snapshotStore;
+    private final SnapshotStore exportedSnapshotStore;
+    private String currentMapName;
+    private SnapshotStore currentStore;
     private long currentSnapshotId;
     private final AtomicReference<Throwable> firstError = new AtomicReference<>();
     private final AtomicInteger numActiveFlushes = new AtomicInteger();
 
+    // Fingerprints of the values by the hash of the key, by partition,
+    // written to the previous snapshot and offered to the current one, for
+    // incremental snapshots. A key left in the previous fingerprints at the
+    // end of the snapshot was removed. Null if incremental snapshots are
+    // disabled, the maps are created lazily.
+    private Long2LongHashMap[] previousFingerprints;
+    private Long2LongHashMap[] currentFingerprints;
+    // The hashes shared by several keys of a partition, in the previous and
+    // the current snapshot. The keys with these hashes are always written to
+    // the incremental snapshots, so they all replace the older versions.
+    private Set<Long> previousCollisions;
+    private Set<Long> currentCollisions;
+    private final Data tombstone;
+    private final InternalSerializationService serializationService;
+    private int tombstonePartitionId;
+    private LongLongCursor tombstoneCursor;
+    private boolean hasTombstone;
+
     // stats
     private long totalKeys;
     private long totalChunks;
@@ -92,6 +122,7 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     }
 
     // for test
+    @SuppressWarnings("checkstyle:ExecutableStatementCount")
     AsyncSnapshotWriterImpl(int chunkSize,
                             NodeEngine nodeEngine,
                             SnapshotContext snapshotContext,
@@ -102,7 +133,6 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         if (Integer.bitCount(chunkSize) != 1) {
             throw new IllegalArgumentException("chunkSize must be a power of two, but is " + chunkSize);
         }
-        this.nodeEngine = nodeEngine;
         this.partitionService = nodeEngine.getPartitionService();
         this.logger = nodeEngine.getLogger(getClass());
         this.snapshotContext = snapshotContext;
@@ -120,6 +150,8 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         buffers = createAndInitBuffers(chunkSize, partitionService.getPartitionCount(), serializedByteArrayHeader);
         JetServiceBackend jetServiceBackend = nodeEngine.getService(JetServiceBackend.SERVICE_NAME);
         this.partitionKeys = jetServiceBackend.getSharedPartitionKeys();
+        this.snapshotStore = jetServiceBackend.getSnapshotStore();
+        this.exportedSnapshotStore = jetServiceBackend.getExportedSnapshotStore();
         this.partitionSequence = memberIndex;
 
         this.numConcurrentAsyncOps = jetServiceBackend.numConcurrentAsyncOps();
@@ -131,6 +163,15 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         if (usableChunkCapacity <= 0) {
             throw new IllegalArgumentException("too small chunk size: " + chunkSize);
         }
+
+        this.serializationService = serializationService;
+        tombstone = serializationService.toData(SnapshotDataValueTombstone.INSTANCE);
+        if (nodeEngine.getProperties().getInteger(ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_DELTAS) > 0) {
+            previousFingerprints = new Long2LongHashMap[buffers.length];
+            currentFingerprints = new Long2LongHashMap[buffers.length];
+            previousCollisions = new HashSet<>();
+            currentCollisions = new HashSet<>();
+        }
     }
 
     private static CustomByteArrayOutputStream[] createAndInitBuffers(
@@ -163,7 +204,77 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     @Override
     @CheckReturnValue
     public boolean offer(Entry<? extends Data, ? extends Data> entry) {
-        int partitionId = partitionService.getPartitionId(entry.getKey());
+        Data key = entry.getKey();
+        // broadcast keys aren't unique, they are written to every snapshot
+        if (currentFingerprints == null || snapshotContext.isExportSnapshot()
+                || key.getType() == SerializerHookConstants.BROADCAST_KEY) {
+            return offer0(partitionService.getPartitionId(key), entry);
+        }
+        int partitionId = partitionService.getPartitionId(key);
+        long keyHash = hash(key.hash64());
+        long fingerprint = hash(entry.getValue().hash64());
+        if (snapshotContext.isIncrementalSnapshot()) {
+            Long2LongHashMap previous = previousFingerprints[partitionId];
+            if ((previous == null || previous.get(keyHash) != fingerprint || previousCollisions.contains(keyHash))
+                    && !offer0(partitionId, entry)) {
+                return false;
+            }
+            if (previous != null) {
+                previous.remove(keyHash);
+            }
+        } else if (!offer0(partitionId, entry)) {
+            return false;
+        }
+        if (currentFingerprints[partitionId] == null) {
+            currentFingerprints[partitionId] = new Long2LongHashMap(NO_HASH);
+        }
+        if (currentFingerprints[partitionId].put(keyHash, fingerprint) != NO_HASH) {
+            onCollision(keyHash);
+        }
+        return true;
+    }
+
+    /**
+     * Handles a key with the same hash as another key of the partition, the
+     * keys can't be told apart by the fingerprints. If the collision is new in
+     * an incremental snapshot, the other key might have been skipped as
+     * unchanged and the restored state would lose it, so the snapshot fails
+     * and the next one is full.
+     * <p>
+     * The hashes of keys written by different members to the same partition
+     * can also collide, which isn't detected. The chance of that is about
+     * n<sup>2</sup> / 2<sup>65</sup> for n keys.
+     */
+    private void onCollision(long keyHash) {
+        if (!currentCollisions.add(keyHash) || previousCollisions.contains(keyHash)) {
+            return;
+        }
+        if (snapshotContext.isIncrementalSnapshot()) {
+            firstError.compareAndSet(null, new JetException("Keys with the same hash " + keyHash + " found in "
+                    + vertexName + ", the incremental snapshot " + currentSnapshotId + " can't be used"));
+        } else {
+            logger.warning("Keys with the same hash " + keyHash + " found in " + vertexName
+                    + ", they are written in full to the incremental snapshots");
+        }
+    }
+
+    /**
+     * Returns the hash identifying a key in the incremental snapshots, the
+     * same as the {@link Data#hash64()} of the key.
+     *
+     * @param bytes the serialized key, starting with its type
+     */
+    public static long keyHash(byte[] bytes, int offset, int length) {
+        return hash(HashUtil.MurmurHash3_x64_64(bytes, offset + Bits.INT_SIZE_IN_BYTES, length - Bits.INT_SIZE_IN_BYTES));
+    }
+
+    // NO_HASH is the missing value of the maps, it's mapped to a neighbour
+    private static long hash(long hash64) {
+        return hash64 != NO_HASH ? hash64 : NO_HASH + 1;
+    }
+
+    @CheckReturnValue
+    private boolean offer0(int partitionId, Entry<? extends Data, ? extends Data> entry) {
         int length = entry.getKey().totalSize() + entry.getValue().totalSize() - 2 * HeapData.TYPE_OFFSET;
 
         // if the entry is larger than usableChunkSize, send it in its own chunk. We avoid adding it to the
@@ -253,13 +364,12 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
             return false;
         }
         try {
-            // we put a Data instance to the map directly to avoid the serialization of the byte array
             Data data = dataSupplier.get();
             totalPayloadBytes += data.dataSize();
             totalChunks++;
-            CompletableFuture<Object> future = currentMap.putAsync(
+            CompletableFuture<?> future = currentStore.put(currentMapName,
                     new SnapshotDataKey(partitionKeys[partitionId], currentSnapshotId, vertexName, partitionSequence),
-                    data).toCompletableFuture();
+                    data);
             partitionSequence += memberCount;
             future.whenComplete(putResponseConsumer);
             numActiveFlushes.incrementAndGet();
@@ -270,14 +380,14 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     }
 
     private boolean initCurrentMap() {
-        if (currentMap == null) {
+        if (currentMapName == null) {
             String mapName = snapshotContext.currentMapName();
             if (mapName == null) {
                 return false;
             }
-            // Snapshot IMap proxy instance may be shared, but we always want it
-            // to have failOnIndeterminateOperationState enabled.
-            currentMap = safeImap(nodeEngine.getHazelcastInstance().getMap(mapName));
+            currentMapName = mapName;
+            // the exported snapshots are always in IMaps
+            currentStore = snapshotContext.isExportSnapshot() ? exportedSnapshotStore : snapshotStore;
             this.currentSnapshotId = snapshotContext.currentSnapshotId();
         }
         return true;
@@ -297,6 +407,10 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
             return false;
         }
 
+        if (currentFingerprints != null && snapshotContext.isIncrementalSnapshot() && !offerTombstones()) {
+            return false;
+        }
+
         for (int i = 0; i < buffers.length; i++) {
             if (!flushPartition(i)) {
                 return false;
@@ -304,7 +418,21 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         }
 
         // we're done
-        currentMap = null;
+        currentMapName = null;
+        if (currentFingerprints != null && !snapshotContext.isExportSnapshot()) {
+            Long2LongHashMap[] tmp = previousFingerprints;
+            previousFingerprints = currentFingerprints;
+            currentFingerprints = tmp;
+            for (Long2LongHashMap fingerprints : currentFingerprints) {
+                if (fingerprints != null) {
+                    fingerprints.clear();
+                }
+            }
+            Set<Long> tmpCollisions = previousCollisions;
+            previousCollisions = currentCollisions;
+            currentCollisions = tmpCollisions;
+            currentCollisions.clear();
+        }
         if (logger.isFineEnabled()) {
             logger.fine(String.format("Stats for %s: keys=%,d, chunks=%,d, bytes=%,d",
                     vertexName, totalKeys, totalChunks, totalPayloadBytes));
@@ -312,6 +440,35 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         return true;
     }
 
+    /**
+     * Offers a tombstone for each key written to the previous snapshot and
+     * not offered to the current one. The key of the tombstone is the hash of
+     * the removed key, it's written to the partition of the removed key.
+     */
+    @CheckReturnValue
+    private boolean offerTombstones() {
+        for (; tombstonePartitionId < previousFingerprints.length; tombstonePartitionId++) {
+            Long2LongHashMap previous = previousFingerprints[tombstonePartitionId];
+            if (previous == null) {
+                continue;
+            }
+            if (tombstoneCursor == null) {
+                tombstoneCursor = previous.cursor();
+                hasTombstone = tombstoneCursor.advance();
+            }
+            for (; hasTombstone; hasTombstone = tombstoneCursor.advance()) {
+                Data key = serializationService.toData(tombstoneCursor.key());
+                if (!offer0(tombstonePartitionId, entry(key, tombstone))) {
+                    return false;
+                }
+            }
+            tombstoneCursor = null;
+            previous.clear();
+        }
+        tombstonePartitionId = 0;
+        return true;
+    }
+
     @Override
     public void resetStats() {
         totalKeys = totalChunks = totalPayloadBytes = 0;
@@ -358,6 +515,10 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
             return partitionKey;
         }
 
+        public int partitionKey() {
+            return partitionKey;
+        }
+
         public long snapshotId() {
             return snapshotId;
         }
@@ -449,6 +610,37 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         }
     }
 
+    /**
+     * The value of a key removed since the previous snapshot, written to an
+     * incremental snapshot. The key of the entry is the {@code Long} {@link
+     * #keyHash hash} of the removed key.
+     */
+    public static final class SnapshotDataValueTombstone implements IdentifiedDataSerializable {
+
+        public static final IdentifiedDataSerializable INSTANCE = new SnapshotDataValueTombstone();
+
+        private SnapshotDataValueTombstone() {
+        }
+
+        @Override
+        public int getFactoryId() {
+            return JetInitDataSerializerHook.FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return JetInitDataSerializerHook.ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TOMBSTONE;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) {
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) {
+        }
+    }
+
     /**
      * Non-synchronized variant of {@code java.io.ByteArrayOutputStream} with capacity limit.
      */
@@ -458,6 +458,41 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, BaseMap<K, V>, Iterable
      */
     void removeAll(@Nonnull Predicate<K, V> predicate);
 
+    /**
+     * Removes the mappings for the given keys from this map if they are
+     * present.
+     * <p>
+     * The default implementation calls {@link #delete(Object)} for each
+     * key. The Hazelcast member and client proxies group the keys by their
+     * owner member instead, and each member receives a single operation
+     * carrying only the keys it owns.
+     * <p>
+     * Note that calling this method also removes the given keys from the
+     * caller's Near Cache.
+     *
+     * <p><b>Interactions with the map store</b>
+     * <p>
+     * If write-through persistence mode is configured, before a value is
+     * removed from the memory, {@link MapStore#delete(Object)} is called to
+     * remove the value from the map store. Exceptions thrown by delete fail
+     * the operation and are propagated to the caller.
+     * <p>
+     * If write-behind persistence mode is configured with write-coalescing
+     * turned off, {@link com.hazelcast.map.ReachedMaxSizeException} may be
+     * thrown if the write-behind queue has reached its per-node maximum
+     * capacity.
+     *
+     * @param keys keys of the entries to remove
+     * @throws NullPointerException if the specified key set or any of its
+     *                              keys is null
+     * @since 5.4
+     */
+    default void deleteAll(@Nonnull Set<K> keys) {
+        for (K key : keys) {
+            delete(key);
+        }
+    }
+
     /**
      * Removes the mapping for the key from this map if it is present.
      * <p>
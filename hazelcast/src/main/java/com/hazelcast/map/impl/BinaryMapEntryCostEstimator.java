@@ -17,14 +17,20 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.map.impl.record.OffHeapRecord;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.internal.serialization.Data;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
 
 /**
  * Owned entry cost estimator for maps which have {@link InMemoryFormat#BINARY} memory-format.
+ * <p>
+ * The key, value and metadata of an {@link OffHeapRecord} share a single
+ * native block, so the cost of such an entry is the block capacity plus its
+ * slots in the native index and entry table of the off-heap storage.
  */
 class BinaryMapEntryCostEstimator
         implements EntryCostEstimator<Data, Record> {
@@ -41,6 +47,8 @@ class BinaryMapEntryCostEstimator
             HASH_ENTRY_HASH_COST_IN_BYTES + HASH_ENTRY_KEY_REF_COST_IN_BYTES
                     + HASH_ENTRY_VALUE_REF_COST_IN_BYTES + HASH_ENTRY_NEXT_REF_COST_IN_BYTES;
 
+    private static final int OFF_HEAP_ENTRY_COST_IN_BYTES = 2 * LONG_SIZE_IN_BYTES;
+
     private volatile long estimate;
 
     BinaryMapEntryCostEstimator() {
@@ -70,6 +78,10 @@ class BinaryMapEntryCostEstimator
     }
 
     public long calculateEntryCost(Data key, Record value) {
+        if (value instanceof OffHeapRecord) {
+            return OFF_HEAP_ENTRY_COST_IN_BYTES + value.getCost();
+        }
+
         long totalMapEntryCost = 0L;
 
         totalMapEntryCost += HASH_ENTRY_COST_IN_BYTES;
@@ -16,11 +16,11 @@
 
 package com.hazelcast.map.impl;
 
-import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.partition.ChunkSupplier;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.map.impl.operation.MapChunk;
 import com.hazelcast.map.impl.operation.MapChunkContext;
+import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
 import java.util.function.Predicate;
@@ -32,7 +32,7 @@ class MapChunkSupplier implements ChunkSupplier {
 
     protected final MapChunkContext context;
 
-    protected Predicate<BufferObjectDataOutput> isEndOfChunk;
+    protected Predicate<ObjectDataOutput> isEndOfChunk;
 
     private final int partitionId;
     private final int replicaIndex;
@@ -61,7 +61,7 @@ class MapChunkSupplier implements ChunkSupplier {
     }
 
     @Override
-    public final void signalEndOfChunkWith(Predicate<BufferObjectDataOutput> isEndOfChunk) {
+    public final void signalEndOfChunkWith(Predicate<ObjectDataOutput> isEndOfChunk) {
         this.isEndOfChunk = isEndOfChunk;
     }
 
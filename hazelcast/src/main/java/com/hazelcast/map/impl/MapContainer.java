@@ -21,6 +21,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.partition.IPartitionService;
@@ -50,6 +51,7 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
@@ -62,13 +64,16 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
 import static com.hazelcast.query.impl.InternalIndex.GLOBAL_INDEX_NOOP_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_OFF_HEAP_STORAGE_MAPS;
 import static java.lang.System.getProperty;
 
 /**
@@ -244,6 +249,34 @@ public class MapContainer {
             || mapServiceContext.isForciblyEnabledGlobalIndex();
     }
 
+    /**
+     * @return {@code true} if the record stores of this map should keep their
+     * entries in native memory, see {@link ClusterProperty#MAP_OFF_HEAP_STORAGE_MAPS}
+     */
+    public boolean shouldUseOffHeapStorage() {
+        if (mapConfig.getInMemoryFormat() != BINARY || !MEM_AVAILABLE) {
+            return false;
+        }
+
+        MapStoreConfig mapStoreConfig = mapConfig.getMapStoreConfig();
+        if (mapServiceContext.isForceOffloadEnabled()
+                || (mapStoreConfig.isEnabled() && mapStoreConfig.isOffload())) {
+            // offloaded steps may outlive the deferred blocks of an operation
+            return false;
+        }
+
+        String offHeapMaps = mapServiceContext.getNodeEngine().getProperties().getString(MAP_OFF_HEAP_STORAGE_MAPS);
+        for (String pattern : offHeapMaps.split(",")) {
+            pattern = pattern.trim();
+            if (pattern.endsWith("*")
+                    ? name.startsWith(pattern.substring(0, pattern.length() - 1))
+                    : !pattern.isEmpty() && pattern.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected static MemoryInfoAccessor getMemoryInfoAccessor() {
         MemoryInfoAccessor pluggedMemoryInfoAccessor = getPluggedMemoryInfoAccessor();
         return pluggedMemoryInfoAccessor != null ? pluggedMemoryInfoAccessor : new RuntimeMemoryInfoAccessor();
@@ -55,6 +55,7 @@ import com.hazelcast.map.impl.operation.EvictBackupOperation;
 import com.hazelcast.map.impl.operation.EvictBatchBackupOperation;
 import com.hazelcast.map.impl.operation.EvictOperation;
 import com.hazelcast.map.impl.operation.GetAllOperation;
+import com.hazelcast.map.impl.operation.GetAllPartitionAwareOperationFactory;
 import com.hazelcast.map.impl.operation.GetEntryViewOperation;
 import com.hazelcast.map.impl.operation.GetOperation;
 import com.hazelcast.map.impl.operation.IsEmptyOperationFactory;
@@ -88,6 +89,7 @@ import com.hazelcast.map.impl.operation.MergeOperationFactory;
 import com.hazelcast.map.impl.operation.MultipleEntryBackupOperation;
 import com.hazelcast.map.impl.operation.MultipleEntryOperation;
 import com.hazelcast.map.impl.operation.MultipleEntryOperationFactory;
+import com.hazelcast.map.impl.operation.MultipleEntryPartitionAwareOperationFactory;
 import com.hazelcast.map.impl.operation.MultipleEntryWithPredicateBackupOperation;
 import com.hazelcast.map.impl.operation.MultipleEntryWithPredicateOperation;
 import com.hazelcast.map.impl.operation.NotifyMapFlushOperation;
@@ -327,8 +329,10 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int INDEX_ITERATION_POINTER = 156;
     public static final int MAP_FETCH_INDEX_OPERATION_RESULT = 157;
     public static final int MAP_CHUNK = 158;
+    public static final int GET_ALL_PARTITION_AWARE_FACTORY = 159;
+    public static final int MULTIPLE_ENTRY_PARTITION_AWARE_FACTORY = 160;
 
-    private static final int LEN = MAP_CHUNK + 1;
+    private static final int LEN = MULTIPLE_ENTRY_PARTITION_AWARE_FACTORY + 1;
 
     @Override
     public int getFactoryId() {
@@ -494,6 +498,8 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[INDEX_ITERATION_POINTER] = IndexIterationPointer::new;
         constructors[MAP_FETCH_INDEX_OPERATION_RESULT] = MapFetchIndexOperationResult::new;
         constructors[MAP_CHUNK] = MapChunk::new;
+        constructors[GET_ALL_PARTITION_AWARE_FACTORY] = GetAllPartitionAwareOperationFactory::new;
+        constructors[MULTIPLE_ENTRY_PARTITION_AWARE_FACTORY] = MultipleEntryPartitionAwareOperationFactory::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -167,6 +167,11 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new MapGetAllOperationFactory(name, keys);
     }
 
+    @Override
+    public OperationFactory createGetAllOperationFactory(String name, int[] partitions, List<Data>[] keys) {
+        return new GetAllPartitionAwareOperationFactory(name, partitions, keys);
+    }
+
     @Override
     public OperationFactory createEvictAllOperationFactory(String name) {
         return new EvictAllOperationFactory(name);
@@ -244,6 +249,12 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new MultipleEntryOperationFactory(name, keys, entryProcessor);
     }
 
+    @Override
+    public OperationFactory createMultipleEntryOperationFactory(String name, int[] partitions, List<Data>[] keys,
+                                                                EntryProcessor entryProcessor) {
+        return new MultipleEntryPartitionAwareOperationFactory(name, partitions, keys, entryProcessor);
+    }
+
     @Override
     public MapOperation createGetOperation(String name, Data dataKey) {
         return new GetOperation(name, dataKey);
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionAwareOperationFactory;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the keys of all partitions of a member via locally invoked {@link GetAllOperation}.
+ * <p>
+ * Unlike {@link MapGetAllOperationFactory}, only the keys owned by the
+ * target member are sent to it, grouped by partition. Used to reduce the
+ * number of remote invocations and the payload of an {@link IMap#getAll(Set)} call.
+ */
+public class GetAllPartitionAwareOperationFactory extends PartitionAwareOperationFactory {
+
+    protected String name;
+    protected List<Data>[] keys;
+
+    public GetAllPartitionAwareOperationFactory() {
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public GetAllPartitionAwareOperationFactory(String name, int[] partitions, List<Data>[] keys) {
+        this.name = name;
+        this.partitions = partitions;
+        this.keys = keys;
+    }
+
+    @Override
+    public Operation createPartitionOperation(int partitionId) {
+        for (int i = 0; i < partitions.length; i++) {
+            if (partitions[i] == partitionId) {
+                return new GetAllOperation(name, keys[i]);
+            }
+        }
+        throw new IllegalArgumentException("Unknown partitionId " + partitionId + " (" + Arrays.toString(partitions) + ")");
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeString(name);
+        out.writeIntArray(partitions);
+        for (List<Data> partitionKeys : keys) {
+            writeKeys(out, partitionKeys);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readString();
+        partitions = in.readIntArray();
+        keys = readKeys(in, partitions.length);
+    }
+
+    static void writeKeys(ObjectDataOutput out, List<Data> keys) throws IOException {
+        out.writeInt(keys.size());
+        for (Data key : keys) {
+            IOUtil.writeData(out, key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Data>[] readKeys(ObjectDataInput in, int partitionCount) throws IOException {
+        List<Data>[] keys = new List[partitionCount];
+        for (int partitionIndex = 0; partitionIndex < partitionCount; partitionIndex++) {
+            int size = in.readInt();
+            List<Data> partitionKeys = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                partitionKeys.add(IOUtil.readData(in));
+            }
+            keys[partitionIndex] = partitionKeys;
+        }
+        return keys;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.GET_ALL_PARTITION_AWARE_FACTORY;
+    }
+}
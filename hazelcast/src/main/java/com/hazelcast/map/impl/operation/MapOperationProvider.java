@@ -152,6 +152,9 @@ public interface MapOperationProvider {
 
     OperationFactory createMultipleEntryOperationFactory(String name, Set<Data> keys, EntryProcessor entryProcessor);
 
+    OperationFactory createMultipleEntryOperationFactory(String name, int[] partitions, List<Data>[] keys,
+                                                         EntryProcessor entryProcessor);
+
     OperationFactory createContainsValueOperationFactory(String name, Data testValue);
 
     OperationFactory createEvictAllOperationFactory(String name);
@@ -164,6 +167,8 @@ public interface MapOperationProvider {
 
     OperationFactory createGetAllOperationFactory(String name, List<Data> keys);
 
+    OperationFactory createGetAllOperationFactory(String name, int[] partitions, List<Data>[] keys);
+
     OperationFactory createMapSizeOperationFactory(String name);
 
     OperationFactory createPutAllOperationFactory(String name, int[] partitions,
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.proxy;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.partition.IPartition;
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.config.InMemoryFormat.OBJECT;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+
+/**
+ * Reads the value of a key from a locally owned partition on its partition
+ * thread without creating a {@code GetOperation} and an invocation for it.
+ * <p>
+ * One task is cached per caller thread and reused by all its gets, the
+ * caller hands it to the partition thread and parks until the value is
+ * published, so a read doesn't allocate anything but the partition queue
+ * node. The task gives up and returns {@link #FALLBACK} whenever the
+ * regular operation would have to do more than a plain read: the partition
+ * is migrating or not owned anymore, the key is transactionally locked,
+ * the record store needs stepped execution, or the read failed. The caller
+ * then retries via the regular invocation path which takes care of these.
+ */
+final class LocalGetTask implements PartitionSpecificRunnable {
+
+    /**
+     * Returned when the read has to be retried via the regular invocation.
+     */
+    static final Object FALLBACK = new Object();
+
+    private static final int SPIN_COUNT = 1000;
+    private static final ThreadLocal<LocalGetTask> TASKS = ThreadLocal.withInitial(LocalGetTask::new);
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final Method GET_THREAD_ALLOCATED_BYTES = getThreadAllocatedBytesMethod();
+
+    private final Thread caller = Thread.currentThread();
+
+    private MapServiceContext mapServiceContext;
+    private IPartitionService partitionService;
+    private Address thisAddress;
+    private String mapName;
+    private int partitionId;
+    private Data key;
+    private Object result;
+    private volatile boolean done;
+
+    private LocalGetTask() {
+    }
+
+    static LocalGetTask forCurrentThread() {
+        return TASKS.get();
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far,
+     * or {@code -1} if the JVM doesn't measure it.
+     */
+    static long allocatedBytesOfCurrentThread() {
+        if (GET_THREAD_ALLOCATED_BYTES == null) {
+            return -1;
+        }
+        try {
+            return (long) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The allocated bytes are only available from the HotSpot specific
+     * {@code com.sun.management.ThreadMXBean}.
+     */
+    private static Method getThreadAllocatedBytesMethod() {
+        try {
+            Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+            if (!beanClass.isInstance(THREAD_MX_BEAN)
+                    || !(boolean) beanClass.getMethod("isThreadAllocatedMemorySupported").invoke(THREAD_MX_BEAN)
+                    || !(boolean) beanClass.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREAD_MX_BEAN)) {
+                return null;
+            }
+            return beanClass.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the value of the key on the partition thread and waits for it
+     * at most {@code timeoutNanos}.
+     *
+     * @return the value, {@code null} if the key is missing, or
+     * {@link #FALLBACK} if the value has to be read via the regular invocation
+     */
+    Object get(OperationService operationService, MapServiceContext mapServiceContext, String mapName,
+               int partitionId, Data key, long timeoutNanos) {
+        this.mapServiceContext = mapServiceContext;
+        this.partitionService = mapServiceContext.getNodeEngine().getPartitionService();
+        this.thisAddress = mapServiceContext.getNodeEngine().getThisAddress();
+        this.mapName = mapName;
+        this.partitionId = partitionId;
+        this.key = key;
+        this.done = false;
+        operationService.execute(this);
+
+        if (!awaitDone(timeoutNanos)) {
+            // the task is still queued or running and will complete later,
+            // the next get of this thread must not reuse it
+            TASKS.remove();
+            return FALLBACK;
+        }
+
+        Object value = result;
+        clear();
+        return value;
+    }
+
+    /**
+     * Drops the references of the last get, so the task cached for the
+     * thread doesn't keep the member's services and data reachable.
+     */
+    private void clear() {
+        this.mapServiceContext = null;
+        this.partitionService = null;
+        this.thisAddress = null;
+        this.mapName = null;
+        this.key = null;
+        this.result = null;
+    }
+
+    private boolean awaitDone(long timeoutNanos) {
+        for (int i = 0; i < SPIN_COUNT; i++) {
+            if (done) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (!done) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0 || caller.isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(this, remainingNanos);
+        }
+        return true;
+    }
+
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    @Override
+    public void run() {
+        Object value = FALLBACK;
+        try {
+            value = read();
+        } catch (RuntimeException e) {
+            // the regular operation retries or reports the failure to the caller
+            ignore(e);
+        } finally {
+            result = value;
+            done = true;
+            LockSupport.unpark(caller);
+        }
+    }
+
+    private Object read() {
+        IPartition partition = partitionService.getPartition(partitionId, false);
+        if (!partition.isLocal() || partition.isMigrating()) {
+            return FALLBACK;
+        }
+
+        RecordStore recordStore = mapServiceContext.getPartitionContainer(partitionId).getRecordStore(mapName);
+        if (recordStore.getStorage().supportsSteppedRun() || recordStore.isTransactionallyLocked(key)) {
+            return FALLBACK;
+        }
+
+        recordStore.beforeOperation();
+        try {
+            recordStore.checkIfLoaded();
+            Data value = mapServiceContext.toData(recordStore.get(key, false, thisAddress));
+            mapServiceContext.interceptAfterGet(recordStore.getMapContainer().getInterceptorRegistry(), value);
+            return value;
+        } finally {
+            recordStore.afterOperation();
+            if (recordStore.getInMemoryFormat() != OBJECT) {
+                recordStore.disposeDeferredBlocks();
+            }
+        }
+    }
+}
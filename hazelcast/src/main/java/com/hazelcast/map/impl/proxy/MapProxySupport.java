@@ -113,10 +113,13 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.core.EntryEventType.CLEAR_ALL;
+import static com.hazelcast.internal.cluster.Versions.V5_4;
 import static com.hazelcast.internal.util.CollectionUtil.asIntegerList;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
@@ -128,6 +131,7 @@ import static com.hazelcast.internal.util.Preconditions.checkFalse;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
 import static com.hazelcast.internal.util.ThreadUtil.getThreadId;
+import static com.hazelcast.internal.util.ThreadUtil.isRunningOnPartitionThread;
 import static com.hazelcast.internal.util.TimeUtil.timeInMsOrOneIfResultIsZero;
 import static com.hazelcast.map.impl.EntryRemovingProcessor.ENTRY_REMOVING_PROCESSOR;
 import static com.hazelcast.map.impl.MapOperationStatsUpdater.incrementOperationStats;
@@ -136,10 +140,13 @@ import static com.hazelcast.map.impl.query.Target.createPartitionTarget;
 import static com.hazelcast.query.Predicates.alwaysFalse;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static com.hazelcast.spi.properties.ClusterProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOCAL_GET_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static java.lang.Math.ceil;
 import static java.lang.Math.log10;
 import static java.lang.Math.min;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 abstract class MapProxySupport<K, V>
         extends AbstractDistributedObject<MapService>
@@ -166,6 +173,7 @@ abstract class MapProxySupport<K, V>
      * Retry count when an interceptor registration/de-registration operation fails.
      */
     private static final int MAX_RETRIES = 100;
+    private static final int LOCAL_GET_ALLOCATION_SAMPLE_INTERVAL = 1024;
 
     /**
      * Defines the batch size for operations of {@link IMap#putAll(Map)} and {@link IMap#setAll(Map)} calls.
@@ -226,6 +234,8 @@ abstract class MapProxySupport<K, V>
 
     private final int putAllBatchSize;
     private final float putAllInitialSizeFactor;
+    private final boolean localGetEnabled;
+    private final long localGetTimeoutNanos;
 
     protected MapProxySupport(String name, MapService service, NodeEngine nodeEngine, MapConfig mapConfig) {
         super(nodeEngine, service);
@@ -249,6 +259,11 @@ abstract class MapProxySupport<K, V>
 
         this.putAllBatchSize = properties.getInteger(MAP_PUT_ALL_BATCH_SIZE);
         this.putAllInitialSizeFactor = properties.getFloat(MAP_PUT_ALL_INITIAL_SIZE_FACTOR);
+        this.localGetEnabled = properties.getBoolean(MAP_LOCAL_GET_ENABLED)
+                && mapConfig.getInMemoryFormat() == BINARY
+                && !isMapStoreEnabled()
+                && mapConfig.getSplitBrainProtectionName() == null;
+        this.localGetTimeoutNanos = MILLISECONDS.toNanos(properties.getMillis(OPERATION_CALL_TIMEOUT_MILLIS));
         // default value the same as in OperationService
         this.failOnIndeterminateOperationState = properties.getBoolean(FAIL_ON_INDETERMINATE_OPERATION_STATE);
     }
@@ -415,10 +430,48 @@ abstract class MapProxySupport<K, V>
                 return fromBackup;
             }
         }
+        if (localGetEnabled) {
+            Object value = getLocalOrFallback(keyData);
+            if (value != LocalGetTask.FALLBACK) {
+                return value;
+            }
+        }
         MapOperation operation = operationProvider.createGetOperation(name, keyData);
         return invokeOperation(keyData, operation);
     }
 
+    /**
+     * Reads the key directly on its partition thread if the partition is
+     * owned by this member, returns {@link LocalGetTask#FALLBACK} otherwise.
+     */
+    private Object getLocalOrFallback(Data keyData) {
+        int partitionId = partitionService.getPartitionId(keyData);
+        if (isRunningOnPartitionThread()
+                || !partitionService.getPartition(partitionId, false).isLocal()
+                || mapServiceContext.isForceOffloadEnabled()) {
+            return LocalGetTask.FALLBACK;
+        }
+
+        boolean sampleAllocation = statisticsEnabled
+                && (localMapStats.getLocalGetCount() & (LOCAL_GET_ALLOCATION_SAMPLE_INTERVAL - 1)) == 0;
+        long allocatedBytesBefore = sampleAllocation ? LocalGetTask.allocatedBytesOfCurrentThread() : -1;
+        long startTimeNanos = Timer.nanos();
+        Object value = LocalGetTask.forCurrentThread()
+                .get(operationService, mapServiceContext, name, partitionId, keyData, localGetTimeoutNanos);
+        if (value == LocalGetTask.FALLBACK) {
+            localMapStats.incrementLocalGetFallbacks();
+            return value;
+        }
+        localMapStats.incrementLocalGets();
+        if (statisticsEnabled) {
+            localMapStats.incrementGetLatencyNanos(Timer.nanosElapsed(startTimeNanos));
+        }
+        if (allocatedBytesBefore >= 0) {
+            localMapStats.recordLocalGetAllocation(LocalGetTask.allocatedBytesOfCurrentThread() - allocatedBytesBefore);
+        }
+        return value;
+    }
+
     private Data readBackupDataOrNull(Data key) {
         int partitionId = partitionService.getPartitionId(key);
         IPartition partition = partitionService.getPartition(partitionId, false);
@@ -888,14 +941,18 @@ abstract class MapProxySupport<K, V>
         if (dataKeys.isEmpty()) {
             toDataCollectionWithNonNullKeyValidation(keys, dataKeys);
         }
-        Collection<Integer> partitions = getPartitionsForKeys(dataKeys);
-        Map<Integer, Object> responses;
         try {
-            OperationFactory operationFactory = operationProvider.createGetAllOperationFactory(name, dataKeys);
             long startTimeNanos = Timer.nanos();
-
-            responses = operationService.invokeOnPartitions(SERVICE_NAME, operationFactory, partitions);
-            for (Object response : responses.values()) {
+            Collection<Object> responses;
+            if (isMemberBatchingSupported()) {
+                responses = invokeOnKeyOwnersAsync(dataKeys, (partitions, partitionKeys) ->
+                        operationProvider.createGetAllOperationFactory(name, partitions, partitionKeys)).get();
+            } else {
+                Collection<Integer> partitions = getPartitionsForKeys(dataKeys);
+                OperationFactory operationFactory = operationProvider.createGetAllOperationFactory(name, dataKeys);
+                responses = operationService.invokeOnPartitions(SERVICE_NAME, operationFactory, partitions).values();
+            }
+            for (Object response : responses) {
                 MapEntries entries = toObject(response);
                 for (int i = 0; i < entries.size(); i++) {
                     resultingKeyValuePairs.add(entries.getKey(i));
@@ -922,6 +979,57 @@ abstract class MapProxySupport<K, V>
         return partitionIds;
     }
 
+    // RU_COMPAT_5_3
+    private boolean isMemberBatchingSupported() {
+        return getNodeEngine().getClusterService().getClusterVersion().isGreaterOrEqual(V5_4);
+    }
+
+    /**
+     * Groups the keys per partition and sends a single operation to each
+     * member owning some of them. The operation carries only the keys of
+     * that member's partitions and is fanned out to its partition threads
+     * there, so each key travels once, to its owner only.
+     *
+     * @param factoryFn creates the partition-aware operation factory for
+     *                  the partitions of a member and their keys
+     * @return future completed with the responses of all partitions
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Collection<Object>> invokeOnKeyOwnersAsync(
+            Collection<Data> dataKeys, BiFunction<int[], List<Data>[], OperationFactory> factoryFn) {
+        Map<Integer, List<Data>> keysPerPartition = getPartitionIdToKeysMap(dataKeys);
+        Map<Address, List<Integer>> memberPartitionsMap = partitionService.getMemberPartitionsMap();
+
+        List<CompletableFuture<Map<Integer, Object>>> futures = new ArrayList<>(memberPartitionsMap.size());
+        for (Entry<Address, List<Integer>> entry : memberPartitionsMap.entrySet()) {
+            List<Integer> partitionList = new ArrayList<>();
+            for (Integer partitionId : entry.getValue()) {
+                if (keysPerPartition.containsKey(partitionId)) {
+                    partitionList.add(partitionId);
+                }
+            }
+            if (partitionList.isEmpty()) {
+                continue;
+            }
+            int[] partitions = new int[partitionList.size()];
+            List<Data>[] keys = new List[partitions.length];
+            for (int i = 0; i < partitions.length; i++) {
+                partitions[i] = partitionList.get(i);
+                keys[i] = keysPerPartition.get(partitions[i]);
+            }
+            futures.add(operationService.invokeOnPartitionsAsync(SERVICE_NAME, factoryFn.apply(partitions, keys),
+                    singletonMap(entry.getKey(), partitionList)));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<Object> responses = new ArrayList<>(keysPerPartition.size());
+            for (CompletableFuture<Map<Integer, Object>> future : futures) {
+                responses.addAll(future.join().values());
+            }
+            return responses;
+        });
+    }
+
     private Map<Integer, List<Data>> getPartitionIdToKeysMap(Iterable<Data> keys) {
         if (keys == null) {
             return Collections.emptyMap();
@@ -1269,29 +1377,36 @@ abstract class MapProxySupport<K, V>
         if (dataKeys.isEmpty()) {
             toDataCollectionWithNonNullKeyValidation(keys, dataKeys);
         }
-        Collection<Integer> partitionsForKeys = getPartitionsForKeys(dataKeys);
-        OperationFactory operationFactory = operationProvider.createMultipleEntryOperationFactory(name, dataKeys,
-                entryProcessor);
+        CompletableFuture<Collection<Object>> future;
+        if (isMemberBatchingSupported()) {
+            future = invokeOnKeyOwnersAsync(dataKeys, (partitions, partitionKeys) ->
+                    operationProvider.createMultipleEntryOperationFactory(name, partitions, partitionKeys, entryProcessor));
+        } else {
+            Collection<Integer> partitionsForKeys = getPartitionsForKeys(dataKeys);
+            OperationFactory operationFactory = operationProvider.createMultipleEntryOperationFactory(name, dataKeys,
+                    entryProcessor);
+            future = operationService.invokeOnPartitionsAsync(SERVICE_NAME, operationFactory, partitionsForKeys)
+                    .thenApply(Map::values);
+        }
 
         final InternalCompletableFuture resultFuture = new InternalCompletableFuture();
-        operationService.invokeOnPartitionsAsync(SERVICE_NAME, operationFactory, partitionsForKeys)
-                .whenCompleteAsync((response, throwable) -> {
-                    if (throwable == null) {
-                        Map<K, Object> result = null;
-                        try {
-                            result = createHashMap(response.size());
-                            for (Object object : response.values()) {
-                                MapEntries mapEntries = (MapEntries) object;
-                                mapEntries.putAllToMap(serializationService, result);
-                            }
-                        } catch (Throwable e) {
-                            resultFuture.completeExceptionally(e);
-                        }
-                        resultFuture.complete(result);
-                    } else {
-                        resultFuture.completeExceptionally(throwable);
+        future.whenCompleteAsync((response, throwable) -> {
+            if (throwable == null) {
+                Map<K, Object> result = null;
+                try {
+                    result = createHashMap(dataKeys.size());
+                    for (Object object : response) {
+                        MapEntries mapEntries = (MapEntries) object;
+                        mapEntries.putAllToMap(serializationService, result);
                     }
-                }, ConcurrencyUtil.getDefaultAsyncExecutor());
+                } catch (Throwable e) {
+                    resultFuture.completeExceptionally(e);
+                }
+                resultFuture.complete(result);
+            } else {
+                resultFuture.completeExceptionally(throwable);
+            }
+        }, ConcurrencyUtil.getDefaultAsyncExecutor());
         return resultFuture;
     }
 
@@ -85,7 +85,14 @@ public class QueryOperation extends AbstractNamedOperation implements ReadonlyOp
     private CallStatus callInternal() {
         QueryRunner queryRunner = getMapServiceContext().getMapQueryRunner(getName());
 
-        switch (getMapInMemoryFormat()) {
+        InMemoryFormat inMemoryFormat = getMapInMemoryFormat();
+        if (getMapServiceContext().getMapContainer(getName()).shouldUseOffHeapStorage()) {
+            // Off-heap storage may be rehashed or freed by the partition
+            // thread, scan it on the partition threads like NATIVE maps
+            inMemoryFormat = InMemoryFormat.NATIVE;
+        }
+
+        switch (inMemoryFormat) {
             case BINARY:
             case OBJECT:
                 result = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query);
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.OffHeapRecordLayout.NO_FIELD;
+
+/**
+ * Flyweight {@link Record} over an entry block kept in native memory by
+ * {@link OffHeapRecordFactory} and the off-heap storage.
+ * <p>
+ * A block stores the record metadata, the key bytes and the value bytes
+ * next to each other. The header starts with a fixed part:
+ * <pre>
+ * +---------+-----------+----------+----------+---------+---------+
+ * | int     | int       | int      | int      | int     | int     |
+ * | keySize | valueSize | capacity | position | keyHash | version |
+ * +---------+-----------+----------+----------+---------+---------+
+ * </pre>
+ * which is followed by the optional metadata of the block's
+ * {@link OffHeapRecordLayout}, then by the key and the value bytes.
+ * <p>
+ * A flyweight is valid only until the end of the partition operation which
+ * obtained it: removed and relocated blocks are released when the record
+ * store disposes its deferred blocks.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class OffHeapRecord implements Record<Data> {
+
+    /**
+     * Value of the position field of a block which is not yet linked into
+     * the storage.
+     */
+    public static final int UNLINKED = -1;
+
+    /**
+     * Value of the position field of a block which has been unlinked from the
+     * storage and waits to be released.
+     */
+    public static final int REMOVED = -2;
+
+    /**
+     * Value of the value-size field when the record has a {@code null} value.
+     */
+    public static final int NULL_VALUE_SIZE = -1;
+
+    static final int KEY_SIZE_OFFSET = 0;
+    static final int VALUE_SIZE_OFFSET = KEY_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+    static final int CAPACITY_OFFSET = VALUE_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+    static final int POSITION_OFFSET = CAPACITY_OFFSET + INT_SIZE_IN_BYTES;
+    static final int KEY_HASH_OFFSET = POSITION_OFFSET + INT_SIZE_IN_BYTES;
+    static final int VERSION_OFFSET = KEY_HASH_OFFSET + INT_SIZE_IN_BYTES;
+    static final int FIXED_HEADER_SIZE = VERSION_OFFSET + INT_SIZE_IN_BYTES;
+
+    private final OffHeapRecordLayout layout;
+    private long address;
+
+    public OffHeapRecord(long address, OffHeapRecordLayout layout) {
+        this.address = address;
+        this.layout = layout;
+    }
+
+    public long address() {
+        return address;
+    }
+
+    public OffHeapRecordLayout layout() {
+        return layout;
+    }
+
+    /**
+     * Points this flyweight to another block, used when
+     * the entry had to be relocated to fit a larger value.
+     */
+    public void reset(long address) {
+        this.address = address;
+    }
+
+    public static int keySize(long address) {
+        return MEM.getInt(address + KEY_SIZE_OFFSET);
+    }
+
+    public static int valueSize(long address) {
+        return MEM.getInt(address + VALUE_SIZE_OFFSET);
+    }
+
+    public static int capacity(long address) {
+        return MEM.getInt(address + CAPACITY_OFFSET);
+    }
+
+    public static int keyHash(long address) {
+        return MEM.getInt(address + KEY_HASH_OFFSET);
+    }
+
+    public static int position(long address) {
+        return MEM.getInt(address + POSITION_OFFSET);
+    }
+
+    public static void setPosition(long address, int position) {
+        MEM.putInt(address + POSITION_OFFSET, position);
+    }
+
+    @Override
+    public Data getValue() {
+        return layout.readValue(address);
+    }
+
+    /**
+     * Values of off-heap records are replaced by the storage, since a larger
+     * value may require relocating the whole block.
+     */
+    @Override
+    public void setValue(Data value) {
+        throw new UnsupportedOperationException("Off-heap record values can only be updated by their storage");
+    }
+
+    @Override
+    public long getCost() {
+        return capacity(address);
+    }
+
+    @Override
+    public int getVersion() {
+        return MEM.getInt(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        MEM.putInt(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return getTime(layout.lastAccessTimeOffset);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return getTime(layout.lastUpdateTimeOffset);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return getTime(layout.creationTimeOffset);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return getField(layout.hitsOffset);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        setField(layout.hitsOffset, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        if (layout.lastStoredTimeOffset == NO_FIELD) {
+            return UNSET;
+        }
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return layout.readerWriter;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return getField(layout.creationTimeOffset);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        setField(layout.creationTimeOffset, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return getField(layout.lastAccessTimeOffset);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        setField(layout.lastAccessTimeOffset, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return getField(layout.lastUpdateTimeOffset);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        setField(layout.lastUpdateTimeOffset, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return getField(layout.lastStoredTimeOffset);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        setField(layout.lastStoredTimeOffset, lastStoredTime);
+    }
+
+    private long getTime(int offset) {
+        return offset == NO_FIELD ? UNSET : recomputeWithBaseTime(MEM.getInt(address + offset));
+    }
+
+    private int getField(int offset) {
+        return offset == NO_FIELD ? UNSET : MEM.getInt(address + offset);
+    }
+
+    private void setField(int offset, int value) {
+        if (offset != NO_FIELD) {
+            MEM.putInt(address + offset, value);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OffHeapRecord that = (OffHeapRecord) o;
+        return address == that.address && layout == that.layout;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapRecord{"
+                + "address=" + address
+                + ", layout=" + layout
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + ", creationTime=" + getRawCreationTime()
+                + '}';
+    }
+}
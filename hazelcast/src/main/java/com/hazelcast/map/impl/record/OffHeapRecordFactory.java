@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.SlabMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import java.util.Arrays;
+
+import static com.hazelcast.map.impl.record.OffHeapRecord.UNLINKED;
+import static com.hazelcast.map.impl.record.OffHeapRecord.capacity;
+import static com.hazelcast.map.impl.record.OffHeapRecord.position;
+
+/**
+ * Creates {@link OffHeapRecord}s whose key, value and metadata are
+ * allocated from a {@link SlabMemoryManager} owned by a single partition.
+ * All records of a factory share the same {@link OffHeapRecordLayout}.
+ * <p>
+ * A new record is not yet linked into the storage. Blocks of records
+ * which never get linked, e.g. because the operation creating them failed,
+ * are released by {@link #disposeUnlinkedRecords()}.
+ */
+public class OffHeapRecordFactory implements RecordFactory<Data> {
+
+    private static final int INITIAL_PENDING_CAPACITY = 4;
+
+    private final OffHeapRecordLayout layout;
+    private final SerializationService ss;
+    private final SlabMemoryManager memoryManager;
+
+    private long[] pendingAddresses = new long[INITIAL_PENDING_CAPACITY];
+    private int pendingCount;
+
+    public OffHeapRecordFactory(OffHeapRecordLayout layout, SerializationService ss,
+                                SlabMemoryManager memoryManager) {
+        this.layout = layout;
+        this.ss = ss;
+        this.memoryManager = memoryManager;
+    }
+
+    public SlabMemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    public OffHeapRecordLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public Record<Data> newRecord(Data key, Object value) {
+        long address = allocateBlock(key, ss.toData(value));
+        addUnlinkedBlock(address);
+        return newFlyweight(address);
+    }
+
+    /**
+     * @return a flyweight record over the given block of this factory
+     */
+    public OffHeapRecord newFlyweight(long address) {
+        return new OffHeapRecord(address, layout);
+    }
+
+    /**
+     * Registers a block which is not linked into the storage yet, so it gets
+     * released by {@link #disposeUnlinkedRecords()} if it never will be.
+     */
+    public void addUnlinkedBlock(long address) {
+        if (pendingCount == pendingAddresses.length) {
+            pendingAddresses = Arrays.copyOf(pendingAddresses, pendingCount * 2);
+        }
+        pendingAddresses[pendingCount++] = address;
+    }
+
+    /**
+     * Allocates and initializes a block for the given key and value. The
+     * caller is responsible for linking or releasing the returned block.
+     *
+     * @return address of the new block
+     */
+    public long allocateBlock(Data key, Data value) {
+        int keySize = key.totalSize();
+        int valueSize = value == null ? 0 : value.totalSize();
+        int capacity = (int) SlabMemoryManager.blockSizeOf(layout.requiredSize(keySize, valueSize));
+        long address = memoryManager.getAllocator().allocate(capacity);
+        layout.initBlock(address, capacity, key, value);
+        return address;
+    }
+
+    /**
+     * Releases the given block back to the memory manager.
+     */
+    public void freeBlock(long address) {
+        memoryManager.getAllocator().free(address, capacity(address));
+    }
+
+    /**
+     * Releases the blocks of the records created by this factory which
+     * have not been linked into the storage.
+     */
+    public void disposeUnlinkedRecords() {
+        for (int i = 0; i < pendingCount; i++) {
+            long address = pendingAddresses[i];
+            if (position(address) == UNLINKED) {
+                freeBlock(address);
+            }
+            pendingAddresses[i] = MemoryAllocator.NULL_ADDRESS;
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Releases all the native memory used by the records of this factory.
+     */
+    public void dispose() {
+        pendingCount = 0;
+        memoryManager.dispose();
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_BYTE_BASE_OFFSET;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.map.impl.record.OffHeapRecord.CAPACITY_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.FIXED_HEADER_SIZE;
+import static com.hazelcast.map.impl.record.OffHeapRecord.KEY_HASH_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.NULL_VALUE_SIZE;
+import static com.hazelcast.map.impl.record.OffHeapRecord.POSITION_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.UNLINKED;
+import static com.hazelcast.map.impl.record.OffHeapRecord.VALUE_SIZE_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.capacity;
+import static com.hazelcast.map.impl.record.OffHeapRecord.keySize;
+import static com.hazelcast.map.impl.record.OffHeapRecord.valueSize;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_WITH_LFU_EVICTION_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER;
+
+/**
+ * Layouts of the blocks backing {@link OffHeapRecord}s. Like the on-heap
+ * record variants created by {@link DataRecordFactory}, a layout only
+ * reserves space for the metadata the map configuration actually needs:
+ * <ul>
+ *     <li>{@link #SIMPLE}: no per-entry statistics and no eviction</li>
+ *     <li>{@link #LRU}: last access time, for LRU eviction</li>
+ *     <li>{@link #LFU}: hits, for LFU eviction</li>
+ *     <li>{@link #STATS}: all statistics, when they are enabled</li>
+ * </ul>
+ * The optional fields follow the fixed part of the header and are followed
+ * by the key and the value bytes. Metadata missing from a layout reads as
+ * {@link Record#UNSET} and updates of it are ignored.
+ */
+public enum OffHeapRecordLayout {
+
+    /**
+     * Layout without optional metadata.
+     */
+    SIMPLE(SIMPLE_DATA_RECORD_READER_WRITER, false, false, false),
+    /**
+     * Layout with the last access time.
+     */
+    LRU(SIMPLE_DATA_RECORD_WITH_LRU_EVICTION_READER_WRITER, false, true, false),
+    /**
+     * Layout with the hit count.
+     */
+    LFU(SIMPLE_DATA_RECORD_WITH_LFU_EVICTION_READER_WRITER, true, false, false),
+    /**
+     * Layout with all the per-entry statistics.
+     */
+    STATS(DATA_RECORD_WITH_STATS_READER_WRITER, true, true, true);
+
+    /**
+     * Offset of a field which is not part of the layout.
+     */
+    static final int NO_FIELD = -1;
+
+    final int hitsOffset;
+    final int lastAccessTimeOffset;
+    final int lastUpdateTimeOffset;
+    final int creationTimeOffset;
+    final int lastStoredTimeOffset;
+    final RecordReaderWriter readerWriter;
+
+    private final int headerSize;
+
+    OffHeapRecordLayout(RecordReaderWriter readerWriter, boolean hits, boolean lastAccessTime, boolean stats) {
+        int offset = FIXED_HEADER_SIZE;
+        this.hitsOffset = fieldOffset(hits, offset);
+        offset += fieldSize(hits);
+        this.lastAccessTimeOffset = fieldOffset(lastAccessTime, offset);
+        offset += fieldSize(lastAccessTime);
+        this.lastUpdateTimeOffset = fieldOffset(stats, offset);
+        offset += fieldSize(stats);
+        this.creationTimeOffset = fieldOffset(stats, offset);
+        offset += fieldSize(stats);
+        this.lastStoredTimeOffset = fieldOffset(stats, offset);
+        offset += fieldSize(stats);
+        this.headerSize = offset;
+        this.readerWriter = readerWriter;
+    }
+
+    private static int fieldOffset(boolean present, int offset) {
+        return present ? offset : NO_FIELD;
+    }
+
+    private static int fieldSize(boolean present) {
+        return present ? INT_SIZE_IN_BYTES : 0;
+    }
+
+    /**
+     * Picks the layout matching the record variant {@link DataRecordFactory}
+     * would create for the same map.
+     *
+     * @param mapConfig   configuration of the map
+     * @param hasEviction {@code true} if the map has an evictor
+     * @return the layout to use for the records of the map
+     */
+    public static OffHeapRecordLayout of(MapConfig mapConfig, boolean hasEviction) {
+        if (mapConfig.isPerEntryStatsEnabled()) {
+            return STATS;
+        }
+        if (!hasEviction) {
+            return SIMPLE;
+        }
+        EvictionPolicy evictionPolicy = mapConfig.getEvictionConfig().getEvictionPolicy();
+        switch (evictionPolicy) {
+            case LRU:
+                return LRU;
+            case LFU:
+                return LFU;
+            case RANDOM:
+                return SIMPLE;
+            default:
+                return STATS;
+        }
+    }
+
+    /**
+     * @return size of the block header, the key bytes start right after it
+     */
+    public int headerSize() {
+        return headerSize;
+    }
+
+    /**
+     * @return the number of bytes a block needs to hold the given key and value sizes
+     */
+    public int requiredSize(int keySize, int valueSize) {
+        return headerSize + keySize + Math.max(valueSize, 0);
+    }
+
+    /**
+     * Writes the header, the key and the value of a freshly allocated block.
+     * Metadata fields are initialized in the same way as in {@link AbstractRecord}.
+     */
+    public void initBlock(long address, int capacity, Data key, Data value) {
+        byte[] keyBytes = key.toByteArray();
+        MEM.putInt(address + KEY_SIZE_OFFSET, keyBytes.length);
+        MEM.putInt(address + CAPACITY_OFFSET, capacity);
+        MEM.putInt(address + POSITION_OFFSET, UNLINKED);
+        MEM.putInt(address + KEY_HASH_OFFSET, key.hashCode());
+        initField(address, lastAccessTimeOffset);
+        initField(address, lastUpdateTimeOffset);
+        initField(address, creationTimeOffset);
+        initField(address, lastStoredTimeOffset);
+        MEM.copyFromByteArray(keyBytes, 0, address + headerSize, keyBytes.length);
+        writeValue(address, value);
+    }
+
+    private static void initField(long address, int offset) {
+        if (offset != NO_FIELD) {
+            MEM.putInt(address + offset, UNSET);
+        }
+    }
+
+    /**
+     * Copies the header and key of the {@code source} block into the
+     * {@code target} block and writes the given value after them.
+     */
+    public void relocate(long source, long target, int targetCapacity, Data value) {
+        MEM.copyMemory(source, target, headerSize + keySize(source));
+        MEM.putInt(target + CAPACITY_OFFSET, targetCapacity);
+        writeValue(target, value);
+    }
+
+    /**
+     * Overwrites the value bytes of the block, the block must have enough capacity.
+     */
+    public void writeValue(long address, Data value) {
+        if (value == null) {
+            MEM.putInt(address + VALUE_SIZE_OFFSET, NULL_VALUE_SIZE);
+            return;
+        }
+        byte[] valueBytes = value.toByteArray();
+        int valueSize = valueBytes == null ? 0 : valueBytes.length;
+        assert requiredSize(keySize(address), valueSize) <= capacity(address);
+        MEM.putInt(address + VALUE_SIZE_OFFSET, valueSize);
+        if (valueSize > 0) {
+            MEM.copyFromByteArray(valueBytes, 0, address + headerSize + keySize(address), valueSize);
+        }
+    }
+
+    /**
+     * @return on-heap copy of the key stored in the block
+     */
+    public Data readKey(long address) {
+        byte[] keyBytes = new byte[keySize(address)];
+        MEM.copyToByteArray(address + headerSize, keyBytes, 0, keyBytes.length);
+        return new HeapData(keyBytes);
+    }
+
+    /**
+     * Returns an on-heap copy of the value stored in the block. The copy is
+     * needed beyond the partition operation, e.g. it's shared by the client
+     * response frames, while the block may be released when the operation
+     * ends.
+     *
+     * @return on-heap copy of the value stored in the block
+     */
+    public Data readValue(long address) {
+        int valueSize = valueSize(address);
+        if (valueSize == NULL_VALUE_SIZE) {
+            return null;
+        }
+        byte[] valueBytes = new byte[valueSize];
+        MEM.copyToByteArray(address + headerSize + keySize(address), valueBytes, 0, valueSize);
+        return new HeapData(valueBytes);
+    }
+
+    /**
+     * Compares the key stored in the block with the given key
+     * byte-by-byte, without copying the stored key on-heap.
+     */
+    public boolean keyEquals(long address, Data key) {
+        byte[] keyBytes = key.toByteArray();
+        int size = keySize(address);
+        if (size != keyBytes.length) {
+            return false;
+        }
+        long keyAddress = address + headerSize;
+        int i = 0;
+        for (; i <= size - LONG_SIZE_IN_BYTES; i += LONG_SIZE_IN_BYTES) {
+            if (MEM.getLong(keyAddress + i) != MEM.getLong(keyBytes, ARRAY_BYTE_BASE_OFFSET + i)) {
+                return false;
+            }
+        }
+        for (; i < size; i++) {
+            if (MEM.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
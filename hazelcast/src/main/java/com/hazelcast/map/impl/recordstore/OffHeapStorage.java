@@ -0,0 +1,545 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.OffHeapRecord;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapRecordLayout;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.impl.SlabMemoryManager.blockSizeOf;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
+import static com.hazelcast.map.impl.record.OffHeapRecord.REMOVED;
+import static com.hazelcast.map.impl.record.OffHeapRecord.capacity;
+import static com.hazelcast.map.impl.record.OffHeapRecord.keyHash;
+import static com.hazelcast.map.impl.record.OffHeapRecord.keySize;
+import static com.hazelcast.map.impl.record.OffHeapRecord.position;
+import static com.hazelcast.map.impl.record.OffHeapRecord.setPosition;
+
+/**
+ * {@link Storage} which keeps keys, values and record metadata of a
+ * {@link InMemoryFormat#BINARY} map partition in native memory, so the
+ * heap usage and the GC cost do not grow with the size of the data.
+ * <p>
+ * Entries live in blocks created by {@link OffHeapRecordFactory}. The
+ * storage tracks them with two native tables:
+ * <ul>
+ * <li>the <i>entry table</i>, an array of block addresses. The position of
+ * an entry in this table never changes while the entry is present, which
+ * makes iteration stable across resizes. Free positions form an intrusive
+ * free-list and are reused by later insertions.</li>
+ * <li>the <i>index</i>, an open-addressing hash table with linear probing,
+ * whose slots hold the key hash and the position in the entry table.</li>
+ * </ul>
+ * All methods must be called from the partition thread owning the storage,
+ * except {@link #size()} and {@link #isEmpty()}. Blocks which are removed
+ * or relocated during an operation are released by {@link #disposeDeferredBlocks()},
+ * so the {@link OffHeapRecord} flyweights handed out stay valid until the
+ * end of the operation.
+ */
+@SuppressWarnings({"checkstyle:methodcount", "checkstyle:classfanoutcomplexity"})
+public class OffHeapStorage implements Storage<Data, Record> {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final float INDEX_LOAD_FACTOR = 0.6f;
+    private static final int INDEX_SLOT_SIZE = 2 * INT_SIZE_IN_BYTES;
+    private static final int INDEX_SLOT_POSITION_OFFSET = INT_SIZE_IN_BYTES;
+    private static final int NO_FREE_POSITION = -1;
+    private static final int INITIAL_DEFERRED_CAPACITY = 4;
+
+    private final OffHeapRecordFactory recordFactory;
+    private final OffHeapRecordLayout layout;
+    private final MemoryAllocator malloc;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+
+    private long index;
+    private int indexCapacity;
+    private long entries;
+    private int entriesCapacity;
+    private int highWaterMark;
+    private int freePosition = NO_FREE_POSITION;
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Only the partition thread updates the size, other threads may only read it.")
+    private volatile int size;
+    private long[] deferredAddresses = new long[INITIAL_DEFERRED_CAPACITY];
+    private int deferredCount;
+    private boolean destroyed;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator;
+
+    public OffHeapStorage(OffHeapRecordFactory recordFactory, ExpirySystem expirySystem,
+                          SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.layout = recordFactory.getLayout();
+        this.malloc = recordFactory.getMemoryManager().getAllocator();
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        this.entryCostEstimator = createMapSizeEstimator(InMemoryFormat.BINARY);
+        allocateTables(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        OffHeapRecord offHeapRecord = record instanceof OffHeapRecord
+                ? (OffHeapRecord) record
+                : copyToBlock(key, record);
+        long address = offHeapRecord.address();
+
+        int hash = key.hashCode();
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            int position = slotPosition(slot);
+            long previous = entryAddress(position);
+            if (previous == address) {
+                return;
+            }
+            updateCostEstimate(capacity(address) - capacity(previous));
+            unlink(previous);
+            setEntryAddress(position, address);
+            setPosition(address, position);
+            return;
+        }
+
+        int position = acquirePosition();
+        setEntryAddress(position, address);
+        setPosition(address, position);
+        insertSlot(-slot - 1, hash, position);
+        size++;
+        updateCostEstimate(entryCostEstimator.calculateEntryCost(key, offHeapRecord));
+        if (size > indexCapacity * INDEX_LOAD_FACTOR) {
+            rehash(indexCapacity << 1);
+        }
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        OffHeapRecord offHeapRecord = (OffHeapRecord) record;
+        Data dataValue = serializationService.toData(value);
+        long address = offHeapRecord.address();
+        int valueSize = dataValue == null ? 0 : dataValue.totalSize();
+        if (layout.requiredSize(keySize(address), valueSize) <= capacity(address)) {
+            layout.writeValue(address, dataValue);
+            return record;
+        }
+
+        int newCapacity = (int) blockSizeOf(layout.requiredSize(keySize(address), valueSize));
+        long newAddress = malloc.allocate(newCapacity);
+        layout.relocate(address, newAddress, newCapacity, dataValue);
+        int position = position(address);
+        if (position >= 0) {
+            setEntryAddress(position, newAddress);
+            updateCostEstimate(newCapacity - capacity(address));
+            unlink(address);
+        } else {
+            // not linked yet, the new block replaces the pending one
+            recordFactory.addUnlinkedBlock(newAddress);
+            unlink(address);
+        }
+        offHeapRecord.reset(newAddress);
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        int slot = findSlot(key, key.hashCode());
+        return slot < 0 ? null : recordFactory.newFlyweight(entryAddress(slotPosition(slot)));
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("OffHeapStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        int slot = findSlot(dataKey, dataKey.hashCode());
+        if (slot < 0) {
+            return;
+        }
+        int position = slotPosition(slot);
+        long address = entryAddress(position);
+        deleteSlot(slot);
+        releasePosition(position);
+        size--;
+        updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, recordFactory.newFlyweight(address)));
+        unlink(address);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findSlot(key, key.hashCode()) >= 0;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        if (destroyed) {
+            return;
+        }
+        disposeDeferredBlocks();
+        for (int position = 0; position < highWaterMark; position++) {
+            long address = entryAddress(position);
+            if (isLive(address)) {
+                recordFactory.freeBlock(address);
+            }
+        }
+        MEM.setMemory(index, (long) indexCapacity * INDEX_SLOT_SIZE, (byte) 0);
+        highWaterMark = 0;
+        freePosition = NO_FREE_POSITION;
+        size = 0;
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        if (destroyed) {
+            return;
+        }
+        clear(isDuringShutdown);
+        destroyed = true;
+        index = MemoryAllocator.NULL_ADDRESS;
+        entries = MemoryAllocator.NULL_ADDRESS;
+        indexCapacity = 0;
+        entriesCapacity = 0;
+        recordFactory.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        if (destroyed) {
+            return;
+        }
+        recordFactory.disposeUnlinkedRecords();
+        for (int i = 0; i < deferredCount; i++) {
+            recordFactory.freeBlock(deferredAddresses[i]);
+        }
+        deferredCount = 0;
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(Math.min(sampleCount, size));
+        int start = ThreadLocalRandomProvider.get().nextInt(highWaterMark);
+        for (int i = 0; i < highWaterMark && samples.size() < sampleCount; i++) {
+            long address = entryAddress((start + i) % highWaterMark);
+            if (isLive(address)) {
+                Data key = layout.readKey(address);
+                samples.add(new LazyEvictableEntryView<>(key, recordFactory.newFlyweight(address),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, address -> keys.add(layout.readKey(address)));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                address -> entries.add(new AbstractMap.SimpleEntry<>(layout.readKey(address),
+                        layout.readValue(address))));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Walks the entry table from the highest position downwards. Positions
+     * are stable, so a single pointer is enough to resume the iteration.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, AddressConsumer consumer) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        IterationPointer[] newPointers = new IterationPointer[]{new IterationPointer(lastPointer)};
+        int position = Math.min(lastPointer.getIndex(), highWaterMark - 1);
+        int counter = 0;
+        while (position >= 0 && counter < size) {
+            long address = entryAddress(position--);
+            if (isLive(address)) {
+                consumer.accept(address);
+                counter++;
+            }
+        }
+        newPointers[0].setIndex(position);
+        return newPointers;
+    }
+
+    private OffHeapRecord copyToBlock(Data key, Record record) {
+        long address = recordFactory.allocateBlock(key, serializationService.toData(record.getValue()));
+        OffHeapRecord offHeapRecord = recordFactory.newFlyweight(address);
+        Records.copyMetadataFrom(record, offHeapRecord);
+        return offHeapRecord;
+    }
+
+    private void unlink(long address) {
+        setPosition(address, REMOVED);
+        if (deferredCount == deferredAddresses.length) {
+            deferredAddresses = Arrays.copyOf(deferredAddresses, deferredCount * 2);
+        }
+        deferredAddresses[deferredCount++] = address;
+    }
+
+    private void updateCostEstimate(long adjustment) {
+        entryCostEstimator.adjustEstimateBy(adjustment);
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+    // entry table
+    // -------------------------------------------------------------------------------------------------------------
+
+    private static boolean isLive(long slotValue) {
+        // free positions are encoded as odd numbers, block addresses are always even
+        return (slotValue & 1L) == 0;
+    }
+
+    private long entryAddress(int position) {
+        return MEM.getLong(entries + (long) position * LONG_SIZE_IN_BYTES);
+    }
+
+    private void setEntryAddress(int position, long address) {
+        MEM.putLong(entries + (long) position * LONG_SIZE_IN_BYTES, address);
+    }
+
+    private int acquirePosition() {
+        if (freePosition != NO_FREE_POSITION) {
+            int position = freePosition;
+            freePosition = (int) (entryAddress(position) >> 1);
+            return position;
+        }
+        if (highWaterMark == entriesCapacity) {
+            int newCapacity = entriesCapacity << 1;
+            entries = malloc.reallocate(entries, (long) entriesCapacity * LONG_SIZE_IN_BYTES,
+                    (long) newCapacity * LONG_SIZE_IN_BYTES);
+            entriesCapacity = newCapacity;
+        }
+        return highWaterMark++;
+    }
+
+    private void releasePosition(int position) {
+        setEntryAddress(position, ((long) freePosition << 1) | 1L);
+        freePosition = position;
+    }
+
+    // -------------------------------------------------------------------------------------------------------------
+    // index
+    // -------------------------------------------------------------------------------------------------------------
+
+    private void allocateTables(int capacity) {
+        indexCapacity = capacity;
+        index = malloc.allocate((long) capacity * INDEX_SLOT_SIZE);
+        entriesCapacity = capacity;
+        entries = malloc.allocate((long) capacity * LONG_SIZE_IN_BYTES);
+    }
+
+    private long slotAddress(int slot) {
+        return index + (long) slot * INDEX_SLOT_SIZE;
+    }
+
+    private int slotHash(int slot) {
+        return MEM.getInt(slotAddress(slot));
+    }
+
+    private int slotPosition(int slot) {
+        return MEM.getInt(slotAddress(slot) + INDEX_SLOT_POSITION_OFFSET) - 1;
+    }
+
+    private boolean isSlotEmpty(int slot) {
+        return MEM.getInt(slotAddress(slot) + INDEX_SLOT_POSITION_OFFSET) == 0;
+    }
+
+    private int homeSlot(int hash) {
+        return fastIntMix(hash) & (indexCapacity - 1);
+    }
+
+    /**
+     * @return the slot of the key if found, otherwise
+     * {@code -(insertionSlot + 1)}
+     */
+    private int findSlot(Data key, int hash) {
+        int mask = indexCapacity - 1;
+        int slot = homeSlot(hash);
+        while (!isSlotEmpty(slot)) {
+            if (slotHash(slot) == hash && layout.keyEquals(entryAddress(slotPosition(slot)), key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void insertSlot(int slot, int hash, int position) {
+        long slotAddress = slotAddress(slot);
+        MEM.putInt(slotAddress, hash);
+        MEM.putInt(slotAddress + INDEX_SLOT_POSITION_OFFSET, position + 1);
+    }
+
+    /**
+     * Backward-shift deletion: moves the following entries of the probe
+     * sequence back, so no tombstones are needed.
+     */
+    private void deleteSlot(int slot) {
+        int mask = indexCapacity - 1;
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (isSlotEmpty(next)) {
+                break;
+            }
+            int home = homeSlot(slotHash(next));
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                MEM.copyMemory(slotAddress(next), slotAddress(gap), INDEX_SLOT_SIZE);
+                gap = next;
+            }
+        }
+        MEM.putLong(slotAddress(gap), 0L);
+    }
+
+    private void rehash(int newCapacity) {
+        long oldIndex = index;
+        int oldCapacity = indexCapacity;
+        index = malloc.allocate((long) newCapacity * INDEX_SLOT_SIZE);
+        indexCapacity = newCapacity;
+        for (int position = 0; position < highWaterMark; position++) {
+            long address = entryAddress(position);
+            if (isLive(address)) {
+                int hash = keyHash(address);
+                int mask = indexCapacity - 1;
+                int slot = homeSlot(hash);
+                while (!isSlotEmpty(slot)) {
+                    slot = (slot + 1) & mask;
+                }
+                insertSlot(slot, hash, position);
+            }
+        }
+        malloc.free(oldIndex, (long) oldCapacity * INDEX_SLOT_SIZE);
+    }
+
+    @FunctionalInterface
+    private interface AddressConsumer {
+        void accept(long address);
+    }
+
+    /**
+     * Weakly consistent iterator over the entry table: entries present for
+     * the whole iteration are returned exactly once, entries added or removed
+     * meanwhile may or may not be returned.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private int nextPosition;
+        private long nextAddress = MemoryAllocator.NULL_ADDRESS;
+
+        @Override
+        public boolean hasNext() {
+            if (nextAddress != MemoryAllocator.NULL_ADDRESS) {
+                return true;
+            }
+            while (!destroyed && nextPosition < highWaterMark) {
+                long address = entryAddress(nextPosition++);
+                if (isLive(address)) {
+                    nextAddress = address;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long address = nextAddress;
+            nextAddress = MemoryAllocator.NULL_ADDRESS;
+            return new AbstractMap.SimpleImmutableEntry<>(layout.readKey(address), recordFactory.newFlyweight(address));
+        }
+    }
+}
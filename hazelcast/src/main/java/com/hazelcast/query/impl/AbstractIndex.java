@@ -61,6 +61,7 @@ public abstract class AbstractIndex implements InternalIndex {
     private final String[] components;
     private final IndexConfig config;
     private final boolean ordered;
+    private final boolean covering;
     private final PerIndexStats stats;
 
     private volatile TypeConverter converter;
@@ -78,6 +79,7 @@ public abstract class AbstractIndex implements InternalIndex {
         this.config = config;
         this.components = IndexUtils.getComponents(config);
         this.ordered = config.getType() == IndexType.SORTED;
+        this.covering = config.isCoveringEnabled();
         this.ss = ss;
         this.extractors = extractors;
         this.copyBehavior = copyBehavior;
@@ -132,12 +134,23 @@ public abstract class AbstractIndex implements InternalIndex {
         }
 
         Object newAttributeValue = extractAttributeValue(newEntry);
+        if (covering) {
+            coverAttributeValue(entryToStore, newAttributeValue);
+        }
         if (oldEntry == null) {
             indexStore.insert(newAttributeValue, newEntry, entryToStore, operationStats);
+            if (covering) {
+                operationStats.onMemoryCostChanged(coveredAttributesCost(newAttributeValue));
+            }
             stats.onInsert(timestamp, operationStats, operationSource);
         } else {
             Object oldAttributeValue = extractAttributeValue(oldEntry);
             indexStore.update(oldAttributeValue, newAttributeValue, newEntry, entryToStore, operationStats);
+            if (covering) {
+                // the entry stored before, with its covered attributes, is replaced
+                operationStats.onMemoryCostChanged(coveredAttributesCost(newAttributeValue)
+                        - coveredAttributesCost(oldAttributeValue));
+            }
             stats.onUpdate(timestamp, operationStats, operationSource);
         }
     }
@@ -149,6 +162,9 @@ public abstract class AbstractIndex implements InternalIndex {
 
         Object attributeValue = extractAttributeValue(entry);
         indexStore.remove(attributeValue, entry, operationStats);
+        if (covering) {
+            operationStats.onMemoryCostChanged(-coveredAttributesCost(attributeValue));
+        }
         stats.onRemove(timestamp, operationStats, operationSource);
     }
 
@@ -331,6 +347,37 @@ public abstract class AbstractIndex implements InternalIndex {
         }
     }
 
+    /**
+     * Makes the given entry to be stored answer the index components from
+     * the already extracted attribute value, so the index results may be
+     * projected and aggregated on these attributes without deserialization.
+     * Only done if the index is configured to cover its attributes, see
+     * {@link IndexConfig#setCoveringEnabled(boolean)}.
+     * Must be called before the attribute value is sanitized by the index
+     * store: sanitization replaces the components of composite values.
+     */
+    private void coverAttributeValue(QueryableEntry entryToStore, Object attributeValue) {
+        if (components.length == 1) {
+            if (!(attributeValue instanceof MultiResult)) {
+                entryToStore.coverAttribute(components[0], attributeValue);
+            }
+        } else {
+            Comparable[] valueComponents = ((CompositeValue) attributeValue).getComponents();
+            for (int i = 0; i < components.length; ++i) {
+                entryToStore.coverAttribute(components[i], valueComponents[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the memory cost of the attributes covered for the given
+     * attribute value, see {@link #coverAttributeValue}.
+     */
+    private long coveredAttributesCost(Object attributeValue) {
+        int attributeCount = components.length == 1 && attributeValue instanceof MultiResult ? 0 : components.length;
+        return IndexHeapMemoryCostUtil.estimateCoveredAttributesCost(attributeCount);
+    }
+
     /**
      * Note: the fact that the given value is of type Comparable doesn't mean
      * that this value is of the same type as the one that's stored in the index,
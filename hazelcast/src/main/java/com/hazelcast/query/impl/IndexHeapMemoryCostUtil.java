@@ -47,6 +47,7 @@ public final class IndexHeapMemoryCostUtil {
     private static final int CONCURRENT_SKIP_LIST_MAP_ENTRY_COST = 24;
     private static final int QUERY_ENTRY_COST = 32;
     private static final int CACHED_QUERYABLE_ENTRY_COST = 40;
+    private static final int REFERENCE_COST = 4;
 
     private static final Map<Class, Integer> KNOWN_FINAL_CLASSES_COSTS;
 
@@ -150,4 +151,18 @@ public final class IndexHeapMemoryCostUtil {
         return mapCost + queryableEntriesCost;
     }
 
+    /**
+     * Estimates the on-heap memory cost of the attributes covered by an index
+     * on an indexed entry: the name and the value references. The values are
+     * the ones the index stores, the header of the array holding the
+     * references is shared by all the covering indexes of the entry and isn't
+     * accounted.
+     *
+     * @param attributeCount the number of the attributes covered.
+     * @return the estimated cost of the covered attributes.
+     */
+    public static long estimateCoveredAttributesCost(int attributeCount) {
+        return 2L * REFERENCE_COST * attributeCount;
+    }
+
 }
@@ -37,6 +37,7 @@ import static com.hazelcast.internal.config.DomConfigHelper.childElementWithName
 import static com.hazelcast.internal.config.DomConfigHelper.childElements;
 import static com.hazelcast.internal.config.DomConfigHelper.cleanNodeName;
 import static com.hazelcast.internal.config.DomConfigHelper.getAttribute;
+import static com.hazelcast.internal.config.DomConfigHelper.getBooleanValue;
 import static com.hazelcast.internal.config.DomConfigHelper.getTextContent;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.StringUtil.equalsIgnoreCase;
@@ -122,6 +123,7 @@ public final class IndexUtils {
 
         IndexConfig normalizedConfig =
             buildNormalizedConfig(mapName, config.getType(), name, normalizedAttributeNames, config.getBTreeIndexConfig());
+        normalizedConfig.setCoveringEnabled(config.isCoveringEnabled());
 
         if (config.getType() == IndexType.BITMAP) {
             String uniqueKey = config.getBitmapIndexOptions().getUniqueKey();
@@ -274,9 +276,10 @@ public final class IndexUtils {
         gen.open("indexes");
         for (IndexConfig indexCfg : indexConfigs) {
             if (indexCfg.getName() != null) {
-                gen.open("index", "name", indexCfg.getName(), "type", indexCfg.getType().name());
+                gen.open("index", "name", indexCfg.getName(), "type", indexCfg.getType().name(),
+                        "covering-enabled", indexCfg.isCoveringEnabled());
             } else {
-                gen.open("index", "type", indexCfg.getType().name());
+                gen.open("index", "type", indexCfg.getType().name(), "covering-enabled", indexCfg.isCoveringEnabled());
             }
 
             gen.open("attributes");
@@ -326,6 +329,7 @@ public final class IndexUtils {
         IndexType type = getIndexTypeFromXmlName(typeStr);
 
         IndexConfig res = new IndexConfig().setName(name).setType(type);
+        res.setCoveringEnabled(isCoveringEnabled(attrs, domLevel3));
 
         for (Node attributesNode : childElements(indexNode)) {
             if ("attributes".equals(cleanNodeName(attributesNode))) {
@@ -371,6 +375,11 @@ public final class IndexUtils {
         return res;
     }
 
+    private static boolean isCoveringEnabled(NamedNodeMap attrs, boolean domLevel3) {
+        Node coveringEnabledNode = attrs.getNamedItem("covering-enabled");
+        return coveringEnabledNode != null && getBooleanValue(getTextContent(coveringEnabledNode, domLevel3));
+    }
+
     private static Capacity getCapacity(Node node, boolean domLevel3) {
         if (node == null) {
             return null;
@@ -413,6 +422,7 @@ public final class IndexUtils {
 
         IndexType type = getIndexTypeFromXmlName(typeStr);
         IndexConfig res = new IndexConfig().setName(name).setType(type);
+        res.setCoveringEnabled(isCoveringEnabled(attrs, domLevel3));
 
         Node attributesNode = attrs.getNamedItem("attributes");
         for (Node attributeNode : childElements(attributesNode)) {
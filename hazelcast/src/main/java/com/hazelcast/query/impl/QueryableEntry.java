@@ -21,6 +21,7 @@ import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.json.Json;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.QueryException;
@@ -28,8 +29,10 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.getters.ReflectionHelper;
 
+import java.util.Arrays;
 import java.util.Map;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
 import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
 import static com.hazelcast.query.impl.TypeConverters.IDENTITY_CONVERTER;
@@ -49,6 +52,16 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     protected Record record;
     private transient JsonMetadata metadata;
 
+    /**
+     * Attribute values captured by the covering indexes storing this entry;
+     * {@code null} if no covering index stored this entry, see
+     * {@link com.hazelcast.config.IndexConfig#setCoveringEnabled(boolean)}.
+     * Not volatile: the indexes publish the entry after covering it, and a
+     * reader racing with another covering index sees either instance, whose
+     * contents are safely published through its final field.
+     */
+    private transient CoveredAttributes coveredAttributes;
+
     public Record getRecord() {
         return record;
     }
@@ -59,9 +72,50 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     @Override
     public Object getAttributeValue(String attributeName) throws QueryException {
+        CoveredAttributes covered = coveredAttributes;
+        if (covered != null) {
+            Object[] namesAndValues = covered.namesAndValues;
+            for (int i = 0; i < namesAndValues.length; i += 2) {
+                if (namesAndValues[i].equals(attributeName)) {
+                    return namesAndValues[i + 1];
+                }
+            }
+        }
         return extractAttributeValue(attributeName);
     }
 
+    /**
+     * Remembers the value of the given attribute extracted by an index
+     * storing this entry, so the projections and aggregations running on the
+     * index results may read it without extracting it again, which would
+     * deserialize the key or the value of this entry.
+     * <p>
+     * Called by the indexes while storing this entry. The stored entries are
+     * not shared between updates of the same key, so the remembered values
+     * never go stale.
+     *
+     * @param attributeName the name of the attribute.
+     * @param value         the value of the attribute extracted from this
+     *                      entry.
+     */
+    void coverAttribute(String attributeName, Object value) {
+        CoveredAttributes covered = coveredAttributes;
+        if (covered == null) {
+            coveredAttributes = new CoveredAttributes(new Object[]{attributeName, value});
+            return;
+        }
+        Object[] namesAndValues = covered.namesAndValues;
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (namesAndValues[i].equals(attributeName)) {
+                return;
+            }
+        }
+        Object[] newNamesAndValues = Arrays.copyOf(namesAndValues, namesAndValues.length + 2);
+        newNamesAndValues[namesAndValues.length] = attributeName;
+        newNamesAndValues[namesAndValues.length + 1] = value;
+        coveredAttributes = new CoveredAttributes(newNamesAndValues);
+    }
+
     public abstract K getKey();
 
     public abstract Data getKeyData();
@@ -121,6 +175,39 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         return result;
     }
 
+    /**
+     * Compares the value of the given attribute with the given value directly
+     * on the serialized Compact data of the key or the value of the entry,
+     * without deserializing it or extracting the attribute.
+     * <p>
+     * Only top-level fields without a custom extractor can be compared in
+     * place, see {@link CompactFieldComparator} for the supported field kinds.
+     *
+     * @param entry         the entry to read the attribute of
+     * @param attributeName the name of the attribute
+     * @param value         the value to compare the attribute value with
+     * @return a negative number, zero or a positive number as the attribute
+     * value is less than, equal to or greater than the given value, or
+     * {@link CompactFieldComparator#NOT_COMPARABLE} if the attribute has to be
+     * extracted to be compared
+     */
+    public static int compareAttributeInPlace(QueryableEntry<?, ?> entry, String attributeName, Comparable value) {
+        if (value == null || attributeName.indexOf('[') >= 0) {
+            return NOT_COMPARABLE;
+        }
+        boolean isKey = startsWithKeyConstant(attributeName);
+        attributeName = getAttributeName(isKey, attributeName);
+        if (attributeName.indexOf('.') >= 0 || THIS_ATTRIBUTE_NAME.value().equals(attributeName)
+                || KEY_ATTRIBUTE_NAME.value().equals(attributeName)) {
+            return NOT_COMPARABLE;
+        }
+        Object target = entry.getTargetObject(isKey);
+        if (!(target instanceof Data) || !((Data) target).isCompact() || entry.extractors.hasExtractor(attributeName)) {
+            return NOT_COMPARABLE;
+        }
+        return entry.serializationService.compareCompactField((Data) target, attributeName, value);
+    }
+
     /**
      * Optimized version of the other extractAttributeValueIfAttributeQueryConstant() method that uses getKey() and
      * getValue() calls that may cache their results internally - like in CachedQueryEntry.
@@ -177,4 +264,14 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         this.metadata = metadata;
     }
 
+    /**
+     * Immutable alternating attribute names and values.
+     */
+    private static final class CoveredAttributes {
+        private final Object[] namesAndValues;
+
+        CoveredAttributes(Object[] namesAndValues) {
+            this.namesAndValues = namesAndValues;
+        }
+    }
 }
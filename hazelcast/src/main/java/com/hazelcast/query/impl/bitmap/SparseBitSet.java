@@ -42,10 +42,12 @@ import static java.util.Arrays.copyOf;
  * the low 16 bits.
  * </ul>
  * <p>
- * {@link Storage16 Storage16} also goes in two flavors:
+ * {@link Storage16 Storage16} goes in three flavors:
  * <ul>
  * <li>{@link ArrayStorage16 ArrayStorage16} which manages sorted short array of
  * 16-bit postfixes.
+ * <li>{@link RunStorage16 RunStorage16} which manages sorted short array of
+ * runs of consecutive 16-bit postfixes.
  * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
  * long array of bits.
  * </ul>
@@ -71,6 +73,14 @@ final class SparseBitSet {
      */
     public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
 
+    /**
+     * The number of runs at which RunStorage16 is converted to
+     * BitSetStorage16. At this number the memory cost of having sorted array
+     * of runs is equal to the cost of having directly indexable long array of
+     * bits.
+     */
+    public static final int RUN_STORAGE_16_MAX_RUNS = 2048;
+
     private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
     private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
     private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
@@ -823,6 +833,28 @@ final class SparseBitSet {
             this.members = members;
         }
 
+        /**
+         * Constructs a new storage by converting from the given {@link
+         * RunStorage16} data.
+         */
+        ArrayStorage16(short[] runs, int runCount, int size) {
+            assert size < ARRAY_STORAGE_16_MAX_SIZE;
+            this.size = size;
+
+            short[] members = new short[Math.min(ARRAY_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(size))];
+            int index = 0;
+            for (int i = 0; i < runCount; ++i) {
+                int start = toUnsignedInt(runs[i << 1]);
+                int end = start + toUnsignedInt(runs[(i << 1) + 1]);
+                for (int member = start; member <= end; ++member) {
+                    members[index++] = (short) member;
+                }
+            }
+            assert index == size;
+
+            this.members = members;
+        }
+
         @Override
         public Storage16 add(short member) {
             int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
@@ -836,6 +868,12 @@ final class SparseBitSet {
                 // No space left: try to grow members array.
 
                 if (size == ARRAY_STORAGE_16_MAX_SIZE) {
+                    // Members of bitmap indexes are mostly appended in
+                    // ascending order, prefer runs if they are cheaper.
+                    if (countRuns(members, size) * 2 <= size) {
+                        RunStorage16 runStorage = new RunStorage16(members, size);
+                        return runStorage.add(member);
+                    }
                     return new BitSetStorage16(members, member, index);
                 }
 
@@ -946,6 +984,16 @@ final class SparseBitSet {
             return true;
         }
 
+        private static int countRuns(short[] members, int size) {
+            int runs = 1;
+            for (int i = 1; i < size; ++i) {
+                if (toUnsignedInt(members[i]) != toUnsignedInt(members[i - 1]) + 1) {
+                    ++runs;
+                }
+            }
+            return runs;
+        }
+
         /**
          * Appends the given member to this storage. The given member must be
          * greater than any member already known by this storage.
@@ -994,6 +1042,20 @@ final class SparseBitSet {
             this.size = members.length + 1;
         }
 
+        /**
+         * Constructs a new bit set storage for the given runs.
+         */
+        BitSetStorage16(short[] runs, int runCount, int size) {
+            for (int i = 0; i < runCount; ++i) {
+                int start = toUnsignedInt(runs[i << 1]);
+                int end = start + toUnsignedInt(runs[(i << 1) + 1]);
+                for (int member = start; member <= end; ++member) {
+                    members[member >>> BIT_SET_LONG_SHIFT] |= 1L << member;
+                }
+            }
+            this.size = size;
+        }
+
         @Override
         public Storage16 add(short member) {
             int bitIndex = toUnsignedInt(member);
@@ -1102,6 +1164,220 @@ final class SparseBitSet {
 
     }
 
+    /**
+     * Manages sorted short array of runs of set bits. Each run is stored as
+     * its first member followed by its length minus one.
+     */
+    private static final class RunStorage16 implements Storage16 {
+
+        private static final int MIN_CAPACITY = 2;
+
+        // the number of runs
+        private int runCount;
+        // the number of members
+        private int size;
+        private short[] runs;
+
+        /**
+         * Constructs a new run storage for the given sorted members array.
+         */
+        RunStorage16(short[] members, int size) {
+            this.runs = new short[MIN_CAPACITY << 1];
+            for (int i = 0; i < size; ++i) {
+                int member = toUnsignedInt(members[i]);
+                if (runCount != 0 && member == end(runCount - 1) + 1) {
+                    ++runs[(runCount << 1) - 1];
+                } else {
+                    insertRun(runCount, member, member);
+                }
+            }
+            this.size = size;
+        }
+
+        @Override
+        public Storage16 add(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember, 0);
+            if (run >= 0 && unsignedMember <= end(run)) {
+                // already in a run
+                return this;
+            }
+
+            boolean extendsPrevious = run >= 0 && end(run) + 1 == unsignedMember;
+            boolean extendsNext = run + 1 < runCount && start(run + 1) == unsignedMember + 1;
+            if (extendsPrevious && extendsNext) {
+                // the member fills the gap between two runs: merge them
+                setRun(run, start(run), end(run + 1));
+                removeRun(run + 1);
+            } else if (extendsPrevious) {
+                setRun(run, start(run), unsignedMember);
+            } else if (extendsNext) {
+                setRun(run + 1, unsignedMember, end(run + 1));
+            } else {
+                if (runCount == RUN_STORAGE_16_MAX_RUNS) {
+                    return toMembersStorage().add(member);
+                }
+                insertRun(run + 1, unsignedMember, unsignedMember);
+            }
+            ++size;
+            return this;
+        }
+
+        @Override
+        public Storage16 remove(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember, 0);
+            if (run < 0 || unsignedMember > end(run)) {
+                // not a member
+                return this;
+            }
+
+            int start = start(run);
+            int end = end(run);
+            if (start == end) {
+                removeRun(run);
+            } else if (unsignedMember == start) {
+                setRun(run, start + 1, end);
+            } else if (unsignedMember == end) {
+                setRun(run, start, end - 1);
+            } else {
+                // the member splits the run into two
+                if (runCount == RUN_STORAGE_16_MAX_RUNS) {
+                    return toMembersStorage().remove(member);
+                }
+                setRun(run, start, unsignedMember - 1);
+                insertRun(run + 1, unsignedMember + 1, end);
+            }
+
+            --size;
+            return size == 0 ? null : this;
+        }
+
+        @Override
+        public void iterate(IteratorImpl iterator) {
+            assert runCount > 0;
+            iterator.position16 = 0;
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | start(0);
+        }
+
+        @Override
+        public boolean advance(IteratorImpl iterator) {
+            long current = iterator.index;
+            int run = iterator.position16;
+            if ((current & SHORT_POSTFIX_MASK) < end(run)) {
+                iterator.index = current + 1;
+                return true;
+            }
+
+            ++run;
+            if (run == runCount) {
+                return false;
+            }
+            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | start(run);
+            iterator.position16 = run;
+            return true;
+        }
+
+        @Override
+        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
+            return iterateAtLeastFrom(toUnsignedInt(member), 0, iterator);
+        }
+
+        @Override
+        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
+            int unsignedMember = toUnsignedInt(member);
+            assert (iterator.index & SHORT_POSTFIX_MASK) < unsignedMember;
+            return iterateAtLeastFrom(unsignedMember, iterator.position16, iterator);
+        }
+
+        private boolean iterateAtLeastFrom(int member, int fromRun, IteratorImpl iterator) {
+            int run = findRun(member, fromRun);
+            if (run < fromRun || member > end(run)) {
+                // the member is in the gap before the next run
+                ++run;
+                if (run == runCount) {
+                    return false;
+                }
+                member = start(run);
+            }
+
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | member;
+            iterator.position16 = run;
+            return true;
+        }
+
+        /**
+         * Converts this storage to a storage which doesn't depend on the
+         * number of runs.
+         */
+        private Storage16 toMembersStorage() {
+            return size < ARRAY_STORAGE_16_MAX_SIZE
+                    ? new ArrayStorage16(runs, runCount, size)
+                    : new BitSetStorage16(runs, runCount, size);
+        }
+
+        /**
+         * Returns the index of the last run starting at or before the given
+         * member, or {@code fromRun - 1} if there is no such run at or after
+         * the given run index.
+         */
+        private int findRun(int member, int fromRun) {
+            int low = fromRun;
+            int high = runCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (start(middle) <= member) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        private int start(int run) {
+            return toUnsignedInt(runs[run << 1]);
+        }
+
+        private int end(int run) {
+            return start(run) + toUnsignedInt(runs[(run << 1) + 1]);
+        }
+
+        private void setRun(int run, int start, int end) {
+            runs[run << 1] = (short) start;
+            runs[(run << 1) + 1] = (short) (end - start);
+        }
+
+        private void insertRun(int run, int start, int end) {
+            if (runCount << 1 == runs.length) {
+                int newCapacity = Math.min(RUN_STORAGE_16_MAX_RUNS, runCount + capacityDeltaShort(runCount));
+                short[] newRuns = new short[newCapacity << 1];
+                arraycopy(runs, 0, newRuns, 0, run << 1);
+                arraycopy(runs, run << 1, newRuns, (run + 1) << 1, (runCount - run) << 1);
+                runs = newRuns;
+            } else {
+                // shift runs right to free a slot for the new run
+                arraycopy(runs, run << 1, runs, (run + 1) << 1, (runCount - run) << 1);
+            }
+            ++runCount;
+            setRun(run, start, end);
+        }
+
+        private void removeRun(int run) {
+            --runCount;
+            // shift runs left to fill the gap
+            arraycopy(runs, (run + 1) << 1, runs, run << 1, (runCount - run) << 1);
+
+            int delta = capacityDeltaShort(runs.length >> 1);
+            int capacity = runs.length >> 1;
+            if (capacity - runCount >= delta && capacity - delta >= MIN_CAPACITY) {
+                // We are wasting too much: shrink the array.
+                runs = copyOf(runs, (capacity - delta) << 1);
+            }
+        }
+
+    }
+
     /**
      * Iterates over sparse bit sets.
      */
@@ -1120,7 +1396,7 @@ final class SparseBitSet {
 
         // the current Storage16
         private Storage16 storage16;
-        // its position
+        // its position, the run index for RunStorage16
         private int position16;
         // the current bit set of BitSetStorage16
         private long bitSet16;
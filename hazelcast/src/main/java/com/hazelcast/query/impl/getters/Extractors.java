@@ -71,6 +71,14 @@ public final class Extractors {
         this.ss = ss;
     }
 
+    /**
+     * Returns {@code true} if a custom {@link ValueExtractor} is configured
+     * for the given attribute.
+     */
+    public boolean hasExtractor(String attributeName) {
+        return extractors.containsKey(extractAttributeNameNameWithoutArguments(attributeName));
+    }
+
     public Object extract(Object target, String attributeName, Object metadata) {
         return extract(target, attributeName, metadata, true);
     }
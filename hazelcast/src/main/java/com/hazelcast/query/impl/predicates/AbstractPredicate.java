@@ -19,6 +19,7 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.internal.json.JsonValue;
 import com.hazelcast.internal.json.NonTerminalJsonValue;
 import com.hazelcast.internal.serialization.BinaryInterface;
+import com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator;
 import com.hazelcast.internal.serialization.impl.portable.PortableGenericRecord;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -38,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
 import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
@@ -151,6 +153,20 @@ public abstract class AbstractPredicate<K, V> implements Predicate<K, V>, Identi
         }
     }
 
+    /**
+     * Compares the attribute value of the given entry with the given value in
+     * place, see {@link QueryableEntry#compareAttributeInPlace}.
+     *
+     * @return the result of the comparison or {@link
+     * CompactFieldComparator#NOT_COMPARABLE} if the attribute value has to be
+     * read to be compared
+     */
+    int compareInPlace(Map.Entry entry, Comparable value) {
+        return entry instanceof QueryableEntry
+                ? QueryableEntry.compareAttributeInPlace((QueryableEntry) entry, attributeName, value)
+                : NOT_COMPARABLE;
+    }
+
     private Object readAttributeValue(Map.Entry entry) {
         Extractable extractable = (Extractable) entry;
         return extractable.getAttributeValue(attributeName);
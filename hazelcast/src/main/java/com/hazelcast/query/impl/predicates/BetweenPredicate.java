@@ -27,8 +27,11 @@ import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
+
 /**
  * Between Predicate
  */
@@ -52,6 +55,21 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate implements Vis
         this.to = to;
     }
 
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        int fromResult = compareInPlace(mapEntry, from);
+        if (fromResult != NOT_COMPARABLE) {
+            if (fromResult < 0) {
+                return false;
+            }
+            int toResult = compareInPlace(mapEntry, to);
+            if (toResult != NOT_COMPARABLE) {
+                return toResult <= 0;
+            }
+        }
+        return super.apply(mapEntry);
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
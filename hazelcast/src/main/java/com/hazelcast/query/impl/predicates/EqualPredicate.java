@@ -27,9 +27,11 @@ import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
 /**
@@ -69,6 +71,12 @@ public class EqualPredicate extends AbstractIndexAwarePredicate
         return index.getRecords(value);
     }
 
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        int result = compareInPlace(mapEntry, value);
+        return result == NOT_COMPARABLE ? super.apply(mapEntry) : result == 0;
+    }
+
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
             return isNull(value);
@@ -27,8 +27,11 @@ import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
+
 /**
  * Greater Less Predicate
  */
@@ -56,6 +59,15 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         this.less = less;
     }
 
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        int result = compareInPlace(mapEntry, value);
+        if (result == NOT_COMPARABLE) {
+            return super.apply(mapEntry);
+        }
+        return equal && result == 0 || (less ? (result < 0) : (result > 0));
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
 /**
@@ -59,7 +60,8 @@ public class NotEqualPredicate extends AbstractPredicate implements NegatablePre
     @SuppressWarnings("unchecked")
     @Override
     public boolean apply(Map.Entry mapEntry) {
-        return !super.apply(mapEntry);
+        int result = compareInPlace(mapEntry, value);
+        return result == NOT_COMPARABLE ? !super.apply(mapEntry) : result != 0;
     }
 
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
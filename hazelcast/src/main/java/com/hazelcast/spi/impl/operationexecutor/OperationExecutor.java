@@ -159,6 +159,20 @@ public interface OperationExecutor extends Consumer<Packet>, LiveOperationsTrack
      */
     void runOrExecute(Operation op);
 
+    /**
+     * Runs the {@link PartitionSpecificRunnable} on the calling thread if it
+     * is the partition thread of the task's partition. Otherwise the task is
+     * submitted for executing using {@link #execute(PartitionSpecificRunnable)}.
+     * <p>
+     * When running on the calling thread there is no queue hand-off and no
+     * wake-up of the partition thread, which makes it cheap to chain tasks
+     * for the same partition.
+     *
+     * @param task the {@link PartitionSpecificRunnable} to run or execute.
+     * @throws java.lang.NullPointerException if task is null.
+     */
+    void runOrExecute(PartitionSpecificRunnable task);
+
     /**
      * Checks if the {@link Operation} is allowed to run on the current thread.
      *
@@ -35,6 +35,7 @@ import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunnerFactory;
 import com.hazelcast.spi.impl.operationservice.LiveOperations;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationAccessor;
 import com.hazelcast.spi.impl.operationservice.PartitionTaskFactory;
 import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
@@ -63,6 +64,7 @@ import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.spi.impl.operationservice.impl.InboundResponseHandlerSupplier.getIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LATENCY_METRICS_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
@@ -112,6 +114,8 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     private final OperationRunner adHocOperationRunner;
     private final int priorityThreadCount;
     private final TpcServerBootstrap tpcServerBootstrap;
+    // if the time operations and packets wait in the queues is measured
+    private final boolean queueWaitRecorded;
 
     @SuppressWarnings("java:S107")
     public OperationExecutorImpl(HazelcastProperties properties,
@@ -137,6 +141,7 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         this.priorityThreadCount = properties.getInteger(PRIORITY_GENERIC_OPERATION_THREAD_COUNT);
         this.genericOperationRunners = initGenericOperationRunners(properties, runnerFactory);
         this.genericThreads = initGenericThreads(hzName, nodeExtension, configClassLoader);
+        this.queueWaitRecorded = properties.getBoolean(OPERATION_LATENCY_METRICS_ENABLED);
     }
 
     public PartitionOperationThread[] getPartitionThreads() {
@@ -423,6 +428,10 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     }
 
     private void execute(Object task, int partitionId, boolean priority) {
+        if (queueWaitRecorded) {
+            markEnqueued(task);
+        }
+
         if (partitionId < 0) {
             genericQueue.add(task, priority);
         } else {
@@ -431,6 +440,14 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         }
     }
 
+    private static void markEnqueued(Object task) {
+        if (task instanceof Operation) {
+            OperationAccessor.setEnqueueNanos((Operation) task, System.nanoTime());
+        } else if (task instanceof Packet) {
+            ((Packet) task).setEnqueueNanos(System.nanoTime());
+        }
+    }
+
     @Override
     public void executeOnPartitionThreads(Runnable task) {
         checkNotNull(task, "task can't be null");
@@ -514,6 +531,22 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         }
     }
 
+    @Override
+    public void runOrExecute(PartitionSpecificRunnable task) {
+        checkNotNull(task, "task can't be null");
+
+        int partitionId = task.getPartitionId();
+        Thread currentThread = Thread.currentThread();
+        if (partitionId >= 0
+                && currentThread instanceof PartitionOperationThread
+                && ((PartitionOperationThread) currentThread).threadId == toPartitionThreadIndex(partitionId)) {
+            // the runner only publishes the task when it isn't nested in another operation or task
+            partitionOperationRunners[partitionId].run(task);
+        } else {
+            execute(task);
+        }
+    }
+
     @Override
     public boolean isInvocationAllowed(Operation op, boolean isAsync) {
         checkNotNull(op, "op can't be null");
@@ -96,6 +96,8 @@ public abstract class Operation implements DataSerializable, Tenantable {
     private transient ServerConnection connection;
     private transient OperationResponseHandler responseHandler;
     private transient long clientCallId = -1;
+    // the System.nanoTime() this operation has been added to an operation queue, 0 if it isn't queued
+    private transient long enqueueNanos;
     private transient Closeable tenantContext = () -> {
     };
 
@@ -510,6 +512,16 @@ public abstract class Operation implements DataSerializable, Tenantable {
         return this;
     }
 
+    // Accessed using OperationAccessor
+    final long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+
+    // Accessed using OperationAccessor
+    final void setEnqueueNanos(long enqueueNanos) {
+        this.enqueueNanos = enqueueNanos;
+    }
+
     /**
      * Gets the call timeout in milliseconds. For example, if a call should start
      * execution within 60 seconds or it should be aborted otherwise, then the
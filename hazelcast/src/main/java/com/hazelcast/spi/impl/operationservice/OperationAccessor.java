@@ -80,6 +80,22 @@ public final class OperationAccessor {
         op.setCallTimeout(callTimeout);
     }
 
+    /**
+     * Returns the {@link System#nanoTime()} the operation has been added to
+     * an operation queue, or 0 if it isn't queued.
+     */
+    public static long getEnqueueNanos(Operation op) {
+        return op.getEnqueueNanos();
+    }
+
+    /**
+     * Sets the {@link System#nanoTime()} the operation has been added to an
+     * operation queue, used to measure the time it waited in the queue.
+     */
+    public static void setEnqueueNanos(Operation op, long enqueueNanos) {
+        op.setEnqueueNanos(enqueueNanos);
+    }
+
     /**
      * Clone and reset the supplied operation.
      *
@@ -18,6 +18,7 @@ package com.hazelcast.spi.impl.operationservice;
 
 import com.hazelcast.cluster.Address;
 import com.hazelcast.internal.management.dto.SlowOperationDTO;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationservice.impl.InvocationFuture;
 
@@ -25,6 +26,7 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -115,6 +117,32 @@ public interface OperationService {
      */
     void executeOnPartitions(PartitionTaskFactory taskFactory, BitSet partitions);
 
+    /**
+     * Runs the task on the partition thread owning the partition of the key,
+     * so that read-modify-write logic co-located with the data is executed
+     * without invocations and isolated from the operations on that partition.
+     * <p>
+     * If the calling thread already is the partition thread of the key, the
+     * task is run on the calling thread without any hand-off. Otherwise it is
+     * queued to the partition thread; when TPC is enabled, the partition
+     * thread is the reactor thread and the task is picked up by its eventloop.
+     * <p>
+     * The partition of the key needs to be owned by this member, otherwise
+     * the returned future is completed with a
+     * {@link com.hazelcast.spi.exception.WrongTargetException}, or with a
+     * {@link com.hazelcast.spi.exception.PartitionMigratingException} while
+     * the partition is migrating. The task must not block; dependent actions
+     * registered with the non-async methods of the future run on the
+     * partition thread.
+     *
+     * @param key  the key to pick the partition thread with
+     * @param task the task to run
+     * @param <V>  the type of the result of the task
+     * @return the future completed with the result of the task
+     * @throws NullPointerException if key or task is null.
+     */
+    <V> InternalCompletableFuture<V> runOnPartitionThread(Object key, Callable<V> task);
+
     <E> InvocationFuture<E> invokeOnPartition(String serviceName, Operation op, int partitionId);
 
     <E> InvocationFuture<E> invokeOnPartitionAsync(String serviceName, Operation op, int partitionId);
@@ -178,6 +178,11 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
      * invocation during a member left event.
      */
     private int memberListVersion;
+    /**
+     * The {@link System#nanoTime()} the response of the primary has been received if backup acks are expected,
+     * 0 otherwise. It is published to the thread completing the invocation by the {@link #pendingResponse} write.
+     */
+    private long backupAckWaitStartNanos;
 
     private final ServerConnectionManager connectionManager;
 
@@ -362,7 +367,19 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
         notifyResponse(value, expectedBackups);
     }
 
+    @Override
+    protected void notifyResponse(Object response, int expectedBackups) {
+        if (expectedBackups > 0) {
+            backupAckWaitStartNanos = System.nanoTime();
+        }
+        super.notifyResponse(response, expectedBackups);
+    }
+
     protected void notifyThrowable(Throwable cause, int expectedBackups) {
+        if (expectedBackups > 0) {
+            backupAckWaitStartNanos = System.nanoTime();
+        }
+
         // if a regular response comes and there are backups, we need to wait for the backups
         // when the backups complete, the response will be send by the last backup or backup-timeout-handle mechanism kicks on
 
@@ -699,12 +716,23 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
     }
 
     private void complete0() {
-        if (context.invocationRegistry.deregister(this) && taskDoneCallback != null) {
-            context.asyncExecutor.execute(taskDoneCallback);
+        if (context.invocationRegistry.deregister(this)) {
+            recordBackupAckWait();
+            if (taskDoneCallback != null) {
+                context.asyncExecutor.execute(taskDoneCallback);
+            }
         }
         context.invocationRegistry.retire(this);
     }
 
+    private void recordBackupAckWait() {
+        long startNanos = backupAckWaitStartNanos;
+        OperationServiceImpl operationService = context.operationService;
+        if (startNanos != 0 && operationService != null && operationService.latencyMetrics != null) {
+            operationService.latencyMetrics.recordBackupAckWait(op, System.nanoTime() - startNanos);
+        }
+    }
+
     @SuppressWarnings("checkstyle:MagicNumber")
     private void handleRetry(Object cause) {
         context.retryCount.inc();
@@ -750,6 +778,7 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
         invokeCount = 0;
         pendingResponse = VOID;
         pendingResponseReceivedMillis = -1;
+        backupAckWaitStartNanos = 0;
         backupsAcksExpected = 0;
         backupsAcksReceived = 0;
         lastHeartbeatMillis = 0;
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.internal.metrics.DynamicMetricsProvider;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsCollectionContext;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.util.LatencyDistribution;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_DISCRIMINATOR_OPERATION;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_LATENCY_BUCKET;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_LATENCY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_LATENCY_MAX_MICROS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_LATENCY_TOTAL_MICROS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_TAG_LATENCY_BUCKET;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_TAG_LATENCY_PHASE;
+import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.COUNT;
+import static com.hazelcast.internal.metrics.ProbeUnit.US;
+import static com.hazelcast.internal.util.LatencyDistribution.LATENCY_KEYS;
+
+/**
+ * The {@link LatencyDistribution latency distributions} of the operations
+ * per operation class, published as metrics. Three phases are recorded:
+ * <ol>
+ *     <li>{@code queueWait}: from adding the operation, or the packet
+ *     containing it, to an operation queue until an operation thread picks
+ *     it up. Operations which aren't queued, e.g. the ones run on the calling
+ *     thread, are not recorded.</li>
+ *     <li>{@code execution}: the time the operation runner spent running the
+ *     operation, including its deserialization if it has been received from
+ *     a remote member.</li>
+ *     <li>{@code backupAckWait}: the time an invocation waited for the backup
+ *     acks after it received the response of the primary. An invocation
+ *     receiving the backup acks before the response waits 0.</li>
+ * </ol>
+ * The distributions have power of 2 microsecond buckets, so percentiles can
+ * be derived from the non-empty {@code bucket} metrics. The buckets multiply
+ * the number of metrics per operation class and phase, so they are only
+ * published at the {@link ProbeLevel#DEBUG DEBUG} level.
+ * <p>
+ * This class is thread-safe.
+ */
+final class OperationLatencyMetrics implements DynamicMetricsProvider {
+
+    static final String PHASE_QUEUE_WAIT = "queueWait";
+    static final String PHASE_EXECUTION = "execution";
+    static final String PHASE_BACKUP_ACK_WAIT = "backupAckWait";
+
+    private final ConcurrentMap<Class, LatencyDistribution> queueWait = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class, LatencyDistribution> execution;
+    private final ConcurrentMap<Class, LatencyDistribution> backupAckWait = new ConcurrentHashMap<>();
+
+    /**
+     * @param execution the execution latency distributions, which are shared
+     *                  with the {@link com.hazelcast.internal.diagnostics.OperationProfilerPlugin}
+     *                  and recorded by the {@link OperationRunnerImpl}.
+     */
+    OperationLatencyMetrics(ConcurrentMap<Class, LatencyDistribution> execution) {
+        this.execution = execution;
+    }
+
+    void recordQueueWait(Object op, long durationNanos) {
+        distribution(queueWait, op).recordNanos(durationNanos);
+    }
+
+    void recordBackupAckWait(Object op, long durationNanos) {
+        distribution(backupAckWait, op).recordNanos(durationNanos);
+    }
+
+    // used in tests
+    LatencyDistribution queueWait(Class operationClass) {
+        return queueWait.get(operationClass);
+    }
+
+    // used in tests
+    LatencyDistribution execution(Class operationClass) {
+        return execution.get(operationClass);
+    }
+
+    // used in tests
+    LatencyDistribution backupAckWait(Class operationClass) {
+        return backupAckWait.get(operationClass);
+    }
+
+    /**
+     * Returns the class the latency of the operation is recorded for: the
+     * class of the operation or, for a {@link PartitionIteratingOperation},
+     * the class of its operation factory.
+     */
+    static Class operationClass(Object op) {
+        if (op instanceof PartitionIteratingOperation) {
+            return ((PartitionIteratingOperation) op).getOperationFactory().getClass();
+        }
+        return op.getClass();
+    }
+
+    static LatencyDistribution distribution(ConcurrentMap<Class, LatencyDistribution> distributions, Object op) {
+        Class c = operationClass(op);
+        LatencyDistribution distribution = distributions.get(c);
+        // Note: we want to prevent lock here, if collision happened.
+        if (distribution == null) {
+            distribution = distributions.computeIfAbsent(c, k -> new LatencyDistribution());
+        }
+        return distribution;
+    }
+
+    @Override
+    public void provideDynamicMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        descriptor.withPrefix(OPERATION_PREFIX_LATENCY);
+        provideMetrics(descriptor, context, PHASE_QUEUE_WAIT, queueWait);
+        provideMetrics(descriptor, context, PHASE_EXECUTION, execution);
+        provideMetrics(descriptor, context, PHASE_BACKUP_ACK_WAIT, backupAckWait);
+    }
+
+    private static void provideMetrics(MetricDescriptor descriptor, MetricsCollectionContext context, String phase,
+                                       ConcurrentMap<Class, LatencyDistribution> distributions) {
+        for (Map.Entry<Class, LatencyDistribution> entry : distributions.entrySet()) {
+            MetricDescriptor phaseDescriptor = descriptor.copy()
+                    .withDiscriminator(OPERATION_DISCRIMINATOR_OPERATION, entry.getKey().getName())
+                    .withTag(OPERATION_TAG_LATENCY_PHASE, phase);
+            LatencyDistribution distribution = entry.getValue();
+            context.collect(phaseDescriptor, OPERATION_METRIC_LATENCY_COUNT, INFO, COUNT, distribution.count());
+            context.collect(phaseDescriptor, OPERATION_METRIC_LATENCY_TOTAL_MICROS, INFO, US, distribution.totalMicros());
+            context.collect(phaseDescriptor, OPERATION_METRIC_LATENCY_MAX_MICROS, INFO, US, distribution.maxMicros());
+            for (int bucket = 0; bucket < distribution.bucketCount(); bucket++) {
+                long count = distribution.bucket(bucket);
+                // most of the buckets are empty, so they are left out to keep the number of metrics low
+                if (count > 0) {
+                    context.collect(phaseDescriptor.copy().withTag(OPERATION_TAG_LATENCY_BUCKET, LATENCY_KEYS[bucket]),
+                            OPERATION_METRIC_LATENCY_BUCKET, DEBUG, COUNT, count);
+                }
+            }
+        }
+    }
+}
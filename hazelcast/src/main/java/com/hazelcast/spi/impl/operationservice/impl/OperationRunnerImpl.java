@@ -60,7 +60,6 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
 import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
-import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
@@ -86,8 +85,10 @@ import static com.hazelcast.spi.impl.operationservice.CallStatus.OFFLOAD_ORDINAL
 import static com.hazelcast.spi.impl.operationservice.CallStatus.RESPONSE_ORDINAL;
 import static com.hazelcast.spi.impl.operationservice.CallStatus.VOID_ORDINAL;
 import static com.hazelcast.spi.impl.operationservice.CallStatus.WAIT_ORDINAL;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.getEnqueueNanos;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallerAddress;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setConnection;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setEnqueueNanos;
 import static com.hazelcast.spi.impl.operationservice.OperationResponseHandlerFactory.createEmptyResponseHandler;
 import static com.hazelcast.spi.impl.operationservice.Operations.isJoinOperation;
 import static com.hazelcast.spi.impl.operationservice.Operations.isMigrationOperation;
@@ -130,6 +131,7 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
     private final OutboundResponseHandler outboundResponseHandler;
 
     private final ConcurrentMap<Class, LatencyDistribution> opLatencyDistributions;
+    private final OperationLatencyMetrics latencyMetrics;
 
     // When partitionId >= 0, it is a partition specific
     // when partitionId = -1, it is generic
@@ -153,6 +155,7 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         this.failedBackupsCounter = failedBackupsCounter;
         this.backupHandler = operationService.backupHandler;
         this.opLatencyDistributions = opLatencyDistributions;
+        this.latencyMetrics = operationService.latencyMetrics;
         // only a ad-hoc operation runner will be called concurrently
         this.executedOperationsCounter = partitionId == AD_HOC_PARTITION_ID ? newMwCounter() : newSwCounter();
     }
@@ -213,7 +216,14 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
 
     @Override
     public void run(Operation op) {
-         run(op, System.nanoTime());
+        long startNanos = System.nanoTime();
+        long enqueueNanos = getEnqueueNanos(op);
+        if (enqueueNanos != 0) {
+            // the operation could be run again without being queued, e.g. on a retry
+            setEnqueueNanos(op, 0);
+            recordQueueWait(op, enqueueNanos, startNanos);
+        }
+        run(op, startNanos);
     }
 
     public boolean metWithPreconditions(Operation op) {
@@ -276,17 +286,13 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
 
     protected void record(Object op, long startNanos) {
         if (opLatencyDistributions != null) {
-            Class c = op.getClass();
-            if (op instanceof PartitionIteratingOperation) {
-                c = ((PartitionIteratingOperation) op).getOperationFactory().getClass();
-            }
+            OperationLatencyMetrics.distribution(opLatencyDistributions, op).recordNanos(System.nanoTime() - startNanos);
+        }
+    }
 
-            LatencyDistribution distribution = opLatencyDistributions.get(c);
-            // Note: we want to prevent lock here, if collision happened.
-            if (distribution == null) {
-                distribution = opLatencyDistributions.computeIfAbsent(c, k -> new LatencyDistribution());
-            }
-            distribution.recordNanos(System.nanoTime() - startNanos);
+    private void recordQueueWait(Object op, long enqueueNanos, long startNanos) {
+        if (latencyMetrics != null && enqueueNanos != 0) {
+            latencyMetrics.recordQueueWait(op, startNanos - enqueueNanos);
         }
     }
 
@@ -481,6 +487,7 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         try {
             Object object = nodeEngine.toObject(packet);
             op = (Operation) object;
+            recordQueueWait(op, packet.getEnqueueNanos(), startNanos);
             op.setNodeEngine(nodeEngine);
             setCallerAddress(op, caller);
             setConnection(op, connection);
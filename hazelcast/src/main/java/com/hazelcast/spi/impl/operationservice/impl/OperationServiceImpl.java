@@ -34,6 +34,7 @@ import com.hazelcast.internal.util.LatencyDistribution;
 import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
@@ -56,6 +57,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -81,6 +83,7 @@ import static com.hazelcast.spi.properties.ClusterProperty.FAIL_ON_INDETERMINATE
 import static com.hazelcast.spi.properties.ClusterProperty.INVOCATION_MAX_RETRY_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.INVOCATION_RETRY_PAUSE;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LATENCY_METRICS_ENABLED;
 import static java.util.Collections.newSetFromMap;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -113,6 +116,8 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
     @Probe(name = OPERATION_METRIC_OPERATION_SERVICE_ASYNC_OPERATIONS)
     final Set<Operation> asyncOperations = newSetFromMap(new ConcurrentHashMap<>());
     final ConcurrentMap<Class, LatencyDistribution> opLatencyDistributions;
+    // null if the latency metrics are disabled
+    final OperationLatencyMetrics latencyMetrics;
 
     final InvocationRegistry invocationRegistry;
     final OperationExecutor operationExecutor;
@@ -153,10 +158,12 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
         Address thisAddress = node.getThisAddress();
         this.logger = node.getLogger(OperationService.class);
         this.serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
-        this.opLatencyDistributions = nodeEngine.getProperties().getInteger(OperationProfilerPlugin.PERIOD_SECONDS) > 0
+        HazelcastProperties properties = node.getProperties();
+        boolean latencyMetricsEnabled = properties.getBoolean(OPERATION_LATENCY_METRICS_ENABLED);
+        this.opLatencyDistributions = latencyMetricsEnabled || properties.getInteger(OperationProfilerPlugin.PERIOD_SECONDS) > 0
                 ? new ConcurrentHashMap<>()
                 : null;
-        HazelcastProperties properties = node.getProperties();
+        this.latencyMetrics = latencyMetricsEnabled ? new OperationLatencyMetrics(opLatencyDistributions) : null;
         this.invocationMaxRetryCount = properties.getInteger(INVOCATION_MAX_RETRY_COUNT);
         this.invocationRetryPauseMillis = properties.getMillis(INVOCATION_RETRY_PAUSE);
         this.failOnIndeterminateOperationState = nodeEngine.getProperties().getBoolean(FAIL_ON_INDETERMINATE_OPERATION_STATE);
@@ -290,6 +297,17 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
         operationExecutor.executeOnPartitions(taskFactory, partitions);
     }
 
+    @Override
+    public <V> InternalCompletableFuture<V> runOnPartitionThread(Object key, Callable<V> task) {
+        checkNotNull(key, "key can't be null");
+        checkNotNull(task, "task can't be null");
+
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        PartitionThreadTask<V> partitionThreadTask = new PartitionThreadTask<>(node, partitionId, task);
+        operationExecutor.runOrExecute(partitionThreadTask);
+        return partitionThreadTask.future();
+    }
+
     @Override
     public InvocationBuilder createInvocationBuilder(String serviceName, Operation op, int partitionId) {
         checkNotNegative(partitionId, "Partition ID cannot be negative!");
@@ -512,6 +530,9 @@ public final class OperationServiceImpl implements StaticMetricsProvider, LiveOp
     public void provideStaticMetrics(MetricsRegistry registry) {
         registry.registerStaticMetrics(this, OPERATION_PREFIX);
         registry.provideMetrics(invocationRegistry, invocationMonitor, inboundResponseHandlerSupplier, operationExecutor);
+        if (latencyMetrics != null) {
+            registry.registerDynamicMetricsProvider(latencyMetrics);
+        }
     }
 
     public void start() {
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.partition.InternalPartition;
+import com.hazelcast.internal.partition.PartitionReplica;
+import com.hazelcast.spi.exception.PartitionMigratingException;
+import com.hazelcast.spi.exception.WrongTargetException;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs an application task on the partition thread of a partition owned by
+ * this member and completes the future with its result.
+ * <p>
+ * The ownership of the partition is checked on the partition thread right
+ * before the task runs; since migrations are executed by the same thread,
+ * the partition can't move away while the task is running.
+ *
+ * @param <V> the type of the result of the task
+ * @see OperationServiceImpl#runOnPartitionThread(Object, Callable)
+ */
+final class PartitionThreadTask<V> implements PartitionSpecificRunnable {
+
+    private final Node node;
+    private final int partitionId;
+    private final Callable<V> task;
+    private final InternalCompletableFuture<V> future = new InternalCompletableFuture<>();
+
+    PartitionThreadTask(Node node, int partitionId, Callable<V> task) {
+        this.node = node;
+        this.partitionId = partitionId;
+        this.task = task;
+    }
+
+    InternalCompletableFuture<V> future() {
+        return future;
+    }
+
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    @Override
+    public void run() {
+        try {
+            ensureLocalPartition();
+            future.complete(task.call());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    private void ensureLocalPartition() {
+        InternalPartition partition = node.getPartitionService().getPartition(partitionId);
+        if (partition.isMigrating()) {
+            throw new PartitionMigratingException(node.getThisAddress(), partitionId, task.getClass().getName(), null);
+        }
+        if (!partition.isLocal()) {
+            PartitionReplica owner = partition.getOwnerReplicaOrNull();
+            Member target = owner != null ? node.getClusterService().getMember(owner.address(), owner.uuid()) : null;
+            throw new WrongTargetException(node.getLocalMember(), target, partitionId, 0, task.getClass().getName());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionThreadTask{"
+                + "partitionId=" + partitionId
+                + ", task=" + task
+                + '}';
+    }
+}
@@ -80,6 +80,24 @@ public final class ClusterProperty {
     public static final HazelcastProperty CHANNEL_COUNT
             = new HazelcastProperty("tcp.channels.per.connection", 1);
 
+    /**
+     * The payload size in bytes from which the packets sent to other members
+     * are compressed. Compression trades CPU of the IO threads for network
+     * bandwidth, so it pays off on slow or saturated links between members,
+     * e.g. across racks or data centers, and for large payloads like the
+     * ones of migrations or {@code putAll} operations.
+     * <p>
+     * The compression context is kept for the lifetime of a connection, so
+     * the repeating content of the previous packets sent over the same
+     * connection is compressed as well. Packets are compressed only if the
+     * remote member announced that it is able to decompress them during
+     * the connection handshake.
+     * <p>
+     * A negative value, the default, disables the compression.
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.network.compression.threshold", -1);
+
     /**
      * The interval in seconds between
      * {@link com.hazelcast.internal.networking.nio.iobalancer.IOBalancer}
@@ -381,6 +399,46 @@ public final class ClusterProperty {
     public static final HazelcastProperty CONCURRENT_WINDOW_MS
             = new HazelcastProperty("hazelcast.concurrent.window.ms", 100, MILLISECONDS);
 
+    /**
+     * The maximum time in microseconds an output thread delays writing a
+     * partially filled send buffer to the socket, so that frames queued in
+     * the meantime are written by the same system call. The delay only
+     * applies to connections written by the output threads; when there is
+     * no concurrency and the frames are written through on the calling
+     * thread (see {@link #IO_WRITE_THROUGH_ENABLED}), they are never delayed.
+     * The output threads wait with a millisecond granularity, so a delayed
+     * write may be flushed up to a millisecond after the delay expired.
+     * <p>
+     * Write coalescing trades latency for fewer system calls, which pays
+     * off with many small operations sent to the same members. It is
+     * disabled by default (value 0).
+     */
+    public static final HazelcastProperty IO_WRITE_COALESCING_DELAY_MICROS
+            = new HazelcastProperty("hazelcast.io.write.coalescing.delay.micros", 0, MICROSECONDS);
+
+    /**
+     * The number of bytes pending in the send buffer after which write
+     * coalescing stops waiting for more frames and writes to the socket.
+     * Only used when {@link #IO_WRITE_COALESCING_DELAY_MICROS} is positive.
+     */
+    public static final HazelcastProperty IO_WRITE_COALESCING_BYTES
+            = new HazelcastProperty("hazelcast.io.write.coalescing.bytes", 16384);
+
+    /**
+     * The maximum number of network buffers of the same size and kind (heap
+     * or direct) pooled for reuse by new connections. The buffers of the
+     * connection handlers are returned to the pool when the connection is
+     * closed, so members with many short-lived connections, e.g. of clients,
+     * don't allocate new buffers for each connection. Only the buffers taken
+     * from the pool are returned to it.
+     * <p>
+     * With the pool enabled, every processing of a connection pipeline
+     * acquires and releases a reference to its buffers, so they aren't
+     * returned to the pool while in use. It is disabled by default (value 0).
+     */
+    public static final HazelcastProperty IO_BUFFER_POOL_SIZE
+            = new HazelcastProperty("hazelcast.io.buffer.pool.size", 0);
+
     /**
      * Minimum interval in milliseconds to consider a connection error as critical.
      */
@@ -532,6 +590,25 @@ public final class ClusterProperty {
     public static final HazelcastProperty PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB
             = new HazelcastProperty("hazelcast.partition.migration.chunks.max.migrating.data.in.mb", 250);
 
+    /**
+     * Enable to compress the chunks of the partition migrations and replica
+     * synchronizations sent by this member. It reduces the time of the
+     * migrations when the network is the bottleneck, for the price of the
+     * CPU time of the partition threads on both sides.
+     * <p>
+     * Only the chunks are compressed, so it has effect only if the chunked
+     * migration is enabled. The chunks are limited by their uncompressed
+     * size. Compressed chunks are sent only once the cluster version is at
+     * least 5.4.
+     * <p>
+     * Default disabled.
+     *
+     * @see ClusterProperty#PARTITION_CHUNKED_MIGRATION_ENABLED
+     * @see ClusterProperty#PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.partition.migration.compression.enabled", false);
+
     /**
      * The time that a newly-appointed master node waits before forming a cluster.
      * Once a cluster is being started, a newly-appointed master node may receive
@@ -941,6 +1018,23 @@ public final class ClusterProperty {
     public static final HazelcastProperty SLOW_OPERATION_DETECTOR_ENABLED
             = new HazelcastProperty("hazelcast.slow.operation.detector.enabled", true);
 
+    /**
+     * Enables or disables the latency metrics of the {@link OperationService}.
+     * <p>
+     * If enabled, every operation records its queue wait time, execution
+     * time and backup ack wait time into a latency distribution of its
+     * operation class. The distributions are published by the metrics system
+     * with the {@code operation.latency} prefix, so the latency percentiles
+     * per operation can be followed without enabling diagnostics. The count,
+     * total and maximum latency are published for each operation class and
+     * phase, the buckets of the distributions only if {@link #METRICS_DEBUG}
+     * is enabled.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty OPERATION_LATENCY_METRICS_ENABLED
+            = new HazelcastProperty("hazelcast.operation.latency.metrics.enabled", false);
+
     /**
      * Defines a threshold above which a running operation in {@link OperationService}
      * is considered to be slow.
@@ -1296,6 +1390,39 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Comma-separated list of the {@link IMap} names whose partitions keep
+     * their entries in native memory instead of on the Java heap. A name
+     * ending with {@code *} matches all the maps with the given prefix, a
+     * single {@code *} matches all the maps.
+     * <p>
+     * Only maps with {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}
+     * in-memory format and without offloaded {@link com.hazelcast.config.MapStoreConfig
+     * map store} are stored off-heap, other maps keep using the on-heap storage.
+     * <p>
+     * Default: empty, all maps are stored on-heap
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_OFF_HEAP_STORAGE_MAPS
+            = new HazelcastProperty("hazelcast.map.offheap.storage.maps", "");
+
+    /**
+     * Defines if {@link IMap#get(Object)} on a member reads the keys of
+     * locally owned partitions directly on their partition thread, without
+     * creating an operation and an invocation for them.
+     * <p>
+     * Only maps with {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}
+     * in-memory format, without map store and without split-brain
+     * protection are read this way.
+     * <p>
+     * Default: false
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_LOCAL_GET_ENABLED
+            = new HazelcastProperty("hazelcast.map.local.get.enabled", false);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1839,6 +1966,91 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * The directory where the grouping and sorting processors
+     * spill their state when they accumulate more records than the
+     * {@linkplain com.hazelcast.jet.config.JobConfig#setMaxProcessorAccumulatedRecords
+     * max processor accumulated records} of the job. The spilled records are
+     * merged back when the input is complete, so the job completes instead of
+     * failing with an {@code AccumulationLimitExceededException}.
+     * <p>
+     * By default no directory is set and spilling is disabled.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.dir");
+
+    /**
+     * The number of incremental snapshots a Jet job takes between two full
+     * snapshots. An incremental snapshot contains only the state entries
+     * changed or removed since the previous snapshot, so the snapshots of a
+     * job with a large and mostly idle state write much less data. The job
+     * is restored from the last full snapshot and the incremental snapshots
+     * taken after it.
+     * <p>
+     * The first snapshot after the job (re)starts, the snapshot after a
+     * failed one and the exported snapshots are always full. The default is
+     * 0: all snapshots are full.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty JET_INCREMENTAL_SNAPSHOT_MAX_DELTAS
+            = new HazelcastProperty("hazelcast.jet.snapshot.incremental.max.deltas", 0);
+
+    /**
+     * The directory where the members store the data of the automatic
+     * snapshots of Jet jobs, instead of the {@code __jet.snapshot.*} IMaps.
+     * Each member appends the chunks written by its processors to files in
+     * its own subdirectory and sends copies of them to the number of other
+     * members given by {@link #JET_SNAPSHOT_STORE_BACKUP_COUNT}. The state
+     * of a job is then limited by the disk space of the members instead of
+     * their heap.
+     * <p>
+     * The files are only used by the member which wrote them, while it's
+     * running. They don't survive a restart of the member, so a job whose
+     * snapshot is lost on more members than the backup count can't be
+     * restored. The exported snapshots are always stored in IMaps.
+     * <p>
+     * By default no directory is set and the snapshots are stored in IMaps.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty JET_SNAPSHOT_STORE_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.snapshot.store.dir");
+
+    /**
+     * The number of other members which keep a copy of the snapshot data
+     * stored in the {@link #JET_SNAPSHOT_STORE_DIRECTORY} of a member. The
+     * default is 1, the same as the default backup count of the snapshot
+     * IMaps.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty JET_SNAPSHOT_STORE_BACKUP_COUNT
+            = new HazelcastProperty("hazelcast.jet.snapshot.store.backup.count", 1);
+
+    /**
+     * Enables the adaptive batching between Jet tasklets. When enabled, each
+     * processor tunes the number of items it emits in one call from the fill
+     * levels of its input and output queues: the batch grows while there's
+     * more input than a batch can take, up to the capacity of the output
+     * queues, and shrinks when the downstream queues are full or the
+     * processor emits only a few items per call. The idle
+     * threads also cap their backoff to a fraction of the recent gaps between
+     * the items, so jobs with a low rate of items are picked up sooner than
+     * after the {@link #JET_IDLE_COOPERATIVE_MAX_MICROSECONDS} and {@link
+     * #JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS} backoff, while idle jobs
+     * still back off to these values.
+     * <p>
+     * The default is {@code false}, the batch size is fixed and the backoff
+     * is only driven by the idle properties.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty JET_ADAPTIVE_BATCHING_ENABLED
+            = new HazelcastProperty("hazelcast.jet.adaptive.batching.enabled", false);
+
     /**
      * Controls whether cluster emojis can be used in log messages. This is just a hint for components calling the logging.
      *
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientPipeliningTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory factory = new TestHazelcastFactory();
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void setUp() {
+        member = factory.newHazelcastInstance(getConfig());
+        factory.newHazelcastInstance(getConfig());
+        client = factory.newHazelcastClient();
+    }
+
+    @After
+    public void tearDown() {
+        factory.shutdownAll();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenZeroDepth() {
+        new ClientPipelining<String>(client, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenZeroFlushSize() {
+        new ClientPipelining<String>(client, 1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenMember() {
+        new ClientPipelining<String>(member, 1, 1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() throws InterruptedException {
+        new ClientPipelining<String>(client, 1, 1).add(null);
+    }
+
+    @Test
+    public void add_whenBelowFlushSize_thenRequestsWrittenOnFlush() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        ClientPipelining<Void> pipelining = new ClientPipelining<>(client, 100, 100);
+        for (int i = 0; i < 10; i++) {
+            int key = i;
+            pipelining.add(() -> map.setAsync(key, key));
+        }
+
+        assertTrue(map.isEmpty());
+        pipelining.flush();
+        assertSizeEventually(10, map);
+    }
+
+    @Test
+    public void add_whenDepthExhausted_thenRequestsFlushed() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        ClientPipelining<Void> pipelining = new ClientPipelining<>(client, 2, 100);
+        for (int i = 0; i < 100; i++) {
+            int key = i;
+            pipelining.add(() -> map.setAsync(key, key));
+        }
+
+        // at most depth requests are pending
+        assertTrue(map.size() >= 98);
+        pipelining.results();
+        assertEquals(100, map.size());
+    }
+
+    @Test
+    public void results_acrossDataStructures() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        Ringbuffer<Integer> ringbuffer = client.getRingbuffer(randomName());
+        for (int i = 0; i < 100; i++) {
+            map.set(i, i);
+        }
+
+        ClientPipelining<Object> pipelining = new ClientPipelining<>(client, 10, 7);
+        for (int i = 0; i < 100; i++) {
+            int key = i;
+            pipelining.add(() -> map.getAsync(key));
+            pipelining.add(() -> ringbuffer.addAsync(key, OverflowPolicy.OVERWRITE));
+        }
+
+        List<Object> results = pipelining.results();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, results.get(2 * i));
+            assertEquals((long) i, results.get(2 * i + 1));
+        }
+        assertEquals(100, ringbuffer.size());
+    }
+
+    @Test
+    public void add_whenFlushSizeOne_thenRequestsWrittenImmediately() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        ClientPipelining<Void> pipelining = new ClientPipelining<>(client, 100, 1);
+        pipelining.add(() -> map.setAsync(1, 1));
+
+        assertSizeEventually(1, map);
+        assertFalse(pipelining.results().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec.builtin;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageReader;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DataCodecTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testEncode_sharesPayload() {
+        Data data = serializationService.toData(new byte[1024]);
+
+        ClientMessage response = MapGetCodec.encodeResponse(data);
+
+        ClientMessage.ForwardFrameIterator iterator = response.frameIterator();
+        // skip the initial frame
+        iterator.next();
+        assertSame(data.toByteArray(), iterator.next().content);
+    }
+
+    @Test
+    public void testEncodeDecode_whenWrittenInChunks() {
+        byte[] value = new byte[100_000];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) i;
+        }
+        Data data = serializationService.toData(value);
+        ClientMessage response = MapGetCodec.encodeResponse(data);
+
+        // a buffer smaller than the value, so the frame is written in chunks
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        ClientMessageWriter writer = new ClientMessageWriter();
+        ClientMessageReader reader = new ClientMessageReader(-1);
+        boolean written;
+        boolean read;
+        do {
+            written = writer.writeTo(buffer, response);
+            buffer.flip();
+            read = reader.readFrom(buffer, true);
+            buffer.compact();
+        } while (!written);
+        assertEquals(0, buffer.position());
+        assertTrue(read);
+
+        Data decoded = MapGetCodec.decodeResponse(reader.getClientMessage());
+        assertEquals(data, decoded);
+    }
+}
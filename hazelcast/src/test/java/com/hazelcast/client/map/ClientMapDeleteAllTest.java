@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapDeleteAllTest extends HazelcastTestSupport {
+
+    private static final int MAP_SIZE = 1000;
+    private static final int NODE_COUNT = 3;
+
+    private TestHazelcastFactory factory;
+    private HazelcastInstance client;
+
+    @Before
+    public void setUp() {
+        factory = new TestHazelcastFactory();
+        Config config = getConfig();
+        factory.newInstances(config, NODE_COUNT);
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addNearCacheConfig(new NearCacheConfig("nearCached*"));
+        client = factory.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void tearDown() {
+        factory.shutdownAll();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void throws_exception_whenKeysNull() {
+        client.getMap("test").deleteAll(null);
+    }
+
+    @Test
+    public void removes_only_given_keys() {
+        assertRemovesOnlyGivenKeys(client.getMap("test"));
+    }
+
+    @Test
+    public void removes_only_given_keys_whenNearCached() {
+        IMap<Integer, Integer> map = client.getMap("nearCachedTest");
+        for (int i = 0; i < MAP_SIZE; i++) {
+            map.put(i, i);
+            // populate the Near Cache
+            map.get(i);
+        }
+
+        assertRemovesOnlyGivenKeys(map);
+    }
+
+    private static void assertRemovesOnlyGivenKeys(IMap<Integer, Integer> map) {
+        Set<Integer> evenKeys = new HashSet<>();
+        for (int i = 0; i < MAP_SIZE; i++) {
+            map.put(i, i);
+            if (i % 2 == 0) {
+                evenKeys.add(i);
+            }
+        }
+
+        map.deleteAll(evenKeys);
+
+        assertEquals(MAP_SIZE / 2, map.size());
+        for (int i = 0; i < MAP_SIZE; i += 2) {
+            assertNull(map.get(i));
+        }
+    }
+}
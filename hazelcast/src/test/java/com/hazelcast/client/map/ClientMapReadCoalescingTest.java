@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapLoader;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapReadCoalescingTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int THREAD_COUNT = 20;
+
+    private final CountingMapLoader loader = new CountingMapLoader();
+    private TestHazelcastFactory factory;
+    private HazelcastInstance client;
+
+    @Before
+    public void setUp() {
+        factory = new TestHazelcastFactory();
+        Config config = getConfig();
+        config.getMapConfig("loaded").getMapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(loader);
+        factory.newInstances(config, 2);
+
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(ClientProperty.MAP_READ_COALESCING_WINDOW_MICROS.getName(), "200000")
+                .setProperty(ClientProperty.MAP_READ_COALESCING_MAX_BATCH_SIZE.getName(), "16")
+                .addNearCacheConfig(new NearCacheConfig("nearCached*"));
+        client = factory.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void tearDown() {
+        factory.shutdownAll();
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        assertGet(client.getMap("map"));
+    }
+
+    @Test
+    public void testGet_whenNearCached() throws Exception {
+        IMap<Integer, Integer> map = client.getMap("nearCachedMap");
+        assertGet(map);
+        // served from the Near Cache
+        assertGet(map);
+    }
+
+    @Test
+    public void testConcurrentGetsOfSameKey_shareRequest() throws Exception {
+        IMap<String, String> map = client.getMap("loaded");
+        CyclicBarrier barrier = new CyclicBarrier(THREAD_COUNT);
+        List<Future<String>> futures = new ArrayList<>(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(spawn(() -> {
+                barrier.await();
+                return map.get("missing");
+            }));
+        }
+
+        for (Future<String> future : futures) {
+            assertNull(future.get());
+        }
+        assertEquals(1, loader.loadCalls.get());
+    }
+
+    private void assertGet(IMap<Integer, Integer> map) throws Exception {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.set(i, i);
+        }
+
+        List<Future<?>> futures = new ArrayList<>(THREAD_COUNT);
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            futures.add(spawn(() -> {
+                // more keys than a batch fits
+                for (int i = 0; i < ENTRY_COUNT + 10; i += 20) {
+                    Integer value = map.get(i);
+                    assertEquals(i < ENTRY_COUNT ? Integer.valueOf(i) : null, value);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static class CountingMapLoader implements MapLoader<String, String> {
+
+        private final AtomicInteger loadCalls = new AtomicInteger();
+
+        @Override
+        public String load(String key) {
+            loadCalls.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        public Map<String, String> loadAll(Collection<String> keys) {
+            loadCalls.incrementAndGet();
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Iterable<String> loadAllKeys() {
+            return Collections.emptyList();
+        }
+    }
+}
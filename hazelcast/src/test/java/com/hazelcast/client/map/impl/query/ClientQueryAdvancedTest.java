@@ -18,12 +18,15 @@ package com.hazelcast.client.map.impl.query;
 
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.SampleTestObjects.Value;
 import com.hazelcast.query.SampleTestObjects.ValueType;
+import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -36,6 +39,7 @@ import org.junit.runner.RunWith;
 import java.util.Collection;
 
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -72,6 +76,21 @@ public class ClientQueryAdvancedTest extends HazelcastTestSupport {
         assertThat(emptyFieldValues).containsExactlyInAnyOrder(valueWithNull);
     }
 
+    @Test
+    public void addIndex_whenCoveringEnabled_thenMemberIndexIsCovering() {
+        HazelcastInstance member = hazelcastFactory.newHazelcastInstance(getConfig());
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(getClientConfig());
+        IMap<Integer, Value> map = client.getMap("default");
+
+        map.addIndex(new IndexConfig(IndexType.HASH, "type").setCoveringEnabled(true));
+
+        MapService mapService = getNodeEngineImpl(member).getService(MapService.SERVICE_NAME);
+        InternalIndex[] indexes = mapService.getMapServiceContext().getMapContainer("default")
+                .getGlobalIndexRegistry().getIndexes();
+        assertThat(indexes).hasSize(1);
+        assertThat(indexes[0].getConfig().isCoveringEnabled()).isTrue();
+    }
+
     protected ClientConfig getClientConfig() {
         return new ClientConfig();
     }
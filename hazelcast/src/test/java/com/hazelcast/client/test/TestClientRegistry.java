@@ -40,6 +40,7 @@ import com.hazelcast.test.mocknetwork.TestNodeRegistry;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -263,6 +264,16 @@ class TestClientRegistry {
             return true;
         }
 
+        @Override
+        public boolean writeAll(Collection<ClientMessage> messages) {
+            for (ClientMessage message : messages) {
+                if (!write(message)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         @Override
         public Address getInitAddress() {
             return remoteAddress;
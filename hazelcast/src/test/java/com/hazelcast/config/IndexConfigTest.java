@@ -30,6 +30,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 
@@ -43,6 +44,7 @@ public class IndexConfigTest {
 
         assertEquals(IndexType.SORTED, config.getType());
         assertNull(config.getName());
+        assertFalse(config.isCoveringEnabled());
         assertEquals(QueryConstants.KEY_ATTRIBUTE_NAME.value(), config.getBitmapIndexOptions().getUniqueKey());
         assertEquals(UniqueKeyTransformation.OBJECT, config.getBitmapIndexOptions().getUniqueKeyTransformation());
     }
@@ -67,6 +69,9 @@ public class IndexConfigTest {
 
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name"), true);
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name2"), false);
+
+        checkIndexQuality(new IndexConfig().setCoveringEnabled(true), new IndexConfig().setCoveringEnabled(true), true);
+        checkIndexQuality(new IndexConfig().setCoveringEnabled(true), new IndexConfig(), false);
     }
 
     private void checkIndexQuality(IndexConfig config1, IndexConfig config2, boolean expected) {
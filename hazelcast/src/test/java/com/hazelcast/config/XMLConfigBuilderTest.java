@@ -2639,7 +2639,7 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         String xml = HAZELCAST_START_TAG
                 + "   <map name=\"people\">\n"
                 + "       <indexes>\n"
-                + "           <index type=\"HASH\">\n"
+                + "           <index type=\"HASH\" covering-enabled=\"true\">\n"
                 + "               <attributes>\n"
                 + "                   <attribute>name</attribute>\n"
                 + "               </attributes>\n"
@@ -2672,6 +2672,8 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertIndexEqual("name", false, indexConfigs.get(0));
         assertIndexEqual("age", true, indexConfigs.get(1));
         assertIndexEqual("age", true, indexConfigs.get(2));
+        assertTrue(indexConfigs.get(0).isCoveringEnabled());
+        assertFalse(indexConfigs.get(1).isCoveringEnabled());
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
@@ -2637,6 +2637,7 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "    people:\n"
                 + "      indexes:\n"
                 + "        - type: HASH\n"
+                + "          covering-enabled: true\n"
                 + "          attributes:\n"
                 + "            - \"name\"\n"
                 + "        - attributes:\n"
@@ -2662,6 +2663,8 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertIndexEqual("name", false, indexConfigs.get(0));
         assertIndexEqual("age", true, indexConfigs.get(1));
         assertIndexEqual("age", true, indexConfigs.get(2));
+        assertTrue(indexConfigs.get(0).isCoveringEnabled());
+        assertFalse(indexConfigs.get(1).isCoveringEnabled());
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
@@ -77,6 +77,7 @@ public class NetworkingImbalancePluginTest extends AbstractDiagnosticsPluginTest
                 assertContains("Networking");
                 assertContains("InputThreads");
                 assertContains("OutputThreads");
+                assertContains("process-time-percentage");
             }
         });
     }
@@ -237,6 +237,22 @@ public abstract class AbstractDynamicConfigGeneratorTest extends HazelcastTestSu
         assertEquals(expectedConfig, actualConfig);
     }
 
+    @Test
+    public void testMapWithCoveringIndex() {
+        MapConfig expectedConfig = newMapConfig()
+                .setName("testMapWithCoveringIndex")
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "name").setCoveringEnabled(true))
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "age"));
+
+        Config config = new Config()
+                .addMapConfig(expectedConfig);
+
+        Config decConfig = getNewConfigViaGenerator(config);
+        MapConfig actualConfig = decConfig.getMapConfig("testMapWithCoveringIndex");
+        assertEquals(expectedConfig, actualConfig);
+        assertTrue(actualConfig.getIndexConfigs().get(0).isCoveringEnabled());
+    }
+
     @Test
     public void testMapNearCacheConfig() {
         NearCacheConfig expectedConfig = new NearCacheConfig()
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.impl.SlabMemoryManager.INITIAL_SLAB_BLOCK_COUNT;
+import static com.hazelcast.internal.memory.impl.SlabMemoryManager.MAX_SLAB_BLOCK_SIZE;
+import static com.hazelcast.internal.memory.impl.SlabMemoryManager.MIN_BLOCK_SIZE;
+import static com.hazelcast.internal.memory.impl.SlabMemoryManager.SLAB_SIZE;
+import static com.hazelcast.internal.memory.impl.SlabMemoryManager.blockSizeOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SlabMemoryManagerTest {
+
+    private SlabMemoryManager memoryManager;
+    private MemoryAllocator malloc;
+    private MemoryAccessor mem;
+
+    @Before
+    public void setUp() {
+        memoryManager = new SlabMemoryManager();
+        malloc = memoryManager.getAllocator();
+        mem = memoryManager.getAccessor();
+    }
+
+    @After
+    public void tearDown() {
+        memoryManager.dispose();
+    }
+
+    @Test
+    public void test_blockSizeOf() {
+        assertEquals(MIN_BLOCK_SIZE, blockSizeOf(1));
+        assertEquals(48, blockSizeOf(33));
+        assertEquals(64, blockSizeOf(64));
+        assertEquals(80, blockSizeOf(65));
+        assertEquals(128, blockSizeOf(128));
+        assertEquals(160, blockSizeOf(129));
+        assertEquals(7 * 1024, blockSizeOf(6 * 1024 + 1));
+        assertEquals(MAX_SLAB_BLOCK_SIZE, blockSizeOf(MAX_SLAB_BLOCK_SIZE));
+        assertEquals(MAX_SLAB_BLOCK_SIZE + 1, blockSizeOf(MAX_SLAB_BLOCK_SIZE + 1));
+    }
+
+    @Test
+    public void allocate_returnsZeroedBlock() {
+        long address = malloc.allocate(100);
+        mem.setMemory(address, 100, (byte) 7);
+        malloc.free(address, 100);
+
+        long reused = malloc.allocate(100);
+
+        assertEquals(address, reused);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, mem.getByte(reused + i));
+        }
+    }
+
+    @Test
+    public void allocate_doesNotOverlap() {
+        long first = malloc.allocate(24);
+        long second = malloc.allocate(24);
+
+        assertNotEquals(first, second);
+        assertEquals(32, Math.abs(second - first));
+    }
+
+    @Test
+    public void usedAndCommittedMemory_trackAllocations() {
+        long small = malloc.allocate(40);
+        long large = malloc.allocate(MAX_SLAB_BLOCK_SIZE * 2);
+
+        assertEquals(48 + MAX_SLAB_BLOCK_SIZE * 2, memoryManager.getUsedMemory());
+        assertEquals(INITIAL_SLAB_BLOCK_COUNT * 48 + MAX_SLAB_BLOCK_SIZE * 2, memoryManager.getCommittedMemory());
+
+        malloc.free(small, 40);
+        malloc.free(large, MAX_SLAB_BLOCK_SIZE * 2);
+
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(INITIAL_SLAB_BLOCK_COUNT * 48, memoryManager.getCommittedMemory());
+    }
+
+    @Test
+    public void allocate_allSizeClasses() {
+        for (int size = 1; size <= MAX_SLAB_BLOCK_SIZE; size++) {
+            long address = malloc.allocate(size);
+            mem.setMemory(address, blockSizeOf(size), (byte) 1);
+            malloc.free(address, size);
+        }
+
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void reallocate_preservesContents() {
+        long address = malloc.allocate(16);
+        mem.putLong(address, 42L);
+        mem.putLong(address + 8, 43L);
+
+        long newAddress = malloc.reallocate(address, 16, 4096);
+
+        assertEquals(42L, mem.getLong(newAddress));
+        assertEquals(43L, mem.getLong(newAddress + 8));
+        assertEquals(0L, mem.getLong(newAddress + 16));
+        assertEquals(4096, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void allocate_manySlabs() {
+        int count = 3 * SLAB_SIZE / 128;
+        long[] addresses = new long[count];
+        for (int i = 0; i < count; i++) {
+            addresses[i] = malloc.allocate(128);
+            mem.putInt(addresses[i], i);
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, mem.getInt(addresses[i]));
+        }
+        long committed = memoryManager.getCommittedMemory();
+        assertTrue("committed: " + committed, committed >= 3 * SLAB_SIZE && committed < 4 * SLAB_SIZE);
+    }
+
+    @Test
+    public void allocate_slabsGrowWithDemand() {
+        malloc.allocate(128);
+        assertEquals(INITIAL_SLAB_BLOCK_COUNT * 128, memoryManager.getCommittedMemory());
+
+        for (int i = 1; i <= INITIAL_SLAB_BLOCK_COUNT; i++) {
+            malloc.allocate(128);
+        }
+        assertEquals(3 * INITIAL_SLAB_BLOCK_COUNT * 128, memoryManager.getCommittedMemory());
+
+        malloc.allocate(MAX_SLAB_BLOCK_SIZE);
+        assertEquals(3 * INITIAL_SLAB_BLOCK_COUNT * 128 + INITIAL_SLAB_BLOCK_COUNT * MAX_SLAB_BLOCK_SIZE,
+                memoryManager.getCommittedMemory());
+    }
+
+    @Test
+    public void dispose_releasesEverything() {
+        malloc.allocate(16);
+        malloc.allocate(MAX_SLAB_BLOCK_SIZE + 1);
+
+        memoryManager.dispose();
+
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(0, memoryManager.getCommittedMemory());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.server.tcp.TcpServer;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.OverridePropertyRule;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+
+import static com.hazelcast.test.Accessors.getNode;
+import static com.hazelcast.test.OverridePropertyRule.set;
+import static com.hazelcast.test.TestEnvironment.HAZELCAST_TEST_USE_NETWORK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class NioBufferPoolTest extends HazelcastTestSupport {
+
+    @Rule
+    public final OverridePropertyRule overridePropertyRule = set(HAZELCAST_TEST_USE_NETWORK, "true");
+
+    @Test
+    public void allocate_whenPoolEmpty_thenNewBuffer() {
+        NioBufferPool pool = new NioBufferPool(2);
+
+        ByteBuffer heap = pool.allocate(128, false);
+        ByteBuffer direct = pool.allocate(128, true);
+
+        assertEquals(128, heap.capacity());
+        assertFalse(heap.isDirect());
+        assertEquals(128, direct.capacity());
+        assertTrue(direct.isDirect());
+        assertEquals(2, pool.allocatedBuffers());
+        assertEquals(0, pool.reusedBuffers());
+    }
+
+    @Test
+    public void allocate_whenBufferFreed_thenBufferReusedCleared() {
+        NioBufferPool pool = new NioBufferPool(2);
+        ByteBuffer buffer = pool.allocate(128, true);
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putLong(1).flip();
+
+        pool.free(buffer);
+        ByteBuffer reused = pool.allocate(128, true);
+
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(128, reused.limit());
+        assertEquals(ByteOrder.BIG_ENDIAN, reused.order());
+        assertEquals(1, pool.allocatedBuffers());
+        assertEquals(1, pool.reusedBuffers());
+    }
+
+    @Test
+    public void allocate_whenBufferOfOtherSizeOrKindFreed_thenNewBuffer() {
+        NioBufferPool pool = new NioBufferPool(2);
+        ByteBuffer buffer = pool.allocate(128, true);
+        pool.free(buffer);
+
+        assertNotSame(buffer, pool.allocate(256, true));
+        assertNotSame(buffer, pool.allocate(128, false));
+        assertEquals(0, pool.reusedBuffers());
+    }
+
+    @Test
+    public void free_whenPoolFull_thenBufferDropped() {
+        NioBufferPool pool = new NioBufferPool(1);
+        ByteBuffer buffer1 = pool.allocate(128, false);
+        ByteBuffer buffer2 = pool.allocate(128, false);
+
+        pool.free(buffer1);
+        pool.free(buffer2);
+
+        assertSame(buffer1, pool.allocate(128, false));
+        assertNotSame(buffer2, pool.allocate(128, false));
+        assertEquals(3, pool.allocatedBuffers());
+    }
+
+    @Test
+    public void freeBuffer_whenNotFromPool_thenNotPooled() {
+        NioBufferPool pool = new NioBufferPool(2);
+        NioChannel channel = new NioChannel(mock(SocketChannel.class), false, null, null, pool);
+        ByteBuffer pooled = channel.allocateBuffer(128);
+
+        channel.freeBuffer(ByteBuffer.allocate(128));
+        channel.freeBuffer(pooled);
+        // returned only once
+        channel.freeBuffer(pooled);
+
+        assertSame(pooled, pool.allocate(128, false));
+        assertEquals(1, pool.reusedBuffers());
+        pool.allocate(128, false);
+        assertEquals(1, pool.reusedBuffers());
+    }
+
+    @Test
+    public void whenPoolNotConfigured_thenNoPool() {
+        // the pool is disabled by default
+        HazelcastInstance instance = createHazelcastInstance(smallInstanceConfig());
+
+        assertNull(networking(instance).getBufferPool());
+    }
+
+    @Test
+    public void whenMemberReplaced_thenBuffersOfClosedConnectionReused() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.IO_BUFFER_POOL_SIZE.getName(), "16");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        NioBufferPool pool = networking(instance1).getBufferPool();
+        assertEquals(0, pool.reusedBuffers());
+
+        instance2.getLifecycleService().terminate();
+        assertClusterSizeEventually(1, instance1);
+        HazelcastInstance instance3 = factory.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, instance1, instance3);
+
+        IMap<Integer, Integer> map = instance1.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        IMap<Integer, Integer> map3 = instance3.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) map3.get(i));
+        }
+        assertTrue(pool.reusedBuffers() > 0);
+    }
+
+    private static NioNetworking networking(HazelcastInstance instance) {
+        return (NioNetworking) ((TcpServer) getNode(instance).getServer()).getNetworking();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.BuildInfoProvider;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.server.tcp.PacketEncoder;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.tcp.TcpServerConnection;
+import com.hazelcast.logging.impl.LoggingServiceImpl;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.OverridePropertyRule;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import static com.hazelcast.instance.EndpointQualifier.MEMBER;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
+import static com.hazelcast.internal.networking.nio.NioOutboundPipeline.FRAMES_PER_WRITE_KEYS;
+import static com.hazelcast.internal.networking.nio.NioOutboundPipeline.framesPerWriteBucket;
+import static com.hazelcast.test.Accessors.getNode;
+import static com.hazelcast.test.OverridePropertyRule.set;
+import static com.hazelcast.test.TestEnvironment.HAZELCAST_TEST_USE_NETWORK;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class NioOutboundPipeline_WriteCoalescingTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int SEND_BUFFER_SIZE = 32 * 1024;
+
+    @Rule
+    public final OverridePropertyRule overridePropertyRule = set(HAZELCAST_TEST_USE_NETWORK, "true");
+
+    @Test
+    public void testFramesPerWriteBucket() {
+        assertEquals("0", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(0)]);
+        assertEquals("1", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(1)]);
+        assertEquals("2..3", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(2)]);
+        assertEquals("2..3", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(3)]);
+        assertEquals("4..7", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(4)]);
+        assertEquals("64..127", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(127)]);
+        assertEquals("128+", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(128)]);
+        assertEquals("128+", FRAMES_PER_WRITE_KEYS[framesPerWriteBucket(Long.MAX_VALUE)]);
+    }
+
+    @Test
+    public void whenWriteCoalescingEnabled_thenFramesWrittenTogether() throws Exception {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.IO_WRITE_THROUGH_ENABLED.getName(), "false")
+                .setProperty(ClusterProperty.IO_WRITE_COALESCING_DELAY_MICROS.getName(), "500");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        IMap<Integer, Integer> map = instance1.getMap("map");
+        List<CompletionStage<Void>> futures = new ArrayList<>(ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            futures.add(map.setAsync(i, i));
+        }
+        for (CompletionStage<Void> future : futures) {
+            future.toCompletableFuture().get();
+        }
+
+        IMap<Integer, Integer> map2 = instance2.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) map2.get(i));
+        }
+        assertTrue(coalescedWrites(instance1) > 0);
+    }
+
+    @Test
+    public void whenWriteIsDelayed_thenOtherChannelOfSameThreadMakesProgress() throws Exception {
+        // the delay outlasts the test, the first write is held back until the networking is shut down
+        NioNetworking networking = newNetworking(SECONDS.toNanos(60));
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            SocketChannel[] delayedSockets = connect(server);
+            Channel delayed = register(networking, delayedSockets[0]);
+            SocketChannel delayedPeer = delayedSockets[1];
+            SocketChannel[] otherSockets = connect(server);
+            Channel other = register(networking, otherSockets[0]);
+            SocketChannel otherPeer = otherSockets[1];
+
+            // a single small packet is held back by the output thread
+            delayed.write(new Packet(new byte[16]));
+            NioOutboundPipeline delayedPipeline = ((NioChannel) delayed).outboundPipeline();
+            assertTrueEventually(() -> assertEquals(0, delayedPipeline.totalFramesPending()));
+
+            // many times the socket buffers, so the other channel can only complete
+            // if the output thread keeps selecting for OP_WRITE
+            int packetCount = 1024;
+            byte[] payload = new byte[SEND_BUFFER_SIZE / 2];
+            for (int i = 0; i < packetCount; i++) {
+                other.write(new Packet(payload));
+            }
+
+            // the tail of the last send buffer may be held back as well
+            long minExpected = (long) packetCount * payload.length - SEND_BUFFER_SIZE;
+            ByteBuffer readBuffer = ByteBuffer.allocate(SEND_BUFFER_SIZE);
+            long[] received = {0};
+            assertTrueEventually(() -> {
+                received[0] += drain(otherPeer, readBuffer);
+                assertTrue("received=" + received[0], received[0] >= minExpected);
+            }, 30);
+            assertEquals("the delayed write was flushed", 0, drain(delayedPeer, readBuffer));
+        } finally {
+            networking.shutdown();
+        }
+    }
+
+    @Test
+    public void whenWriteIsDelayed_thenPipelineNotProcessedUntilDeadline() throws Exception {
+        NioNetworking networking = newNetworking(SECONDS.toNanos(2));
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            SocketChannel[] sockets = connect(server);
+            Channel channel = register(networking, sockets[0]);
+            SocketChannel peer = sockets[1];
+            NioOutboundPipeline pipeline = ((NioChannel) channel).outboundPipeline();
+
+            channel.write(new Packet(new byte[16]));
+            assertTrueEventually(() -> assertEquals(0, pipeline.totalFramesPending()));
+            long processCount = pipeline.processCount.get();
+
+            // the socket is writable, but the delayed pipeline isn't processed again
+            sleepMillis(500);
+            ByteBuffer readBuffer = ByteBuffer.allocate(SEND_BUFFER_SIZE);
+            assertEquals(0, drain(peer, readBuffer));
+            assertEquals(processCount, pipeline.processCount.get());
+
+            // until the deadline flushes the send buffer
+            long[] received = {0};
+            assertTrueEventually(() -> {
+                received[0] += drain(peer, readBuffer);
+                assertTrue("received=" + received[0], received[0] > 16);
+            });
+            assertEquals(processCount + 1, pipeline.processCount.get());
+        } finally {
+            networking.shutdown();
+        }
+    }
+
+    private static NioNetworking newNetworking(long writeCoalescingDelayNanos) {
+        LoggingServiceImpl loggingService =
+                new LoggingServiceImpl("coalescing", "log4j2", BuildInfoProvider.getBuildInfo(), true, null);
+        NioNetworking networking = new NioNetworking(new NioNetworking.Context()
+                .loggingService(loggingService)
+                .metricsRegistry(new MetricsRegistryImpl(loggingService.getLogger(MetricsRegistryImpl.class), INFO))
+                .threadNamePrefix("coalescing")
+                .errorHandler((channel, error) -> { })
+                .inputThreadCount(1)
+                .outputThreadCount(1)
+                .writeCoalescing(writeCoalescingDelayNanos, Integer.MAX_VALUE)
+                .selectorMode(SelectorMode.SELECT));
+        networking.restart();
+        return networking;
+    }
+
+    /**
+     * Opens a connection to the server and returns both its ends, the
+     * accepted one is non-blocking.
+     */
+    private static SocketChannel[] connect(ServerSocketChannel server) throws IOException {
+        SocketChannel socketChannel = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept();
+        accepted.configureBlocking(false);
+        return new SocketChannel[] {socketChannel, accepted};
+    }
+
+    private static Channel register(NioNetworking networking, SocketChannel socketChannel) throws IOException {
+        ChannelInitializer initializer = channel -> {
+            channel.options().setOption(SO_SNDBUF, SEND_BUFFER_SIZE);
+            channel.outboundPipeline().addLast(new PacketEncoder());
+        };
+        Channel channel = networking.register(initializer, socketChannel, true);
+        channel.start();
+        return channel;
+    }
+
+    private static long drain(SocketChannel peer, ByteBuffer buffer) throws IOException {
+        long total = 0;
+        for (int read; (read = peer.read(buffer)) > 0; buffer.clear()) {
+            total += read;
+        }
+        buffer.clear();
+        return total;
+    }
+
+    /**
+     * Returns the number of socket writes of the member connections which
+     * contained more than a single frame.
+     */
+    private static long coalescedWrites(HazelcastInstance instance) {
+        long writes = 0;
+        for (ServerConnection connection : getNode(instance).getServer().getConnectionManager(MEMBER).getConnections()) {
+            NioOutboundPipeline pipeline = ((NioChannel) ((TcpServerConnection) connection).getChannel()).outboundPipeline();
+            for (int bucket = framesPerWriteBucket(2); bucket < FRAMES_PER_WRITE_KEYS.length; bucket++) {
+                writes += pipeline.framesPerWrite(bucket);
+            }
+        }
+        return writes;
+    }
+}
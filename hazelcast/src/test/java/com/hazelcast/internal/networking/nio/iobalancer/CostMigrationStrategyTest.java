@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio.iobalancer;
+
+import com.hazelcast.internal.networking.nio.MigratablePipeline;
+import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.internal.util.ItemCounter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.networking.nio.iobalancer.CostMigrationStrategy.IMBALANCE_ROUNDS_BEFORE_MIGRATION;
+import static com.hazelcast.internal.networking.nio.iobalancer.CostMigrationStrategy.MIGRATION_COOLDOWN_ROUNDS;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CostMigrationStrategyTest extends HazelcastTestSupport {
+
+    private Map<NioThread, Set<MigratablePipeline>> ownerToPipelines;
+    private ItemCounter<MigratablePipeline> loadCounter;
+    private ItemCounter<MigratablePipeline> processTimeCounter;
+    private LoadImbalance imbalance;
+    private NioThread owner1;
+    private NioThread owner2;
+
+    private CostMigrationStrategy strategy;
+
+    @Before
+    public void setUp() {
+        ownerToPipelines = new HashMap<>();
+        loadCounter = new ItemCounter<>();
+        processTimeCounter = new ItemCounter<>();
+        imbalance = new LoadImbalance(ownerToPipelines, loadCounter, processTimeCounter);
+        owner1 = mock(NioThread.class);
+        owner2 = mock(NioThread.class);
+        ownerToPipelines.put(owner1, new HashSet<>());
+        ownerToPipelines.put(owner2, new HashSet<>());
+        strategy = new CostMigrationStrategy();
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldReturnFalseWhenNoLoad() {
+        addPipeline(owner1, 0, 0);
+        addPipeline(owner1, 0, 0);
+
+        assertFalse(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldReturnFalseWhenBalanced() {
+        addPipeline(owner1, 100, 1000);
+        addPipeline(owner1, 100, 1000);
+        addPipeline(owner2, 200, 2000);
+
+        assertFalse(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldRequireConsecutiveRounds() {
+        addPipeline(owner1, 100, 1000);
+        addPipeline(owner1, 100, 1000);
+        addPipeline(owner2, 10, 100);
+
+        assertFalse(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION - 1));
+        assertTrue(strategy.imbalanceDetected(imbalance));
+        assertSame(owner1, imbalance.srcOwner);
+        assertSame(owner2, imbalance.dstOwner);
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldResetRoundsWhenBalanced() {
+        addPipeline(owner1, 100, 1000);
+        addPipeline(owner1, 100, 1000);
+        MigratablePipeline pipeline = addPipeline(owner2, 10, 100);
+
+        assertFalse(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION - 1));
+
+        // a balanced interval
+        loadCounter.set(pipeline, 200L);
+        processTimeCounter.set(pipeline, 2000L);
+        assertFalse(strategy.imbalanceDetected(imbalance));
+
+        loadCounter.set(pipeline, 10L);
+        processTimeCounter.set(pipeline, 100L);
+        assertFalse(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION - 1));
+        assertTrue(strategy.imbalanceDetected(imbalance));
+    }
+
+    @Test
+    public void testImbalanceDetected_shouldBalanceOnProcessTime() {
+        // the same number of bytes, but the pipelines of owner1 keep it much busier
+        addPipeline(owner1, 100, 9000);
+        addPipeline(owner1, 100, 9000);
+        addPipeline(owner2, 200, 1000);
+
+        assertTrue(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+        assertSame(owner1, imbalance.srcOwner);
+        assertSame(owner2, imbalance.dstOwner);
+    }
+
+    @Test
+    public void testFindPipelineToMigrate() {
+        addPipeline(owner1, 400, 4000);
+        MigratablePipeline medium = addPipeline(owner1, 200, 2000);
+        addPipeline(owner1, 100, 1000);
+        addPipeline(owner2, 300, 3000);
+
+        // moving the heavy pipeline would turn owner2 into the busiest thread
+        assertTrue(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+        assertSame(medium, strategy.findPipelineToMigrate(imbalance));
+    }
+
+    @Test
+    public void testFindPipelineToMigrate_skipsRecentlyMigratedPipelines() {
+        addPipeline(owner1, 400, 4000);
+        MigratablePipeline medium = addPipeline(owner1, 200, 2000);
+        MigratablePipeline light = addPipeline(owner1, 100, 1000);
+        addPipeline(owner2, 300, 3000);
+
+        assertTrue(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+        assertSame(medium, strategy.findPipelineToMigrate(imbalance));
+
+        assertTrue(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+        assertSame(light, strategy.findPipelineToMigrate(imbalance));
+
+        assertTrue(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+        assertNull(strategy.findPipelineToMigrate(imbalance));
+
+        for (int round = 0; round < MIGRATION_COOLDOWN_ROUNDS; round++) {
+            strategy.imbalanceDetected(imbalance);
+        }
+        assertTrue(detectedWithinRounds(IMBALANCE_ROUNDS_BEFORE_MIGRATION));
+        assertSame(medium, strategy.findPipelineToMigrate(imbalance));
+    }
+
+    private boolean detectedWithinRounds(int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            if (strategy.imbalanceDetected(imbalance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MigratablePipeline addPipeline(NioThread owner, long load, long processTimeNanos) {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        loadCounter.set(pipeline, load);
+        processTimeCounter.set(pipeline, processTimeNanos);
+        ownerToPipelines.get(owner).add(pipeline);
+        return pipeline;
+    }
+}
@@ -115,4 +115,23 @@ public class LoadTrackerTest {
         assertEquals(owner2, loadImbalance.dstOwner);
         assertEquals(owner2, loadImbalance.srcOwner);
     }
+
+    @Test
+    public void testUpdateImbalance_tracksProcessTimeSinceLastCheck() {
+        MigratablePipeline pipeline = mock(MigratablePipeline.class);
+        when(pipeline.processTimeNanos())
+                .thenReturn(1000L)
+                .thenReturn(1500L);
+        when(pipeline.owner()).thenReturn(owner1);
+        loadTracker.addPipeline(pipeline);
+
+        LoadImbalance loadImbalance = loadTracker.updateImbalance();
+        assertEquals(1000, loadImbalance.getProcessTimeNanos(pipeline));
+
+        loadTracker.updateImbalance();
+        assertEquals(500, loadImbalance.getProcessTimeNanos(pipeline));
+
+        loadTracker.removePipeline(pipeline);
+        assertEquals(0, loadTracker.getPipelineProcessTimeCount().get(pipeline));
+    }
 }
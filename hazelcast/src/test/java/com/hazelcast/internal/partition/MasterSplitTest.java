@@ -121,7 +121,7 @@ public class MasterSplitTest extends HazelcastTestSupport {
                 = new ReplicaFragmentMigrationState(Collections.emptyMap(),
                 Collections.emptySet(), Collections.emptySet(), chunkedMigrationEnabled,
                 (int) MemoryUnit.MEGABYTES.toBytes(50),
-                Logger.getLogger(getClass()), 1);
+                Logger.getLogger(getClass()), 1, false, null);
         Operation op = new MigrationOperation(migration, Collections.emptyList(),
                 0, migrationState, true, true);
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteOrder;
+import java.util.Collections;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactFieldComparatorTest {
+
+    private static final String[] STRINGS = {"", "a", "ab", "b", "za\u017c\u00f3\u0142\u0107", "zaz", "\u00e9", "\uffff",
+            "\ud83d\ude00", "\ud83d\ude00a", "x\ud83d\ude01", "x\ud83d\ude00"};
+
+    @Test
+    public void testFixedSizeFields() {
+        InternalSerializationService ss = createSerializationService();
+        Data data = ss.toData(GenericRecordBuilder.compact("fixed")
+                .setBoolean("bool", true)
+                .setInt8("i8", (byte) -3)
+                .setInt16("i16", (short) 300)
+                .setInt32("i32", 42)
+                .setInt64("i64", -1L)
+                .setFloat32("f32", 1.5f)
+                .setFloat64("f64", -0.0d)
+                .build());
+
+        assertCompare(ss, data, "bool", true, false);
+        assertCompare(ss, data, "i8", (byte) -3, (byte) -4, (byte) 0, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        assertCompare(ss, data, "i16", (short) 300, (short) 299, (short) 301);
+        assertCompare(ss, data, "i32", 42, 41, 43, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertCompare(ss, data, "i64", -1L, 0L, -2L, Long.MIN_VALUE);
+        assertCompare(ss, data, "f32", 1.5f, 1.4f, Float.NaN);
+        assertCompare(ss, data, "f64", -0.0d, 0.0d, -1d, Double.NaN);
+    }
+
+    @Test
+    public void testBooleanFieldsPackedInBytes() {
+        InternalSerializationService ss = createSerializationService();
+        GenericRecordBuilder builder = GenericRecordBuilder.compact("booleans");
+        for (int i = 0; i < 10; i++) {
+            builder.setBoolean("b" + i, i % 3 == 0);
+        }
+        Data data = ss.toData(builder.build());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, ss.compareCompactField(data, "b" + i, i % 3 == 0));
+        }
+    }
+
+    @Test
+    public void testStringFields() {
+        InternalSerializationService ss = createSerializationService();
+        for (String fieldValue : STRINGS) {
+            Data data = ss.toData(GenericRecordBuilder.compact("strings")
+                    .setInt32("i32", 1)
+                    .setString("str", fieldValue)
+                    .build());
+            assertCompare(ss, data, "str", (Object[]) STRINGS);
+        }
+    }
+
+    @Test
+    public void testStringFields_withLittleEndianByteOrder() {
+        InternalSerializationService ss = createSerializationService(
+                new SerializationConfig().setByteOrder(ByteOrder.LITTLE_ENDIAN));
+        Data data = ss.toData(GenericRecordBuilder.compact("strings")
+                .setInt64("i64", 1L << 40)
+                .setString("str", "za\u017c\u00f3\u0142\u0107")
+                .build());
+
+        assertCompare(ss, data, "i64", 1L << 40, 1L);
+        assertCompare(ss, data, "str", (Object[]) STRINGS);
+    }
+
+    @Test
+    public void testStringFields_withShortAndIntOffsets() {
+        InternalSerializationService ss = createSerializationService();
+        for (int length : new int[]{1_000, 100_000}) {
+            String padding = String.join("", Collections.nCopies(length, "x"));
+            Data data = ss.toData(GenericRecordBuilder.compact("offsets")
+                    .setString("a", padding)
+                    .setString("b", "za\u017c\u00f3\u0142\u0107")
+                    .setString("c", null)
+                    .build());
+
+            assertCompare(ss, data, "a", padding, padding + "x", "y");
+            assertCompare(ss, data, "b", (Object[]) STRINGS);
+            assertEquals(NOT_COMPARABLE, ss.compareCompactField(data, "c", "x"));
+        }
+    }
+
+    @Test
+    public void testNotComparable() {
+        InternalSerializationService ss = createSerializationService();
+        Data data = ss.toData(GenericRecordBuilder.compact("notComparable")
+                .setInt32("i32", 1)
+                .setString("nullString", null)
+                .setNullableInt32("nullableInt32", 1)
+                .setArrayOfInt32("arrayOfInt32", new int[]{1})
+                .build());
+
+        assertEquals(NOT_COMPARABLE, ss.compareCompactField(data, "missing", 1));
+        assertEquals(NOT_COMPARABLE, ss.compareCompactField(data, "i32", 1L));
+        assertEquals(NOT_COMPARABLE, ss.compareCompactField(data, "i32", "1"));
+        assertEquals(NOT_COMPARABLE, ss.compareCompactField(data, "nullString", "x"));
+        assertEquals(NOT_COMPARABLE, ss.compareCompactField(data, "nullableInt32", 1));
+        assertEquals(NOT_COMPARABLE, ss.compareCompactField(data, "arrayOfInt32", 1));
+        assertEquals(NOT_COMPARABLE, ss.compareCompactField(ss.toData(1), "i32", 1));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void assertCompare(InternalSerializationService ss, Data data, String fieldName, Object... values) {
+        GenericRecord record = ss.toObject(data);
+        Comparable fieldValue = readField(record, fieldName);
+        for (Object value : values) {
+            int expected = Integer.signum(fieldValue.compareTo(value));
+            int actual = ss.compareCompactField(data, fieldName, (Comparable) value);
+            assertNotEquals(NOT_COMPARABLE, actual);
+            assertEquals(fieldName + " compared with " + value, expected, Integer.signum(actual));
+        }
+    }
+
+    private static Comparable<?> readField(GenericRecord record, String fieldName) {
+        switch (record.getFieldKind(fieldName)) {
+            case BOOLEAN:
+                return record.getBoolean(fieldName);
+            case INT8:
+                return record.getInt8(fieldName);
+            case INT16:
+                return record.getInt16(fieldName);
+            case INT32:
+                return record.getInt32(fieldName);
+            case INT64:
+                return record.getInt64(fieldName);
+            case FLOAT32:
+                return record.getFloat32(fieldName);
+            case FLOAT64:
+                return record.getFloat64(fieldName);
+            case STRING:
+                return record.getString(fieldName);
+            default:
+                throw new IllegalArgumentException(fieldName);
+        }
+    }
+}
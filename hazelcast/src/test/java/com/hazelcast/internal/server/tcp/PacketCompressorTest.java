@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PacketCompressorTest {
+
+    private static final int THRESHOLD = 100;
+
+    private final Counter bytesSaved = newSwCounter();
+    private TcpServerConnection connection;
+    private PacketCompressor compressor;
+    private PacketDecompressor decompressor;
+
+    @Before
+    public void setup() {
+        connection = mock(TcpServerConnection.class);
+        when(connection.isRemoteCompressionSupported()).thenReturn(true);
+        compressor = new PacketCompressor(connection, THRESHOLD, bytesSaved, newSwCounter());
+        decompressor = new PacketDecompressor(newSwCounter());
+    }
+
+    @Test
+    public void whenBelowThreshold_thenNotCompressed() {
+        Packet packet = new Packet(payload(THRESHOLD - 1, 0));
+
+        assertFalse(compressor.compress(packet));
+    }
+
+    @Test
+    public void whenRemoteDoesNotSupportCompression_thenNotCompressed() {
+        when(connection.isRemoteCompressionSupported()).thenReturn(false);
+        Packet packet = new Packet(payload(THRESHOLD * 10, 0));
+
+        assertFalse(compressor.compress(packet));
+    }
+
+    @Test
+    public void whenCompressed_thenDecompressedToOriginal() throws IOException {
+        Packet packet = new Packet(payload(THRESHOLD * 10, 0), 42)
+                .setPacketType(Packet.Type.OPERATION)
+                .raiseFlags(FLAG_URGENT);
+
+        Packet compressed = compress(packet);
+
+        assertTrue(compressed.isFlagRaised(FLAG_COMPRESSED));
+        assertTrue(compressed.totalSize() < packet.totalSize());
+        assertEquals(packet.totalSize() - compressed.totalSize(), bytesSaved.get());
+
+        Packet decompressed = decompressor.decompress(compressed);
+        assertFalse(decompressed.isFlagRaised(FLAG_COMPRESSED));
+        assertEquals(packet, decompressed);
+        assertEquals(Packet.Type.OPERATION, decompressed.getPacketType());
+        assertTrue(decompressed.isUrgent());
+    }
+
+    @Test
+    public void whenManyPacketsCompressed_thenPreviousPacketsUsedAsDictionary() throws IOException {
+        byte[] payload = payload(THRESHOLD * 10, 1);
+
+        Packet first = compress(new Packet(payload));
+        Packet second = compress(new Packet(payload));
+        // not compressed, it doesn't break the compression context
+        assertFalse(compressor.compress(new Packet(payload(THRESHOLD - 1, 2))));
+        Packet third = compress(new Packet(payload(THRESHOLD * 1000, 3)));
+
+        assertTrue(second.totalSize() < first.totalSize());
+        assertArrayEquals(payload, decompressor.decompress(first).toByteArray());
+        assertArrayEquals(payload, decompressor.decompress(second).toByteArray());
+        assertArrayEquals(payload(THRESHOLD * 1000, 3), decompressor.decompress(third).toByteArray());
+    }
+
+    @Test
+    public void whenDecompressedFromLargerBuffer_thenOnlyLengthUsed() throws IOException {
+        Packet packet = new Packet(payload(THRESHOLD * 10, 0), 42);
+        assertTrue(compressor.compress(packet));
+        byte[] buffer = decompressor.buffer(compressor.length() + 16);
+        System.arraycopy(compressor.buffer(), 0, buffer, 0, compressor.length());
+
+        assertSame(buffer, decompressor.buffer(compressor.length()));
+        assertEquals(packet, decompressor.decompress((char) (packet.getFlags() | FLAG_COMPRESSED), 42, buffer, compressor.length()));
+    }
+
+    @Test
+    public void whenLargerThanMaxReusedBuffer_thenNewBuffer() {
+        byte[] reused = decompressor.buffer(PacketDecompressor.MAX_REUSED_BUFFER_SIZE);
+
+        assertSame(reused, decompressor.buffer(1));
+        assertNotSame(reused, decompressor.buffer(PacketDecompressor.MAX_REUSED_BUFFER_SIZE + 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void whenMalformed_thenDecompressionFails() throws IOException {
+        Packet compressed = compress(new Packet(payload(THRESHOLD * 10, 0)));
+        byte[] malformed = compressed.toByteArray();
+        Arrays.fill(malformed, 4, malformed.length, (byte) -1);
+
+        decompressor.decompress(new Packet(malformed).raiseFlags(FLAG_COMPRESSED));
+    }
+
+    @Test
+    public void whenLargerThanMaxReusedBuffer_thenCompressorBufferShrinks() throws IOException {
+        // random bytes don't compress, so the buffer grows beyond the payload size
+        byte[] random = new byte[PacketDecompressor.MAX_REUSED_BUFFER_SIZE * 2];
+        new Random(0).nextBytes(random);
+        Packet large = compress(new Packet(random));
+        assertTrue(compressor.buffer().length > PacketDecompressor.MAX_REUSED_BUFFER_SIZE);
+
+        Packet small = compress(new Packet(payload(THRESHOLD * 10, 0)));
+
+        assertTrue(compressor.buffer().length <= PacketDecompressor.MAX_REUSED_BUFFER_SIZE);
+        assertArrayEquals(random, decompressor.decompress(large).toByteArray());
+        assertArrayEquals(payload(THRESHOLD * 10, 0), decompressor.decompress(small).toByteArray());
+    }
+
+    @Test
+    public void whenPayloadSizeNegative_thenDecompressionFails() {
+        byte[] compressed = new byte[16];
+        writeIntB(compressed, 0, -1);
+
+        assertThrows(IOException.class, () -> decompressor.decompress((char) FLAG_COMPRESSED, 0, compressed, compressed.length));
+    }
+
+    @Test
+    public void whenPayloadSizeExceedsMaxCompressionRatio_thenDecompressionFails() {
+        byte[] compressed = new byte[16];
+        writeIntB(compressed, 0, 12 * PacketDecompressor.MAX_COMPRESSION_RATIO + 1);
+
+        assertThrows(IOException.class, () -> decompressor.decompress((char) FLAG_COMPRESSED, 0, compressed, compressed.length));
+    }
+
+    @Test
+    public void whenEnded_thenNoCompression() {
+        compressor.end();
+
+        assertFalse(compressor.compress(new Packet(payload(THRESHOLD * 10, 0))));
+    }
+
+    @Test
+    public void whenEnded_thenDecompressionFails() {
+        Packet compressed = compress(new Packet(payload(THRESHOLD * 10, 0)));
+        compressor.end();
+        decompressor.end();
+
+        assertThrows(IOException.class, () -> decompressor.decompress(compressed));
+    }
+
+    private Packet compress(Packet packet) {
+        assertTrue(compressor.compress(packet));
+        return new Packet(Arrays.copyOf(compressor.buffer(), compressor.length()), packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() | FLAG_COMPRESSED);
+    }
+
+    private static byte[] payload(int size, int seed) {
+        byte[] payload = new byte[size];
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) ('a' + (i * 31 + seed) % 7);
+        }
+        return payload;
+    }
+}
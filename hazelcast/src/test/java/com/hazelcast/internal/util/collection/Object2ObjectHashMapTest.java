@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.collection;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class Object2ObjectHashMapTest {
+    private final Object2ObjectHashMap<String, Integer> map = new Object2ObjectHashMap<>();
+
+    @Test
+    public void shouldDoPutAndThenGet() {
+        map.put("seven", 7);
+
+        assertThat(map.get("seven")).isEqualTo(7);
+        assertTrue(map.containsKey("seven"));
+        assertTrue(map.containsValue(7));
+        assertNull(map.get("eight"));
+    }
+
+    @Test
+    public void shouldReplaceExistingValueForTheSameKey() {
+        map.put("seven", 7);
+
+        Integer oldValue = map.put("seven", 77);
+
+        assertThat(oldValue).isEqualTo(7);
+        assertThat(map.get("seven")).isEqualTo(77);
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void shouldSupportNullKey() {
+        map.put(null, 0);
+        map.put("one", 1);
+
+        assertThat(map.get(null)).isEqualTo(0);
+        assertTrue(map.containsKey(null));
+        assertTrue(map.keySet().contains(null));
+        assertThat(map.remove(null)).isEqualTo(0);
+        assertFalse(map.containsKey(null));
+        assertEquals(1, map.size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotSupportNullValue() {
+        map.put("seven", null);
+    }
+
+    @Test
+    public void shouldGrowWhenThresholdExceeded() {
+        Object2ObjectHashMap<String, Integer> map = new Object2ObjectHashMap<>(32, 0.5d);
+        for (int i = 0; i < 16; i++) {
+            map.put(Integer.toString(i), i);
+        }
+        assertEquals(32, map.capacity());
+
+        map.put("16", 16);
+
+        assertEquals(64, map.capacity());
+        for (int i = 0; i <= 16; i++) {
+            assertThat(map.get(Integer.toString(i))).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void shouldKeepCapacityWhenCleared() {
+        for (int i = 0; i < 100; i++) {
+            map.put(Integer.toString(i), i);
+        }
+        int capacity = map.capacity();
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get("1"));
+        assertEquals(capacity, map.capacity());
+    }
+
+    @Test
+    public void shouldBehaveAsHashMapOnRandomOperations() {
+        Random random = new Random(42);
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            String key = Integer.toString(random.nextInt(1_000));
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void shouldRemoveEntriesWhileIterating() {
+        for (int i = 0; i < 100; i++) {
+            map.put(Integer.toString(i), i);
+        }
+
+        int visited = 0;
+        for (Iterator<Entry<String, Integer>> it = map.entrySet().iterator(); it.hasNext(); ) {
+            Entry<String, Integer> entry = it.next();
+            assertEquals(Integer.toString(entry.getValue()), entry.getKey());
+            if (entry.getValue() % 2 == 0) {
+                it.remove();
+            }
+            visited++;
+        }
+
+        assertEquals(100, visited);
+        assertEquals(50, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : (Integer) i, map.get(Integer.toString(i)));
+        }
+    }
+
+    @Test
+    public void shouldSetValueThroughEntry() {
+        map.put("seven", 7);
+
+        for (Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(77);
+        }
+
+        assertThat(map.get("seven")).isEqualTo(77);
+    }
+
+    @Test
+    public void shouldGenerateStringRepresentation() {
+        map.put("seven", 7);
+
+        assertEquals("{seven=7}", map.toString());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.jet.impl.execution.AdaptiveBatchSizer.MIN_BATCH_SIZE;
+import static com.hazelcast.jet.impl.execution.AdaptiveBatchSizer.SHRINK_AFTER_CALLS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveBatchSizerTest {
+
+    private static final int MAX = 1024;
+
+    private final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(MAX, MAX);
+
+    @Test
+    public void when_created_then_maxBatchSize() {
+        assertEquals(MAX, sizer.batchSize());
+    }
+
+    @Test
+    public void when_outputQueueFull_then_halved() {
+        assertEquals(MAX / 2, sizer.update(10, false, true, 0, 100));
+        assertEquals(MAX / 4, sizer.update(10, false, true, 0, 100));
+    }
+
+    @Test
+    public void when_fewItemsEmitted_then_shrinksAfterSeveralCalls() {
+        for (int i = 1; i < SHRINK_AFTER_CALLS; i++) {
+            assertEquals(MAX, sizer.update(0, false, false, 0, 100));
+        }
+        assertEquals(MAX / 2, sizer.update(0, false, false, 0, 100));
+    }
+
+    @Test
+    public void when_enoughItemsEmitted_then_notShrunk() {
+        for (int i = 1; i < SHRINK_AFTER_CALLS; i++) {
+            sizer.update(0, false, false, 0, 100);
+        }
+        sizer.update(MAX / 2, false, false, 0, 100);
+        for (int i = 1; i < SHRINK_AFTER_CALLS; i++) {
+            assertEquals(MAX, sizer.update(0, false, false, 0, 100));
+        }
+    }
+
+    @Test
+    public void when_batchLimitReached_then_growsToMax() {
+        shrinkToMin();
+        assertEquals(MIN_BATCH_SIZE * 2, sizer.update(MIN_BATCH_SIZE, true, true, 0, 100));
+        while (sizer.batchSize() < MAX) {
+            sizer.update(sizer.batchSize(), true, true, 0, 100);
+        }
+        assertEquals(MAX, sizer.update(MAX, true, true, 0, 100));
+    }
+
+    @Test
+    public void when_batchLimitReached_then_growsAboveInitialToQueueCapacity() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(MAX, 4 * MAX);
+        assertEquals(MAX, sizer.batchSize());
+        assertEquals(2 * MAX, sizer.update(MAX, true, false, 0, 100));
+        assertEquals(4 * MAX, sizer.update(2 * MAX, true, false, 0, 100));
+        assertEquals(4 * MAX, sizer.update(4 * MAX, true, false, 0, 100));
+    }
+
+    @Test
+    public void when_initialLargerThanMax_then_startsAtMax() {
+        assertEquals(MAX, new AdaptiveBatchSizer(2 * MAX, MAX).batchSize());
+    }
+
+    @Test
+    public void when_inputQueuesMoreThanHalfFull_then_grows() {
+        shrinkToMin();
+        assertEquals(MIN_BATCH_SIZE, sizer.update(0, false, false, 50, 100));
+        assertEquals(MIN_BATCH_SIZE * 2, sizer.update(0, false, false, 51, 100));
+    }
+
+    @Test
+    public void when_noInputQueues_then_shrinks() {
+        shrinkToMin();
+        assertEquals(MIN_BATCH_SIZE, sizer.update(0, false, false, 0, 0));
+    }
+
+    private void shrinkToMin() {
+        while (sizer.batchSize() > MIN_BATCH_SIZE) {
+            sizer.update(0, false, true, 0, 100);
+        }
+        assertEquals(MIN_BATCH_SIZE, sizer.batchSize());
+    }
+}
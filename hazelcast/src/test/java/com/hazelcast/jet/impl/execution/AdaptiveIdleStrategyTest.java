@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveIdleStrategyTest {
+
+    private static final long MIN = MICROSECONDS.toNanos(25);
+    private static final long MAX = MICROSECONDS.toNanos(5000);
+
+    private final AdaptiveIdleStrategy idler = new AdaptiveIdleStrategy(MIN, MAX);
+
+    @Test
+    public void when_neverProgressed_then_backsOffToMax() {
+        assertEquals(MIN, idler.parkTime(1));
+        assertEquals(MIN * 2, idler.parkTime(2));
+        assertEquals(MAX, idler.parkTime(20));
+        assertEquals(MAX, idler.parkTime(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void when_shortIdlePeriods_then_parkTimeCapped() {
+        for (int i = 0; i < 100; i++) {
+            idler.idle(1);
+            idler.progressAfterIdle();
+        }
+        long parkTime = idler.parkTime(20);
+        assertTrue("parkTime=" + parkTime, parkTime < MAX);
+        assertTrue("parkTime=" + parkTime, parkTime >= MIN);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.BroadcastKey;
+import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.impl.JobRepository;
+import com.hazelcast.jet.impl.SnapshotValidationRecord;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
+import static com.hazelcast.jet.core.JobStatus.RUNNING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IncrementalSnapshot_IntegrationTest extends JetTestSupport {
+
+    private static final int MAX_DELTAS = 1000;
+
+    private static volatile int restoredRound;
+    private static volatile Map<Integer, Integer> restoredState;
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void before() {
+        restoredRound = 0;
+        restoredState = null;
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_DELTAS.getName(), String.valueOf(MAX_DELTAS));
+        instance = createHazelcastInstance(config);
+    }
+
+    @Test
+    public void when_restartedAfterIncrementalSnapshots_then_stateRestored() {
+        DAG dag = new DAG();
+        dag.newVertex("state", RoundsP::new).localParallelism(1);
+        Job job = instance.getJet().newJob(dag, new JobConfig()
+                .setProcessingGuarantee(ProcessingGuarantee.EXACTLY_ONCE)
+                .setSnapshotIntervalMillis(100));
+        assertJobStatusEventually(job, RUNNING);
+
+        long lastSnapshotId = -1;
+        for (int restart = 1; restart <= 2; restart++) {
+            int roundBeforeRestart = restoredRound;
+            long previousSnapshotId = lastSnapshotId;
+            // wait for a few incremental snapshots on top of the first full one of this execution
+            assertTrueEventually(() -> {
+                SnapshotValidationRecord record = lastValidationRecord(job);
+                assertNotNull(record);
+                assertTrue("record=" + record, record.baseSnapshotId() > previousSnapshotId);
+                assertTrue("record=" + record, record.snapshotId() - record.baseSnapshotId() >= 5);
+            });
+            lastSnapshotId = lastValidationRecord(job).snapshotId();
+
+            job.restart();
+            assertJobStatusEventually(job, RUNNING);
+
+            assertTrueEventually(() -> assertNotNull(restoredState));
+            assertTrue(restoredRound > roundBeforeRestart + 5);
+            assertEquals(RoundsP.expectedState(restoredRound), restoredState);
+            restoredState = null;
+        }
+    }
+
+    private SnapshotValidationRecord lastValidationRecord(Job job) {
+        SnapshotValidationRecord lastRecord = null;
+        for (int i = 0; i < 2; i++) {
+            SnapshotValidationRecord record = (SnapshotValidationRecord) instance
+                    .getMap(JobRepository.snapshotDataMapName(job.getId(), i))
+                    .get(SnapshotValidationRecord.KEY);
+            if (record != null && (lastRecord == null || record.snapshotId() > lastRecord.snapshotId())) {
+                lastRecord = record;
+            }
+        }
+        return lastRecord;
+    }
+
+    /**
+     * Changes its state in each snapshot: updates one key, removes one key and
+     * removes or re-adds another one. Saves the number of the round to a
+     * broadcast key.
+     */
+    private static final class RoundsP extends AbstractProcessor {
+
+        private static final BroadcastKey<String> ROUND_KEY = broadcastKey("round");
+        private static final int NUM_KEYS = 100;
+
+        private final Map<Integer, Integer> state = initialState();
+        private int round;
+        private boolean restoring;
+        private Traverser<Entry<Object, Object>> snapshotTraverser;
+
+        @Override
+        public boolean complete() {
+            return false;
+        }
+
+        @Override
+        public boolean saveToSnapshot() {
+            if (snapshotTraverser == null) {
+                applyRound(state, ++round);
+                snapshotTraverser = traverseIterable(new HashMap<Object, Object>(state).entrySet())
+                        .append(entry(ROUND_KEY, round))
+                        .onFirstNull(() -> snapshotTraverser = null);
+            }
+            return emitFromTraverserToSnapshot(snapshotTraverser);
+        }
+
+        @Override
+        protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
+            if (!restoring) {
+                state.clear();
+                restoring = true;
+            }
+            if (key instanceof BroadcastKey) {
+                round = (int) value;
+            } else {
+                state.put((Integer) key, (Integer) value);
+            }
+        }
+
+        @Override
+        public boolean finishSnapshotRestore() {
+            restoredRound = round;
+            restoredState = new HashMap<>(state);
+            return true;
+        }
+
+        static Map<Integer, Integer> expectedState(int round) {
+            Map<Integer, Integer> state = initialState();
+            for (int i = 1; i <= round; i++) {
+                applyRound(state, i);
+            }
+            return state;
+        }
+
+        private static Map<Integer, Integer> initialState() {
+            Map<Integer, Integer> state = new HashMap<>();
+            for (int i = 0; i < NUM_KEYS; i++) {
+                state.put(i, 0);
+            }
+            return state;
+        }
+
+        private static void applyRound(Map<Integer, Integer> state, int round) {
+            state.put(round % 10, round);
+            state.remove(10 + round % (NUM_KEYS - 10));
+            if (round % 2 == 0) {
+                state.put(NUM_KEYS, round);
+            } else {
+                state.remove(NUM_KEYS);
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import static com.hazelcast.test.HazelcastTestSupport.randomString;
 public class MockSnapshotContext extends SnapshotContext {
     private String currentMapName = "";
     private long currentSnapshotId = 0L;
+    private int snapshotFlags;
 
     public MockSnapshotContext() {
         super(Logger.getLogger(MockSnapshotContext.class), randomString(), 0L, ProcessingGuarantee.NONE);
@@ -54,4 +55,18 @@ public class MockSnapshotContext extends SnapshotContext {
     public void setCurrentSnapshotId(long currentSnapshotId) {
         this.currentSnapshotId = currentSnapshotId;
     }
+
+    @Override
+    public boolean isExportSnapshot() {
+        return SnapshotFlags.isExport(snapshotFlags);
+    }
+
+    @Override
+    public boolean isIncrementalSnapshot() {
+        return SnapshotFlags.isIncremental(snapshotFlags);
+    }
+
+    public void setSnapshotFlags(int snapshotFlags) {
+        this.snapshotFlags = snapshotFlags;
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.impl.memory.SpillDirectory.MAX_SPILL_LEVEL;
+import static com.hazelcast.jet.impl.memory.SpillDirectory.SPILL_PARTITION_COUNT;
+import static com.hazelcast.jet.impl.memory.SpillDirectory.spillPartition;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpillFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+    private SpillDirectory spillDirectory;
+
+    @Before
+    public void setUp() {
+        directory = new File(temporaryFolder.getRoot(), "spill");
+        spillDirectory = new SpillDirectory(directory, "test-", new DefaultSerializationServiceBuilder().build());
+    }
+
+    @Test
+    public void when_recordsWritten_then_readBackInOrder() {
+        SpillFile file = spillDirectory.newFile();
+        file.write("a");
+        file.write(1, 42);
+        file.write(asList(1, 2));
+        assertEquals(3, file.size());
+
+        assertTrue(file.readNext());
+        assertEquals(0, file.ordinal());
+        assertEquals("a", file.item());
+        assertTrue(file.readNext());
+        assertEquals(1, file.ordinal());
+        assertEquals(42, (int) file.item());
+        assertTrue(file.readNext());
+        assertEquals(asList(1, 2), file.item());
+        assertFalse(file.readNext());
+    }
+
+    @Test
+    public void when_allRecordsRead_then_fileDeleted() {
+        SpillFile file = spillDirectory.newFile();
+        file.write("a");
+        file.write("b");
+        assertEquals(1, directory.list().length);
+
+        List<String> items = new ArrayList<>();
+        Traverser<String> traverser = file.traverser();
+        for (String item; (item = traverser.next()) != null; ) {
+            items.add(item);
+        }
+
+        assertEquals(asList("a", "b"), items);
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void when_deletedBeforeRead_then_nothingRead() {
+        SpillFile file = spillDirectory.newFile();
+        file.write("a");
+
+        file.delete();
+
+        assertFalse(file.readNext());
+        assertNull(file.traverser().next());
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void when_keysOfPartitionSpilledAgain_then_splitToOtherPartitions() {
+        boolean[] partitionsOnNextLevel = new boolean[SPILL_PARTITION_COUNT];
+        for (int key = 0; key < 10_000; key++) {
+            if (spillPartition(key, 0) == 0) {
+                partitionsOnNextLevel[spillPartition(key, 1)] = true;
+            }
+        }
+
+        for (boolean used : partitionsOnNextLevel) {
+            assertTrue(used);
+        }
+        assertEquals(8, MAX_SPILL_LEVEL);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.function.Functions.wholeItem;
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertOrdered;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SpillingTest extends SimpleTestInClusterSupport {
+
+    private static final int MAX_PROCESSOR_ACCUMULATED_RECORDS = 2_000;
+    private static final int ITEM_COUNT = 40_000;
+
+    private static File spillDirectory;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        spillDirectory = Files.createTempDirectory("spilling-test").toFile();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.JET_SPILL_DIRECTORY.getName(), spillDirectory.getAbsolutePath());
+        config.getJetConfig()
+                .setCooperativeThreadCount(1)
+                .setMaxProcessorAccumulatedRecords(MAX_PROCESSOR_ACCUMULATED_RECORDS);
+
+        initialize(1, config);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        delete(spillDirectory);
+    }
+
+    @Test
+    public void when_groupingOverLimit_then_spilledAndCompleted() {
+        // every key twice, so that the spilled items are accumulated
+        List<Integer> items = list(ITEM_COUNT);
+        items.addAll(list(ITEM_COUNT));
+        Collections.shuffle(items);
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(items))
+                .groupingKey(wholeItem())
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(IntStream.range(0, ITEM_COUNT).mapToObj(i -> entry(i, 2L)).collect(toList())));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillDirectoryEmpty();
+    }
+
+    @Test
+    public void when_sortingOverLimit_then_spilledAndCompleted() {
+        List<Integer> items = list(ITEM_COUNT);
+        Collections.shuffle(items);
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(items))
+                .sort()
+                .writeTo(assertOrdered(list(ITEM_COUNT)));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillDirectoryEmpty();
+    }
+
+    private static void assertSpillDirectoryEmpty() {
+        String[] files = spillDirectory.list();
+        assertEquals(0, files == null ? 0 : files.length);
+    }
+
+    private static List<Integer> list(int numberOfItems) {
+        return IntStream.range(0, numberOfItems).boxed().collect(toCollection(ArrayList::new));
+    }
+}
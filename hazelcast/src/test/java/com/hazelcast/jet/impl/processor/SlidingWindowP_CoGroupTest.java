@@ -35,6 +35,7 @@ import static com.hazelcast.function.Functions.entryKey;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.aggregate.AggregateOperations.aggregateOperation2;
 import static com.hazelcast.jet.core.SlidingWindowPolicy.tumblingWinPolicy;
+import static com.hazelcast.jet.core.test.TestSupport.SAME_ITEMS_ANY_ORDER;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -66,6 +67,7 @@ public class SlidingWindowP_CoGroupTest {
                            asList(entry1, entry2),
                            asList(entry3, entry4, entry5)
                    ))
+                   .outputChecker(SAME_ITEMS_ANY_ORDER)
                    .expectOutput(asList(
                            result(1, "k1", singletonList(entry1), asList(entry3, entry5)),
                            result(1, "k2", singletonList(entry2), emptyList()),
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.snapshot;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.impl.JobRepository;
+import com.hazelcast.jet.impl.SnapshotValidationRecord;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static com.hazelcast.jet.Traversers.traverseStream;
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.core.JobStatus.RUNNING;
+import static java.util.stream.IntStream.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LocalDiskSnapshotStore_IntegrationTest extends JetTestSupport {
+
+    private static final int NUM_KEYS = 100;
+
+    private static final Map<Object, Object> RESTORED_STATE = new ConcurrentHashMap<>();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File directory;
+    private Config config;
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void before() throws IOException {
+        RESTORED_STATE.clear();
+        directory = tempFolder.newFolder();
+        config = smallInstanceConfig()
+                .setProperty(ClusterProperty.JET_SNAPSHOT_STORE_DIRECTORY.getName(), directory.getAbsolutePath());
+        instances = createHazelcastInstances(config, 2);
+    }
+
+    @Test
+    public void when_restarted_then_stateRestoredFromDisk() throws IOException {
+        Job job = startJobAndWaitForSnapshot();
+
+        job.restart();
+
+        assertTrueEventually(() -> assertEquals(2 * NUM_KEYS, RESTORED_STATE.size()));
+        // the maps only have the validation record
+        for (int i = 0; i < 2; i++) {
+            assertTrue(instances[0].getMap(JobRepository.snapshotDataMapName(job.getId(), i)).size() <= 1);
+        }
+        assertTrue(countChunkFiles() > 0);
+    }
+
+    @Test
+    public void when_memberTerminated_then_stateRestoredFromBackup() {
+        Job job = startJobAndWaitForSnapshot();
+
+        instances[1].getLifecycleService().terminate();
+
+        assertJobStatusEventually(job, RUNNING);
+        assertTrueEventually(() -> assertEquals(2 * NUM_KEYS, RESTORED_STATE.size()));
+    }
+
+    @Test
+    public void when_destroyed_then_chunksDeleted() throws IOException {
+        Job job = startJobAndWaitForSnapshot();
+        cancelAndJoin(job);
+
+        SnapshotStore store = getJetServiceBackend(instances[0]).getSnapshotStore();
+        for (int i = 0; i < 2; i++) {
+            store.destroy(JobRepository.snapshotDataMapName(job.getId(), i));
+        }
+
+        assertEquals(0, countChunkFiles());
+    }
+
+    @Test
+    public void when_memberJoins_then_directoriesOfNonMembersDeleted() throws IOException {
+        startJobAndWaitForSnapshot();
+        File staleDirectory = new File(directory, UUID.randomUUID().toString());
+        assertTrue(new File(staleDirectory, "map").mkdirs());
+        File otherDirectory = new File(directory, "other");
+        assertTrue(otherDirectory.mkdirs());
+        long chunkFileCount = countChunkFiles();
+
+        HazelcastInstance instance = createHazelcastInstance(config);
+
+        assertTrueEventually(() -> assertFalse(staleDirectory.exists()));
+        assertTrue(otherDirectory.exists());
+        for (HazelcastInstance memberInstance : instances) {
+            assertTrue(new File(directory, memberInstance.getCluster().getLocalMember().getUuid().toString()).exists());
+        }
+        assertTrue(countChunkFiles() >= chunkFileCount);
+        instance.shutdown();
+    }
+
+    private Job startJobAndWaitForSnapshot() {
+        DAG dag = new DAG();
+        dag.newVertex("state", StateP::new).localParallelism(1);
+        Job job = instances[0].getJet().newJob(dag, new JobConfig()
+                .setProcessingGuarantee(ProcessingGuarantee.EXACTLY_ONCE)
+                .setSnapshotIntervalMillis(100));
+        assertJobStatusEventually(job, RUNNING);
+        assertTrueEventually(() -> {
+            IMap<Object, Object> map0 = instances[0].getMap(JobRepository.snapshotDataMapName(job.getId(), 0));
+            IMap<Object, Object> map1 = instances[0].getMap(JobRepository.snapshotDataMapName(job.getId(), 1));
+            assertTrue(map0.containsKey(SnapshotValidationRecord.KEY) || map1.containsKey(SnapshotValidationRecord.KEY));
+        });
+        return job;
+    }
+
+    private long countChunkFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(tempFolder.getRoot().toPath())) {
+            return files.filter(path -> path.toString().endsWith(LocalDiskSnapshotStore.CHUNK_FILE_SUFFIX)).count();
+        }
+    }
+
+    /**
+     * Saves {@value #NUM_KEYS} keys unique to the processor to each snapshot.
+     */
+    private static final class StateP extends AbstractProcessor {
+
+        private int firstKey;
+        private int round;
+        private Traverser<Map.Entry<Object, Object>> snapshotTraverser;
+
+        @Override
+        protected void init(@Nonnull Context context) {
+            firstKey = context.globalProcessorIndex() * NUM_KEYS;
+        }
+
+        @Override
+        public boolean complete() {
+            return false;
+        }
+
+        @Override
+        public boolean saveToSnapshot() {
+            if (snapshotTraverser == null) {
+                int value = ++round;
+                snapshotTraverser = traverseStream(range(firstKey, firstKey + NUM_KEYS)
+                        .mapToObj(key -> entry((Object) key, (Object) value)))
+                        .onFirstNull(() -> snapshotTraverser = null);
+            }
+            return emitFromTraverserToSnapshot(snapshotTraverser);
+        }
+
+        @Override
+        protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
+            RESTORED_STATE.put(key, value);
+        }
+    }
+}
@@ -28,11 +28,14 @@ import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.jet.core.JetTestSupport;
 import com.hazelcast.jet.impl.JetServiceBackend;
 import com.hazelcast.jet.impl.execution.MockSnapshotContext;
+import com.hazelcast.jet.impl.execution.SnapshotFlags;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.CustomByteArrayOutputStream;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
 import com.hazelcast.map.IMap;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -48,18 +51,23 @@ import org.junit.runner.RunWith;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Stream;
 
 import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
 import static com.hazelcast.jet.impl.util.Util.uncheckCall;
 import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Stream.generate;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -85,6 +93,7 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
               .setEnabled(true)
               .setImplementation(new AlwaysFailingMapStore());
         config.getJetConfig().setEnabled(true);
+        config.setProperty(ClusterProperty.JET_INCREMENTAL_SNAPSHOT_MAX_DELTAS.getName(), "1");
 
         HazelcastInstance instance = createHazelcastInstance(config);
         nodeEngine = Util.getNodeEngine(instance);
@@ -269,6 +278,104 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
                 assertThat(String.valueOf(writer.getError())).contains("Always failing store"));
     }
 
+    @Test
+    public void when_incrementalSnapshot_then_changedAndRemovedKeysWritten() throws IOException {
+        // Given - a full snapshot
+        Data broadcastKey = serializationService.toData(broadcastKey("b"));
+        assertTrue(writer.offer(entry(serialize("k1"), serialize("v1"))));
+        assertTrue(writer.offer(entry(serialize("k2"), serialize("v2"))));
+        assertTrue(writer.offer(entry(serialize("k3"), serialize("v3"))));
+        assertTrue(writer.offer(entry(broadcastKey, serialize("b1"))));
+        assertTrue(writer.flushAndResetMap());
+        writer.resetStats();
+
+        // When - an incremental snapshot
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setSnapshotFlags(SnapshotFlags.create(false, false, true));
+        assertTrue(writer.offer(entry(serialize("k1"), serialize("v1"))));
+        assertTrue(writer.offer(entry(serialize("k2"), serialize("v2-changed"))));
+        assertTrue(writer.offer(entry(broadcastKey, serialize("b1"))));
+        assertTrue(writer.flushAndResetMap());
+
+        // Then
+        Map<Object, Object> expected = new HashMap<>();
+        expected.put("k2", "v2-changed");
+        // the key of a tombstone is the hash of the removed key
+        expected.put(serialize("k3").hash64(), SnapshotDataValueTombstone.INSTANCE);
+        expected.put(broadcastKey("b"), "b1");
+        assertTrueEventually(() -> assertEquals(expected, readSnapshot(2)));
+        assertEquals(3, writer.getTotalKeys());
+    }
+
+    @Test
+    public void when_keysWithSameHash_then_writtenToEveryIncrementalSnapshot() throws IOException {
+        // Given - a full snapshot with two keys of a partition with the same hash
+        String key2 = keyInPartitionOf("k1");
+        assertTrue(writer.offer(entry(withSameHash("k1"), serialize("v1"))));
+        assertTrue(writer.offer(entry(withSameHash(key2), serialize("v2"))));
+        assertTrue(writer.offer(entry(serialize("k3"), serialize("v3"))));
+        assertTrue(writer.flushAndResetMap());
+
+        // When - incremental snapshots without changes, then without k1
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setSnapshotFlags(SnapshotFlags.create(false, false, true));
+        assertTrue(writer.offer(entry(withSameHash("k1"), serialize("v1"))));
+        assertTrue(writer.offer(entry(withSameHash(key2), serialize("v2"))));
+        assertTrue(writer.offer(entry(serialize("k3"), serialize("v3"))));
+        assertTrue(writer.flushAndResetMap());
+        snapshotContext.setCurrentSnapshotId(3L);
+        assertTrue(writer.offer(entry(withSameHash(key2), serialize("v2"))));
+        assertTrue(writer.offer(entry(serialize("k3"), serialize("v3"))));
+        assertTrue(writer.flushAndResetMap());
+
+        // Then - the keys with the same hash are always written, they replace all their older versions
+        Map<Object, Object> expected2 = new HashMap<>();
+        expected2.put("k1", "v1");
+        expected2.put(key2, "v2");
+        assertTrueEventually(() -> assertEquals(expected2, readSnapshot(2)));
+        assertTrueEventually(() -> assertEquals(singletonMap(key2, "v2"), readSnapshot(3)));
+        assertNull(writer.getError());
+    }
+
+    @Test
+    public void when_keysWithSameHashInIncrementalSnapshot_then_error() {
+        // Given
+        assertTrue(writer.offer(entry(withSameHash("k1"), serialize("v1"))));
+        assertTrue(writer.flushAndResetMap());
+
+        // When - a new key with the same hash after an unchanged key
+        snapshotContext.setCurrentSnapshotId(2L);
+        snapshotContext.setSnapshotFlags(SnapshotFlags.create(false, false, true));
+        assertTrue(writer.offer(entry(withSameHash("k1"), serialize("v1"))));
+        assertTrue(writer.offer(entry(withSameHash(keyInPartitionOf("k1")), serialize("v2"))));
+        assertTrue(writer.flushAndResetMap());
+
+        // Then
+        assertThat(String.valueOf(writer.getError())).contains("Keys with the same hash");
+    }
+
+    @Test
+    public void test_keyHash() {
+        Data key = serialize("k");
+        byte[] bytes = key.toByteArray();
+        assertEquals(key.hash64(), AsyncSnapshotWriterImpl.keyHash(bytes, HeapData.TYPE_OFFSET,
+                bytes.length - HeapData.TYPE_OFFSET));
+    }
+
+    private Map<Object, Object> readSnapshot(long snapshotId) throws IOException {
+        Map<Object, Object> entries = new HashMap<>();
+        for (Entry<SnapshotDataKey, byte[]> chunk : map.entrySet()) {
+            if (chunk.getKey().snapshotId() != snapshotId) {
+                continue;
+            }
+            BufferObjectDataInput in = serializationService.createObjectDataInput(chunk.getValue());
+            for (Object key; (key = serializationService.readObject(in, true)) != SnapshotDataValueTerminator.INSTANCE; ) {
+                entries.put(key, serializationService.readObject(in, true));
+            }
+        }
+        return entries;
+    }
+
     @Test
     public void test_serializeAndDeserialize() throws Exception {
         // This is the way we serialize and deserialize objects into the snapshot. We depend on some internals of IMDG:
@@ -314,6 +421,24 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
         return serializationService.toData(str);
     }
 
+    private Data withSameHash(String str) {
+        return new HeapData(serialize(str).toByteArray()) {
+            @Override
+            public long hash64() {
+                return 42;
+            }
+        };
+    }
+
+    private String keyInPartitionOf(String key) {
+        int partitionId = partitionService.getPartitionId(key);
+        for (int i = 0; ; i++) {
+            if (partitionService.getPartitionId(key + i) == partitionId) {
+                return key + i;
+            }
+        }
+    }
+
     /* ***********************************/
     /* CustomByteArrayOutputStream tests */
     /* ***********************************/
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.mapstore.MapStoreTest.SimpleMapStore;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapDeleteAllTest extends HazelcastTestSupport {
+
+    private static final int MAP_SIZE = 1000;
+    private static final int NODE_COUNT = 3;
+
+    private HazelcastInstance[] instances;
+    private HazelcastInstance member;
+    private SimpleMapStore<Integer, Integer> mapStore;
+
+    @Before
+    public void setUp() {
+        mapStore = new SimpleMapStore<>();
+        Config config = getConfig();
+        config.getMapConfig("store*")
+              .setMapStoreConfig(new MapStoreConfig().setEnabled(true).setImplementation(mapStore));
+        instances = createHazelcastInstanceFactory(NODE_COUNT).newInstances(config);
+        member = instances[1];
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void throws_exception_whenKeysNull() {
+        member.getMap("test").deleteAll(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void throws_exception_whenKeySetContainsNull() {
+        member.getMap("test").deleteAll(Collections.singleton(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void default_method_deletes_each_key() {
+        IMap<Integer, Integer> map = mock(IMap.class, CALLS_REAL_METHODS);
+        doNothing().when(map).delete(any());
+
+        map.deleteAll(new HashSet<>(asList(1, 2, 3)));
+
+        verify(map).delete(1);
+        verify(map).delete(2);
+        verify(map).delete(3);
+    }
+
+    @Test
+    public void removes_only_given_keys() {
+        IMap<Integer, Integer> map = member.getMap("test");
+        for (int i = 0; i < MAP_SIZE; i++) {
+            map.put(i, i);
+        }
+
+        Set<Integer> evenKeys = new HashSet<>();
+        for (int i = 0; i < MAP_SIZE; i += 2) {
+            evenKeys.add(i);
+        }
+        map.deleteAll(evenKeys);
+
+        assertEquals(MAP_SIZE / 2, map.size());
+        for (int i = 0; i < MAP_SIZE; i++) {
+            assertEquals(i % 2 == 0 ? null : (Integer) i, map.get(i));
+        }
+    }
+
+    @Test
+    public void ignores_missing_keys() {
+        IMap<Integer, Integer> map = member.getMap("test");
+        map.put(1, 1);
+
+        map.deleteAll(new HashSet<>(asList(1, 2, 3)));
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void removes_same_number_of_entries_from_owner_and_backup() {
+        String mapName = "test";
+        IMap<Integer, Integer> map = member.getMap(mapName);
+        Set<Integer> keys = new HashSet<>();
+        for (int i = 0; i < MAP_SIZE; i++) {
+            map.put(i, i);
+            if (i >= 100) {
+                keys.add(i);
+            }
+        }
+
+        map.deleteAll(keys);
+        waitAllForSafeState(instances);
+
+        long totalOwnedEntryCount = 0;
+        long totalBackupEntryCount = 0;
+        for (HazelcastInstance instance : instances) {
+            LocalMapStats localMapStats = instance.getMap(mapName).getLocalMapStats();
+            totalOwnedEntryCount += localMapStats.getOwnedEntryCount();
+            totalBackupEntryCount += localMapStats.getBackupEntryCount();
+        }
+        assertEquals(100, totalOwnedEntryCount);
+        assertEquals(100, totalBackupEntryCount);
+    }
+
+    @Test
+    public void deletes_from_map_store() {
+        IMap<Integer, Integer> map = member.getMap("store");
+        for (int i = 0; i < MAP_SIZE; i++) {
+            map.put(i, i);
+        }
+
+        map.deleteAll(new HashSet<>(asList(1, 2, 3)));
+
+        Map<Integer, Integer> store = mapStore.store;
+        assertEquals(MAP_SIZE - 3, store.size());
+        assertFalse(store.containsKey(1));
+        assertNull(map.get(2));
+    }
+
+    @Test
+    public void getAll_and_executeOnKeys_reach_all_owners() {
+        IMap<Integer, Integer> map = member.getMap("test");
+        Set<Integer> keys = new HashSet<>();
+        for (int i = 0; i < MAP_SIZE; i++) {
+            map.put(i, i);
+            keys.add(i);
+        }
+
+        Map<Integer, Integer> entries = map.getAll(keys);
+        Map<Integer, Integer> results = map.executeOnKeys(keys, entry -> entry.getValue() * 2);
+
+        assertEquals(MAP_SIZE, entries.size());
+        assertEquals(MAP_SIZE, results.size());
+        for (int i = 0; i < MAP_SIZE; i++) {
+            assertEquals(i, (int) entries.get(i));
+            assertEquals(2 * i, (int) results.get(i));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import com.hazelcast.transaction.TransactionalMap;
+import com.sun.management.ThreadMXBean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapLocalGetTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 1000;
+
+    private TestHazelcastInstanceFactory factory;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(2);
+    }
+
+    @Test
+    public void get_readsLocalPartitionsDirectly() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, Integer> map = instance.getMap("binary");
+        for (int i = 0; i < KEY_COUNT; i++) {
+            map.set(i, i);
+        }
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+        assertNull(map.get(KEY_COUNT));
+
+        LocalMapStatsImpl stats = stats(instance, "binary");
+        assertEquals(KEY_COUNT + 1, stats.getLocalGetCount());
+        assertEquals(0, stats.getLocalGetFallbackCount());
+        assertEquals(KEY_COUNT + 1, stats.getGetOperationCount());
+    }
+
+    @Test
+    public void get_invokesRemotePartitions() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        IMap<String, String> map = instance1.getMap("binary");
+        String remoteKey = generateKeyOwnedBy(instance2);
+        String localKey = generateKeyOwnedBy(instance1);
+        map.set(remoteKey, "remote");
+        map.set(localKey, "local");
+
+        assertEquals("remote", map.get(remoteKey));
+        assertEquals("local", map.get(localKey));
+
+        assertEquals(1, stats(instance1, "binary").getLocalGetCount());
+    }
+
+    @Test
+    public void get_invokesForObjectFormat() {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, Integer> map = instance.getMap("object");
+        map.set(1, 1);
+
+        assertEquals(1, (int) map.get(1));
+        assertEquals(0, stats(instance, "object").getLocalGetCount());
+    }
+
+    @Test
+    public void get_invokes_byDefault() {
+        HazelcastInstance instance = factory.newHazelcastInstance(smallInstanceConfigWithoutJetAndMetrics());
+        IMap<Integer, Integer> map = instance.getMap("binary");
+        map.set(1, 1);
+
+        assertEquals(1, (int) map.get(1));
+        assertEquals(0, stats(instance, "binary").getLocalGetCount());
+    }
+
+    @Test
+    public void get_readsCommittedValue_whenKeyLockedByTransaction() throws Exception {
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, Integer> map = instance.getMap("binary");
+        map.set(1, 1);
+
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch read = new CountDownLatch(1);
+        Future<?> transaction = spawn(() -> {
+            TransactionContext context = instance.newTransactionContext();
+            context.beginTransaction();
+            TransactionalMap<Integer, Integer> txMap = context.getMap("binary");
+            txMap.getForUpdate(1);
+            txMap.set(1, 2);
+            updated.countDown();
+            assertOpenEventually(read);
+            context.commitTransaction();
+        });
+        assertOpenEventually(updated);
+
+        assertEquals(1, (int) map.get(1));
+        read.countDown();
+        transaction.get();
+        assertEquals(2, (int) map.get(1));
+    }
+
+    @Test
+    public void get_samplesAllocatedBytes() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, Integer> map = instance.getMap("binary");
+        map.set(1, 1);
+
+        // every 1024th local get is sampled, starting with the first one
+        for (int i = 0; i < 2 * 1024 + 1; i++) {
+            map.get(1);
+        }
+
+        LocalMapStatsImpl stats = stats(instance, "binary");
+        assertEquals(3, stats.getLocalGetAllocationSampleCount());
+        assertTrue(stats.getLocalGetAllocatedBytes() >= 0);
+    }
+
+    @Test
+    public void get_allocatesLessThanInvocation() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+
+        HazelcastInstance instance = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, Integer> localMap = instance.getMap("binary");
+        IMap<Integer, Integer> invokedMap = instance.getMap("object");
+        localMap.set(1, 1);
+        invokedMap.set(1, 1);
+
+        long localBytes = allocatedBytesPerGet(threadBean, localMap);
+        long invokedBytes = allocatedBytesPerGet(threadBean, invokedMap);
+
+        assertTrue("local get allocated " + localBytes + " bytes, invoked get " + invokedBytes,
+                localBytes * 2 < invokedBytes);
+    }
+
+    private static long allocatedBytesPerGet(ThreadMXBean threadBean, IMap<Integer, Integer> map) {
+        int iterations = 10_000;
+        for (int i = 0; i < iterations; i++) {
+            map.get(1);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            map.get(1);
+        }
+        return (threadBean.getThreadAllocatedBytes(threadId) - before) / iterations;
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = smallInstanceConfigWithoutJetAndMetrics();
+        config.setProperty(ClusterProperty.MAP_LOCAL_GET_ENABLED.getName(), "true");
+        config.getMapConfig("object").setInMemoryFormat(InMemoryFormat.OBJECT);
+        return config;
+    }
+
+    private static LocalMapStatsImpl stats(HazelcastInstance instance, String mapName) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getLocalMapStatsProvider().getLocalMapStatsImpl(mapName);
+    }
+}
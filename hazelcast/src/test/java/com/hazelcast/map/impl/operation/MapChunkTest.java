@@ -17,6 +17,8 @@ package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
+import com.hazelcast.internal.partition.impl.MigrationStats;
 import com.hazelcast.map.IMap;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.test.HazelcastSerialClassRunner;
@@ -28,7 +30,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.test.Accessors.getPartitionService;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -76,4 +80,34 @@ public class MapChunkTest extends HazelcastTestSupport {
             assertEquals(1_000, test.size());
         }
     }
+
+    @Test
+    public void smoke_compressed() {
+        Config config = getConfig();
+        config.setProperty(ClusterProperty.PARTITION_COUNT.getName(), "1");
+        config.setProperty(ClusterProperty.PARTITION_MIGRATION_COMPRESSION_ENABLED.getName(), "true");
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory();
+
+        HazelcastInstance node1 = factory.newHazelcastInstance(config);
+        IMap<Integer, String> test = node1.getMap("test");
+        for (int i = 0; i < 1_000; i++) {
+            test.set(i, "value-" + i);
+        }
+        HazelcastInstance node2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(node1, node2);
+
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) getPartitionService(node1);
+        MigrationStats stats = partitionService.getMigrationManager().getStats();
+        assertTrue(stats.getTotalCompressedChunkBytes() > 0);
+        assertTrue(stats.getTotalCompressedChunkBytes() < stats.getTotalUncompressedChunkBytes());
+
+        node1.shutdown();
+
+        IMap<Integer, String> migrated = node2.getMap("test");
+        assertEquals(1_000, migrated.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("value-" + i, migrated.get(i));
+        }
+    }
 }
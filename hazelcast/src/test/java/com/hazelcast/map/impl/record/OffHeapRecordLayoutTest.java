@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.memory.impl.SlabMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.record.OffHeapRecordLayout.LFU;
+import static com.hazelcast.map.impl.record.OffHeapRecordLayout.LRU;
+import static com.hazelcast.map.impl.record.OffHeapRecordLayout.SIMPLE;
+import static com.hazelcast.map.impl.record.OffHeapRecordLayout.STATS;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_READER_WRITER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapRecordLayoutTest {
+
+    private SerializationService ss;
+    private SlabMemoryManager memoryManager;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new SlabMemoryManager();
+    }
+
+    @After
+    public void tearDown() {
+        memoryManager.dispose();
+    }
+
+    @Test
+    public void of_matchesDataRecordFactoryVariants() {
+        MapConfig mapConfig = new MapConfig();
+        assertEquals(SIMPLE, OffHeapRecordLayout.of(mapConfig, false));
+
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LRU);
+        assertEquals(LRU, OffHeapRecordLayout.of(mapConfig, true));
+
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LFU);
+        assertEquals(LFU, OffHeapRecordLayout.of(mapConfig, true));
+
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.RANDOM);
+        assertEquals(SIMPLE, OffHeapRecordLayout.of(mapConfig, true));
+
+        mapConfig.setPerEntryStatsEnabled(true);
+        assertEquals(STATS, OffHeapRecordLayout.of(mapConfig, false));
+    }
+
+    @Test
+    public void headerSize_growsWithMetadata() {
+        assertTrue(SIMPLE.headerSize() < LRU.headerSize());
+        assertEquals(LRU.headerSize(), LFU.headerSize());
+        assertTrue(LFU.headerSize() < STATS.headerSize());
+    }
+
+    @Test
+    public void simpleLayout_ignoresMissingMetadata() {
+        OffHeapRecord record = newRecord(SIMPLE, "key", "value");
+
+        record.setVersion(5);
+        record.onAccess(System.currentTimeMillis());
+        record.onStore();
+
+        assertEquals(5, record.getVersion());
+        assertEquals(UNSET, record.getHits());
+        assertEquals(UNSET, record.getLastAccessTime());
+        assertEquals(UNSET, record.getLastStoredTime());
+        assertEquals(SIMPLE_DATA_RECORD_READER_WRITER, record.getMatchingRecordReaderWriter());
+        assertEquals("value", ss.toObject(record.getValue()));
+    }
+
+    @Test
+    public void lfuLayout_keepsHits() {
+        OffHeapRecord record = newRecord(LFU, "key", "value");
+
+        record.onAccess(System.currentTimeMillis());
+        record.onAccess(System.currentTimeMillis());
+
+        assertEquals(2, record.getHits());
+        assertEquals(UNSET, record.getLastAccessTime());
+    }
+
+    @Test
+    public void statsLayout_keepsAllMetadata() {
+        OffHeapRecord record = newRecord(STATS, "key", "value");
+        long now = System.currentTimeMillis();
+
+        record.onAccess(now);
+        record.setCreationTime(now);
+        record.onUpdate(now);
+
+        assertEquals(1, record.getHits());
+        assertEquals(1, record.getVersion());
+        assertEquals(now, record.getLastAccessTime(), 1000);
+        assertEquals(now, record.getLastUpdateTime(), 1000);
+        assertEquals(now, record.getCreationTime(), 1000);
+    }
+
+    @Test
+    public void readKey_andKeyEquals() {
+        for (OffHeapRecordLayout layout : OffHeapRecordLayout.values()) {
+            Data key = ss.toData("some-longer-key-" + layout);
+            OffHeapRecord record = newRecord(layout, key, "value");
+
+            assertEquals(key, layout.readKey(record.address()));
+            assertTrue(layout.keyEquals(record.address(), key));
+            assertEquals("value", ss.toObject(layout.readValue(record.address())));
+        }
+    }
+
+    private OffHeapRecord newRecord(OffHeapRecordLayout layout, Object key, Object value) {
+        OffHeapRecordFactory factory = new OffHeapRecordFactory(layout, ss, memoryManager);
+        return (OffHeapRecord) factory.newRecord(ss.toData(key), value);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_OFF_HEAP_STORAGE_MAPS;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageIntegrationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance instance;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(2);
+        instance = factory.newHazelcastInstance(getConfig());
+    }
+
+    @Override
+    protected Config getConfig() {
+        return smallInstanceConfig()
+                .setProperty(MAP_OFF_HEAP_STORAGE_MAPS.getName(), "offheap-*");
+    }
+
+    @Test
+    public void storageIsSelectedByMapName() {
+        instance.getMap("offheap-map").put(1, 1);
+        instance.getMap("onheap-map").put(1, 1);
+
+        assertTrue(getStorage("offheap-map", 1) instanceof OffHeapStorage);
+        assertFalse(getStorage("onheap-map", 1) instanceof OffHeapStorage);
+    }
+
+    @Test
+    public void basicOperations() {
+        IMap<Integer, String> map = instance.getMap("offheap-map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            map.remove(i);
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 4) {
+            map.set(i, "updated-value-" + i);
+        }
+
+        assertEquals(ENTRY_COUNT / 2, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get(i));
+            } else if (i % 4 == 1) {
+                assertEquals("updated-value-" + i, map.get(i));
+            } else {
+                assertEquals("value-" + i, map.get(i));
+            }
+        }
+        assertEquals(ENTRY_COUNT / 2, map.entrySet().size());
+        assertEquals(ENTRY_COUNT / 4, map.values(Predicates.like("this", "updated-%")).size());
+    }
+
+    @Test
+    public void entriesSurviveMigration() {
+        IMap<Integer, Integer> map = instance.getMap("offheap-map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        HazelcastInstance other = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(instance, other);
+
+        IMap<Integer, Integer> otherMap = other.getMap("offheap-map");
+        assertEquals(ENTRY_COUNT, otherMap.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) otherMap.get(i));
+        }
+    }
+
+    @Test
+    public void ownedEntryMemoryCost_smallEntries() {
+        IMap<Integer, Integer> offHeapMap = instance.getMap("offheap-map");
+        IMap<Integer, Integer> onHeapMap = instance.getMap("onheap-map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            offHeapMap.put(i, i);
+            onHeapMap.put(i, i);
+        }
+
+        long offHeapCost = offHeapMap.getLocalMapStats().getOwnedEntryMemoryCost();
+        long onHeapCost = onHeapMap.getLocalMapStats().getOwnedEntryMemoryCost();
+        // 24 bytes of header, 12 bytes of key and value each, 16 bytes of native index and entry table slots
+        assertEquals(64 * ENTRY_COUNT, offHeapCost);
+        assertTrue("off-heap: " + offHeapCost + ", on-heap: " + onHeapCost, offHeapCost < onHeapCost);
+    }
+
+    @Test
+    public void queriesUnderConcurrentWrites() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap("offheap-map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> writer = spawn(() -> {
+            // grows and shrinks the storages so that they get rehashed and
+            // their blocks freed while the queries run
+            for (int round = 0; !stop.get(); round++) {
+                for (int i = ENTRY_COUNT; i < 4 * ENTRY_COUNT; i++) {
+                    map.set(i, ENTRY_COUNT + round);
+                }
+                for (int i = ENTRY_COUNT; i < 4 * ENTRY_COUNT; i++) {
+                    map.delete(i);
+                }
+            }
+        });
+
+        try {
+            for (int i = 0; i < 20; i++) {
+                Collection<Integer> values = map.values(Predicates.lessThan("this", ENTRY_COUNT));
+                assertEquals(ENTRY_COUNT, values.size());
+                assertTrue(map.values().size() >= ENTRY_COUNT);
+                assertTrue(map.entrySet().size() >= ENTRY_COUNT);
+            }
+        } finally {
+            stop.set(true);
+        }
+        writer.get();
+        assertEquals(ENTRY_COUNT, map.size());
+    }
+
+    @Test
+    public void expiredEntriesAreRemoved() {
+        IMap<Integer, Integer> map = instance.getMap("offheap-map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, 1, TimeUnit.SECONDS);
+        }
+
+        assertTrueEventually(() -> assertEquals(0, map.size()));
+    }
+
+    @Test
+    public void clear() {
+        IMap<Integer, Integer> map = instance.getMap("offheap-map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        map.put(1, 1);
+        assertEquals(1, (int) map.get(1));
+    }
+
+    private Storage getStorage(String mapName, Object key) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        int partitionId = instance.getPartitionService().getPartition(key).getPartitionId();
+        return mapServiceContext.getRecordStore(partitionId, mapName).getStorage();
+    }
+}
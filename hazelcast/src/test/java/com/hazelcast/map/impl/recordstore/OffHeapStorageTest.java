@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.impl.SlabMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapRecord;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapRecordLayout;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest {
+
+    private SerializationService ss;
+    private SlabMemoryManager memoryManager;
+    private OffHeapRecordFactory recordFactory;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new SlabMemoryManager();
+        recordFactory = new OffHeapRecordFactory(OffHeapRecordLayout.STATS, ss, memoryManager);
+        ExpirySystem expirySystem = mock(ExpirySystem.class);
+        when(expirySystem.getExpiryMetadata(any())).thenReturn(ExpiryMetadata.NULL);
+        storage = new OffHeapStorage(recordFactory, expirySystem, ss);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+    }
+
+    @Test
+    public void put_thenGet() {
+        Data key = ss.toData("key");
+        Record record = recordFactory.newRecord(key, "value");
+        record.setVersion(3);
+
+        storage.put(key, record);
+
+        Record stored = storage.get(ss.toData("key"));
+        assertEquals("value", ss.toObject(stored.getValue()));
+        assertEquals(3, stored.getVersion());
+        assertEquals(1, storage.size());
+        assertTrue(storage.containsKey(key));
+    }
+
+    @Test
+    public void get_missingKey() {
+        assertNull(storage.get(ss.toData("missing")));
+        assertFalse(storage.containsKey(ss.toData("missing")));
+    }
+
+    @Test
+    public void put_manyEntries_survivesResize() {
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            put(i, "value-" + i);
+        }
+
+        assertEquals(count, storage.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("value-" + i, ss.toObject(storage.get(ss.toData(i)).getValue()));
+        }
+    }
+
+    @Test
+    public void put_existingKey_replacesRecord() {
+        put(1, "a");
+        put(1, "b");
+        storage.disposeDeferredBlocks();
+
+        assertEquals(1, storage.size());
+        assertEquals("b", ss.toObject(storage.get(ss.toData(1)).getValue()));
+    }
+
+    @Test
+    public void removeRecord_keepsOtherEntriesReachable() {
+        int count = 1_000;
+        for (int i = 0; i < count; i++) {
+            put(i, i);
+        }
+        for (int i = 0; i < count; i += 2) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(count / 2, storage.size());
+        for (int i = 0; i < count; i++) {
+            Record record = storage.get(ss.toData(i));
+            if (i % 2 == 0) {
+                assertNull(record);
+            } else {
+                assertEquals(i, (int) ss.toObject(record.getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void updateRecordValue_growsAndShrinksValue() {
+        put(1, "small");
+        Data key = ss.toData(1);
+        Record record = storage.get(key);
+        record.setHits(5);
+
+        String large = new String(new char[10_000]).replace('\0', 'x');
+        storage.updateRecordValue(key, record, large);
+        assertEquals(large, ss.toObject(record.getValue()));
+        assertEquals(5, record.getHits());
+
+        storage.updateRecordValue(key, record, "tiny");
+        storage.disposeDeferredBlocks();
+
+        Record stored = storage.get(key);
+        assertEquals("tiny", ss.toObject(stored.getValue()));
+        assertEquals(5, stored.getHits());
+    }
+
+    @Test
+    public void disposeDeferredBlocks_releasesUnlinkedRecords() {
+        put(1, 1);
+        long usedMemory = memoryManager.getUsedMemory();
+
+        recordFactory.newRecord(ss.toData(2), 2);
+        storage.disposeDeferredBlocks();
+
+        assertEquals(usedMemory, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void mutationTolerantIterator_toleratesRemovalsAndResizes() {
+        for (int i = 0; i < 100; i++) {
+            put(i, i);
+        }
+
+        Set<Object> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        int next = 100;
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            assertTrue(seen.add(ss.toObject(entry.getKey())));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+            put(next++, 0);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(seen.contains(i));
+        }
+    }
+
+    @Test
+    public void fetchKeys_returnsAllKeysInBatches() {
+        for (int i = 0; i < 250; i++) {
+            put(i, i);
+        }
+
+        Set<Object> keys = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor batch = storage.fetchKeys(pointers, 100);
+            batch.getBatch().forEach(key -> keys.add(ss.toObject(key)));
+            pointers = batch.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(250, keys.size());
+    }
+
+    @Test
+    public void getRandomSamples() {
+        for (int i = 0; i < 50; i++) {
+            put(i, i);
+        }
+
+        int count = 0;
+        for (EntryView sample : storage.getRandomSamples(15)) {
+            assertEquals(sample.getKey(), sample.getValue());
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void clear_releasesEntries() {
+        for (int i = 0; i < 100; i++) {
+            put(i, i);
+        }
+        long usedMemory = memoryManager.getUsedMemory();
+
+        storage.clear(false);
+
+        assertEquals(0, storage.size());
+        assertNull(storage.get(ss.toData(1)));
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+        assertTrue(memoryManager.getUsedMemory() < usedMemory);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void setValue_onOffHeapRecord_notSupported() {
+        put(1, 1);
+        storage.get(ss.toData(1)).setValue(ss.toData(2));
+    }
+
+    @Test
+    public void put_onHeapRecord_isCopied() {
+        Data key = ss.toData(1);
+        Record onHeapRecord = new DataRecordFactory(mockMapContainer(), ss).newRecord(key, "value");
+        onHeapRecord.setVersion(7);
+
+        storage.put(key, onHeapRecord);
+
+        Record stored = storage.get(key);
+        assertTrue(stored instanceof OffHeapRecord);
+        assertEquals(7, stored.getVersion());
+        assertEquals("value", ss.toObject(stored.getValue()));
+    }
+
+    private void put(Object key, Object value) {
+        Data dataKey = ss.toData(key);
+        storage.put(dataKey, recordFactory.newRecord(dataKey, value));
+    }
+
+    private static MapContainer mockMapContainer() {
+        MapContainer mapContainer = mock(MapContainer.class);
+        when(mapContainer.getMapConfig()).thenReturn(new MapConfig());
+        return mapContainer;
+    }
+}
@@ -16,17 +16,21 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.IndexType;
 import com.hazelcast.config.MetadataPolicy;
+import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projections;
 import com.hazelcast.query.LocalIndexStats;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.test.HazelcastParametrizedRunner;
 import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -121,6 +125,65 @@ public class IndexDeserializationTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testProjectionAndAggregationOnIndexedAttributes() {
+        Config config = getConfig();
+        config.getMapConfig("map").getIndexConfigs().forEach(indexConfig -> indexConfig.setCoveringEnabled(true));
+        IMap<Integer, Record> map = createHazelcastInstance(config).getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, new Record(i));
+        }
+
+        Record.deserializationCount.set(0);
+        Collection<Integer> projected = map.project(Projections.singleAttribute("v2"), Predicates.greaterEqual("v2", 0));
+        assertEquals(ENTRY_COUNT, projected.size());
+        assertEquals(0, Record.deserializationCount.get());
+
+        long sum = map.aggregate(Aggregators.integerSum("v1"), Predicates.equal("v1", 1000));
+        assertEquals(1000, sum);
+        assertEquals(0, Record.deserializationCount.get());
+    }
+
+    @Test
+    public void testCoveredAttributesMemoryCost() {
+        Config config = getConfig();
+        config.getMapConfig("covered")
+                .setInMemoryFormat(inMemoryFormat)
+                .setCacheDeserializedValues(cacheDeserializedValues)
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "v1").setCoveringEnabled(true));
+        config.getMapConfig("plain")
+                .setInMemoryFormat(inMemoryFormat)
+                .setCacheDeserializedValues(cacheDeserializedValues)
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "v1"));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Record> covered = instance.getMap("covered");
+        IMap<Integer, Record> plain = instance.getMap("plain");
+
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            covered.put(i, new Record(i));
+            plain.put(i, new Record(i));
+        }
+        assertEquals(ENTRY_COUNT * IndexHeapMemoryCostUtil.estimateCoveredAttributesCost(1),
+                indexMemoryCost(covered) - indexMemoryCost(plain));
+
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            covered.set(i, new Record(i + 1));
+            plain.set(i, new Record(i + 1));
+        }
+        assertEquals(ENTRY_COUNT * IndexHeapMemoryCostUtil.estimateCoveredAttributesCost(1),
+                indexMemoryCost(covered) - indexMemoryCost(plain));
+
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            covered.delete(i);
+            plain.delete(i);
+        }
+        assertEquals(indexMemoryCost(plain), indexMemoryCost(covered));
+    }
+
+    private static long indexMemoryCost(IMap<Integer, Record> map) {
+        return map.getLocalMapStats().getIndexStats().values().iterator().next().getMemoryCost();
+    }
+
     static class Record implements DataSerializable {
 
         static final AtomicInteger deserializationCount = new AtomicInteger();
@@ -29,6 +29,7 @@ import java.util.TreeSet;
 
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE;
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_32_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.RUN_STORAGE_16_MAX_RUNS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -140,6 +141,89 @@ public class SparseBitSetTest {
         }
     }
 
+    @Test
+    public void testAddWithStorage16UpgradeToBitSet() {
+        // every other member: runs are more expensive than a bit set
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+            set(i * 2);
+            verify();
+        }
+        verifyAdvanceAtLeastTo();
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+            clear(i * 2);
+            verify();
+        }
+    }
+
+    @Test
+    public void testRunStorage16AddAndMerge() {
+        long prefix = ((long) Short.MAX_VALUE * 2 + 1) * 3;
+
+        // consecutive members make the array storage upgrade to runs
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+            set(prefix + i * 3);
+            set(prefix + i * 3 + 1);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // fill the gaps merging the runs
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 10; i += 7) {
+            set(prefix + i * 3 + 2);
+            verify();
+        }
+        verifyAdvanceAtLeastTo();
+
+        // extend runs backwards and forwards
+        set(prefix - 1);
+        set(prefix + (ARRAY_STORAGE_16_MAX_SIZE + 10) * 3);
+        set(prefix + Short.MAX_VALUE * 2 + 1);
+        verify();
+        verifyAdvanceAtLeastTo();
+    }
+
+    @Test
+    public void testRunStorage16UpgradeToBitSet() {
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 10; ++i) {
+            set(i);
+        }
+        verify();
+
+        // isolated members add new runs until a bit set is cheaper
+        for (long i = 0; i < RUN_STORAGE_16_MAX_RUNS + 10; ++i) {
+            set(ARRAY_STORAGE_16_MAX_SIZE + 20 + i * 2);
+            verify();
+        }
+        verifyAdvanceAtLeastTo();
+    }
+
+    @Test
+    public void testRunStorage16SplitsAndDowngrade() {
+        int size = ARRAY_STORAGE_16_MAX_SIZE + 100;
+        for (long i = 0; i < size; ++i) {
+            set(i);
+        }
+
+        // removing members in the middle of runs splits them until the runs
+        // overflow and the storage goes back to members
+        for (long i = 1; i < size - 1; i += 2) {
+            clear(i);
+            verify();
+        }
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 1; i < size - 1; i += 2) {
+            set(i);
+            verify();
+        }
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 0; i < size; ++i) {
+            clear(i);
+            verify();
+        }
+    }
+
     @Test
     public void testAddWithStorage16UpgradeAndSwitching() {
         long prefix = ((long) Short.MAX_VALUE * 2 + 1);
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.config.AttributeConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.extractor.ValueCollector;
+import com.hazelcast.query.extractor.ValueExtractor;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.instance.impl.TestUtil.toData;
+import static com.hazelcast.internal.serialization.impl.compact.CompactFieldComparator.NOT_COMPARABLE;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.query.impl.QueryableEntry.compareAttributeInPlace;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the predicates comparing Compact serialized entries in place
+ * match the same entries as when comparing the extracted attribute values.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactInPlacePredicateTest {
+
+    private final InternalSerializationService ss = createSerializationService();
+
+    @Test
+    public void testPredicates() {
+        List<Predicate> predicates = Arrays.asList(
+                Predicates.equal("age", 30),
+                Predicates.equal("age", 30L),
+                Predicates.equal("this.age", 31),
+                Predicates.notEqual("age", 30),
+                Predicates.greaterThan("age", 30),
+                Predicates.greaterEqual("age", 30),
+                Predicates.lessThan("salary", 2_000L),
+                Predicates.lessEqual("salary", 2_000L),
+                Predicates.between("age", 29, 31),
+                Predicates.between("age", 29, 31L),
+                Predicates.between("rate", 0.5d, 1.5d),
+                Predicates.equal("active", true),
+                Predicates.equal("name", "Jo\u00eblle"),
+                Predicates.notEqual("name", "Jo\u00eblle"),
+                Predicates.greaterThan("name", "Jo"),
+                Predicates.lessThan("name", "\ud83d\ude00"),
+                Predicates.between("name", "A", "K"),
+                Predicates.equal("name", null),
+                Predicates.equal("missing", 1)
+        );
+        GenericRecord[] records = {
+                employee(30, 1_000L, 1.0d, true, "Jo\u00eblle"),
+                employee(31, 2_000L, 0.25d, false, "Joel"),
+                employee(29, 3_000L, 1.5d, true, "\ud83d\ude00 smiley"),
+                employee(-1, Long.MIN_VALUE, Double.NaN, false, ""),
+                employee(32, 0L, 0d, true, null)
+        };
+
+        for (GenericRecord record : records) {
+            QueryEntry inPlace = entry(record, ss.toData(record), newExtractors());
+            QueryEntry deserialized = entry(record, record, newExtractors());
+            for (Predicate predicate : predicates) {
+                assertEquals(predicate + " on " + record, predicate.apply(deserialized), predicate.apply(inPlace));
+            }
+        }
+    }
+
+    @Test
+    public void testKeyAttribute() {
+        GenericRecord key = employee(30, 1_000L, 1.0d, true, "Jo\u00eblle");
+        QueryEntry entry = new QueryEntry(ss, ss.toData(key), 1, newExtractors());
+
+        assertNotEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "__key.age", 30));
+        assertTrue(Predicates.equal("__key.age", 30).apply(entry));
+        assertTrue(Predicates.greaterThan("__key.name", "Jo").apply(entry));
+        assertFalse(Predicates.between("__key.salary", 0L, 999L).apply(entry));
+    }
+
+    @Test
+    public void testNotComparableInPlace() {
+        GenericRecord record = employee(30, 1_000L, 1.0d, true, "Jo\u00eblle");
+        QueryEntry entry = entry(record, ss.toData(record), newExtractors());
+
+        assertNotEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "age", 30));
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "age", 30L));
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "age", null));
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "this", 30));
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "__key", 30));
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "age.nested", 30));
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "age[0]", 30));
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry(record, record, newExtractors()), "age", 30));
+    }
+
+    @Test
+    public void testCustomExtractorIsUsed() {
+        Extractors extractors = Extractors.newBuilder(ss)
+                .setAttributeConfigs(singletonList(new AttributeConfig("age", ConstantAgeExtractor.class.getName())))
+                .setClassLoader(getClass().getClassLoader())
+                .build();
+        GenericRecord record = employee(30, 1_000L, 1.0d, true, "Jo\u00eblle");
+        QueryEntry entry = entry(record, ss.toData(record), extractors);
+
+        assertEquals(NOT_COMPARABLE, compareAttributeInPlace(entry, "age", 31));
+        assertTrue(Predicates.equal("age", 31).apply(entry));
+        assertFalse(Predicates.equal("age", 30).apply(entry));
+    }
+
+    private QueryEntry entry(GenericRecord record, Object value, Extractors extractors) {
+        return new QueryEntry(ss, toData(1), value, extractors);
+    }
+
+    private Extractors newExtractors() {
+        return Extractors.newBuilder(ss).build();
+    }
+
+    private static GenericRecord employee(int age, long salary, double rate, boolean active, String name) {
+        return GenericRecordBuilder.compact("employee")
+                .setInt32("age", age)
+                .setInt64("salary", salary)
+                .setFloat64("rate", rate)
+                .setBoolean("active", active)
+                .setString("name", name)
+                .build();
+    }
+
+    public static class ConstantAgeExtractor implements ValueExtractor<Object, Object> {
+        @Override
+        public void extract(Object target, Object argument, ValueCollector collector) {
+            collector.addObject(31);
+        }
+    }
+}
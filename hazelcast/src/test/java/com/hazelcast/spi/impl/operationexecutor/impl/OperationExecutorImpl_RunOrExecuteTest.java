@@ -39,7 +39,7 @@ public class OperationExecutorImpl_RunOrExecuteTest extends OperationExecutorImp
     public void whenNullOperation() {
         initExecutor();
 
-        executor.runOrExecute(null);
+        executor.runOrExecute((Operation) null);
     }
 
     // ============= generic operations ==============================
@@ -247,6 +247,102 @@ public class OperationExecutorImpl_RunOrExecuteTest extends OperationExecutorImp
         });
     }
 
+    // ===================== partition specific runnables ========================
+
+    @Test(expected = NullPointerException.class)
+    public void whenNullPartitionSpecificRunnable() {
+        initExecutor();
+
+        executor.runOrExecute((PartitionSpecificRunnable) null);
+    }
+
+    @Test
+    public void whenPartitionSpecificRunnable_andCallingFromUserThread() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+
+        executor.runOrExecute(new ThreadCapturingRunnable(executingThread, 0));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertInstanceOf(PartitionOperationThread.class, executingThread.get());
+            }
+        });
+    }
+
+    @Test
+    public void whenPartitionSpecificRunnable_andCallingFromPartitionOperationThread_andCorrectPartition() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+        final PartitionSpecificRunnable runnable = new ThreadCapturingRunnable(executingThread, 0);
+        final PartitionSpecificCallable<Boolean> task = new PartitionSpecificCallable<Boolean>(0) {
+            @Override
+            public Boolean call() {
+                executor.runOrExecute(runnable);
+                // the runnable has run on this thread before returning
+                return executingThread.get() == Thread.currentThread();
+            }
+        };
+
+        executor.execute(task);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertSame(Boolean.TRUE, task.getResult());
+            }
+        });
+    }
+
+    @Test
+    public void whenPartitionSpecificRunnable_andCallingFromPartitionOperationThread_andWrongPartition() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+        final PartitionSpecificRunnable runnable = new ThreadCapturingRunnable(executingThread, 0);
+        final PartitionSpecificCallable<Thread> task = new PartitionSpecificCallable<Thread>(1) {
+            @Override
+            public Thread call() {
+                executor.runOrExecute(runnable);
+                return Thread.currentThread();
+            }
+        };
+
+        executor.execute(task);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertInstanceOf(PartitionOperationThread.class, executingThread.get());
+                assertNotSame(task.getResult(), executingThread.get());
+            }
+        });
+    }
+
+    private static class ThreadCapturingRunnable implements PartitionSpecificRunnable {
+
+        private final AtomicReference<Thread> executingThread;
+        private final int partitionId;
+
+        ThreadCapturingRunnable(AtomicReference<Thread> executingThread, int partitionId) {
+            this.executingThread = executingThread;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            executingThread.set(Thread.currentThread());
+        }
+    }
+
     private static class ThreadCapturingOperation extends Operation {
 
         private final AtomicReference<Thread> executingThread;
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.impl.CapturingCollector;
+import com.hazelcast.internal.util.LatencyDistribution;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_DISCRIMINATOR_OPERATION;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_LATENCY_BUCKET;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_LATENCY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_TAG_LATENCY_PHASE;
+import static com.hazelcast.spi.impl.operationservice.impl.OperationLatencyMetrics.PHASE_BACKUP_ACK_WAIT;
+import static com.hazelcast.spi.impl.operationservice.impl.OperationLatencyMetrics.PHASE_EXECUTION;
+import static com.hazelcast.spi.impl.operationservice.impl.OperationLatencyMetrics.PHASE_QUEUE_WAIT;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getOperationService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OperationLatencyMetricsTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    @Test
+    public void whenOperationsRun_thenLatenciesRecorded() {
+        HazelcastInstance[] instances = createHazelcastInstances(enabledConfig(), 2);
+        HazelcastInstance instance1 = instances[0];
+        HazelcastInstance instance2 = instances[1];
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        IMap<Integer, Integer> map = instance1.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        OperationLatencyMetrics latencyMetrics1 = latencyMetrics(instance1);
+        OperationLatencyMetrics latencyMetrics2 = latencyMetrics(instance2);
+        // the puts of both members are queued: the local ones as operations and the remote ones as packets
+        long queued = count(latencyMetrics1.queueWait(PutOperation.class))
+                + count(latencyMetrics2.queueWait(PutOperation.class));
+        long executed = count(latencyMetrics1.execution(PutOperation.class))
+                + count(latencyMetrics2.execution(PutOperation.class));
+        assertEquals(ENTRY_COUNT, queued);
+        assertEquals(ENTRY_COUNT, executed);
+        // all puts have a backup, and the invocations are on the first member. The
+        // backup ack wait is recorded after the invocation future is completed.
+        assertEqualsEventually(() -> count(latencyMetrics1.backupAckWait(PutOperation.class)), (long) ENTRY_COUNT);
+        assertNull(latencyMetrics2.backupAckWait(PutOperation.class));
+    }
+
+    @Test
+    public void whenLatenciesRecorded_thenPublishedAsMetrics() {
+        Config config = enabledConfig().setProperty(ClusterProperty.METRICS_DEBUG.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        OperationLatencyMetrics latencyMetrics = latencyMetrics(instance);
+        latencyMetrics.recordBackupAckWait(new PutOperation(), 0);
+
+        CapturingCollector collector = new CapturingCollector();
+        getNodeEngineImpl(instance).getMetricsRegistry().collect(collector);
+
+        assertEquals(count(latencyMetrics.queueWait(PutOperation.class)),
+                capturedCount(collector, PHASE_QUEUE_WAIT, OPERATION_METRIC_LATENCY_COUNT));
+        assertEquals(ENTRY_COUNT, capturedCount(collector, PHASE_EXECUTION, OPERATION_METRIC_LATENCY_COUNT));
+        assertEquals(ENTRY_COUNT, capturedCount(collector, PHASE_EXECUTION, OPERATION_METRIC_LATENCY_BUCKET));
+        assertEquals(1, capturedCount(collector, PHASE_BACKUP_ACK_WAIT, OPERATION_METRIC_LATENCY_COUNT));
+    }
+
+    @Test
+    public void whenNotDebug_thenBucketsNotPublished() {
+        Config config = enabledConfig().setProperty(ClusterProperty.METRICS_DEBUG.getName(), "false");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        instance.getMap("map").put(1, 1);
+
+        CapturingCollector collector = new CapturingCollector();
+        getNodeEngineImpl(instance).getMetricsRegistry().collect(collector);
+
+        assertEquals(1, capturedCount(collector, PHASE_EXECUTION, OPERATION_METRIC_LATENCY_COUNT));
+        assertFalse(isCaptured(collector, PHASE_EXECUTION, OPERATION_METRIC_LATENCY_BUCKET));
+    }
+
+    @Test
+    public void byDefault_thenNoLatencyMetrics() {
+        HazelcastInstance instance = createHazelcastInstance(smallInstanceConfig());
+        instance.getMap("map").put(1, 1);
+
+        assertNull(latencyMetrics(instance));
+    }
+
+    private static Config enabledConfig() {
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.OPERATION_LATENCY_METRICS_ENABLED.getName(), "true");
+    }
+
+    private static OperationLatencyMetrics latencyMetrics(HazelcastInstance instance) {
+        return ((OperationServiceImpl) getOperationService(instance)).latencyMetrics;
+    }
+
+    private static long count(LatencyDistribution distribution) {
+        return distribution == null ? 0 : distribution.count();
+    }
+
+    /**
+     * Sums the values of the captured metrics of the {@link PutOperation} in
+     * the phase, e.g. the values of all its buckets.
+     */
+    private static long capturedCount(CapturingCollector collector, String phase, String metric) {
+        assertTrue("No " + metric + " metric of phase " + phase, isCaptured(collector, phase, metric));
+        long sum = 0;
+        for (MetricDescriptor descriptor : collector.captures().keySet()) {
+            if (isPutMetric(descriptor, phase, metric)) {
+                sum += collector.captures().get(descriptor).singleCapturedValue().longValue();
+            }
+        }
+        return sum;
+    }
+
+    private static boolean isCaptured(CapturingCollector collector, String phase, String metric) {
+        return collector.captures().keySet().stream().anyMatch(descriptor -> isPutMetric(descriptor, phase, metric));
+    }
+
+    private static boolean isPutMetric(MetricDescriptor descriptor, String phase, String metric) {
+        return OPERATION_PREFIX_LATENCY.equals(descriptor.prefix())
+                && OPERATION_DISCRIMINATOR_OPERATION.equals(descriptor.discriminator())
+                && PutOperation.class.getName().equals(descriptor.discriminatorValue())
+                && phase.equals(descriptor.tagValue(OPERATION_TAG_LATENCY_PHASE))
+                && metric.equals(descriptor.metric());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.exception.WrongTargetException;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl;
+import com.hazelcast.spi.impl.operationexecutor.impl.TpcPartitionOperationThread;
+import com.hazelcast.test.ExceptionThrowingCallable;
+import com.hazelcast.test.ExpectedRuntimeException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.test.Accessors.getOperationService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OperationServiceImpl_runOnPartitionThreadTest extends HazelcastTestSupport {
+
+    @Test
+    public void whenLocalKey_thenRunsOnPartitionThreadOfKey() {
+        HazelcastInstance local = createHazelcastInstance();
+        OperationServiceImpl operationService = getOperationService(local);
+        String key = generateKeyOwnedBy(local);
+
+        Thread thread = operationService.runOnPartitionThread(key, Thread::currentThread).join();
+
+        assertSame(partitionThreadOf(local, key), thread);
+    }
+
+    @Test
+    public void whenCalledFromPartitionThreadOfKey_thenRunsOnCallingThread() {
+        HazelcastInstance local = createHazelcastInstance();
+        OperationServiceImpl operationService = getOperationService(local);
+        String key = generateKeyOwnedBy(local);
+        AtomicReference<Thread> nestedThread = new AtomicReference<>();
+
+        boolean nestedDone = operationService.runOnPartitionThread(key, () -> {
+            InternalCompletableFuture<Thread> nested = operationService.runOnPartitionThread(key, Thread::currentThread);
+            nestedThread.set(nested.getNow(null));
+            return nested.isDone();
+        }).join();
+
+        assertTrue(nestedDone);
+        assertSame(partitionThreadOf(local, key), nestedThread.get());
+    }
+
+    @Test
+    public void whenConcurrentReadModifyWrite_thenNoUpdateLost() {
+        HazelcastInstance local = createHazelcastInstance();
+        OperationServiceImpl operationService = getOperationService(local);
+        String key = generateKeyOwnedBy(local);
+        // not thread-safe on purpose, all tasks of the key run on the same thread
+        long[] counter = new long[1];
+        int threadCount = 4;
+        int incrementsPerThread = 1000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(new Thread(() -> {
+                for (int k = 0; k < incrementsPerThread; k++) {
+                    operationService.runOnPartitionThread(key, () -> ++counter[0]).join();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        assertJoinable(threads.toArray(new Thread[0]));
+
+        long result = operationService.runOnPartitionThread(key, () -> counter[0]).join();
+        assertEquals(threadCount * incrementsPerThread, result);
+    }
+
+    @Test
+    public void whenTaskThrows_thenFutureCompletedExceptionally() {
+        HazelcastInstance local = createHazelcastInstance();
+        OperationServiceImpl operationService = getOperationService(local);
+
+        InternalCompletableFuture<Object> future = operationService.runOnPartitionThread(
+                generateKeyOwnedBy(local), new ExceptionThrowingCallable());
+
+        assertThrows(ExpectedRuntimeException.class, future::joinInternal);
+    }
+
+    @Test
+    public void whenRemoteKey_thenWrongTargetException() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances();
+        warmUpPartitions(instances);
+        OperationServiceImpl operationService = getOperationService(instances[0]);
+
+        InternalCompletableFuture<Object> future = operationService.runOnPartitionThread(
+                generateKeyOwnedBy(instances[1]), () -> "foobar");
+
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(WrongTargetException.class, e.getCause());
+    }
+
+    @Test
+    public void whenTpcEnabled_thenRunsOnReactorThread() {
+        Config config = smallInstanceConfig();
+        config.getTpcConfig().setEnabled(true).setEventloopCount(2);
+        HazelcastInstance local = createHazelcastInstance(config);
+        OperationServiceImpl operationService = getOperationService(local);
+        String key = generateKeyOwnedBy(local);
+
+        Thread thread = operationService.runOnPartitionThread(key, Thread::currentThread).join();
+
+        assertInstanceOf(TpcPartitionOperationThread.class, thread);
+        assertSame(partitionThreadOf(local, key), thread);
+    }
+
+    private static Thread partitionThreadOf(HazelcastInstance instance, String key) {
+        OperationExecutorImpl executor = (OperationExecutorImpl) getOperationService(instance).getOperationExecutor();
+        int partitionId = instance.getPartitionService().getPartition(key).getPartitionId();
+        return executor.getPartitionThreads()[executor.toPartitionThreadIndex(partitionId)];
+    }
+}
@@ -209,6 +209,11 @@ public class SamplingSerializationService implements InternalSerializationServic
         return delegate.extractSchemaFromData(data);
     }
 
+    @Override
+    public int compareCompactField(@Nonnull Data data, @Nonnull String fieldName, @Nonnull Comparable<?> value) {
+        return delegate.compareCompactField(data, fieldName, value);
+    }
+
     @Override
     public Schema extractSchemaFromObject(@Nonnull Object object) {
         return delegate.extractSchemaFromObject(object);